@@ -0,0 +1,131 @@
+package seedu.addressbook;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH result files in CSV format, e.g. the committed baseline with the results of a new run,
+ * and prints the change of every benchmark that appears in both.
+ *
+ * A benchmark counts as a regression if it got worse by more than the threshold and by more than the
+ * error margins of both results together. The exit status is 1 if there is any regression.
+ *
+ * Usage: {@code BenchmarkComparison BASELINE_CSV RESULTS_CSV [THRESHOLD_PERCENT]}
+ */
+public class BenchmarkComparison {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10;
+
+    /** The result of one benchmark with one set of parameters. */
+    private static class Result {
+        final String mode;
+        final double score;
+        final double error;
+        final String unit;
+
+        Result(String mode, double score, double error, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.error = Double.isNaN(error) ? 0 : error;
+            this.unit = unit;
+        }
+
+        /** Throughput gets better as it goes up; times get better as they go down. */
+        boolean isHigherBetter() {
+            return mode.equals("thrpt");
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("usage: BenchmarkComparison BASELINE_CSV RESULTS_CSV [THRESHOLD]");
+        }
+        final Map<String, Result> baseline = readResults(args[0]);
+        final Map<String, Result> results = readResults(args[1]);
+        final double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %8s%n", "benchmark", "baseline", "now", "change");
+        for (Map.Entry<String, Result> entry : results.entrySet()) {
+            final Result before = baseline.get(entry.getKey());
+            final Result after = entry.getValue();
+            if (before == null || !before.unit.equals(after.unit)) {
+                System.out.printf("%-70s %14s %14.3f %8s  (no baseline)%n", entry.getKey(), "", after.score, "");
+                continue;
+            }
+            final double changePercent = (after.score - before.score) / before.score * 100;
+            final double worsening = after.isHigherBetter() ? before.score - after.score : after.score - before.score;
+            final boolean isRegression = worsening > before.score * threshold / 100
+                    && worsening > before.error + after.error;
+            if (isRegression) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+7.1f%% %s%s%n", entry.getKey(), before.score, after.score,
+                    changePercent, after.unit, isRegression ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d regression(s) beyond %.0f%%%n", regressions, threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads the results in a JMH CSV file, keyed by benchmark name and parameter values.
+     */
+    private static Map<String, Result> readResults(String path) throws IOException {
+        final List<String> lines = Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8);
+        final List<String> header = splitCsvLine(lines.get(0));
+        final Map<String, Result> results = new LinkedHashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            final List<String> fields = splitCsvLine(line);
+            final StringBuilder key = new StringBuilder(fields.get(header.indexOf("Benchmark")));
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).startsWith("Param: ") && !fields.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).substring("Param: ".length())).append('=')
+                            .append(fields.get(i));
+                }
+            }
+            results.put(key.toString(), new Result(fields.get(header.indexOf("Mode")),
+                    Double.parseDouble(fields.get(header.indexOf("Score"))),
+                    Double.parseDouble(fields.get(header.indexOf("Score Error (99.9%)"))),
+                    fields.get(header.indexOf("Unit"))));
+        }
+        return results;
+    }
+
+    /**
+     * Splits a line of CSV into its fields, removing the quotes around quoted fields.
+     */
+    private static List<String> splitCsvLine(String line) {
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        boolean isQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (c == '"') {
+                if (isQuoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    isQuoted = !isQuoted;
+                }
+            } else if (c == ',' && !isQuoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
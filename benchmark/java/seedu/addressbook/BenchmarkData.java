@@ -0,0 +1,63 @@
+package seedu.addressbook;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.person.UniquePersonList;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the synthetic persons shared by the regression benchmarks, the same for every run.
+ * Names share a surname with one in {@link #SURNAMES} other persons, and tags are shared as in an address book.
+ */
+public class BenchmarkData {
+
+    public static final int SURNAMES = 100;
+
+    /** A surname that one in {@link #SURNAMES} persons have. */
+    public static final String MATCHING_SURNAME = "Surname42";
+
+    private static final int TAGS = 50;
+
+    public static Person generatePerson(int seed) throws Exception {
+        return new Person(
+                new Name("Person " + seed + " Surname" + (seed % SURNAMES)),
+                new Phone(Integer.toString(80000000 + seed), seed % 2 == 0),
+                new Email("person" + seed + "@example.com", false),
+                new Address(seed + ", Clementi Ave " + (seed % 10), seed % 3 == 0),
+                new UniqueTagList(new Tag("group" + (seed % TAGS)), new Tag("team" + (seed % 7))));
+    }
+
+    public static List<Person> generatePersons(int count) throws Exception {
+        final List<Person> persons = new ArrayList<>(count);
+        for (int seed = 0; seed < count; seed++) {
+            persons.add(generatePerson(seed));
+        }
+        return persons;
+    }
+
+    /**
+     * Returns an address book of the given number of generated persons, with IDs from 1 in order.
+     */
+    public static AddressBook generateAddressBook(int count) throws Exception {
+        return new AddressBook(UniquePersonList.ofUnique(generatePersons(count)), new UniqueTagList());
+    }
+
+    /**
+     * Returns the add command line that adds the generated person with the given seed.
+     */
+    public static String generateAddCommand(int seed) {
+        return "add Person " + seed + " Surname" + (seed % SURNAMES)
+                + (seed % 2 == 0 ? " pp/" : " p/") + (80000000 + seed)
+                + " e/person" + seed + "@example.com"
+                + (seed % 3 == 0 ? " pa/" : " a/") + seed + ", Clementi Ave " + (seed % 10)
+                + " t/group" + (seed % TAGS) + " t/team" + (seed % 7);
+    }
+}
@@ -0,0 +1,39 @@
+package seedu.addressbook.commands;
+
+import org.openjdk.jmh.annotations.*;
+import seedu.addressbook.BenchmarkData;
+import seedu.addressbook.data.AddressBook;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a find command whose keywords match one in {@link BenchmarkData#SURNAMES} persons.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+@State(Scope.Benchmark)
+public class FindCommandBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int personCount;
+
+    private FindCommand command;
+
+    @Setup(Level.Trial)
+    public void createCommand() throws Exception {
+        final AddressBook addressBook = BenchmarkData.generateAddressBook(personCount);
+        command = new FindCommand(new HashSet<>(Arrays.asList(BenchmarkData.MATCHING_SURNAME, "Nobody")));
+        command.setData(addressBook, Collections.emptyList());
+    }
+
+    @Benchmark
+    public CommandResult execute() {
+        return command.execute();
+    }
+}
@@ -0,0 +1,39 @@
+package seedu.addressbook.data;
+
+import org.openjdk.jmh.annotations.*;
+import seedu.addressbook.BenchmarkData;
+import seedu.addressbook.data.person.Person;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures adding a person to an address book of the given size.
+ * Each added person is removed again, so that the size stays the same for the whole trial; the removal is
+ * part of the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+@State(Scope.Benchmark)
+public class AddressBookBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int personCount;
+
+    private AddressBook addressBook;
+    private Person toAdd;
+
+    @Setup(Level.Trial)
+    public void createAddressBook() throws Exception {
+        addressBook = BenchmarkData.generateAddressBook(personCount);
+        toAdd = BenchmarkData.generatePerson(personCount);
+    }
+
+    @Benchmark
+    public int addAndRemovePerson() throws Exception {
+        addressBook.addPerson(toAdd);
+        return addressBook.removePerson(toAdd);
+    }
+}
@@ -0,0 +1,93 @@
+package seedu.addressbook.data;
+
+import org.openjdk.jmh.annotations.*;
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures adding and removing a batch of persons with {@link AddressBook#addPersons} and
+ * {@link AddressBook#removePersons}, compared with looping over {@link AddressBook#addPerson} and
+ * {@link AddressBook#removePerson}. Each invocation starts from a fresh address book.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchMutationBenchmark {
+
+    @Param({"10000", "100000"})
+    public int batchSize;
+
+    private List<Person> toAdd;
+    private List<Person> toRemove;
+    private AddressBook emptyAddressBook;
+    private AddressBook fullAddressBook;
+
+    private static Person generatePerson(int seed) throws Exception {
+        return new Person(
+                new Name("Person " + seed),
+                new Phone("" + seed, false),
+                new Email(seed + "@email", false),
+                new Address("House of " + seed, false),
+                new UniqueTagList(new Tag("tag" + (seed % 50)), new Tag("team" + (seed % 7))));
+    }
+
+    private List<Person> generatePersons() throws Exception {
+        final List<Person> persons = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            persons.add(generatePerson(i));
+        }
+        return persons;
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() throws Exception {
+        toAdd = generatePersons();
+        emptyAddressBook = new AddressBook();
+        fullAddressBook = new AddressBook();
+        fullAddressBook.addPersons(generatePersons());
+        toRemove = generatePersons();
+        Collections.shuffle(toRemove, new Random(batchSize));
+    }
+
+    @Benchmark
+    public AddressBook addOneByOne() throws Exception {
+        for (Person person : toAdd) {
+            emptyAddressBook.addPerson(person);
+        }
+        return emptyAddressBook;
+    }
+
+    @Benchmark
+    public AddressBook addBatch() throws Exception {
+        emptyAddressBook.addPersons(toAdd);
+        return emptyAddressBook;
+    }
+
+    @Benchmark
+    public AddressBook removeOneByOne() throws Exception {
+        for (Person person : toRemove) {
+            fullAddressBook.removePerson(person);
+        }
+        return fullAddressBook;
+    }
+
+    @Benchmark
+    public AddressBook removeBatch() throws Exception {
+        fullAddressBook.removePersons(toRemove);
+        return fullAddressBook;
+    }
+}
@@ -0,0 +1,112 @@
+package seedu.addressbook.data;
+
+import org.openjdk.jmh.annotations.*;
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the throughput of concurrent lookups and changes at varying read/write ratios, comparing
+ * {@link ConcurrentAddressBook} with a plain address book guarded by a single monitor.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConcurrentAddressBookBenchmark {
+
+    @Param({"1000"})
+    public int personCount;
+
+    @Param({"50", "90", "99"})
+    public int readPercent;
+
+    @Param({"synchronized", "stampedLock"})
+    public String implementation;
+
+    private AddressBook addressBook;
+    private List<Person> persons;
+    private final AtomicInteger nextThreadNumber = new AtomicInteger();
+
+    /**
+     * The operations of one benchmark thread. Each thread alternately adds and removes a person of its own.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        Random random;
+        Person ownPerson;
+        boolean isOwnPersonAdded = false;
+
+        @Setup(Level.Trial)
+        public void setUp(ConcurrentAddressBookBenchmark benchmark) throws Exception {
+            final int threadNumber = benchmark.nextThreadNumber.incrementAndGet();
+            random = new Random(threadNumber);
+            ownPerson = generatePerson(-threadNumber);
+        }
+    }
+
+    private static Person generatePerson(int seed) throws Exception {
+        final int id = Math.abs(seed);
+        return new Person(
+                new Name("Person " + (seed < 0 ? "Writer " : "") + id),
+                new Phone("" + id, false),
+                new Email(id + "@email", false),
+                new Address("House of " + id, false),
+                new UniqueTagList(new Tag("tag" + (id % 20))));
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        addressBook = implementation.equals("stampedLock") ? new ConcurrentAddressBook() : new AddressBook();
+        persons = new ArrayList<>(personCount);
+        for (int i = 0; i < personCount; i++) {
+            final Person person = generatePerson(i);
+            persons.add(person);
+            addressBook.addPerson(person);
+        }
+    }
+
+    @Benchmark
+    public boolean mixedOperations(ThreadState thread) throws Exception {
+        if (thread.random.nextInt(100) < readPercent) {
+            final Person key = persons.get(thread.random.nextInt(personCount));
+            return implementation.equals("stampedLock") ? addressBook.containsPerson(key) : containsSynchronized(key);
+        }
+        if (implementation.equals("stampedLock")) {
+            toggleOwnPerson(thread);
+        } else {
+            synchronized (addressBook) {
+                toggleOwnPerson(thread);
+            }
+        }
+        return thread.isOwnPersonAdded;
+    }
+
+    private boolean containsSynchronized(Person key) {
+        synchronized (addressBook) {
+            return addressBook.containsPerson(key);
+        }
+    }
+
+    private void toggleOwnPerson(ThreadState thread) throws Exception {
+        if (thread.isOwnPersonAdded) {
+            addressBook.removePerson(thread.ownPerson);
+        } else {
+            addressBook.addPerson(thread.ownPerson);
+        }
+        thread.isOwnPersonAdded = !thread.isOwnPersonAdded;
+    }
+}
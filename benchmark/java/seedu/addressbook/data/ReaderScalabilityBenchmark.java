@@ -0,0 +1,118 @@
+package seedu.addressbook.data;
+
+import org.openjdk.jmh.annotations.*;
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how reads of a shared address book scale with the number of reading threads while a writer keeps
+ * adding and removing a person, comparing {@link ConcurrentAddressBook} with {@link LockFreeAddressBook}.
+ *
+ * The number of readers is set with JMH's {@code -t} option, e.g. run with each of
+ * {@code -t 1}, {@code -t 2}, {@code -t 4}, {@code -t 8}, {@code -t 16} and {@code -t 32}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReaderScalabilityBenchmark {
+
+    @Param({"10000"})
+    public int personCount;
+
+    @Param({"stampedLock", "lockFree"})
+    public String implementation;
+
+    @Param({"true", "false"})
+    public boolean isWriterRunning;
+
+    private MutableAddressBook addressBook;
+    private List<Person> persons;
+    private Thread writer;
+
+    private static Person generatePerson(int seed) throws Exception {
+        return new Person(
+                new Name("Person " + seed),
+                new Phone("" + seed, false),
+                new Email(seed + "@email", false),
+                new Address("House of " + seed, false),
+                new UniqueTagList(new Tag("tag" + (seed % 20))));
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        addressBook = implementation.equals("lockFree") ? new LockFreeAddressBook() : new ConcurrentAddressBook();
+        persons = new ArrayList<>(personCount);
+        for (int i = 0; i < personCount; i++) {
+            final Person person = generatePerson(i);
+            persons.add(person);
+            addressBook.addPerson(person);
+        }
+        if (isWriterRunning) {
+            final Person toggled = generatePerson(personCount);
+            writer = new Thread(() -> {
+                try {
+                    while (!Thread.currentThread().isInterrupted()) {
+                        addressBook.addPerson(toggled);
+                        addressBook.removePerson(toggled);
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }, "benchmark-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopWriter() throws InterruptedException {
+        if (writer != null) {
+            writer.interrupt();
+            writer.join();
+        }
+    }
+
+    @Benchmark
+    public boolean containsPerson() {
+        return addressBook.containsPerson(persons.get(ThreadLocalRandom.current().nextInt(personCount)));
+    }
+
+    @Benchmark
+    public Person getPersonById() throws Exception {
+        final int offset = ThreadLocalRandom.current().nextInt(personCount);
+        return addressBook.getPersonById(AddressBook.FIRST_PERSON_ID + offset);
+    }
+
+    /**
+     * Copies out the list of all persons, as searches do.
+     */
+    @Benchmark
+    public int copyAllPersons() {
+        return addressBook.getAllPersons().size();
+    }
+
+    /**
+     * Copies out all persons at one point in time, as searches and saves do.
+     */
+    @Benchmark
+    public int snapshotAllPersons() {
+        int count = 0;
+        for (Person person : addressBook.snapshot().getAllPersons()) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,72 @@
+package seedu.addressbook.data.person;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures finding persons by a word in their names, as the find command does, in a {@link UniquePersonList}
+ * kept in a {@link ColumnarPersonStore} compared with one of person objects.
+ *
+ * The object model is scanned both the way the find command does it, splitting every name into a set of words,
+ * and with an allocation-free word search, to separate the cost of the data layout from that of the algorithm.
+ * Heap per person is measured separately by {@link PersonHeapFootprint}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ColumnarScanBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    private final Set<String> keywords = Collections.singleton(PersonColumnsFixture.MATCHING_SURNAME);
+    private UniquePersonList objects;
+    private UniquePersonList columns;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        final List<Person> persons = PersonColumnsFixture.generatePersons(rows);
+        objects = UniquePersonList.ofUnique(persons);
+        columns = new UniquePersonList(new ColumnarPersonStore());
+        columns.addAll(persons);
+    }
+
+    @Benchmark
+    public List<ReadOnlyPerson> objectsFindByNameWords() {
+        return objects.findByNameWords(keywords);
+    }
+
+    @Benchmark
+    public List<ReadOnlyPerson> objectsSearchNames() {
+        final List<ReadOnlyPerson> found = new ArrayList<>();
+        for (ReadOnlyPerson person : objects) {
+            if (hasWord(person.getName().fullName, PersonColumnsFixture.MATCHING_SURNAME)) {
+                found.add(person);
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public List<ReadOnlyPerson> columnsFindByNameWords() {
+        return columns.findByNameWords(keywords);
+    }
+
+    private static boolean hasWord(String name, String word) {
+        for (int start = name.indexOf(word); start != -1; start = name.indexOf(word, start + 1)) {
+            final int end = start + word.length();
+            if ((start == 0 || name.charAt(start - 1) == ' ') && (end == name.length() || name.charAt(end) == ' ')) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
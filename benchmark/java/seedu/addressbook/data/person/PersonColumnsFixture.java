@@ -0,0 +1,36 @@
+package seedu.addressbook.data.person;
+
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the persons shared by the benchmarks comparing the compact person stores with the object model.
+ * Tags are shared between persons, as they are in an address book.
+ */
+class PersonColumnsFixture {
+
+    static final int SURNAMES = 100;
+
+    /** A surname that one in {@link #SURNAMES} persons have. */
+    static final String MATCHING_SURNAME = "Surname42";
+
+    static List<Person> generatePersons(int count) throws Exception {
+        final Tag[] tags = new Tag[50];
+        for (int i = 0; i < tags.length; i++) {
+            tags[i] = new Tag("tag" + i);
+        }
+        final List<Person> persons = new ArrayList<>(count);
+        for (int seed = 0; seed < count; seed++) {
+            persons.add(new Person(seed + 1,
+                    new Name("Person " + seed + " Surname" + (seed % SURNAMES)),
+                    new Phone("" + (90000000 + seed), seed % 2 == 0),
+                    new Email("person" + seed + "@example.com", false),
+                    new Address(seed + " Clementi Ave 2, #02-25", seed % 3 == 0),
+                    new UniqueTagList(tags[seed % tags.length], tags[(seed + 7) % tags.length])));
+        }
+        return persons;
+    }
+}
@@ -0,0 +1,55 @@
+package seedu.addressbook.data.person;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+
+/**
+ * Prints the heap retained per person by a {@link UniquePersonList} of person objects and by a
+ * {@link UniquePersonList} of the same persons kept in a {@link ColumnarPersonStore}.
+ *
+ * Usage: {@code PersonHeapFootprint [ROWS]}, run with a heap large enough for both, e.g. {@code -Xmx3g}.
+ */
+public class PersonHeapFootprint {
+
+    private static final int DEFAULT_ROWS = 1000000;
+
+    public static void main(String[] args) throws Exception {
+        final int rows = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROWS;
+
+        final long before = usedHeapAfterGc();
+        List<Person> persons = PersonColumnsFixture.generatePersons(rows);
+        UniquePersonList objects = UniquePersonList.ofUnique(persons);
+        persons = null;
+        final long withObjects = usedHeapAfterGc();
+
+        final UniquePersonList columns = inColumns(objects);
+        objects = null;
+        final long withColumns = usedHeapAfterGc();
+
+        System.out.printf("rows: %d%n", columns.size());
+        System.out.printf("object model: %6.1f bytes per person%n", (double) (withObjects - before) / rows);
+        System.out.printf("columnar:     %6.1f bytes per person%n", (double) (withColumns - before) / rows);
+    }
+
+    /**
+     * Returns a list of the same persons kept in a {@link ColumnarPersonStore}. A separate method, so that no
+     * local variable of the caller keeps the person objects reachable once the caller drops them.
+     */
+    private static UniquePersonList inColumns(UniquePersonList objects) throws Exception {
+        final UniquePersonList columns = new UniquePersonList(new ColumnarPersonStore());
+        for (Person person : objects) {
+            columns.add(person);
+        }
+        return columns;
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
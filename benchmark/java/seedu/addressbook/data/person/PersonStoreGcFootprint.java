@@ -0,0 +1,116 @@
+package seedu.addressbook.data.person;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Prints the heap and direct memory used by a {@link UniquePersonList} kept in one kind of {@link PersonStore},
+ * and the garbage collection pauses while persons are read from it. Run once per store in a fresh JVM, so that
+ * the stores do not share a heap.
+ *
+ * Rendering a person creates short-lived strings with any store, so the churn phase triggers young collections
+ * whose cost depends on how much of the old generation the collector has to track, and the full collections show
+ * the cost of tracing everything that is live.
+ *
+ * Usage: {@code PersonStoreGcFootprint objects|columnar|offheap [ROWS]}, run with a heap and direct memory
+ * limit large enough for the store, e.g. {@code -Xmx3g -XX:MaxDirectMemorySize=1g}.
+ */
+public class PersonStoreGcFootprint {
+
+    private static final int DEFAULT_ROWS = 2000000;
+    private static final int FULL_COLLECTIONS = 5;
+    private static final int CHURN_READS = 5000000;
+
+    public static void main(String[] args) throws Exception {
+        final String store = args[0];
+        final int rows = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROWS;
+
+        final long before = usedHeapAfterGc();
+        final long directBefore = usedDirectMemory();
+        final List<ReadOnlyPerson> persons = createList(store, rows).immutableListView();
+        final long after = usedHeapAfterGc();
+        final long directAfter = usedDirectMemory();
+
+        final long fullStart = System.nanoTime();
+        for (int i = 0; i < FULL_COLLECTIONS; i++) {
+            System.gc();
+        }
+        final double fullPauseMillis = (System.nanoTime() - fullStart) / 1e6 / FULL_COLLECTIONS;
+
+        final long[] gcBefore = gcCountAndMillis();
+        final long churnStart = System.nanoTime();
+        final int checksum = churn(persons, rows);
+        final long churnMillis = (System.nanoTime() - churnStart) / 1000000;
+        final long[] gcAfter = gcCountAndMillis();
+
+        System.out.printf("store: %s, rows: %d (checksum %d)%n", store, rows, checksum);
+        System.out.printf("heap used:          %8.1f MB (%.1f bytes per person)%n",
+                (after - before) / 1e6, (double) (after - before) / rows);
+        System.out.printf("direct memory used: %8.1f MB%n", (directAfter - directBefore) / 1e6);
+        System.out.printf("full gc pause:      %8.1f ms%n", fullPauseMillis);
+        System.out.printf("churn: %d reads in %d ms, %d collections, %d ms paused%n",
+                CHURN_READS, churnMillis, gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1]);
+    }
+
+    /**
+     * Returns a list of the generated persons kept in a store of the given kind.
+     */
+    private static UniquePersonList createList(String store, int rows) throws Exception {
+        final List<Person> persons = PersonColumnsFixture.generatePersons(rows);
+        final UniquePersonList list;
+        switch (store) {
+            case "objects":
+                return UniquePersonList.ofUnique(persons);
+            case "columnar":
+                list = new UniquePersonList(new ColumnarPersonStore());
+                break;
+            case "offheap":
+                list = new UniquePersonList(new OffHeapPersonStore());
+                break;
+            default:
+                throw new IllegalArgumentException("unknown store " + store);
+        }
+        list.addAll(persons);
+        return list;
+    }
+
+    /**
+     * Renders persons at random positions, keeping nothing but a checksum.
+     */
+    private static int churn(List<ReadOnlyPerson> persons, int rows) {
+        final Random random = new Random(40);
+        int checksum = 0;
+        for (int i = 0; i < CHURN_READS; i++) {
+            checksum += persons.get(random.nextInt(rows)).getAsTextShowAll().length();
+        }
+        return checksum;
+    }
+
+    private static long[] gcCountAndMillis() {
+        final long[] total = new long[2];
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total[0] += collector.getCollectionCount();
+            total[1] += collector.getCollectionTime();
+        }
+        return total;
+    }
+
+    private static long usedDirectMemory() {
+        long used = 0;
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            used += pool.getMemoryUsed();
+        }
+        return used;
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
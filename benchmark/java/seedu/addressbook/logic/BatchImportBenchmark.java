@@ -0,0 +1,63 @@
+package seedu.addressbook.logic;
+
+import org.openjdk.jmh.annotations.*;
+import seedu.addressbook.commands.CommandResult;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.logic.ParallelCommandParser.ParsedLine;
+import seedu.addressbook.storage.NoOpStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the throughput of a bulk import of {@code add} lines scales with the number of parser threads.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchImportBenchmark {
+
+    @Param({"10000"})
+    public int lineCount;
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int parserThreads;
+
+    private List<String> addLines;
+    private Logic logic;
+
+    @Setup(Level.Trial)
+    public void generateLines() {
+        addLines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            addLines.add("add Person " + i + " p/" + (80000000 + i) + " pe/person" + i + "@example.com"
+                    + " a/" + i + ", Clementi Ave " + (i % 10) + " t/group" + (i % 50) + " t/team" + (i % 7));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createLogic() throws Exception {
+        logic = new Logic(new NoOpStorage(), new AddressBook()); // measures parsing and applying only
+        logic.setBatchParserThreads(parserThreads);
+    }
+
+    @Benchmark
+    public int parseOnly() throws Exception {
+        int parsedCount = 0;
+        try (ParallelCommandParser parsedLines = new ParallelCommandParser(addLines, parserThreads)) {
+            for (ParsedLine line = parsedLines.next(); line != null; line = parsedLines.next()) {
+                parsedCount++;
+            }
+        }
+        return parsedCount;
+    }
+
+    @Benchmark
+    public CommandResult parseAndApply() throws Exception {
+        return logic.executeBatch(addLines);
+    }
+}
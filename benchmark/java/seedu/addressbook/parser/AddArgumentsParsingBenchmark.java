@@ -0,0 +1,61 @@
+package seedu.addressbook.parser;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+
+/**
+ * Compares splitting add command arguments with {@link PersonDataArgs#scan(String)}
+ * against the regex based splitting it replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AddArgumentsParsingBenchmark {
+
+    @Param({"0", "4", "64"})
+    public int tagCount;
+
+    private String args;
+
+    @Setup
+    public void generateArgs() {
+        StringBuilder builder = new StringBuilder("Betsy Crowe pp/1234567 e/betsycrowe@gmail.com pa/Newgate Prison");
+        for (int i = 0; i < tagCount; i++) {
+            builder.append(" t/tag").append(i);
+        }
+        args = builder.toString();
+    }
+
+    @Benchmark
+    public Object scanner() throws Exception {
+        return PersonDataArgs.scan(args);
+    }
+
+    @Benchmark
+    public Object regex() {
+        Matcher matcher = Parser.PERSON_DATA_ARGS_FORMAT.matcher(args);
+        if (!matcher.matches()) {
+            throw new AssertionError("benchmark args should be valid");
+        }
+        String tagArguments = matcher.group("tagArguments");
+        Set<String> tags = tagArguments.isEmpty()
+                ? Collections.emptySet()
+                : new HashSet<>(Arrays.asList(tagArguments.replaceFirst(" t/", "").split(" t/")));
+        return new Object[] {
+            matcher.group("name"),
+            matcher.group("phone"), matcher.group("isPhonePrivate").equals("p"),
+            matcher.group("email"), matcher.group("isEmailPrivate").equals("p"),
+            matcher.group("address"), matcher.group("isAddressPrivate").equals("p"),
+            tags
+        };
+    }
+}
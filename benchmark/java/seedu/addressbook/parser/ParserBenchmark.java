@@ -0,0 +1,52 @@
+package seedu.addressbook.parser;
+
+import org.openjdk.jmh.annotations.*;
+import seedu.addressbook.BenchmarkData;
+import seedu.addressbook.commands.Command;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing one line of each kind of command that takes arguments.
+ * Parsing does not look at the address book, so unlike the other regression benchmarks this one is not
+ * parameterized by the number of persons.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+
+    @Param({"add", "edit", "find", "delete"})
+    public String commandWord;
+
+    private final Parser parser = new Parser();
+    private String line;
+
+    @Setup(Level.Trial)
+    public void createLine() {
+        switch (commandWord) {
+            case "add":
+                line = BenchmarkData.generateAddCommand(12345);
+                break;
+            case "edit":
+                line = "edit 3 p/91234567 a/12, Clementi Ave 3 t/group1 t/team2";
+                break;
+            case "find":
+                line = "find Alice " + BenchmarkData.MATCHING_SURNAME + " Bob";
+                break;
+            case "delete":
+                line = "delete 3";
+                break;
+            default:
+                throw new IllegalArgumentException("no line for command " + commandWord);
+        }
+    }
+
+    @Benchmark
+    public Command parseCommand() {
+        return parser.parseCommand(line);
+    }
+}
@@ -0,0 +1,45 @@
+package seedu.addressbook.storage;
+
+import org.openjdk.jmh.annotations.*;
+import seedu.addressbook.BenchmarkData;
+import seedu.addressbook.data.AddressBook;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving an address book of the given size to a storage file, and loading it back.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+@State(Scope.Benchmark)
+public class StorageFileBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int personCount;
+
+    private AddressBook addressBook;
+    private StorageFile storageFile;
+
+    @Setup(Level.Trial)
+    public void createStorageFile() throws Exception {
+        addressBook = BenchmarkData.generateAddressBook(personCount);
+        final File file = File.createTempFile("addressbook-benchmark", ".txt");
+        file.deleteOnExit();
+        storageFile = new StorageFile(file.getPath());
+        storageFile.save(addressBook);
+    }
+
+    @Benchmark
+    public void save() throws Exception {
+        storageFile.save(addressBook);
+    }
+
+    @Benchmark
+    public AddressBook load() throws Exception {
+        return storageFile.load();
+    }
+}
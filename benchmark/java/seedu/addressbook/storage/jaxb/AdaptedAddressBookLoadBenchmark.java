@@ -0,0 +1,47 @@
+package seedu.addressbook.storage.jaxb;
+
+import org.openjdk.jmh.annotations.*;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.*;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of loaded storage data into the model, which validates every field of every record.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+@State(Scope.Benchmark)
+public class AdaptedAddressBookLoadBenchmark {
+
+    @Param({"1000000"})
+    public int personCount;
+
+    private AdaptedAddressBook loaded;
+
+    @Setup(Level.Trial)
+    public void createAdaptedAddressBook() throws Exception {
+        List<Person> persons = new ArrayList<>(personCount);
+        for (int i = 0; i < personCount; i++) {
+            persons.add(new Person(
+                    new Name("Person " + i),
+                    new Phone(Integer.toString(80000000 + i), i % 2 == 0),
+                    new Email("person" + i + "@example.com", false),
+                    new Address(i + ", Clementi Ave " + (i % 10), i % 3 == 0),
+                    new UniqueTagList(new Tag("group" + (i % 50)), new Tag("team" + (i % 7)))));
+        }
+        loaded = new AdaptedAddressBook(new AddressBook(new UniquePersonList(persons), new UniqueTagList()));
+    }
+
+    @Benchmark
+    public AddressBook toModelType() throws Exception {
+        return loaded.toModelType();
+    }
+}
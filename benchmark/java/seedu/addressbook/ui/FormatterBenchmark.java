@@ -0,0 +1,47 @@
+package seedu.addressbook.ui;
+
+import org.openjdk.jmh.annotations.*;
+import seedu.addressbook.BenchmarkData;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures formatting a listing of all persons in an address book of the given size, as the list command shows.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+@State(Scope.Benchmark)
+public class FormatterBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int personCount;
+
+    private final Formatter formatter = new Formatter();
+    private List<ReadOnlyPerson> persons;
+
+    /** Reused by every invocation, as a caller streaming listings into one buffer would. */
+    private final StringBuilder buffer = new StringBuilder();
+
+    @Setup(Level.Trial)
+    public void createPersons() throws Exception {
+        persons = BenchmarkData.generateAddressBook(personCount).getAllPersons().immutableListView();
+    }
+
+    @Benchmark
+    public String formatPersons() {
+        return formatter.format(persons);
+    }
+
+    @Benchmark
+    public int formatPersonsIntoBuffer() throws IOException {
+        buffer.setLength(0);
+        formatter.format(persons, buffer);
+        return buffer.length();
+    }
+}
@@ -1,8 +1,10 @@
 package seedu.addressbook;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 
 import javafx.stage.Stage;
+import seedu.addressbook.diagnostics.Diagnostics;
 import seedu.addressbook.logic.Logic;
 import seedu.addressbook.ui.Gui;
 import seedu.addressbook.ui.Stoppable;
@@ -16,13 +18,23 @@ public class Main extends Application implements Stoppable{
     public static final String VERSION = "AddessBook Level 3 - Version 1.0";
 
     private Gui gui;
+    private Logic logic;
 
     @Override
     public void start(Stage primaryStage) throws Exception{
-        gui = new Gui(new Logic(), VERSION);
+        Diagnostics.startContinuousRecordingIfRequested();
+        logic = new Logic();
+        gui = new Gui(logic, VERSION);
         gui.start(primaryStage, this);
     }
 
+    @Override
+    public void stop() throws Exception {
+        logic.close();
+        Platform.exit();
+        System.exit(0);
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -4,8 +4,11 @@ import seedu.addressbook.data.exception.IllegalValueException;
 import seedu.addressbook.data.person.*;
 import seedu.addressbook.data.tag.Tag;
 import seedu.addressbook.data.tag.UniqueTagList;
+import seedu.addressbook.logic.PersonAddedChange;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -23,6 +26,8 @@ public class AddCommand extends Command {
 
     public static final String MESSAGE_SUCCESS = "New person added: %1$s";
     public static final String MESSAGE_DUPLICATE_PERSON = "This person already exists in the address book";
+    public static final String MESSAGE_DUPLICATE_CONTACT_DETAIL =
+            "This %1$s is already used by another person in the address book";
 
     private final Person toAdd;
 
@@ -60,11 +65,24 @@ public class AddCommand extends Command {
     @Override
     public CommandResult execute() {
         try {
-            addressBook.addPerson(toAdd);
-            return new CommandResult(String.format(MESSAGE_SUCCESS, toAdd));
+            final List<Tag> newTags = new ArrayList<>();
+            for (Tag tag : toAdd.getTags()) {
+                if (!addressBook.containsTag(tag)) {
+                    newTags.add(tag);
+                }
+            }
+            final Person added = addressBook.addPerson(toAdd);
+            recordChange(new PersonAddedChange(added, newTags));
+            return new CommandResult(String.format(MESSAGE_SUCCESS, added));
+        } catch (UniquePersonList.DuplicateContactDetailException dcde) {
+            return CommandResult.failure(String.format(MESSAGE_DUPLICATE_CONTACT_DETAIL, dcde.detailName));
         } catch (UniquePersonList.DuplicatePersonException dpe) {
-            return new CommandResult(MESSAGE_DUPLICATE_PERSON);
+            return CommandResult.failure(MESSAGE_DUPLICATE_PERSON);
         }
     }
 
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
 }
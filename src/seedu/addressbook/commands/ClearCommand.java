@@ -1,5 +1,7 @@
 package seedu.addressbook.commands;
 
+import seedu.addressbook.logic.ClearedChange;
+
 /**
  * Clears the address book.
  */
@@ -16,7 +18,12 @@ public class ClearCommand extends Command {
 
     @Override
     public CommandResult execute() {
-        addressBook.clear();
+        recordChange(new ClearedChange(addressBook.detachAll()));
         return new CommandResult(MESSAGE_SUCCESS);
     }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
 }
@@ -2,9 +2,13 @@ package seedu.addressbook.commands;
 
 import seedu.addressbook.common.Messages;
 import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.Person;
 import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.logic.ReversibleChange;
 
 import java.util.List;
+import java.util.Optional;
 
 import static seedu.addressbook.ui.Gui.DISPLAYED_INDEX_OFFSET;
 
@@ -15,6 +19,8 @@ public abstract class Command {
     protected AddressBook addressBook;
     protected List<? extends ReadOnlyPerson> relevantPersons;
     private int targetIndex = -1;
+    private long targetId = Person.UNASSIGNED_ID;
+    private ReversibleChange change;
 
     /**
      * @param targetIndex last visible listing index of the target person
@@ -41,6 +47,14 @@ public abstract class Command {
      */
     public abstract CommandResult execute();
 
+    /**
+     * Returns true if executing this command may change the address book.
+     * Commands that only read the address book may be executed concurrently with each other.
+     */
+    public boolean isMutating() {
+        return false;
+    }
+
     /**
      * Supplies the data the command will operate on.
      */
@@ -50,14 +64,33 @@ public abstract class Command {
     }
 
     /**
-     * Extracts the the target person in the last shown list from the given arguments.
+     * Finds the target person: the person with the target ID if there is one, which is looked up in O(1) without
+     * a prior listing, or otherwise the person at the target index in the last shown list.
      *
      * @throws IndexOutOfBoundsException if the target index is out of bounds of the last viewed listing
+     * @throws PersonNotFoundException if no person in the address book has the target ID
      */
-    protected ReadOnlyPerson getTargetPerson() throws IndexOutOfBoundsException {
+    protected ReadOnlyPerson getTargetPerson() throws IndexOutOfBoundsException, PersonNotFoundException {
+        if (targetId != Person.UNASSIGNED_ID) {
+            return addressBook.getPersonById(targetId);
+        }
         return relevantPersons.get(getTargetIndex() - DISPLAYED_INDEX_OFFSET);
     }
 
+    /**
+     * Records the change made to the address book by this command, so that it can be undone.
+     */
+    protected void recordChange(ReversibleChange change) {
+        this.change = change;
+    }
+
+    /**
+     * Returns the change made to the address book by the last execution of this command, if any.
+     */
+    public Optional<ReversibleChange> getChange() {
+        return Optional.ofNullable(change);
+    }
+
     public int getTargetIndex() {
         return targetIndex;
     }
@@ -65,4 +98,15 @@ public abstract class Command {
     public void setTargetIndex(int targetIndex) {
         this.targetIndex = targetIndex;
     }
+
+    public long getTargetId() {
+        return targetId;
+    }
+
+    /**
+     * Makes the command target the person with the given ID instead of a person in the last shown list.
+     */
+    public void setTargetId(long targetId) {
+        this.targetId = targetId;
+    }
 }
@@ -16,14 +16,40 @@ public class CommandResult {
     /** The list of persons that was produced by the command */
     private final List<? extends ReadOnlyPerson> relevantPersons;
 
+    /** False if the command could not do what it was asked to, e.g. because its target index was invalid */
+    private final boolean isSuccessful;
+
     public CommandResult(String feedbackToUser) {
-        this.feedbackToUser = feedbackToUser;
-        relevantPersons = null;
+        this(feedbackToUser, null, true);
     }
 
     public CommandResult(String feedbackToUser, List<? extends ReadOnlyPerson> relevantPersons) {
+        this(feedbackToUser, relevantPersons, true);
+    }
+
+    private CommandResult(String feedbackToUser, List<? extends ReadOnlyPerson> relevantPersons,
+            boolean isSuccessful) {
         this.feedbackToUser = feedbackToUser;
         this.relevantPersons = relevantPersons;
+        this.isSuccessful = isSuccessful;
+    }
+
+    /**
+     * Returns the result of a command that could not do what it was asked to, explained by the given feedback.
+     */
+    public static CommandResult failure(String feedbackToUser) {
+        return new CommandResult(feedbackToUser, null, false);
+    }
+
+    /**
+     * Returns this result with the given note added to the end of its feedback.
+     */
+    public CommandResult withNote(String note) {
+        return new CommandResult(feedbackToUser + "\n" + note, relevantPersons, isSuccessful);
+    }
+
+    public boolean isSuccessful() {
+        return isSuccessful;
     }
 
     /**
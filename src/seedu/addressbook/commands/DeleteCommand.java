@@ -1,20 +1,23 @@
 package seedu.addressbook.commands;
 
 import seedu.addressbook.common.Messages;
+import seedu.addressbook.data.person.Person;
 import seedu.addressbook.data.person.ReadOnlyPerson;
 import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.logic.PersonRemovedChange;
 
 
 /**
- * Deletes a person identified using it's last displayed index from the address book.
+ * Deletes a person identified using it's last displayed index or its ID from the address book.
  */
 public class DeleteCommand extends Command {
 
     public static final String COMMAND_WORD = "delete";
 
     public static final String MESSAGE_USAGE = COMMAND_WORD + ":\n" 
-            + "Deletes the person identified by the index number used in the last person listing.\n\t"
-            + "Parameters: INDEX\n\t"
+            + "Deletes the person identified by the index number used in the last person listing,\n\t"
+            + "or by the person's ID.\n\t"
+            + "Parameters: INDEX or #ID\n\t"
             + "Example: " + COMMAND_WORD + " 1";
 
     public static final String MESSAGE_DELETE_PERSON_SUCCESS = "Deleted Person: %1$s";
@@ -29,14 +32,19 @@ public class DeleteCommand extends Command {
     public CommandResult execute() {
         try {
             final ReadOnlyPerson target = getTargetPerson();
-            addressBook.removePerson(target);
+            final int position = addressBook.removePerson(target);
+            recordChange(new PersonRemovedChange(new Person(target), position));
             return new CommandResult(String.format(MESSAGE_DELETE_PERSON_SUCCESS, target));
 
         } catch (IndexOutOfBoundsException ie) {
-            return new CommandResult(Messages.MESSAGE_INVALID_PERSON_DISPLAYED_INDEX);
+            return CommandResult.failure(Messages.MESSAGE_INVALID_PERSON_DISPLAYED_INDEX);
         } catch (PersonNotFoundException pnfe) {
-            return new CommandResult(Messages.MESSAGE_PERSON_NOT_IN_ADDRESSBOOK);
+            return CommandResult.failure(Messages.MESSAGE_PERSON_NOT_IN_ADDRESSBOOK);
         }
     }
 
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
 }
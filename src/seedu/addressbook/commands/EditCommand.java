@@ -0,0 +1,108 @@
+package seedu.addressbook.commands;
+
+import seedu.addressbook.common.Messages;
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList.DuplicateContactDetailException;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+import seedu.addressbook.logic.PersonEditedChange;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Changes some contact details or the tags of a person identified using its last displayed index or its ID.
+ * The person keeps its position in the address book and in the last shown listing.
+ */
+public class EditCommand extends Command {
+
+    public static final String COMMAND_WORD = "edit";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ":\n" + "Edits the person identified by the index "
+            + "number used in the last person listing, or by the person's ID.\n\t"
+            + "Only the given details are changed; given tags replace all the person's tags.\n\t"
+            + "Parameters: INDEX or #ID [[p]p/PHONE] [[p]e/EMAIL] [[p]a/ADDRESS] [t/TAG]...\n\t"
+            + "Example: " + COMMAND_WORD + " 1 p/91234567 t/friends";
+
+    public static final String MESSAGE_EDIT_PERSON_SUCCESS = "Edited Person: %1$s";
+
+    /** The new details, or null for details that are not changed. */
+    private final Phone phone;
+    private final Email email;
+    private final Address address;
+    private final UniqueTagList tags;
+
+    /**
+     * @param phone null to keep the person's phone
+     * @param email null to keep the person's email
+     * @param address null to keep the person's address
+     * @param tags null to keep the person's tags
+     */
+    public EditCommand(int targetVisibleIndex, Phone phone, Email email, Address address, UniqueTagList tags) {
+        super(targetVisibleIndex);
+        this.phone = phone;
+        this.email = email;
+        this.address = address;
+        this.tags = tags;
+    }
+
+    @Override
+    public CommandResult execute() {
+        try {
+            final ReadOnlyPerson target = getTargetPerson();
+            final Person edited = new Person(
+                    target.getName(),
+                    phone == null ? target.getPhone() : phone,
+                    email == null ? target.getEmail() : email,
+                    address == null ? target.getAddress() : address,
+                    tags == null ? target.getTags() : tags);
+            final List<Tag> newTags = new ArrayList<>();
+            for (Tag tag : edited.getTags()) {
+                if (!addressBook.containsTag(tag)) {
+                    newTags.add(tag);
+                }
+            }
+            final Person previous = addressBook.editPerson(target, edited);
+            final Person replacement = addressBook.getPersonById(previous.getId());
+            recordChange(new PersonEditedChange(previous, replacement, newTags));
+            return new CommandResult(String.format(MESSAGE_EDIT_PERSON_SUCCESS, replacement),
+                    withReplaced(relevantPersons, target, replacement));
+
+        } catch (IndexOutOfBoundsException ie) {
+            return CommandResult.failure(Messages.MESSAGE_INVALID_PERSON_DISPLAYED_INDEX);
+        } catch (PersonNotFoundException pnfe) {
+            return CommandResult.failure(Messages.MESSAGE_PERSON_NOT_IN_ADDRESSBOOK);
+        } catch (DuplicateContactDetailException dcde) {
+            return CommandResult.failure(String.format(AddCommand.MESSAGE_DUPLICATE_CONTACT_DETAIL, dcde.detailName));
+        } catch (DuplicatePersonException dpe) {
+            return CommandResult.failure(AddCommand.MESSAGE_DUPLICATE_PERSON);
+        }
+    }
+
+    /**
+     * Returns a copy of the listing with the replaced person swapped for its replacement, so that the indexes
+     * shown to the user keep referring to the same persons, or null if the listing does not show the person.
+     */
+    private static List<ReadOnlyPerson> withReplaced(List<? extends ReadOnlyPerson> listing,
+                                                     ReadOnlyPerson replaced, ReadOnlyPerson replacement) {
+        for (int i = 0; i < listing.size(); i++) {
+            if (listing.get(i) == replaced) {
+                final List<ReadOnlyPerson> updated = new ArrayList<>(listing);
+                updated.set(i, replacement);
+                return updated;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
@@ -0,0 +1,22 @@
+package seedu.addressbook.commands;
+
+import seedu.addressbook.logic.CommandHistory;
+
+/**
+ * Represents a command that works on the history of changes made by past commands.
+ */
+public abstract class HistoryCommand extends Command {
+    protected CommandHistory history;
+
+    /**
+     * Supplies the history the command will operate on, in addition to the data given to {@link #setData}.
+     */
+    public void setHistory(CommandHistory history) {
+        this.history = history;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
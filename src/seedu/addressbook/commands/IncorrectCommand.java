@@ -14,7 +14,7 @@ public class IncorrectCommand extends Command{
 
     @Override
     public CommandResult execute() {
-        return new CommandResult(feedbackToUser);
+        return CommandResult.failure(feedbackToUser);
     }
 
 }
@@ -0,0 +1,29 @@
+package seedu.addressbook.commands;
+
+import seedu.addressbook.logic.ReversibleChange;
+
+import java.util.Optional;
+
+/**
+ * Redoes the most recently undone change to the address book.
+ */
+public class RedoCommand extends HistoryCommand {
+
+    public static final String COMMAND_WORD = "redo";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ":\n"
+            + "Redoes the most recently undone change to the address book.\n\t"
+            + "Example: " + COMMAND_WORD;
+
+    public static final String MESSAGE_SUCCESS = "Redone: %1$s";
+    public static final String MESSAGE_NOTHING_TO_REDO = "There is no undone change to redo";
+
+    @Override
+    public CommandResult execute() {
+        final Optional<ReversibleChange> redone = history.redo(addressBook);
+        if (!redone.isPresent()) {
+            return CommandResult.failure(MESSAGE_NOTHING_TO_REDO);
+        }
+        return new CommandResult(String.format(MESSAGE_SUCCESS, redone.get().getDescription()));
+    }
+}
@@ -0,0 +1,46 @@
+package seedu.addressbook.commands;
+
+/**
+ * Runs every command in a script file, one command per line.
+ * The address book is saved once after the whole script has been run instead of after every line.
+ */
+public class SourceCommand extends Command {
+
+    public static final String COMMAND_WORD = "source";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ":\n"
+            + "Runs the commands in the given script file, one command per line. "
+            + "Blank lines and lines starting with '#' are skipped.\n\t"
+            + "Parameters: FILE\n\t"
+            + "Example: " + COMMAND_WORD + " contacts.txt";
+
+    public static final String MESSAGE_BATCH_SUMMARY = "Executed %1$d commands, %2$d failed";
+    public static final String MESSAGE_LINE_ERROR = "Line %1$d: %2$s";
+    public static final String MESSAGE_CANNOT_READ_SCRIPT = "Could not read script file: %1$s";
+    public static final String MESSAGE_NESTED_SOURCE = "Scripts cannot run other scripts";
+
+    private final String scriptFilePath;
+
+    public SourceCommand(String scriptFilePath) {
+        this.scriptFilePath = scriptFilePath;
+    }
+
+    public String getScriptFilePath() {
+        return scriptFilePath;
+    }
+
+    /**
+     * Scripts are streamed through {@code Logic#executeBatch} so that they can share one save to storage,
+     * hence this command is only run by {@code Logic#execute}, and fails if it is executed on its own,
+     * e.g. as a line of a script.
+     */
+    @Override
+    public CommandResult execute() {
+        return CommandResult.failure(MESSAGE_NESTED_SOURCE);
+    }
+
+    @Override
+    public boolean isMutating() {
+        return true;
+    }
+}
@@ -0,0 +1,29 @@
+package seedu.addressbook.commands;
+
+import seedu.addressbook.logic.CommandStats;
+
+/**
+ * Shows how long the phases of past commands took, per command word, and how large the saves were.
+ */
+public class StatsCommand extends Command {
+
+    public static final String COMMAND_WORD = "stats";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ":\n"
+            + "Shows the latency percentiles of each phase of past commands, and the sizes of saves.\n\t"
+            + "Example: " + COMMAND_WORD;
+
+    private CommandStats stats;
+
+    /**
+     * Supplies the stats the command will report, in addition to the data given to {@link #setData}.
+     */
+    public void setStats(CommandStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public CommandResult execute() {
+        return new CommandResult(stats.format());
+    }
+}
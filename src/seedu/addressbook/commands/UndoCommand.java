@@ -0,0 +1,31 @@
+package seedu.addressbook.commands;
+
+import seedu.addressbook.logic.ReversibleChange;
+
+import java.util.Optional;
+
+/**
+ * Undoes the most recent change made to the address book.
+ */
+public class UndoCommand extends HistoryCommand {
+
+    public static final String COMMAND_WORD = "undo";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ":\n"
+            + "Undoes the most recent change to the address book.\n\t"
+            + "Example: " + COMMAND_WORD;
+
+    public static final String MESSAGE_SUCCESS = "Undone: %1$s";
+    public static final String MESSAGE_NOTHING_TO_UNDO = "There is no change to undo";
+    public static final String MESSAGE_TOO_LARGE_TO_UNDO =
+            "Note: this change is too large to be undone, and earlier changes can no longer be undone either";
+
+    @Override
+    public CommandResult execute() {
+        final Optional<ReversibleChange> undone = history.undo(addressBook);
+        if (!undone.isPresent()) {
+            return CommandResult.failure(MESSAGE_NOTHING_TO_UNDO);
+        }
+        return new CommandResult(String.format(MESSAGE_SUCCESS, undone.get().getDescription()));
+    }
+}
@@ -2,6 +2,7 @@ package seedu.addressbook.commands;
 
 import seedu.addressbook.common.Messages;
 import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
 
 
 /**
@@ -13,8 +14,8 @@ public class ViewAllCommand extends Command {
     public static final String COMMAND_WORD = "viewall";
 
     public static final String MESSAGE_USAGE = COMMAND_WORD + ":\n" + "Shows all details of the person "
-            + "identified by the index number in the last shown person listing.\n\t"
-            + "Parameters: INDEX\n\t"
+            + "identified by the index number in the last shown person listing, or by the person's ID.\n\t"
+            + "Parameters: INDEX or #ID\n\t"
             + "Example: " + COMMAND_WORD + " 1";
 
     public static final String MESSAGE_VIEW_PERSON_DETAILS = "Viewing person: %1$s";
@@ -30,11 +31,13 @@ public class ViewAllCommand extends Command {
         try {
             final ReadOnlyPerson target = getTargetPerson();
             if (!addressBook.containsPerson(target)) {
-                return new CommandResult(Messages.MESSAGE_PERSON_NOT_IN_ADDRESSBOOK);
+                return CommandResult.failure(Messages.MESSAGE_PERSON_NOT_IN_ADDRESSBOOK);
             }
             return new CommandResult(String.format(MESSAGE_VIEW_PERSON_DETAILS, target.getAsTextShowAll()));
         } catch (IndexOutOfBoundsException ie) {
-            return new CommandResult(Messages.MESSAGE_INVALID_PERSON_DISPLAYED_INDEX);
+            return CommandResult.failure(Messages.MESSAGE_INVALID_PERSON_DISPLAYED_INDEX);
+        } catch (PersonNotFoundException pnfe) {
+            return CommandResult.failure(Messages.MESSAGE_PERSON_NOT_IN_ADDRESSBOOK);
         }
     }
 }
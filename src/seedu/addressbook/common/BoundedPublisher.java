@@ -0,0 +1,195 @@
+package seedu.addressbook.common;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Flow.Publisher} that buffers a bounded number of items for each subscriber.
+ *
+ * Each subscriber is called through its own executor: a synchronous subscriber receives items on the thread
+ * that publishes them, while an asynchronous one receives them on the executor it was subscribed with.
+ * Items a subscriber has not requested yet wait in its buffer. Publishing never blocks: a subscriber whose
+ * buffer is full is failed with a {@link BufferFullException} and unsubscribed, after which it has to
+ * rebuild whatever it derives from the items and subscribe again.
+ */
+public class BoundedPublisher<T> implements Flow.Publisher<T> {
+
+    public static final int DEFAULT_BUFFER_CAPACITY = 1024;
+
+    /**
+     * Signals that a subscriber missed an item because its buffer was full.
+     */
+    public static class BufferFullException extends IllegalStateException {
+        public BufferFullException(int capacity) {
+            super("subscriber buffer of " + capacity + " items is full");
+        }
+    }
+
+    private final CopyOnWriteArrayList<BufferedSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Subscribes synchronously: items are delivered on the thread publishing them, or on the thread requesting
+     * them if they were published before they were requested.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        subscribe(subscriber, Runnable::run, DEFAULT_BUFFER_CAPACITY);
+    }
+
+    /**
+     * Subscribes with items delivered through the given executor, buffering up to the given number of items
+     * that have been published but not yet delivered.
+     */
+    public void subscribe(Flow.Subscriber<? super T> subscriber, Executor executor, int bufferCapacity) {
+        if (bufferCapacity <= 0) {
+            throw new IllegalArgumentException("buffer capacity must be positive");
+        }
+        final BufferedSubscription subscription = new BufferedSubscription(subscriber, executor, bufferCapacity);
+        subscriptions.add(subscription);
+        subscription.signal();
+    }
+
+    /**
+     * Returns true if any subscriber may still receive items, so that callers can skip creating items otherwise.
+     */
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    /**
+     * Offers the item to every subscriber.
+     */
+    public void publish(T item) {
+        for (BufferedSubscription subscription : subscriptions) {
+            subscription.offer(item);
+        }
+    }
+
+    /**
+     * Completes every subscriber after it has received the items already published.
+     */
+    public void close() {
+        for (BufferedSubscription subscription : subscriptions) {
+            subscription.complete();
+        }
+    }
+
+    /**
+     * The buffer and demand of one subscriber. Deliveries to the subscriber are serialised by the work counter:
+     * only the caller that raises it from zero runs {@link #drain()}, which keeps going until no more work was
+     * signalled while it ran.
+     */
+    private class BufferedSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final Executor executor;
+        private final int capacity;
+        private final Queue<T> buffer;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger work = new AtomicInteger();
+
+        private volatile boolean isCancelled = false;
+        private volatile boolean isCompleted = false;
+        private volatile Throwable error = null;
+
+        /** Only used by the thread running {@link #drain()}. */
+        private boolean isOnSubscribeCalled = false;
+
+        BufferedSubscription(Flow.Subscriber<? super T> subscriber, Executor executor, int capacity) {
+            this.subscriber = subscriber;
+            this.executor = executor;
+            this.capacity = capacity;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void offer(T item) {
+            if (buffer.offer(item)) {
+                signal();
+            } else {
+                fail(new BufferFullException(capacity));
+            }
+        }
+
+        void complete() {
+            isCompleted = true;
+            signal();
+        }
+
+        void fail(Throwable cause) {
+            error = cause;
+            signal();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("number of requested items must be positive"));
+                return;
+            }
+            demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            isCancelled = true;
+            subscriptions.remove(this);
+            buffer.clear();
+        }
+
+        void signal() {
+            if (work.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RuntimeException re) {
+                    cancel(); // the executor has been shut down
+                }
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!isOnSubscribeCalled) {
+                    isOnSubscribeCalled = true;
+                    callSafely(() -> subscriber.onSubscribe(this));
+                }
+                deliverRequestedItems();
+                if (!isCancelled && error != null) {
+                    cancel();
+                    final Throwable cause = error;
+                    callSafely(() -> subscriber.onError(cause));
+                } else if (!isCancelled && isCompleted && buffer.isEmpty()) {
+                    cancel();
+                    callSafely(subscriber::onComplete);
+                }
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void deliverRequestedItems() {
+            while (!isCancelled && error == null && demand.get() > 0) {
+                final T item = buffer.poll();
+                if (item == null) {
+                    return;
+                }
+                demand.getAndUpdate(current -> current == Long.MAX_VALUE ? current : current - 1);
+                callSafely(() -> subscriber.onNext(item));
+            }
+        }
+
+        /**
+         * Calls the subscriber, cancelling its subscription if it throws, as subscribers must not throw.
+         */
+        private void callSafely(Runnable call) {
+            try {
+                call.run();
+            } catch (RuntimeException re) {
+                cancel();
+            }
+        }
+    }
+}
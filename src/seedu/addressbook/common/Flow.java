@@ -0,0 +1,54 @@
+package seedu.addressbook.common;
+
+/**
+ * Interfaces for publishing items to subscribers that control how many items they receive,
+ * with the same contract as {@code java.util.concurrent.Flow} (see http://www.reactive-streams.org/),
+ * which is not available on the Java version this project targets.
+ */
+public final class Flow {
+
+    private Flow() {}
+
+    /**
+     * A producer of items that are received by its subscribers.
+     */
+    @FunctionalInterface
+    public interface Publisher<T> {
+        /**
+         * Adds the subscriber, which is first called with {@link Subscriber#onSubscribe}, and then receives items
+         * as it requests them, until it cancels its subscription or receives {@code onError} or {@code onComplete}.
+         */
+        void subscribe(Subscriber<? super T> subscriber);
+    }
+
+    /**
+     * A receiver of items. The methods of one subscriber are never called concurrently.
+     */
+    public interface Subscriber<T> {
+        /** Called before any other method, with the subscription through which items are requested. */
+        void onSubscribe(Subscription subscription);
+
+        /** Called with the next item, once for each item requested. */
+        void onNext(T item);
+
+        /** Called when no more items will be received because of an error. */
+        void onError(Throwable throwable);
+
+        /** Called when no more items will be received because the publisher has finished. */
+        void onComplete();
+    }
+
+    /**
+     * The link between a publisher and one of its subscribers.
+     */
+    public interface Subscription {
+        /**
+         * Allows the given number of further items to be received.
+         * A non-positive number fails the subscription with an {@link IllegalArgumentException}.
+         */
+        void request(long n);
+
+        /** Stops the subscriber from receiving further items, possibly not immediately. */
+        void cancel();
+    }
+}
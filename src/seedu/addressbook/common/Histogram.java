@@ -0,0 +1,111 @@
+package seedu.addressbook.common;
+
+/**
+ * Counts non-negative values, e.g. latencies in nanoseconds, in buckets whose width grows with the value,
+ * so that any percentile can be read back within about 3% of the exact value.
+ *
+ * Values from 0 to 63 have a bucket each. Above that, every range from one power of two to the next is split
+ * into 32 equal buckets, as HdrHistogram does. The counts live in one array that is allocated up front, so
+ * recording a value is a few arithmetic operations and never allocates. Values above {@link #MAX_VALUE} are
+ * counted as {@link #MAX_VALUE}.
+ *
+ * Not thread-safe.
+ */
+public class Histogram {
+
+    /** About an hour in nanoseconds, or 4 TB in bytes. */
+    public static final long MAX_VALUE = (1L << 42) - 1;
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[indexOf(MAX_VALUE) + 1];
+    private long totalCount = 0;
+    private long sum = 0;
+    private long max = 0;
+
+    /**
+     * Returns the index of the bucket that counts the given value.
+     */
+    private static int indexOf(long value) {
+        final int bucket = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return (bucket << SUB_BUCKET_BITS) + (int) (value >>> bucket);
+    }
+
+    /**
+     * Returns the greatest value counted by the bucket at the given index.
+     */
+    private static long highestValueAt(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        final int bucket = (index >> SUB_BUCKET_BITS) - 1;
+        final long subBucket = index - ((long) bucket << SUB_BUCKET_BITS);
+        return ((subBucket + 1) << bucket) - 1;
+    }
+
+    /**
+     * Counts the given value.
+     *
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("cannot record negative value " + value);
+        }
+        final long counted = Math.min(value, MAX_VALUE);
+        counts[indexOf(counted)]++;
+        totalCount++;
+        sum += counted;
+        max = Math.max(max, counted);
+    }
+
+    /**
+     * Adds all values counted by the other histogram to this one.
+     */
+    public void add(Histogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * Returns the mean of the recorded values, or 0 if there are none.
+     */
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Returns a value that the given percentage of recorded values are at most, by the nearest-rank method,
+     * or 0 if there are no values. Never more than the greatest recorded value.
+     *
+     * @param percentile from 0 to 100
+     */
+    public long getValueAtPercentile(double percentile) {
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueAt(i), max);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,103 @@
+package seedu.addressbook.common;
+
+/**
+ * Allocation-free checks for the simple grammars of person and tag fields.
+ * Each check accepts exactly the strings matched by the regex named in its comment, without compiling a
+ * {@link java.util.regex.Pattern} and creating a {@link java.util.regex.Matcher} on every call.
+ */
+public class Validators {
+
+    /**
+     * Checks if the given string is made of one or more ASCII digits. {@code \d+}
+     */
+    public static boolean isDigits(String test) {
+        if (test.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < test.length(); i++) {
+            if (!isDigit(test.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the given string is made of one or more ASCII letters and digits. {@code \p{Alnum}+}
+     */
+    public static boolean isAlphanumeric(String test) {
+        if (test.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < test.length(); i++) {
+            if (!isAlphanumeric(test.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the given string is made of one or more ASCII letters, digits and spaces. {@code [\p{Alnum} ]+}
+     */
+    public static boolean isAlphanumericOrSpace(String test) {
+        if (test.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < test.length(); i++) {
+            final char c = test.charAt(i);
+            if (c != ' ' && !isAlphanumeric(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the given string is two non-empty strings of word characters and periods,
+     * separated by a single '@'. {@code [\w\.]+@[\w\.]+}
+     */
+    public static boolean isWordsAtWords(String test) {
+        final int at = test.indexOf('@');
+        if (at <= 0 || at == test.length() - 1) {
+            return false;
+        }
+        for (int i = 0; i < test.length(); i++) {
+            final char c = test.charAt(i);
+            if (i != at && c != '.' && c != '_' && !isAlphanumeric(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the given string is non-empty and has no line terminators. {@code .+}
+     */
+    public static boolean isSingleLine(String test) {
+        if (test.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < test.length(); i++) {
+            if (isLineTerminator(test.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    /**
+     * Returns true for the characters that a regex '.' does not match.
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
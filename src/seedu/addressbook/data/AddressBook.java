@@ -1,10 +1,15 @@
 package seedu.addressbook.data;
 
+import seedu.addressbook.common.BoundedPublisher;
+import seedu.addressbook.common.Flow;
+import seedu.addressbook.data.event.AddressBookChange;
+import seedu.addressbook.data.event.AddressBookChange.*;
 import seedu.addressbook.data.person.*;
 import seedu.addressbook.data.person.UniquePersonList.*;
 import seedu.addressbook.data.tag.Tag;
 import seedu.addressbook.data.tag.UniqueTagList;
 import seedu.addressbook.data.tag.UniqueTagList.*;
+import seedu.addressbook.diagnostics.Diagnostics;
 
 import java.util.*;
 
@@ -14,11 +19,71 @@ import java.util.*;
  * Guarantees:
  *  - Every tag found in every person will also be found in the tag list.
  *  - The tags in each person point to tag objects in the master list. (== equality)
+ *  - Every person has an ID that no other person in the address book has had, and is indexed by it.
+ *  - No two persons share a value of a contact detail with a unique index (see {@link #addUniqueIndex}).
+ *  - Every change is published to the subscribers of {@link #getChanges()} before the changing method returns.
  */
-public class AddressBook {
+public class AddressBook implements MutableAddressBook {
+
+    public static final long FIRST_PERSON_ID = 1;
+
+    /** The name of the index of persons by ID in {@link Diagnostics} events. */
+    private static final String ID_INDEX_NAME = "id";
+
+    /**
+     * A contact detail that can be required to be unique among the persons of an address book.
+     */
+    public enum UniqueDetail {
+        PHONE("phone"),
+        EMAIL("email");
+
+        private final String detailName;
+
+        UniqueDetail(String detailName) {
+            this.detailName = detailName;
+        }
+
+        public String getDetailName() {
+            return detailName;
+        }
+
+        /**
+         * Returns the detail with the given name, e.g. "phone".
+         *
+         * @throws IllegalArgumentException if no detail has the name.
+         */
+        public static UniqueDetail ofDetailName(String detailName) {
+            for (UniqueDetail detail : values()) {
+                if (detail.detailName.equals(detailName)) {
+                    return detail;
+                }
+            }
+            throw new IllegalArgumentException("no unique contact detail named " + detailName);
+        }
+
+        /**
+         * Returns the value of this detail of the given person.
+         */
+        public String valueOf(ReadOnlyPerson person) {
+            return this == PHONE ? person.getPhone().value : person.getEmail().value;
+        }
+    }
 
     private final UniquePersonList allPersons;
     private final UniqueTagList allTags; // can contain tags not attached to any person
+    private Map<Long, Person> personsById;
+    private long nextPersonId = FIRST_PERSON_ID;
+
+    /**
+     * The positions of persons in {@link #allPersons} by ID, found in O(1) for removing and editing them.
+     * Inserting or removing a person shifts the persons after it, so instead of updating all their entries,
+     * {@link #positionsValidBelow} is lowered to the shifted position and the entries from there on are
+     * brought up to date only when needed, by {@link #positionOf}. An entry is always checked before it is used.
+     */
+    private Map<Long, Integer> positionsById;
+    private int positionsValidBelow = 0;
+    private final Map<UniqueDetail, UniqueDetailIndex> uniqueIndexes = new EnumMap<>(UniqueDetail.class);
+    private final BoundedPublisher<AddressBookChange> changes = new BoundedPublisher<>();
 
     public static AddressBook empty() {
         return new AddressBook();
@@ -30,56 +95,298 @@ public class AddressBook {
     public AddressBook() {
         allPersons = new UniquePersonList();
         allTags = new UniqueTagList();
+        personsById = new HashMap<>();
+        positionsById = new HashMap<>();
     }
 
     /**
      * Constructs an address book with the given data.
-     * Also updates the tag list with any missing tags found in any person.
+     * Also updates the tag list with any missing tags found in any person, and assigns new IDs to persons
+     * without one or with the same ID as an earlier person.
      *
      * @param persons external changes to this will not affect this address book
      * @param tags external changes to this will not affect this address book
      */
     public AddressBook(UniquePersonList persons, UniqueTagList tags) {
-        this.allPersons = new UniquePersonList(persons);
+        this(persons, tags, FIRST_PERSON_ID);
+    }
+
+    /**
+     * Constructs an address book with the given data, as {@link #AddressBook(UniquePersonList, UniqueTagList)}
+     * does, that will not assign IDs lower than the given one to persons added to it, e.g. because persons
+     * with those IDs have been removed before.
+     */
+    public AddressBook(UniquePersonList persons, UniqueTagList tags, long nextPersonId) {
         this.allTags = new UniqueTagList(tags);
-        for (Person p : allPersons) {
-            syncTagsWithMasterList(p);
+        final List<Person> synced = syncTagsWithMasterList(persons, new ArrayList<>(persons.size()));
+        this.personsById = new HashMap<>(synced.size() * 2);
+        this.positionsById = new HashMap<>(synced.size() * 2);
+        this.nextPersonId = nextPersonId;
+        final Diagnostics.IndexSpan span = Diagnostics.beginIndexRebuild();
+        for (int i = 0; i < synced.size(); i++) {
+            final Person indexed = withUnusedId(synced.get(i));
+            indexById(indexed);
+            positionsById.put(indexed.getId(), i);
+            synced.set(i, indexed);
         }
+        this.allPersons = UniquePersonList.ofUnique(synced);
+        this.positionsValidBelow = synced.size();
+        span.finish(ID_INDEX_NAME, allPersons.size());
     }
 
     /**
-     * Ensures that every tag in this person:
-     *  - exists in the master list {@link #allTags}
-     *  - points to a Tag object in the master list
+     * Constructs a shallow copy of the given address book, sharing its person and tag objects.
      */
-    private void syncTagsWithMasterList(Person person) {
-        final UniqueTagList personTags = person.getTags();
-        allTags.mergeFrom(personTags);
+    AddressBook(AddressBook source) {
+        this.allPersons = new UniquePersonList(source.allPersons);
+        this.allTags = new UniqueTagList(source.allTags);
+        this.personsById = new HashMap<>(source.personsById);
+        this.positionsById = new HashMap<>(source.positionsById);
+        this.positionsValidBelow = source.positionsValidBelow;
+        this.nextPersonId = source.nextPersonId;
+        for (UniqueDetailIndex index : source.uniqueIndexes.values()) {
+            final UniqueDetailIndex copy = new UniqueDetailIndex(index);
+            this.uniqueIndexes.put(copy.getDetail(), copy);
+        }
+    }
 
+    /**
+     * Requires the values of the given contact detail to be unique among the persons of this address book from
+     * now on, building a hash index of the existing persons' values in O(n), e.g. when the address book is loaded.
+     * Adding a person that shares the value with a different person then fails in O(1).
+     * Does nothing if the detail already has a unique index.
+     *
+     * @throws DuplicateContactDetailException if two existing persons share a value of the detail.
+     */
+    @Override
+    public void addUniqueIndex(UniqueDetail detail) throws DuplicateContactDetailException {
+        if (!uniqueIndexes.containsKey(detail)) {
+            final Diagnostics.IndexSpan span = Diagnostics.beginIndexRebuild();
+            uniqueIndexes.put(detail, UniqueDetailIndex.build(detail, allPersons));
+            span.finish(detail.getDetailName(), allPersons.size());
+        }
+    }
+
+    /**
+     * Returns the contact details whose values must be unique among the persons of this address book.
+     */
+    @Override
+    public Set<UniqueDetail> getUniqueDetails() {
+        return uniqueIndexes.isEmpty() ? EnumSet.noneOf(UniqueDetail.class) : EnumSet.copyOf(uniqueIndexes.keySet());
+    }
+
+    /**
+     * Returns the person if it has an ID that no person in the address book has, or else a copy of it
+     * with the next unused ID.
+     */
+    private Person withUnusedId(Person person) {
+        final long id = person.getId();
+        return id == Person.UNASSIGNED_ID || personsById.containsKey(id) ? person.withId(nextPersonId) : person;
+    }
+
+    /**
+     * Adds the person, whose ID must be unused, to the ID index, and makes sure its ID is not given out again.
+     */
+    private void indexById(Person person) {
+        nextPersonId = Math.max(nextPersonId, person.getId() + 1);
+        personsById.put(person.getId(), person);
+    }
+
+    /**
+     * Records that the person was put at the given position, and that the persons after it may have been shifted.
+     */
+    private void indexPosition(Person person, int position) {
+        positionsById.put(person.getId(), position);
+        if (position == positionsValidBelow) {
+            positionsValidBelow++;
+        } else {
+            positionsValidBelow = Math.min(positionsValidBelow, position + 1);
+        }
+    }
+
+    /**
+     * Records that the person was removed from the given position, shifting the persons after it.
+     */
+    private void unindexPosition(Person person, int position) {
+        positionsById.remove(person.getId());
+        positionsValidBelow = Math.min(positionsValidBelow, position);
+    }
+
+    /**
+     * Returns the position of the equivalent person in the list of all persons, or -1 if there is none.
+     * Takes O(1) time if the person has the ID of an equivalent person in this address book and its position
+     * entry is up to date, or else brings the entries up to date as far as the person's position.
+     * A person without such an ID is looked for by comparing it with every person.
+     */
+    private int positionOf(ReadOnlyPerson person) {
+        final Person stored = personsById.get(person.getId());
+        if (stored == null || !stored.isSameStateAs(person)) {
+            return allPersons.indexOf(person);
+        }
+        final Integer position = positionsById.get(stored.getId());
+        if (position != null && position < allPersons.size() && allPersons.get(position) == stored) {
+            return position;
+        }
+        for (int i = positionsValidBelow; i < allPersons.size(); i++) {
+            final Person atPosition = allPersons.get(i);
+            positionsById.put(atPosition.getId(), i);
+            positionsValidBelow = i + 1;
+            if (atPosition == stored) {
+                return i;
+            }
+        }
+        throw new AssertionError("a person indexed by ID must be in the list of all persons");
+    }
+
+    /**
+     * Returns the person in this address book that the given person is found by in O(1): the person with the
+     * same ID, if that person is equivalent to the given one. Otherwise returns the given person.
+     */
+    private ReadOnlyPerson resolve(ReadOnlyPerson person) {
+        final Person withSameId = personsById.get(person.getId());
+        return withSameId != null && withSameId.isSameStateAs(person) ? withSameId : person;
+    }
+
+    /**
+     * Returns the person with every tag:
+     *  - existing in the master list {@link #allTags}
+     *  - pointing to a Tag object in the master list
+     * As persons are immutable, this is a copy with the same ID unless the person's tags already do.
+     */
+    private Person syncTagsWithMasterList(Person person) {
+        return syncTagsWithMasterList(Collections.singletonList(person), new ArrayList<>(1)).get(0);
+    }
+
+    /**
+     * Adds the given persons to {@code synced} in iteration order, each with every tag:
+     *  - existing in the master list {@link #allTags}
+     *  - pointing to a Tag object in the master list
+     * New tags are added to the master list in one merge, in the order they are first found.
+     *
+     * @return {@code synced}
+     */
+    private List<Person> syncTagsWithMasterList(Iterable<Person> persons, List<Person> synced) {
         // Create map with values = tag object references in the master list
         final Map<Tag, Tag> masterTagObjects = new HashMap<>();
         for (Tag tag : allTags) {
             masterTagObjects.put(tag, tag);
         }
 
-        // Rebuild the list of person tags using references from the master list
-        final Set<Tag> commonTagReferences = new HashSet<>();
-        for (Tag tag : personTags) {
-            commonTagReferences.add(masterTagObjects.get(tag));
+        // Rebuild the list of person tags using references from the master list, or the new tags added to it
+        final Set<Tag> newTags = new LinkedHashSet<>();
+        for (Person person : persons) {
+            final Set<Tag> commonTagReferences = new LinkedHashSet<>();
+            final UniqueTagList tags = person.getTags();
+            for (Tag tag : tags) {
+                final Tag masterTag = masterTagObjects.putIfAbsent(tag, tag);
+                if (masterTag == null) {
+                    newTags.add(tag);
+                    commonTagReferences.add(tag);
+                } else {
+                    commonTagReferences.add(masterTag);
+                }
+            }
+            final UniqueTagList commonTags = new UniqueTagList(commonTagReferences);
+            synced.add(tags.hasSameTagObjects(commonTags) ? person : person.withTags(commonTags));
+        }
+
+        if (!newTags.isEmpty()) {
+            if (hasChangeSubscribers()) {
+                publishChange(new TagsMerged(new ArrayList<>(newTags)));
+            }
+            allTags.mergeFrom(new UniqueTagList(newTags));
         }
-        person.setTags(new UniqueTagList(commonTagReferences));
+        return synced;
     }
 
     /**
      * Adds a person to the address book.
      * Also checks the new person's tags and updates {@link #allTags} with any new tags found,
-     * and updates the Tag objects in the person to point to those in {@link #allTags}.
+     * and adds a copy of the person whose Tag objects point to those in {@link #allTags}, if they do not already.
+     * The person is also copied to give it the next unused ID if it has no ID or its ID is taken.
+     *
+     * @return the person added, which has the ID the person is found by in O(1)
+     * @throws DuplicatePersonException if an equivalent person already exists.
+     */
+    @Override
+    public Person addPerson(Person toAdd) throws DuplicatePersonException {
+        for (UniqueDetailIndex index : uniqueIndexes.values()) {
+            index.checkCanAdd(toAdd);
+        }
+        final Person added = withUnusedId(syncTagsWithMasterList(toAdd));
+        allPersons.add(added);
+        indexById(added);
+        indexPosition(added, allPersons.size() - 1);
+        for (UniqueDetailIndex index : uniqueIndexes.values()) {
+            index.add(added);
+        }
+        if (hasChangeSubscribers()) {
+            publishChange(new PersonAdded(added, allPersons.size() - 1));
+        }
+        return added;
+    }
+
+    /**
+     * Adds a person to the address book at the given position in the list of all persons.
+     * Also syncs the new person's tags with {@link #allTags} and gives it an ID, as {@link #addPerson(Person)} does.
      *
+     * @return the person added
      * @throws DuplicatePersonException if an equivalent person already exists.
+     * @throws IndexOutOfBoundsException if the position is not within the list of all persons or just after its end.
      */
-    public void addPerson(Person toAdd) throws DuplicatePersonException {
-        syncTagsWithMasterList(toAdd);
-        allPersons.add(toAdd);
+    @Override
+    public Person addPerson(int position, Person toAdd) throws DuplicatePersonException {
+        for (UniqueDetailIndex index : uniqueIndexes.values()) {
+            index.checkCanAdd(toAdd);
+        }
+        final Person added = withUnusedId(syncTagsWithMasterList(toAdd));
+        allPersons.add(position, added);
+        indexById(added);
+        indexPosition(added, position);
+        for (UniqueDetailIndex index : uniqueIndexes.values()) {
+            index.add(added);
+        }
+        if (hasChangeSubscribers()) {
+            publishChange(new PersonAdded(added, position));
+        }
+        return added;
+    }
+
+    /**
+     * Adds all the given persons to the end of the address book, in iteration order.
+     * The persons are checked for duplicates in one pass, and their tags are synced with {@link #allTags}
+     * in one merge, so that adding many persons at once costs much less than adding them one by one.
+     * Each person is given an ID as {@link #addPerson(Person)} does. Nothing is added if any of them is a duplicate.
+     *
+     * @return the persons added, in the same order
+     * @throws DuplicatePersonException if any person to add is a duplicate of another person to add,
+     *         or of an existing person.
+     */
+    @Override
+    public List<Person> addPersons(Collection<Person> toAdd) throws DuplicatePersonException {
+        for (UniqueDetailIndex index : uniqueIndexes.values()) {
+            index.checkCanAddAll(toAdd);
+        }
+        final int firstPosition = allPersons.size();
+        allPersons.addAll(toAdd);
+        final List<Person> added = syncTagsWithMasterList(toAdd, new ArrayList<>(toAdd.size()));
+        for (int i = 0; i < added.size(); i++) {
+            final Person person = withUnusedId(added.get(i));
+            added.set(i, person);
+            allPersons.set(firstPosition + i, person);
+            indexById(person);
+            indexPosition(person, firstPosition + i);
+            for (UniqueDetailIndex index : uniqueIndexes.values()) {
+                index.add(person);
+            }
+        }
+        if (hasChangeSubscribers()) {
+            int position = firstPosition;
+            for (Person person : added) {
+                publishChange(new PersonAdded(person, position++));
+            }
+        }
+        return added;
     }
 
     /**
@@ -87,20 +394,64 @@ public class AddressBook {
      *
      * @throws DuplicateTagException if an equivalent tag already exists.
      */
+    @Override
     public void addTag(Tag toAdd) throws DuplicateTagException {
         allTags.add(toAdd);
+        if (hasChangeSubscribers()) {
+            publishChange(new TagsMerged(Collections.singletonList(toAdd)));
+        }
+    }
+
+    /**
+     * Returns the number of persons in the address book.
+     */
+    @Override
+    public int getPersonCount() {
+        return allPersons.size();
     }
 
     /**
      * Checks if an equivalent person exists in the address book.
+     * Takes O(1) time if the key is, or has the ID of, a person in the address book.
      */
+    @Override
     public boolean containsPerson(ReadOnlyPerson key) {
-        return allPersons.contains(key);
+        return resolve(key) != key || allPersons.contains(key);
+    }
+
+    /**
+     * Returns the person with the given ID, in O(1) time.
+     *
+     * @throws PersonNotFoundException if no person in the address book has the ID.
+     */
+    @Override
+    public Person getPersonById(long id) throws PersonNotFoundException {
+        final Person person = findPersonById(id);
+        if (person == null) {
+            throw new PersonNotFoundException();
+        }
+        return person;
+    }
+
+    /**
+     * Returns the person with the given ID, or null if there is none.
+     */
+    protected Person findPersonById(long id) {
+        return personsById.get(id);
+    }
+
+    /**
+     * Returns the ID that the next person without one that is added to the address book will be given.
+     */
+    @Override
+    public long getNextPersonId() {
+        return nextPersonId;
     }
 
     /**
      * Checks if an equivalent person exists in the address book.
      */
+    @Override
     public boolean containsTag(Tag key) {
         return allTags.contains(key);
     }
@@ -108,10 +459,112 @@ public class AddressBook {
     /**
      * Removes the equivalent person from the address book.
      *
+     * @return the position the removed person had in the list of all persons
      * @throws PersonNotFoundException if no such Person could be found.
      */
-    public void removePerson(ReadOnlyPerson toRemove) throws PersonNotFoundException {
-        allPersons.remove(toRemove);
+    @Override
+    public int removePerson(ReadOnlyPerson toRemove) throws PersonNotFoundException {
+        final int position = positionOf(toRemove);
+        if (position == -1) {
+            throw new PersonNotFoundException();
+        }
+        final Person removed = allPersons.removeAt(position);
+        personsById.remove(removed.getId());
+        unindexPosition(removed, position);
+        for (UniqueDetailIndex index : uniqueIndexes.values()) {
+            index.remove(removed);
+        }
+        if (hasChangeSubscribers()) {
+            publishChange(new PersonRemoved(removed, position));
+        }
+        return position;
+    }
+
+    /**
+     * Replaces the equivalent person of the target with the edited person, at the same position in the list of
+     * all persons and under the same ID. Only the index entries of the replaced person's values are updated,
+     * and the edited person's tags are synced with {@link #allTags} only if they are not the target's tag objects,
+     * as {@link #addPerson(Person)} does. The edited person is copied to give it the ID of the replaced one.
+     *
+     * @return the person that was replaced
+     * @throws PersonNotFoundException if no equivalent person of the target could be found.
+     * @throws DuplicatePersonException if the edited person is equivalent to another person, or shares the value
+     *         of a uniquely indexed contact detail with another person.
+     */
+    @Override
+    public Person editPerson(ReadOnlyPerson target, Person edited)
+            throws PersonNotFoundException, DuplicatePersonException {
+        final int position = positionOf(target);
+        if (position == -1) {
+            throw new PersonNotFoundException();
+        }
+        final Person previous = allPersons.get(position);
+        for (UniqueDetailIndex index : uniqueIndexes.values()) {
+            index.checkCanReplace(previous, edited);
+        }
+        final Person withId = edited.getId() == previous.getId() ? edited : edited.withId(previous.getId());
+        allPersons.set(position, withId); // checks for a duplicate before any new tags are merged
+        final Person replacement = withId.getTags().hasSameTagObjects(previous.getTags())
+                ? withId
+                : syncTagsWithMasterList(withId);
+        allPersons.set(position, replacement);
+        personsById.put(replacement.getId(), replacement);
+        for (UniqueDetailIndex index : uniqueIndexes.values()) {
+            index.replace(previous, replacement);
+        }
+        if (hasChangeSubscribers()) {
+            publishChange(new PersonEdited(previous, replacement, position));
+        }
+        return previous;
+    }
+
+    /**
+     * Removes the equivalent persons of all the given persons from the address book, in one pass over the list
+     * of all persons. Nothing is removed if any of them cannot be found.
+     *
+     * @return the positions the removed persons had in the list of all persons, in the order they were given
+     * @throws PersonNotFoundException if any of the persons could not be found, or two of them are equivalent.
+     */
+    @Override
+    public int[] removePersons(Collection<? extends ReadOnlyPerson> toRemove) throws PersonNotFoundException {
+        final int[] positions = allPersons.indexesOf(toRemove);
+        final List<Person> removed = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            removed.add(allPersons.get(position));
+        }
+        allPersons.removeAt(positions);
+        for (int i = 0; i < positions.length; i++) {
+            final Person person = removed.get(i);
+            personsById.remove(person.getId());
+            unindexPosition(person, positions[i]);
+            for (UniqueDetailIndex index : uniqueIndexes.values()) {
+                index.remove(person);
+            }
+        }
+        if (hasChangeSubscribers()) {
+            for (AddressBookChange removal : describeRemovals(removed, positions)) {
+                publishChange(removal);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Describes the removal of the given persons from the given positions, as made at once, from the last position
+     * to the first so that each position is still correct when the removals are applied in order.
+     */
+    static List<AddressBookChange> describeRemovals(Collection<? extends ReadOnlyPerson> removed, int[] positions) {
+        final List<ReadOnlyPerson> removedPersons = new ArrayList<>(removed);
+        final Integer[] byPosition = new Integer[positions.length];
+        for (int i = 0; i < byPosition.length; i++) {
+            byPosition[i] = i;
+        }
+        Arrays.sort(byPosition, (a, b) -> Integer.compare(positions[b], positions[a]));
+        final List<AddressBookChange> removals = new ArrayList<>(positions.length);
+        for (int i : byPosition) {
+            removals.add(new PersonRemoved(removedPersons.get(i), positions[i]));
+        }
+        return removals;
     }
 
     /**
@@ -119,21 +572,152 @@ public class AddressBook {
      *
      * @throws TagNotFoundException if no such Tag could be found.
      */
+    @Override
     public void removeTag(Tag toRemove) throws TagNotFoundException {
         allTags.remove(toRemove);
+        if (hasChangeSubscribers()) {
+            publishChange(new TagRemoved(toRemove));
+        }
     }
 
     /**
      * Clears all persons and tags from the address book.
      */
+    @Override
     public void clear() {
         allPersons.clear();
         allTags.clear();
+        personsById.clear();
+        positionsById.clear();
+        positionsValidBelow = 0;
+        for (UniqueDetailIndex index : uniqueIndexes.values()) {
+            index.clear();
+        }
+        publishChange(Cleared.INSTANCE);
+    }
+
+    /**
+     * Clears all persons and tags from the address book, moving them into a new address book without copying them.
+     *
+     * @return an address book with all the persons and tags that were in this address book
+     */
+    @Override
+    public AddressBook detachAll() {
+        final AddressBook detached = new AddressBook();
+        detached.allPersons.reattach(allPersons.detachAll());
+        detached.allTags.reattach(allTags.detachAll());
+        detached.personsById = personsById;
+        detached.positionsById = positionsById;
+        detached.positionsValidBelow = positionsValidBelow;
+        detached.nextPersonId = nextPersonId;
+        personsById = new HashMap<>();
+        positionsById = new HashMap<>();
+        positionsValidBelow = 0;
+        for (UniqueDetailIndex index : uniqueIndexes.values()) {
+            final UniqueDetailIndex detachedIndex = index.detachAll();
+            detached.uniqueIndexes.put(detachedIndex.getDetail(), detachedIndex);
+        }
+        publishChange(Cleared.INSTANCE);
+        return detached;
+    }
+
+    /**
+     * Moves all persons and tags of an address book returned by {@link #detachAll()} back into this
+     * empty address book, without copying them. The given address book is left empty.
+     * The data of any other kind of address book is copied in instead.
+     *
+     * @throws IllegalStateException if this address book is not empty.
+     */
+    @Override
+    public void reattach(MutableAddressBook detached) {
+        if (allPersons.size() > 0 || allTags.iterator().hasNext()) {
+            throw new IllegalStateException("data can only be reattached to an empty address book");
+        }
+        if (!(detached instanceof AddressBook)) {
+            final MutableAddressBook moved = detached.detachAll();
+            reattach(new AddressBook(moved.getAllPersons(), moved.getAllTags(), moved.getNextPersonId()));
+            return;
+        }
+        reattachData((AddressBook) detached);
+    }
+
+    /**
+     * Moves the data of the given address book into this empty one, as {@link #reattach} does.
+     */
+    private void reattachData(AddressBook detached) {
+        allPersons.reattach(detached.allPersons);
+        allTags.reattach(detached.allTags);
+        personsById = detached.personsById;
+        positionsById = detached.positionsById;
+        positionsValidBelow = detached.positionsValidBelow;
+        nextPersonId = Math.max(nextPersonId, detached.nextPersonId);
+        detached.personsById = new HashMap<>();
+        detached.positionsById = new HashMap<>();
+        detached.positionsValidBelow = 0;
+        for (UniqueDetailIndex index : uniqueIndexes.values()) {
+            final UniqueDetailIndex detachedIndex = detached.uniqueIndexes.get(index.getDetail());
+            if (detachedIndex != null) {
+                index.reattach(detachedIndex);
+            } else {
+                try {
+                    index.reattach(UniqueDetailIndex.build(index.getDetail(), allPersons));
+                } catch (DuplicateContactDetailException dcde) {
+                    throw new IllegalStateException("reattached persons share a unique contact detail", dcde);
+                }
+            }
+        }
+        if (hasChangeSubscribers()) {
+            publishContents(allPersons, allTags);
+        }
+    }
+
+    /**
+     * The changes made to this address book from the time of subscribing, in the order they were made.
+     *
+     * Subscribers added with {@link Flow.Publisher#subscribe} receive each change synchronously, on the thread
+     * making it; {@link BoundedPublisher#subscribe(Flow.Subscriber, java.util.concurrent.Executor, int)} adds
+     * subscribers that receive changes through an executor instead. Either way, a subscriber that falls more than
+     * its buffer capacity behind is failed with a {@link BoundedPublisher.BufferFullException}.
+     * Synchronous subscribers must not change the address book, and should be quick, as they may be called while
+     * other threads wait to use the address book.
+     */
+    @Override
+    public BoundedPublisher<AddressBookChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Returns true if any subscriber may receive changes, so that changes need not be described otherwise.
+     */
+    protected boolean hasChangeSubscribers() {
+        return changes.hasSubscribers();
+    }
+
+    protected void publishChange(AddressBookChange change) {
+        changes.publish(change);
+    }
+
+    /**
+     * Publishes the addition of the given persons and tags to an empty address book.
+     */
+    protected void publishContents(Iterable<? extends ReadOnlyPerson> persons, Iterable<Tag> tags) {
+        final List<Tag> addedTags = new ArrayList<>();
+        for (Tag tag : tags) {
+            addedTags.add(tag);
+        }
+        if (!addedTags.isEmpty()) {
+            publishChange(new TagsMerged(addedTags));
+        }
+        int position = 0;
+        for (ReadOnlyPerson person : persons) {
+            publishChange(new PersonAdded(person, position++));
+        }
     }
 
     /**
      * Defensively copied UniquePersonList of all persons in the address book at the time of the call.
      */
+    @Override
     public UniquePersonList getAllPersons() {
         return new UniquePersonList(allPersons);
     }
@@ -141,12 +725,26 @@ public class AddressBook {
     /**
      * Defensively copied UniqueTagList of all tags in the address book at the time of the call.
      */
+    @Override
     public UniqueTagList getAllTags() {
         return new UniqueTagList(allTags);
     }
 
+    /**
+     * Returns the data of this address book in a form that does not change while it is being read,
+     * e.g. while it is saved. A plain address book is not shared between threads, so it returns itself;
+     * thread-safe subclasses return a copy taken at a single point in time.
+     */
+    @Override
+    public AddressBook snapshot() {
+        return this;
+    }
+
     @Override
     public boolean equals(Object other) {
+        if (other != null && other.getClass() != AddressBook.class && other instanceof ReadOnlyAddressBook) {
+            return other.equals(this); // other kinds of address book compare a consistent view of their own data
+        }
         return other == this // short circuit if same object
                 || (other instanceof AddressBook // instanceof handles nulls
                 && this.allPersons.equals(((AddressBook) other).allPersons)
@@ -0,0 +1,392 @@
+package seedu.addressbook.data;
+
+import seedu.addressbook.data.event.AddressBookChange;
+import seedu.addressbook.data.event.AddressBookChange.Cleared;
+import seedu.addressbook.data.event.AddressBookChange.PersonAdded;
+import seedu.addressbook.data.event.AddressBookChange.PersonEdited;
+import seedu.addressbook.data.event.AddressBookChange.PersonRemoved;
+import seedu.addressbook.data.event.AddressBookChange.TagRemoved;
+import seedu.addressbook.data.event.AddressBookChange.TagsMerged;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList;
+import seedu.addressbook.data.person.UniquePersonList.DuplicateContactDetailException;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+import seedu.addressbook.data.tag.UniqueTagList.DuplicateTagException;
+import seedu.addressbook.data.tag.UniqueTagList.TagNotFoundException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * An address book that can be read and changed by many threads at once.
+ *
+ * Every change holds an exclusive lock, so adding a person and syncing its tags with the tag list happen
+ * together. The lists and maps of the address book are not safe to read during a change, so reads do not go
+ * through them directly:
+ *  - Lookups of persons and tags go through concurrent indexes, which each change also updates.
+ *  - Copies of all persons and tags (e.g. {@link #getAllPersons()}, on which searches are based) are made from
+ *    copies that are taken by the first such read after a change and never changed afterwards.
+ * Either way, reads run without locking, and are run again under a shared lock only if a change overlapped them,
+ * so that each read sees the address book at a single point in time, e.g. not halfway through adding a batch.
+ */
+public class ConcurrentAddressBook extends AddressBook {
+
+    /**
+     * Copies of all persons and tags of the address book in order, which are never changed but copied again
+     * for each caller.
+     */
+    private static final class Contents {
+        final UniquePersonList persons;
+        final UniqueTagList tags;
+
+        Contents(UniquePersonList persons, UniqueTagList tags) {
+            this.persons = persons;
+            this.tags = tags;
+        }
+    }
+
+    private final StampedLock lock = new StampedLock();
+
+    /** The persons, safe to look up while a change updates them under the write lock. */
+    private final Set<ReadOnlyPerson> indexedPersons = ConcurrentHashMap.newKeySet();
+    /** The persons by ID, safe to look up while a change updates them under the write lock. */
+    private final Map<Long, Person> indexedPersonsById = new ConcurrentHashMap<>();
+    /** The names of the tags, safe to look up while a change updates them under the write lock. */
+    private final Set<String> indexedTagNames = ConcurrentHashMap.newKeySet();
+
+    /** The persons and tags in order as of the last change, or null if they have not been copied since. */
+    private volatile Contents contents = null;
+
+    /**
+     * Creates an empty address book.
+     */
+    public ConcurrentAddressBook() {
+        super();
+    }
+
+    /**
+     * Constructs an address book with the given data.
+     * Also updates the tag list with any missing tags found in any person.
+     *
+     * @param persons external changes to this will not affect this address book
+     * @param tags external changes to this will not affect this address book
+     */
+    public ConcurrentAddressBook(UniquePersonList persons, UniqueTagList tags) {
+        super(persons, tags);
+        for (Person person : super.getAllPersons()) {
+            index(person);
+        }
+        for (Tag tag : super.getAllTags()) {
+            indexedTagNames.add(tag.tagName);
+        }
+    }
+
+    /**
+     * Runs the reader under the read lock.
+     */
+    private <T> T read(Supplier<T> reader) {
+        final long readStamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(readStamp);
+        }
+    }
+
+    /**
+     * Runs the reader without locking, and runs it again under the read lock if a change overlapped it, e.g.
+     * one adding several persons that had only added some of them to the indexes when the reader ran.
+     * Only for readers of the concurrent indexes, which cannot fail or loop however a change interleaves with them.
+     */
+    private <T> T readIndexes(Supplier<T> reader) {
+        final long optimisticStamp = lock.tryOptimisticRead();
+        if (optimisticStamp != 0) {
+            final T result = reader.get();
+            if (lock.validate(optimisticStamp)) {
+                return result;
+            }
+        }
+        return read(reader);
+    }
+
+    /**
+     * Runs the reader without locking, and runs it again under the read lock if a change overlapped it.
+     * Only for readers of a single field, which cannot fail or loop however a change interleaves with them.
+     */
+    private long readField(LongSupplier reader) {
+        final long optimisticStamp = lock.tryOptimisticRead();
+        if (optimisticStamp != 0) {
+            final long result = reader.getAsLong();
+            if (lock.validate(optimisticStamp)) {
+                return result;
+            }
+        }
+
+        final long readStamp = lock.readLock();
+        try {
+            return reader.getAsLong();
+        } finally {
+            lock.unlockRead(readStamp);
+        }
+    }
+
+    /**
+     * Returns a copy of the persons and tags of this address book, taken at a single point in time.
+     * The copy shares the person and tag objects with this address book.
+     */
+    @Override
+    public AddressBook snapshot() {
+        return read(() -> new AddressBook(this));
+    }
+
+    @Override
+    public Person addPerson(Person toAdd) throws DuplicatePersonException {
+        final long stamp = lock.writeLock();
+        try {
+            return super.addPerson(toAdd);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Person addPerson(int position, Person toAdd) throws DuplicatePersonException {
+        final long stamp = lock.writeLock();
+        try {
+            return super.addPerson(position, toAdd);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public List<Person> addPersons(Collection<Person> toAdd) throws DuplicatePersonException {
+        final long stamp = lock.writeLock();
+        try {
+            return super.addPersons(toAdd);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void addUniqueIndex(UniqueDetail detail) throws DuplicateContactDetailException {
+        final long stamp = lock.writeLock();
+        try {
+            super.addUniqueIndex(detail);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Set<UniqueDetail> getUniqueDetails() {
+        return read(super::getUniqueDetails);
+    }
+
+    @Override
+    public void addTag(Tag toAdd) throws DuplicateTagException {
+        final long stamp = lock.writeLock();
+        try {
+            super.addTag(toAdd);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int getPersonCount() {
+        return (int) readField(super::getPersonCount);
+    }
+
+    @Override
+    public boolean containsPerson(ReadOnlyPerson key) {
+        return readIndexes(() -> indexedPersons.contains(key));
+    }
+
+    @Override
+    public boolean containsTag(Tag key) {
+        return readIndexes(() -> indexedTagNames.contains(key.tagName));
+    }
+
+    @Override
+    protected Person findPersonById(long id) {
+        return readIndexes(() -> indexedPersonsById.get(id));
+    }
+
+    @Override
+    public long getNextPersonId() {
+        return readField(super::getNextPersonId);
+    }
+
+    @Override
+    public int removePerson(ReadOnlyPerson toRemove) throws PersonNotFoundException {
+        final long stamp = lock.writeLock();
+        try {
+            return super.removePerson(toRemove);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Person editPerson(ReadOnlyPerson target, Person edited)
+            throws PersonNotFoundException, DuplicatePersonException {
+        final long stamp = lock.writeLock();
+        try {
+            return super.editPerson(target, edited);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int[] removePersons(Collection<? extends ReadOnlyPerson> toRemove) throws PersonNotFoundException {
+        final long stamp = lock.writeLock();
+        try {
+            return super.removePersons(toRemove);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void removeTag(Tag toRemove) throws TagNotFoundException {
+        final long stamp = lock.writeLock();
+        try {
+            super.removeTag(toRemove);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void clear() {
+        final long stamp = lock.writeLock();
+        try {
+            super.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public AddressBook detachAll() {
+        final long stamp = lock.writeLock();
+        try {
+            return super.detachAll();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void reattach(MutableAddressBook detached) {
+        final long stamp = lock.writeLock();
+        try {
+            super.reattach(detached);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public UniquePersonList getAllPersons() {
+        return new UniquePersonList(currentContents().persons);
+    }
+
+    @Override
+    public UniqueTagList getAllTags() {
+        return new UniqueTagList(currentContents().tags);
+    }
+
+    /**
+     * Returns the copies of the persons and tags as of the last change without locking if they have been taken
+     * since, or else takes them under the read lock.
+     */
+    private Contents currentContents() {
+        final long optimisticStamp = lock.tryOptimisticRead();
+        final Contents current = contents;
+        if (current != null && lock.validate(optimisticStamp)) {
+            return current;
+        }
+        return read(() -> {
+            Contents taken = contents;
+            if (taken == null) {
+                taken = new Contents(super.getAllPersons(), super.getAllTags());
+                contents = taken;
+            }
+            return taken;
+        });
+    }
+
+    /**
+     * Every change is described, as the descriptions keep the indexes up to date.
+     */
+    @Override
+    protected boolean hasChangeSubscribers() {
+        return true;
+    }
+
+    /**
+     * Applies the change to the indexes and forgets the {@link #contents} before publishing the change.
+     * Only called while the change holds the write lock. The persons in the changes of an address book are the
+     * {@link Person} objects it holds.
+     */
+    @Override
+    protected void publishChange(AddressBookChange change) {
+        if (change instanceof PersonAdded) {
+            index((Person) ((PersonAdded) change).person);
+        } else if (change instanceof PersonRemoved) {
+            unindex(((PersonRemoved) change).person);
+        } else if (change instanceof PersonEdited) {
+            unindex(((PersonEdited) change).previous);
+            index((Person) ((PersonEdited) change).person);
+        } else if (change instanceof TagsMerged) {
+            for (Tag tag : ((TagsMerged) change).tags) {
+                indexedTagNames.add(tag.tagName);
+            }
+        } else if (change instanceof TagRemoved) {
+            indexedTagNames.remove(((TagRemoved) change).tag.tagName);
+        } else if (change instanceof Cleared) {
+            indexedPersons.clear();
+            indexedPersonsById.clear();
+            indexedTagNames.clear();
+        }
+        contents = null;
+        super.publishChange(change);
+    }
+
+    private void index(Person person) {
+        indexedPersons.add(person);
+        indexedPersonsById.put(person.getId(), person);
+    }
+
+    private void unindex(ReadOnlyPerson person) {
+        indexedPersons.remove(person);
+        indexedPersonsById.remove(person.getId());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof ReadOnlyAddressBook // instanceof handles nulls
+                && snapshot().equals(other instanceof ConcurrentAddressBook
+                        ? ((ConcurrentAddressBook) other).snapshot() : other));
+    }
+
+    @Override
+    public int hashCode() {
+        return snapshot().hashCode();
+    }
+}
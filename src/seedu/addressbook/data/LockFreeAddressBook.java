@@ -0,0 +1,861 @@
+package seedu.addressbook.data;
+
+import seedu.addressbook.common.BoundedPublisher;
+import seedu.addressbook.data.AddressBook.UniqueDetail;
+import seedu.addressbook.data.event.AddressBookChange;
+import seedu.addressbook.data.event.AddressBookChange.Cleared;
+import seedu.addressbook.data.event.AddressBookChange.PersonAdded;
+import seedu.addressbook.data.event.AddressBookChange.PersonEdited;
+import seedu.addressbook.data.event.AddressBookChange.PersonRemoved;
+import seedu.addressbook.data.event.AddressBookChange.TagRemoved;
+import seedu.addressbook.data.event.AddressBookChange.TagsMerged;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList;
+import seedu.addressbook.data.person.UniquePersonList.DuplicateContactDetailException;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+import seedu.addressbook.data.tag.UniqueTagList.DuplicateTagException;
+import seedu.addressbook.data.tag.UniqueTagList.TagNotFoundException;
+import seedu.addressbook.diagnostics.Diagnostics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An address book that can be read and changed by many threads at once without locking.
+ *
+ * All data is held in one immutable {@link Root}, made of persistent trees that share structure between versions.
+ * A change builds a new root from the current one, copying only the paths to the changed entries, and publishes
+ * it with a compare-and-set; a change that loses a race with another change is retried on the newer root.
+ * Readers never wait: each read works on the root current at its start, which no later change can alter.
+ * {@link #snapshot()} hands out such a root in O(1), e.g. for saving while changes continue.
+ *
+ * Each root is numbered one higher than the root it replaced, and the changes that built it are published only
+ * after those of all lower numbers, so that subscribers receive changes in the order they took effect.
+ * A writer never waits for this: changes that cannot be published yet are queued, and are published by the
+ * writer that publishes the changes just before them.
+ */
+public class LockFreeAddressBook implements MutableAddressBook {
+
+    /** Gap between the order keys of persons or tags added at the end, leaving room to insert in between. */
+    private static final long ORDER_KEY_GAP = 1L << 20;
+
+    /** Orders persons by the fields compared by {@link ReadOnlyPerson#isSameStateAs}. */
+    private static final Comparator<ReadOnlyPerson> PERSON_IDENTITY_ORDER =
+            Comparator.comparing((ReadOnlyPerson person) -> person.getName().fullName)
+                    .thenComparing(person -> person.getPhone().value)
+                    .thenComparing(person -> person.getEmail().value)
+                    .thenComparing(person -> person.getAddress().value);
+
+    /**
+     * One immutable version of the whole address book.
+     * Persons and tags are kept in the order they were added by giving each an increasing order key,
+     * and are indexed by identity to find them, and their order keys, in O(log n).
+     * The persons' values of each unique contact detail are indexed the same way.
+     */
+    private static final class Root {
+        static final Root EMPTY = new Root(
+                PersistentTreeMap.empty(Comparator.naturalOrder()),
+                PersistentTreeMap.empty(PERSON_IDENTITY_ORDER),
+                PersistentTreeMap.empty(Comparator.naturalOrder()),
+                PersistentTreeMap.empty(Comparator.naturalOrder()),
+                PersistentTreeMap.empty(Comparator.naturalOrder()),
+                new EnumMap<>(UniqueDetail.class), AddressBook.FIRST_PERSON_ID, 0);
+
+        final PersistentTreeMap<Long, Person> persons;
+        final PersistentTreeMap<ReadOnlyPerson, Long> personOrderKeys;
+        final PersistentTreeMap<Long, Long> personIdOrderKeys;
+        final PersistentTreeMap<Long, Tag> tags;
+        final PersistentTreeMap<String, Long> tagOrderKeys;
+
+        /** The order keys of the persons by their value of each unique contact detail. Never changed once built. */
+        final Map<UniqueDetail, PersistentTreeMap<String, Long>> uniqueIndexes;
+        final long nextPersonId;
+
+        /** The number of this version among the roots of one address book. */
+        final long version;
+
+        Root(PersistentTreeMap<Long, Person> persons, PersistentTreeMap<ReadOnlyPerson, Long> personOrderKeys,
+             PersistentTreeMap<Long, Long> personIdOrderKeys, PersistentTreeMap<Long, Tag> tags,
+             PersistentTreeMap<String, Long> tagOrderKeys,
+             Map<UniqueDetail, PersistentTreeMap<String, Long>> uniqueIndexes, long nextPersonId, long version) {
+            this.persons = persons;
+            this.personOrderKeys = personOrderKeys;
+            this.personIdOrderKeys = personIdOrderKeys;
+            this.tags = tags;
+            this.tagOrderKeys = tagOrderKeys;
+            this.uniqueIndexes = uniqueIndexes;
+            this.nextPersonId = nextPersonId;
+            this.version = version;
+        }
+
+        Root withVersion(long newVersion) {
+            return new Root(persons, personOrderKeys, personIdOrderKeys, tags, tagOrderKeys, uniqueIndexes,
+                    nextPersonId, newVersion);
+        }
+
+        /**
+         * Returns a root with the same data that will not give out IDs lower than the given one.
+         */
+        Root withNextPersonIdAtLeast(long minimum) {
+            return new Root(persons, personOrderKeys, personIdOrderKeys, tags, tagOrderKeys, uniqueIndexes,
+                    Math.max(nextPersonId, minimum), version);
+        }
+
+        /**
+         * Returns an empty root with the same unique contact details, that will not give out the IDs given out
+         * by this root.
+         */
+        Root emptied() {
+            final Map<UniqueDetail, PersistentTreeMap<String, Long>> emptyIndexes = new EnumMap<>(UniqueDetail.class);
+            for (UniqueDetail detail : uniqueIndexes.keySet()) {
+                emptyIndexes.put(detail, PersistentTreeMap.empty(Comparator.naturalOrder()));
+            }
+            return new Root(EMPTY.persons, EMPTY.personOrderKeys, EMPTY.personIdOrderKeys, EMPTY.tags,
+                    EMPTY.tagOrderKeys, emptyIndexes, nextPersonId, version);
+        }
+
+        /**
+         * Returns a root with the same data whose unique contact details are exactly the given ones.
+         * Indexes this root already has are kept, and the others are built in O(n log n).
+         *
+         * @throws DuplicateContactDetailException if two persons share a value of a detail to index.
+         */
+        Root withUniqueIndexes(Set<UniqueDetail> details) throws DuplicateContactDetailException {
+            final Map<UniqueDetail, PersistentTreeMap<String, Long>> indexes = new EnumMap<>(UniqueDetail.class);
+            for (UniqueDetail detail : details) {
+                final PersistentTreeMap<String, Long> existing = uniqueIndexes.get(detail);
+                indexes.put(detail, existing != null ? existing : buildUniqueIndex(detail));
+            }
+            return new Root(persons, personOrderKeys, personIdOrderKeys, tags, tagOrderKeys, indexes,
+                    nextPersonId, version);
+        }
+
+        private PersistentTreeMap<String, Long> buildUniqueIndex(UniqueDetail detail)
+                throws DuplicateContactDetailException {
+            PersistentTreeMap<String, Long> index = PersistentTreeMap.empty(Comparator.naturalOrder());
+            for (Long orderKey : persons.keys()) {
+                final String value = detail.valueOf(persons.get(orderKey));
+                if (index.containsKey(value)) {
+                    throw new DuplicateContactDetailException(detail.getDetailName(), value);
+                }
+                index = index.put(value, orderKey);
+            }
+            return index;
+        }
+
+        /**
+         * Checks that the person, which must not be equivalent to any person in this root, shares no value of a
+         * unique contact detail with any of them.
+         *
+         * @throws DuplicateContactDetailException if a person in this root already has one of the values.
+         */
+        void checkUniqueDetails(ReadOnlyPerson person) throws DuplicateContactDetailException {
+            for (Map.Entry<UniqueDetail, PersistentTreeMap<String, Long>> entry : uniqueIndexes.entrySet()) {
+                final String value = entry.getKey().valueOf(person);
+                if (entry.getValue().containsKey(value)) {
+                    throw new DuplicateContactDetailException(entry.getKey().getDetailName(), value);
+                }
+            }
+        }
+
+        private Map<UniqueDetail, PersistentTreeMap<String, Long>> uniqueIndexesWith(Person person, long orderKey) {
+            if (uniqueIndexes.isEmpty()) {
+                return uniqueIndexes;
+            }
+            final Map<UniqueDetail, PersistentTreeMap<String, Long>> indexes = new EnumMap<>(UniqueDetail.class);
+            for (Map.Entry<UniqueDetail, PersistentTreeMap<String, Long>> entry : uniqueIndexes.entrySet()) {
+                indexes.put(entry.getKey(), entry.getValue().put(entry.getKey().valueOf(person), orderKey));
+            }
+            return indexes;
+        }
+
+        private Map<UniqueDetail, PersistentTreeMap<String, Long>> uniqueIndexesWithout(Person person) {
+            if (uniqueIndexes.isEmpty()) {
+                return uniqueIndexes;
+            }
+            final Map<UniqueDetail, PersistentTreeMap<String, Long>> indexes = new EnumMap<>(UniqueDetail.class);
+            for (Map.Entry<UniqueDetail, PersistentTreeMap<String, Long>> entry : uniqueIndexes.entrySet()) {
+                indexes.put(entry.getKey(), entry.getValue().remove(entry.getKey().valueOf(person)));
+            }
+            return indexes;
+        }
+
+        /**
+         * Returns the person with the given ID, or null if there is none.
+         */
+        Person personWithId(long id) {
+            final Long orderKey = personIdOrderKeys.get(id);
+            return orderKey == null ? null : persons.get(orderKey);
+        }
+
+        boolean isEmpty() {
+            return persons.isEmpty() && tags.isEmpty();
+        }
+
+        /**
+         * Returns the person if it has an ID that no person in this root has, or else a copy of it with the next
+         * unused ID, as {@link AddressBook} does. The person is never changed, as it may be shared by retries.
+         */
+        Person withUnusedId(Person person) {
+            final long id = person.getId();
+            return id == Person.UNASSIGNED_ID || personIdOrderKeys.containsKey(id)
+                    ? person.withId(nextPersonId)
+                    : person;
+        }
+
+        /**
+         * Returns a root with the person added. The person's ID must be unused, e.g. as given by
+         * {@link #withUnusedId}, and is not given out again.
+         *
+         * @throws DuplicateContactDetailException if the person shares a value of a unique contact detail
+         *         with a person in this root.
+         */
+        Root withPerson(long orderKey, Person person) throws DuplicateContactDetailException {
+            checkUniqueDetails(person);
+            return new Root(persons.put(orderKey, person), personOrderKeys.put(person, orderKey),
+                    personIdOrderKeys.put(person.getId(), orderKey), tags, tagOrderKeys,
+                    uniqueIndexesWith(person, orderKey), Math.max(nextPersonId, person.getId() + 1), version);
+        }
+
+        Root withoutPerson(ReadOnlyPerson identity, long orderKey) {
+            final Person removed = persons.get(orderKey);
+            return new Root(persons.remove(orderKey), personOrderKeys.remove(identity),
+                    personIdOrderKeys.remove(removed.getId()), tags, tagOrderKeys, uniqueIndexesWithout(removed),
+                    nextPersonId, version);
+        }
+
+        Root withTag(Tag tag) {
+            final long orderKey = tags.isEmpty() ? 0 : tags.lastKey() + ORDER_KEY_GAP;
+            return new Root(persons, personOrderKeys, personIdOrderKeys, tags.put(orderKey, tag),
+                    tagOrderKeys.put(tag.tagName, orderKey), uniqueIndexes, nextPersonId, version);
+        }
+
+        Root withoutTag(Tag tag, long orderKey) {
+            return new Root(persons, personOrderKeys, personIdOrderKeys, tags.remove(orderKey),
+                    tagOrderKeys.remove(tag.tagName), uniqueIndexes, nextPersonId, version);
+        }
+
+        /**
+         * Returns an order key that puts a person at the given position, or null if there is no room for one
+         * between the order keys of its neighbours.
+         */
+        Long personOrderKeyAt(int position) {
+            if (position < 0 || position > persons.size()) {
+                throw new IndexOutOfBoundsException("position " + position + " in list of size " + persons.size());
+            }
+            if (persons.isEmpty()) {
+                return 0L;
+            }
+            if (position == persons.size()) {
+                return persons.lastKey() + ORDER_KEY_GAP;
+            }
+            if (position == 0) {
+                return persons.keyAt(0) - ORDER_KEY_GAP;
+            }
+            final long before = persons.keyAt(position - 1);
+            final long after = persons.keyAt(position);
+            return after - before > 1 ? before + (after - before) / 2 : null;
+        }
+
+        /**
+         * Returns a root with the same persons and tags, with their order keys spread out evenly again.
+         */
+        Root renumbered() {
+            final List<Long> orderKeys = new ArrayList<>();
+            final List<Person> orderedPersons = new ArrayList<>();
+            for (Person person : persons.values()) {
+                orderKeys.add(orderedPersons.size() * ORDER_KEY_GAP);
+                orderedPersons.add(person);
+            }
+            PersistentTreeMap<ReadOnlyPerson, Long> renumberedOrderKeys = PersistentTreeMap.empty(PERSON_IDENTITY_ORDER);
+            PersistentTreeMap<Long, Long> renumberedIdOrderKeys = PersistentTreeMap.empty(Comparator.naturalOrder());
+            final Map<UniqueDetail, PersistentTreeMap<String, Long>> renumberedIndexes =
+                    new EnumMap<>(UniqueDetail.class);
+            for (UniqueDetail detail : uniqueIndexes.keySet()) {
+                renumberedIndexes.put(detail, PersistentTreeMap.empty(Comparator.naturalOrder()));
+            }
+            for (int i = 0; i < orderedPersons.size(); i++) {
+                final Person person = orderedPersons.get(i);
+                renumberedOrderKeys = renumberedOrderKeys.put(person, orderKeys.get(i));
+                renumberedIdOrderKeys = renumberedIdOrderKeys.put(person.getId(), orderKeys.get(i));
+                for (Map.Entry<UniqueDetail, PersistentTreeMap<String, Long>> entry : renumberedIndexes.entrySet()) {
+                    entry.setValue(entry.getValue().put(entry.getKey().valueOf(person), orderKeys.get(i)));
+                }
+            }
+            return new Root(PersistentTreeMap.ofSorted(Comparator.naturalOrder(), orderKeys, orderedPersons),
+                    renumberedOrderKeys, renumberedIdOrderKeys, tags, tagOrderKeys, renumberedIndexes,
+                    nextPersonId, version);
+        }
+    }
+
+    /**
+     * A change to the current root, which may be run more than once if other changes race with it.
+     * It describes what it changed by adding to the given list, which is emptied before each run.
+     */
+    @FunctionalInterface
+    private interface RootChange<E extends Exception> {
+        Root apply(Root current, List<AddressBookChange> changes) throws E;
+    }
+
+    private final AtomicReference<Root> root;
+
+    /** The version of the last root whose changes have been published. */
+    private final AtomicLong publishedVersion;
+
+    /** The changes that built roots of later versions than {@link #publishedVersion}, by version. */
+    private final ConcurrentSkipListMap<Long, List<AddressBookChange>> unpublished = new ConcurrentSkipListMap<>();
+
+    /** Held by the one thread at a time that publishes changes. */
+    private final AtomicBoolean isPublishing = new AtomicBoolean();
+
+    private final BoundedPublisher<AddressBookChange> changes = new BoundedPublisher<>();
+
+    /**
+     * Creates an empty address book.
+     */
+    public LockFreeAddressBook() {
+        this(Root.EMPTY);
+    }
+
+    /**
+     * Constructs an address book with the given data.
+     * Also updates the tag list with any missing tags found in any person.
+     *
+     * @param persons external changes to this will not affect this address book
+     * @param tags external changes to this will not affect this address book
+     */
+    public LockFreeAddressBook(UniquePersonList persons, UniqueTagList tags) {
+        this(buildRoot(persons, tags, AddressBook.FIRST_PERSON_ID));
+    }
+
+    /**
+     * Constructs an address book with the given data, as {@link AddressBook#AddressBook(UniquePersonList,
+     * UniqueTagList, long)} does.
+     */
+    public LockFreeAddressBook(UniquePersonList persons, UniqueTagList tags, long nextPersonId) {
+        this(buildRoot(persons, tags, nextPersonId));
+    }
+
+    private LockFreeAddressBook(Root initial) {
+        root = new AtomicReference<>(initial);
+        publishedVersion = new AtomicLong(initial.version);
+    }
+
+    /**
+     * Builds a root without unique indexes from the given persons, which must not be equivalent to each other.
+     */
+    private static Root buildRoot(Iterable<Person> persons, Iterable<Tag> tags, long nextPersonId) {
+        Root built = Root.EMPTY.withNextPersonIdAtLeast(nextPersonId);
+        for (Tag tag : tags) {
+            built = built.withTag(tag);
+        }
+        try {
+            for (Person person : persons) {
+                built = withTagsOf(built, person, new ArrayList<>());
+                built = built.withPerson(built.personOrderKeyAt(built.persons.size()),
+                        built.withUnusedId(withRootTags(built, person)));
+            }
+        } catch (DuplicateContactDetailException dcde) {
+            throw new AssertionError("a root without unique indexes accepts any person", dcde);
+        }
+        return built;
+    }
+
+    /**
+     * Applies the change to the current root and publishes the result, retrying on the newer root
+     * whenever another change was published in between. Then publishes the changes to subscribers in order.
+     *
+     * @return the root that was replaced
+     */
+    private <E extends Exception> Root update(RootChange<E> change) throws E {
+        final List<AddressBookChange> changes = new ArrayList<>();
+        Root current;
+        Root changed;
+        do {
+            changes.clear();
+            current = root.get();
+            changed = change.apply(current, changes).withVersion(current.version + 1);
+        } while (!root.compareAndSet(current, changed));
+        publishInOrder(changed.version, changes);
+        return current;
+    }
+
+    /**
+     * Queues the changes that built the root of the given version, then publishes the queued changes in order of
+     * version for as long as those of the next version are there, unless another thread is already doing so.
+     * The next version is checked again after the publishing thread lets go, so that no queued changes are left
+     * behind by a thread that queued them while it was letting go.
+     */
+    private void publishInOrder(long version, List<AddressBookChange> changes) {
+        unpublished.put(version, changes);
+        while (unpublished.containsKey(publishedVersion.get() + 1) && isPublishing.compareAndSet(false, true)) {
+            try {
+                List<AddressBookChange> next;
+                while ((next = unpublished.remove(publishedVersion.get() + 1)) != null) {
+                    publishedVersion.incrementAndGet();
+                    for (AddressBookChange change : next) {
+                        publishChange(change);
+                    }
+                }
+            } finally {
+                isPublishing.set(false);
+            }
+        }
+    }
+
+    /**
+     * Adds any new tags of the person to the root, as {@link AddressBook} does for its tag list.
+     *
+     * @param newTags the list to add any new tags to
+     */
+    private static Root withTagsOf(Root current, Person person, List<Tag> newTags) {
+        Root synced = current;
+        for (Tag tag : person.getTags()) {
+            if (!synced.tagOrderKeys.containsKey(tag.tagName)) {
+                synced = synced.withTag(tag);
+                newTags.add(tag);
+            }
+        }
+        return synced;
+    }
+
+    /**
+     * Returns the person with its tags pointing to the tag objects in the root, which must have all of them:
+     * the person itself if they already do, or else a copy with the same ID, as persons are immutable.
+     */
+    private static Person withRootTags(Root root, Person person) {
+        final UniqueTagList tags = person.getTags();
+        final Set<Tag> commonTagReferences = new LinkedHashSet<>();
+        for (Tag tag : tags) {
+            commonTagReferences.add(root.tags.get(root.tagOrderKeys.get(tag.tagName)));
+        }
+        final UniqueTagList commonTags = new UniqueTagList(commonTagReferences);
+        return tags.hasSameTagObjects(commonTags) ? person : person.withTags(commonTags);
+    }
+
+    /**
+     * Describes the tags as merged into the tag list, if there are any.
+     */
+    private static void describeNewTags(List<Tag> newTags, List<AddressBookChange> changes) {
+        if (!newTags.isEmpty()) {
+            changes.add(new TagsMerged(newTags));
+        }
+    }
+
+    /**
+     * Describes the persons and tags of the given root as added to an empty address book.
+     */
+    private static void describeContents(Root contents, List<AddressBookChange> changes) {
+        final List<Tag> tags = new ArrayList<>();
+        for (Tag tag : contents.tags.values()) {
+            tags.add(tag);
+        }
+        if (!tags.isEmpty()) {
+            changes.add(new TagsMerged(tags));
+        }
+        int position = 0;
+        for (Person person : contents.persons.values()) {
+            changes.add(new PersonAdded(person, position++));
+        }
+    }
+
+    /**
+     * Returns an address book holding the data of this address book at the time of the call.
+     * Later changes to either address book do not affect the other.
+     */
+    @Override
+    public LockFreeAddressBook snapshot() {
+        return new LockFreeAddressBook(root.get());
+    }
+
+    /**
+     * Adds the person in one change. The person added is built anew by each retry of the change,
+     * and only the one that is published is returned.
+     */
+    @Override
+    public Person addPerson(Person toAdd) throws DuplicatePersonException {
+        final Person[] added = new Person[1];
+        update((current, changes) -> {
+            if (current.personOrderKeys.containsKey(toAdd)) {
+                throw new DuplicatePersonException();
+            }
+            final List<Tag> newTags = new ArrayList<>();
+            final Root synced = withTagsOf(current, toAdd, newTags);
+            added[0] = synced.withUnusedId(withRootTags(synced, toAdd));
+            describeNewTags(newTags, changes);
+            changes.add(new PersonAdded(added[0], synced.persons.size()));
+            return synced.withPerson(synced.personOrderKeyAt(synced.persons.size()), added[0]);
+        });
+        return added[0];
+    }
+
+    @Override
+    public Person addPerson(int position, Person toAdd) throws DuplicatePersonException {
+        final Person[] added = new Person[1];
+        update((current, changes) -> {
+            if (current.personOrderKeys.containsKey(toAdd)) {
+                throw new DuplicatePersonException();
+            }
+            final List<Tag> newTags = new ArrayList<>();
+            Root synced = withTagsOf(current, toAdd, newTags);
+            added[0] = synced.withUnusedId(withRootTags(synced, toAdd));
+            describeNewTags(newTags, changes);
+            Long orderKey = synced.personOrderKeyAt(position);
+            if (orderKey == null) {
+                synced = synced.renumbered();
+                orderKey = synced.personOrderKeyAt(position);
+            }
+            changes.add(new PersonAdded(added[0], position));
+            return synced.withPerson(orderKey, added[0]);
+        });
+        return added[0];
+    }
+
+    /**
+     * Adds all the given persons to the end of the address book in one change, so that readers see either none
+     * or all of them. Nothing is added if any of them is a duplicate.
+     */
+    @Override
+    public List<Person> addPersons(Collection<Person> toAdd) throws DuplicatePersonException {
+        final List<Person> added = new ArrayList<>(toAdd.size());
+        update((current, changes) -> {
+            added.clear();
+            final PersistentTreeMap<ReadOnlyPerson, Long> unchanged = current.personOrderKeys;
+            PersistentTreeMap<ReadOnlyPerson, Long> batch = PersistentTreeMap.empty(PERSON_IDENTITY_ORDER);
+            for (Person person : toAdd) {
+                if (unchanged.containsKey(person) || batch.containsKey(person)) {
+                    throw new DuplicatePersonException();
+                }
+                batch = batch.put(person, 0L);
+            }
+            final List<Tag> newTags = new ArrayList<>();
+            Root synced = current;
+            for (Person person : toAdd) {
+                synced = withTagsOf(synced, person, newTags);
+            }
+            describeNewTags(newTags, changes);
+            for (Person person : toAdd) {
+                final Person withId = synced.withUnusedId(withRootTags(synced, person));
+                changes.add(new PersonAdded(withId, synced.persons.size()));
+                synced = synced.withPerson(synced.personOrderKeyAt(synced.persons.size()), withId);
+                added.add(withId);
+            }
+            return synced;
+        });
+        return added;
+    }
+
+    /**
+     * Adds a persistent index of the detail to the root in one change, so that every later root checks new values
+     * against it in O(log n) as part of the change that adds them.
+     */
+    @Override
+    public void addUniqueIndex(UniqueDetail detail) throws DuplicateContactDetailException {
+        if (root.get().uniqueIndexes.containsKey(detail)) {
+            return;
+        }
+        final Diagnostics.IndexSpan span = Diagnostics.beginIndexRebuild();
+        final Root replaced = update((current, changes) -> {
+            final Set<UniqueDetail> details = EnumSet.of(detail);
+            details.addAll(current.uniqueIndexes.keySet());
+            return current.withUniqueIndexes(details);
+        });
+        span.finish(detail.getDetailName(), replaced.persons.size());
+    }
+
+    @Override
+    public Set<UniqueDetail> getUniqueDetails() {
+        final Set<UniqueDetail> details = root.get().uniqueIndexes.keySet();
+        return details.isEmpty() ? EnumSet.noneOf(UniqueDetail.class) : EnumSet.copyOf(details);
+    }
+
+    @Override
+    public void addTag(Tag toAdd) throws DuplicateTagException {
+        update((current, changes) -> {
+            if (current.tagOrderKeys.containsKey(toAdd.tagName)) {
+                throw new DuplicateTagException();
+            }
+            changes.add(new TagsMerged(Collections.singletonList(toAdd)));
+            return current.withTag(toAdd);
+        });
+    }
+
+    @Override
+    public int getPersonCount() {
+        return root.get().persons.size();
+    }
+
+    @Override
+    public boolean containsPerson(ReadOnlyPerson key) {
+        return root.get().personOrderKeys.containsKey(key);
+    }
+
+    @Override
+    public boolean containsTag(Tag key) {
+        return root.get().tagOrderKeys.containsKey(key.tagName);
+    }
+
+    @Override
+    public Person getPersonById(long id) throws PersonNotFoundException {
+        final Person person = root.get().personWithId(id);
+        if (person == null) {
+            throw new PersonNotFoundException();
+        }
+        return person;
+    }
+
+    @Override
+    public long getNextPersonId() {
+        return root.get().nextPersonId;
+    }
+
+    @Override
+    public int removePerson(ReadOnlyPerson toRemove) throws PersonNotFoundException {
+        final int[] removedPosition = new int[1];
+        update((current, changes) -> {
+            final Long orderKey = current.personOrderKeys.get(toRemove);
+            if (orderKey == null) {
+                throw new PersonNotFoundException();
+            }
+            removedPosition[0] = current.persons.indexOf(orderKey);
+            changes.add(new PersonRemoved(current.persons.get(orderKey), removedPosition[0]));
+            return current.withoutPerson(toRemove, orderKey);
+        });
+        return removedPosition[0];
+    }
+
+    /**
+     * Carries the checked exception an edit fails with out of its {@link RootChange}, which can only throw
+     * exceptions of one type.
+     */
+    private static final class EditFailure extends Exception {
+        private final PersonNotFoundException notFound;
+        private final DuplicatePersonException duplicate;
+
+        EditFailure(PersonNotFoundException notFound) {
+            super(notFound);
+            this.notFound = notFound;
+            this.duplicate = null;
+        }
+
+        EditFailure(DuplicatePersonException duplicate) {
+            super(duplicate);
+            this.notFound = null;
+            this.duplicate = duplicate;
+        }
+
+        void rethrow() throws PersonNotFoundException, DuplicatePersonException {
+            if (notFound != null) {
+                throw notFound;
+            }
+            throw duplicate;
+        }
+    }
+
+    /**
+     * Replaces the target in one change, giving a copy of the edited person the target's order key and ID.
+     */
+    @Override
+    public Person editPerson(ReadOnlyPerson target, Person edited)
+            throws PersonNotFoundException, DuplicatePersonException {
+        final Person[] previous = new Person[1];
+        try {
+            update((current, changes) -> {
+                final Long orderKey = current.personOrderKeys.get(target);
+                if (orderKey == null) {
+                    throw new EditFailure(new PersonNotFoundException());
+                }
+                final Long editedOrderKey = current.personOrderKeys.get(edited);
+                if (editedOrderKey != null && !editedOrderKey.equals(orderKey)) {
+                    throw new EditFailure(new DuplicatePersonException());
+                }
+                previous[0] = current.persons.get(orderKey);
+                final Person withId = edited.getId() == previous[0].getId()
+                        ? edited
+                        : edited.withId(previous[0].getId());
+                final List<Tag> newTags = new ArrayList<>();
+                final Root synced = withTagsOf(current.withoutPerson(target, orderKey), withId, newTags);
+                final Person replacement = withRootTags(synced, withId);
+                describeNewTags(newTags, changes);
+                changes.add(new PersonEdited(previous[0], replacement, current.persons.indexOf(orderKey)));
+                try {
+                    return synced.withPerson(orderKey, replacement);
+                } catch (DuplicateContactDetailException dcde) {
+                    throw new EditFailure(dcde);
+                }
+            });
+        } catch (EditFailure ef) {
+            ef.rethrow();
+        }
+        return previous[0];
+    }
+
+    /**
+     * Removes the equivalent persons of all the given persons in one change, so that readers see either all
+     * or none of them. Nothing is removed if any of them cannot be found.
+     */
+    @Override
+    public int[] removePersons(Collection<? extends ReadOnlyPerson> toRemove) throws PersonNotFoundException {
+        final int[] positions = new int[toRemove.size()];
+        update((current, changes) -> {
+            final Set<Long> removedOrderKeys = new HashSet<>();
+            int i = 0;
+            for (ReadOnlyPerson person : toRemove) {
+                final Long orderKey = current.personOrderKeys.get(person);
+                if (orderKey == null || !removedOrderKeys.add(orderKey)) {
+                    throw new PersonNotFoundException();
+                }
+                positions[i++] = current.persons.indexOf(orderKey);
+            }
+            Root changed = current;
+            for (ReadOnlyPerson person : toRemove) {
+                changed = changed.withoutPerson(person, current.personOrderKeys.get(person));
+            }
+            changes.addAll(AddressBook.describeRemovals(toRemove, positions));
+            return changed;
+        });
+        return positions;
+    }
+
+    @Override
+    public void removeTag(Tag toRemove) throws TagNotFoundException {
+        update((current, changes) -> {
+            final Long orderKey = current.tagOrderKeys.get(toRemove.tagName);
+            if (orderKey == null) {
+                throw new TagNotFoundException();
+            }
+            changes.add(new TagRemoved(current.tags.get(orderKey)));
+            return current.withoutTag(toRemove, orderKey);
+        });
+    }
+
+    @Override
+    public void clear() {
+        detachRoot();
+    }
+
+    /**
+     * Clears all persons and tags from the address book in O(1), handing them over to a new address book.
+     */
+    @Override
+    public LockFreeAddressBook detachAll() {
+        return new LockFreeAddressBook(detachRoot());
+    }
+
+    /**
+     * Replaces the root with an empty one.
+     *
+     * @return the replaced root
+     */
+    private Root detachRoot() {
+        return update((current, changes) -> {
+            changes.add(Cleared.INSTANCE);
+            return current.emptied();
+        });
+    }
+
+    @Override
+    public void reattach(MutableAddressBook detached) {
+        if (!(detached instanceof LockFreeAddressBook)) {
+            final MutableAddressBook moved = detached.detachAll();
+            reattachRoot(buildRoot(moved.getAllPersons(), moved.getAllTags(), moved.getNextPersonId()));
+            return;
+        }
+        final LockFreeAddressBook detachedFrom = (LockFreeAddressBook) detached;
+        final Root reattached = detachedFrom.detachRoot();
+        try {
+            reattachRoot(reattached);
+        } catch (IllegalStateException ise) {
+            detachedFrom.reattachRoot(reattached);
+            throw ise;
+        }
+    }
+
+    /**
+     * Replaces the empty root with the reattached one, indexing the unique contact details of this address book,
+     * as {@link AddressBook#reattach} does.
+     */
+    private void reattachRoot(Root reattached) {
+        update((current, changes) -> {
+            if (!current.isEmpty()) {
+                throw new IllegalStateException("data can only be reattached to an empty address book");
+            }
+            final Root indexed;
+            try {
+                indexed = reattached.withUniqueIndexes(current.uniqueIndexes.keySet());
+            } catch (DuplicateContactDetailException dcde) {
+                throw new IllegalStateException("reattached persons share a unique contact detail", dcde);
+            }
+            if (hasChangeSubscribers()) {
+                describeContents(reattached, changes);
+            }
+            return indexed.withNextPersonIdAtLeast(current.nextPersonId);
+        });
+    }
+
+    @Override
+    public UniquePersonList getAllPersons() {
+        final List<Person> persons = new ArrayList<>();
+        for (Person person : root.get().persons.values()) {
+            persons.add(person);
+        }
+        return UniquePersonList.ofUnique(persons);
+    }
+
+    @Override
+    public UniqueTagList getAllTags() {
+        final Set<Tag> tags = new LinkedHashSet<>();
+        for (Tag tag : root.get().tags.values()) {
+            tags.add(tag);
+        }
+        return new UniqueTagList(tags);
+    }
+
+    /**
+     * The changes made to this address book from the time of subscribing, in the order they took effect,
+     * as {@link AddressBook#getChanges()} describes.
+     */
+    @Override
+    public BoundedPublisher<AddressBookChange> getChanges() {
+        return changes;
+    }
+
+    private boolean hasChangeSubscribers() {
+        return changes.hasSubscribers();
+    }
+
+    private void publishChange(AddressBookChange change) {
+        changes.publish(change);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof ReadOnlyAddressBook // instanceof handles nulls
+                && isSameStateAs((ReadOnlyAddressBook) other));
+    }
+
+    @Override
+    public int hashCode() {
+        final LockFreeAddressBook current = snapshot();
+        return Objects.hash(current.getAllPersons(), current.getAllTags());
+    }
+}
@@ -0,0 +1,59 @@
+package seedu.addressbook.data;
+
+import seedu.addressbook.data.AddressBook.UniqueDetail;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList.DuplicateContactDetailException;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList.DuplicateTagException;
+import seedu.addressbook.data.tag.UniqueTagList.TagNotFoundException;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The changes that can be made to the data of an address book, however the data is kept.
+ * See {@link AddressBook} for what each change does.
+ */
+public interface MutableAddressBook extends ReadOnlyAddressBook {
+
+    @Override
+    MutableAddressBook snapshot();
+
+    void addUniqueIndex(UniqueDetail detail) throws DuplicateContactDetailException;
+
+    Person addPerson(Person toAdd) throws DuplicatePersonException;
+
+    Person addPerson(int position, Person toAdd) throws DuplicatePersonException;
+
+    List<Person> addPersons(Collection<Person> toAdd) throws DuplicatePersonException;
+
+    void addTag(Tag toAdd) throws DuplicateTagException;
+
+    int removePerson(ReadOnlyPerson toRemove) throws PersonNotFoundException;
+
+    Person editPerson(ReadOnlyPerson target, Person edited) throws PersonNotFoundException, DuplicatePersonException;
+
+    int[] removePersons(Collection<? extends ReadOnlyPerson> toRemove) throws PersonNotFoundException;
+
+    void removeTag(Tag toRemove) throws TagNotFoundException;
+
+    void clear();
+
+    /**
+     * Clears all persons and tags from the address book, moving them into a new address book.
+     *
+     * @return an address book with all the persons and tags that were in this address book
+     */
+    MutableAddressBook detachAll();
+
+    /**
+     * Moves all persons and tags of the given address book back into this empty address book,
+     * leaving the given address book empty.
+     *
+     * @throws IllegalStateException if this address book is not empty.
+     */
+    void reattach(MutableAddressBook detached);
+}
@@ -0,0 +1,323 @@
+package seedu.addressbook.data;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * An immutable sorted map, implemented as an AVL tree whose nodes never change once created.
+ *
+ * Every change returns a new map that shares all nodes off the path to the changed key with the old map,
+ * so a change costs O(log n) time and memory, and old versions stay valid for readers on other threads.
+ * Each node also records the size of its subtree, so that entries can be found by position in key order.
+ */
+public final class PersistentTreeMap<K, V> {
+
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        final Node<K, V> left;
+        final Node<K, V> right;
+        final int height;
+        final int size;
+
+        Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(height(left), height(right));
+            this.size = 1 + size(left) + size(right);
+        }
+    }
+
+    private final Comparator<? super K> comparator;
+    private final Node<K, V> root;
+
+    private PersistentTreeMap(Comparator<? super K> comparator, Node<K, V> root) {
+        this.comparator = comparator;
+        this.root = root;
+    }
+
+    /**
+     * Returns an empty map ordering its keys with the given comparator.
+     */
+    public static <K, V> PersistentTreeMap<K, V> empty(Comparator<? super K> comparator) {
+        return new PersistentTreeMap<>(comparator, null);
+    }
+
+    /**
+     * Builds a balanced map from keys that are already in strictly increasing order, in O(n) time.
+     *
+     * @param values the value of each key, in the same order as the keys
+     * @throws IllegalArgumentException if the keys are not in strictly increasing order
+     */
+    public static <K, V> PersistentTreeMap<K, V> ofSorted(Comparator<? super K> comparator,
+                                                         List<K> keys, List<V> values) {
+        if (keys.size() != values.size()) {
+            throw new IllegalArgumentException("there must be one value for each key");
+        }
+        for (int i = 1; i < keys.size(); i++) {
+            if (comparator.compare(keys.get(i - 1), keys.get(i)) >= 0) {
+                throw new IllegalArgumentException("keys must be in strictly increasing order");
+            }
+        }
+        return new PersistentTreeMap<>(comparator, build(keys, values, 0, keys.size()));
+    }
+
+    private static <K, V> Node<K, V> build(List<K> keys, List<V> values, int from, int to) {
+        if (from == to) {
+            return null;
+        }
+        final int middle = (from + to) >>> 1;
+        return new Node<>(keys.get(middle), values.get(middle),
+                build(keys, values, from, middle), build(keys, values, middle + 1, to));
+    }
+
+    private static int height(Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Returns the value of the given key, or null if the map has no such key.
+     */
+    public V get(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            final int comparison = comparator.compare(key, node.key);
+            if (comparison == 0) {
+                return node.value;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Returns the position of the given key in key order, or -1 if the map has no such key.
+     */
+    public int indexOf(K key) {
+        int keysBefore = 0;
+        Node<K, V> node = root;
+        while (node != null) {
+            final int comparison = comparator.compare(key, node.key);
+            if (comparison == 0) {
+                return keysBefore + size(node.left);
+            }
+            if (comparison < 0) {
+                node = node.left;
+            } else {
+                keysBefore += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the key at the given position in key order.
+     *
+     * @throws IndexOutOfBoundsException if the position is not within the map
+     */
+    public K keyAt(int index) {
+        return nodeAt(index).key;
+    }
+
+    /**
+     * Returns the value of the key at the given position in key order.
+     *
+     * @throws IndexOutOfBoundsException if the position is not within the map
+     */
+    public V valueAt(int index) {
+        return nodeAt(index).value;
+    }
+
+    private Node<K, V> nodeAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("index " + index + " in map of size " + size());
+        }
+        Node<K, V> node = root;
+        int position = index;
+        while (true) {
+            final int leftSize = size(node.left);
+            if (position == leftSize) {
+                return node;
+            }
+            if (position < leftSize) {
+                node = node.left;
+            } else {
+                position -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the greatest key in the map, or null if the map is empty.
+     */
+    public K lastKey() {
+        if (root == null) {
+            return null;
+        }
+        Node<K, V> node = root;
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node.key;
+    }
+
+    /**
+     * Returns a map with the given key mapped to the given value, replacing any value the key had.
+     */
+    public PersistentTreeMap<K, V> put(K key, V value) {
+        if (value == null) {
+            throw new NullPointerException("values cannot be null");
+        }
+        return new PersistentTreeMap<>(comparator, put(root, key, value));
+    }
+
+    private Node<K, V> put(Node<K, V> node, K key, V value) {
+        if (node == null) {
+            return new Node<>(key, value, null, null);
+        }
+        final int comparison = comparator.compare(key, node.key);
+        if (comparison < 0) {
+            return balance(node.key, node.value, put(node.left, key, value), node.right);
+        }
+        if (comparison > 0) {
+            return balance(node.key, node.value, node.left, put(node.right, key, value));
+        }
+        return new Node<>(key, value, node.left, node.right);
+    }
+
+    /**
+     * Returns a map without the given key, or this map if it does not have the key.
+     */
+    public PersistentTreeMap<K, V> remove(K key) {
+        final Node<K, V> newRoot = remove(root, key);
+        return newRoot == root ? this : new PersistentTreeMap<>(comparator, newRoot);
+    }
+
+    private Node<K, V> remove(Node<K, V> node, K key) {
+        if (node == null) {
+            return null;
+        }
+        final int comparison = comparator.compare(key, node.key);
+        if (comparison < 0) {
+            final Node<K, V> left = remove(node.left, key);
+            return left == node.left ? node : balance(node.key, node.value, left, node.right);
+        }
+        if (comparison > 0) {
+            final Node<K, V> right = remove(node.right, key);
+            return right == node.right ? node : balance(node.key, node.value, node.left, right);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node<K, V> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.key, successor.value, node.left, removeFirst(node.right));
+    }
+
+    private Node<K, V> removeFirst(Node<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.key, node.value, removeFirst(node.left), node.right);
+    }
+
+    /**
+     * Creates a node from subtrees whose heights differ by at most 2, rotating them if they differ by 2.
+     */
+    private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+        if (height(left) > height(right) + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+            }
+            final Node<K, V> pivot = left.right;
+            return new Node<>(pivot.key, pivot.value,
+                    new Node<>(left.key, left.value, left.left, pivot.left),
+                    new Node<>(key, value, pivot.right, right));
+        }
+        if (height(right) > height(left) + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+            }
+            final Node<K, V> pivot = right.left;
+            return new Node<>(pivot.key, pivot.value,
+                    new Node<>(key, value, left, pivot.left),
+                    new Node<>(right.key, right.value, pivot.right, right.right));
+        }
+        return new Node<>(key, value, left, right);
+    }
+
+    /**
+     * The keys of this map, in key order.
+     */
+    public Iterable<K> keys() {
+        return () -> new InOrderIterator<>(root, node -> node.key);
+    }
+
+    /**
+     * The values of this map, in the order of their keys.
+     */
+    public Iterable<V> values() {
+        return () -> new InOrderIterator<>(root, node -> node.value);
+    }
+
+    private static final class InOrderIterator<K, V, T> implements Iterator<T> {
+        private final Deque<Node<K, V>> path = new ArrayDeque<>();
+        private final Function<Node<K, V>, T> extractor;
+
+        InOrderIterator(Node<K, V> root, Function<Node<K, V>, T> extractor) {
+            this.extractor = extractor;
+            pushLeftSpine(root);
+        }
+
+        private void pushLeftSpine(Node<K, V> node) {
+            for (Node<K, V> current = node; current != null; current = current.left) {
+                path.push(current);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (path.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            final Node<K, V> node = path.pop();
+            pushLeftSpine(node.right);
+            return extractor.apply(node);
+        }
+    }
+}
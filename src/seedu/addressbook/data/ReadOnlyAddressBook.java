@@ -0,0 +1,90 @@
+package seedu.addressbook.data;
+
+import seedu.addressbook.common.BoundedPublisher;
+import seedu.addressbook.data.AddressBook.UniqueDetail;
+import seedu.addressbook.data.event.AddressBookChange;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.util.Set;
+
+/**
+ * A read-only interface for the data of an address book, however the data is kept,
+ * e.g. by an {@link AddressBook} or a {@link LockFreeAddressBook}.
+ */
+public interface ReadOnlyAddressBook {
+
+    /**
+     * Returns the number of persons in the address book.
+     */
+    int getPersonCount();
+
+    /**
+     * Checks if an equivalent person exists in the address book.
+     */
+    boolean containsPerson(ReadOnlyPerson key);
+
+    /**
+     * Returns the person with the given ID.
+     *
+     * @throws PersonNotFoundException if no person in the address book has the ID.
+     */
+    Person getPersonById(long id) throws PersonNotFoundException;
+
+    /**
+     * Returns the ID that the next person without one that is added to the address book will be given.
+     */
+    long getNextPersonId();
+
+    /**
+     * Checks if an equivalent tag exists in the address book.
+     */
+    boolean containsTag(Tag key);
+
+    /**
+     * Returns the contact details whose values must be unique among the persons of the address book.
+     */
+    Set<UniqueDetail> getUniqueDetails();
+
+    /**
+     * Defensively copied UniquePersonList of all persons in the address book at the time of the call.
+     */
+    UniquePersonList getAllPersons();
+
+    /**
+     * Defensively copied UniqueTagList of all tags in the address book at the time of the call.
+     */
+    UniqueTagList getAllTags();
+
+    /**
+     * The changes made to the address book from the time of subscribing, in the order they were made.
+     */
+    BoundedPublisher<AddressBookChange> getChanges();
+
+    /**
+     * Returns the data of the address book in a form that does not change while it is being read,
+     * e.g. while it is saved.
+     */
+    ReadOnlyAddressBook snapshot();
+
+    /**
+     * Returns true if the other address book has the same persons and tags in the same order
+     * (Note: interfaces cannot override .equals)
+     */
+    default boolean isSameStateAs(ReadOnlyAddressBook other) {
+        if (other == this) {
+            return true;
+        }
+        if (other == null) {
+            return false;
+        }
+        final ReadOnlyAddressBook current = snapshot();
+        final ReadOnlyAddressBook otherSnapshot = other.snapshot();
+        return current.getAllPersons().equals(otherSnapshot.getAllPersons())
+                && current.getAllTags().equals(otherSnapshot.getAllTags());
+    }
+}
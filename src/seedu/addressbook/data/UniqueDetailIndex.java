@@ -0,0 +1,145 @@
+package seedu.addressbook.data;
+
+import seedu.addressbook.data.AddressBook.UniqueDetail;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList.DuplicateContactDetailException;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A hash index from the values of one contact detail to the persons that have them, which checks in O(1)
+ * that no two different persons share a value.
+ */
+class UniqueDetailIndex {
+
+    private final UniqueDetail detail;
+    private Map<String, Person> personsByValue;
+
+    UniqueDetailIndex(UniqueDetail detail) {
+        this.detail = detail;
+        this.personsByValue = new HashMap<>();
+    }
+
+    /**
+     * Constructs a copy of the given index, sharing its person objects.
+     */
+    UniqueDetailIndex(UniqueDetailIndex source) {
+        this.detail = source.detail;
+        this.personsByValue = new HashMap<>(source.personsByValue);
+    }
+
+    /**
+     * Builds an index of the given persons in O(n).
+     *
+     * @throws DuplicateContactDetailException if two of the persons share a value.
+     */
+    static UniqueDetailIndex build(UniqueDetail detail, Iterable<Person> persons)
+            throws DuplicateContactDetailException {
+        final UniqueDetailIndex index = new UniqueDetailIndex(detail);
+        for (Person person : persons) {
+            final Person previous = index.personsByValue.put(detail.valueOf(person), person);
+            if (previous != null) {
+                throw index.conflictWith(person);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Checks that the person can be added without sharing its value with a different person.
+     *
+     * @throws DuplicatePersonException if an equivalent person is already indexed.
+     * @throws DuplicateContactDetailException if a different person already has the value.
+     */
+    void checkCanAdd(ReadOnlyPerson toAdd) throws DuplicatePersonException {
+        final Person existing = personsByValue.get(detail.valueOf(toAdd));
+        if (existing != null) {
+            throw existing.isSameStateAs(toAdd) ? new DuplicatePersonException() : conflictWith(toAdd);
+        }
+    }
+
+    /**
+     * Checks that all the persons can be added, without sharing their values with each other either.
+     * Persons that are equivalent to each other are left for the caller to reject.
+     *
+     * @throws DuplicatePersonException if a person equivalent to one of them is already indexed.
+     * @throws DuplicateContactDetailException if any value would be shared by different persons.
+     */
+    void checkCanAddAll(Collection<Person> toAdd) throws DuplicatePersonException {
+        final Map<String, Person> batch = new HashMap<>(toAdd.size() * 2);
+        for (Person person : toAdd) {
+            checkCanAdd(person);
+            final Person other = batch.put(detail.valueOf(person), person);
+            if (other != null && !other.isSameStateAs(person)) {
+                throw conflictWith(person);
+            }
+        }
+    }
+
+    /**
+     * Checks that the replacement can take the place of the replaced person without sharing its value
+     * with a third person.
+     *
+     * @throws DuplicatePersonException if a third person equivalent to the replacement is indexed.
+     * @throws DuplicateContactDetailException if a third person already has the replacement's value.
+     */
+    void checkCanReplace(ReadOnlyPerson replaced, ReadOnlyPerson replacement) throws DuplicatePersonException {
+        final Person existing = personsByValue.get(detail.valueOf(replacement));
+        if (existing != null && existing != replaced) {
+            throw existing.isSameStateAs(replacement) ? new DuplicatePersonException() : conflictWith(replacement);
+        }
+    }
+
+    /**
+     * Indexes the replacement in place of the replaced person, touching only the entries of their values.
+     */
+    void replace(ReadOnlyPerson replaced, Person replacement) {
+        final String value = detail.valueOf(replacement);
+        if (!value.equals(detail.valueOf(replaced))) {
+            remove(replaced);
+        }
+        personsByValue.put(value, replacement);
+    }
+
+    UniqueDetail getDetail() {
+        return detail;
+    }
+
+    void add(Person person) {
+        personsByValue.put(detail.valueOf(person), person);
+    }
+
+    void remove(ReadOnlyPerson person) {
+        personsByValue.remove(detail.valueOf(person));
+    }
+
+    void clear() {
+        personsByValue = new HashMap<>();
+    }
+
+    /**
+     * Moves all entries of this index into a new index without copying them, leaving this index empty.
+     */
+    UniqueDetailIndex detachAll() {
+        final UniqueDetailIndex detached = new UniqueDetailIndex(detail);
+        detached.personsByValue = personsByValue;
+        personsByValue = new HashMap<>();
+        return detached;
+    }
+
+    /**
+     * Moves all entries of the given index of the same detail into this empty index, without copying them.
+     */
+    void reattach(UniqueDetailIndex detached) {
+        personsByValue = detached.personsByValue;
+        detached.personsByValue = new HashMap<>();
+    }
+
+    private DuplicateContactDetailException conflictWith(ReadOnlyPerson person) {
+        return new DuplicateContactDetailException(detail.getDetailName(), detail.valueOf(person));
+    }
+}
@@ -0,0 +1,127 @@
+package seedu.addressbook.data.event;
+
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.tag.Tag;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A change made to an address book, as published to the subscribers of
+ * {@link seedu.addressbook.data.AddressBook#getChanges()}.
+ *
+ * Applying the changes in the order they are published to a copy of the address book's data at the time of
+ * subscribing keeps the copy equal to the address book, so that consumers can update anything they derive
+ * from the data in proportion to the size of each change instead of the size of the address book.
+ */
+public abstract class AddressBookChange {
+
+    private AddressBookChange() {}
+
+    /**
+     * A person was added at the given position in the list of all persons.
+     */
+    public static final class PersonAdded extends AddressBookChange {
+        public final ReadOnlyPerson person;
+        public final int position;
+
+        public PersonAdded(ReadOnlyPerson person, int position) {
+            this.person = person;
+            this.position = position;
+        }
+
+        @Override
+        public String toString() {
+            return "added " + person.getAsTextHidePrivate() + " at " + position;
+        }
+    }
+
+    /**
+     * A person was removed from the given position in the list of all persons.
+     */
+    public static final class PersonRemoved extends AddressBookChange {
+        public final ReadOnlyPerson person;
+        public final int position;
+
+        public PersonRemoved(ReadOnlyPerson person, int position) {
+            this.person = person;
+            this.position = position;
+        }
+
+        @Override
+        public String toString() {
+            return "removed " + person.getAsTextHidePrivate() + " from " + position;
+        }
+    }
+
+    /**
+     * A person was replaced by an edited person at the given position in the list of all persons.
+     */
+    public static final class PersonEdited extends AddressBookChange {
+        public final ReadOnlyPerson previous;
+        public final ReadOnlyPerson person;
+        public final int position;
+
+        public PersonEdited(ReadOnlyPerson previous, ReadOnlyPerson person, int position) {
+            this.previous = previous;
+            this.person = person;
+            this.position = position;
+        }
+
+        @Override
+        public String toString() {
+            return "edited " + previous.getAsTextHidePrivate() + " to " + person.getAsTextHidePrivate()
+                    + " at " + position;
+        }
+    }
+
+    /**
+     * Tags that were not in the address book were added to the end of the list of all tags,
+     * either directly or because a person added with them.
+     */
+    public static final class TagsMerged extends AddressBookChange {
+        public final List<Tag> tags;
+
+        /**
+         * @param tags the tags in the order they were added; external changes to this must not be made
+         */
+        public TagsMerged(List<Tag> tags) {
+            this.tags = Collections.unmodifiableList(tags);
+        }
+
+        @Override
+        public String toString() {
+            return "merged tags " + tags;
+        }
+    }
+
+    /**
+     * A tag was removed from the list of all tags.
+     */
+    public static final class TagRemoved extends AddressBookChange {
+        public final Tag tag;
+
+        public TagRemoved(Tag tag) {
+            this.tag = tag;
+        }
+
+        @Override
+        public String toString() {
+            return "removed tag " + tag;
+        }
+    }
+
+    /**
+     * All persons and tags were removed.
+     */
+    public static final class Cleared extends AddressBookChange {
+        public static final Cleared INSTANCE = new Cleared();
+
+        private Cleared() {}
+
+        @Override
+        public String toString() {
+            return "cleared";
+        }
+    }
+}
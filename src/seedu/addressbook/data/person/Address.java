@@ -1,5 +1,6 @@
 package seedu.addressbook.data.person;
 
+import seedu.addressbook.common.Validators;
 import seedu.addressbook.data.exception.IllegalValueException;
 
 /**
@@ -13,7 +14,7 @@ public class Address {
     public static final String ADDRESS_VALIDATION_REGEX = ".+";
 
     public final String value;
-    private boolean isPrivate;
+    private final boolean isPrivate;
 
     /**
      * Validates given address.
@@ -29,10 +30,10 @@ public class Address {
     }
 
     /**
-     * Returns true if a given string is a valid person email.
+     * Returns true if a given string is a valid person address, i.e. it matches {@link #ADDRESS_VALIDATION_REGEX}.
      */
     public static boolean isValidAddress(String test) {
-        return test.matches(ADDRESS_VALIDATION_REGEX);
+        return Validators.isSingleLine(test);
     }
 
     @Override
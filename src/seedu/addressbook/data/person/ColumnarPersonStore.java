@@ -0,0 +1,696 @@
+package seedu.addressbook.data.person;
+
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Stores persons column by column instead of as a graph of objects per person.
+ *
+ * Each text field of all persons is packed as UTF-8 bytes into one array, with an array of offsets marking
+ * where each person's value ends. Privacy flags are bits in one bit set, and tags are ids into a dictionary of
+ * the distinct tags, packed like the text. Scanning a field thus reads consecutive memory instead of following
+ * references across the heap, and a person costs little more than the bytes of its values.
+ * Duplicates are found through a {@link RowHashTable}, which costs a few bytes per person instead of a hash set
+ * entry.
+ *
+ * Persons are handed out by {@link #listView()} and {@link #findByNameWords} as views of a row, which create
+ * the field objects they are asked for on demand. A view refers to a position in the store, so it can no longer
+ * be used once the store has changed other than by adding persons at its end. Asking for a {@link Person}
+ * creates one from the columns, which stays valid whatever happens to the store afterwards.
+ *
+ * Adding persons at the end and finding them take O(1) time, but any other change moves the columns after the
+ * changed person, in O(n) time, so this store suits large lists that are mostly read.
+ */
+public class ColumnarPersonStore implements PersonStore {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Privacy flags per person, in this order. */
+    private static final int PHONE_FLAG = 0;
+    private static final int EMAIL_FLAG = 1;
+    private static final int ADDRESS_FLAG = 2;
+    private static final int FLAGS_PER_PERSON = 3;
+
+    private static final byte WORD_SEPARATOR = ' ';
+
+    /**
+     * The values of one text field, packed as UTF-8 bytes.
+     * The value of row {@code i} is {@code bytes[start(i) .. ends[i])}.
+     */
+    private static final class TextColumn {
+        private byte[] bytes;
+        private int[] ends;
+        private int size;
+
+        TextColumn() {
+            clear();
+        }
+
+        TextColumn(TextColumn source) {
+            bytes = Arrays.copyOf(source.bytes, source.start(source.size));
+            ends = Arrays.copyOf(source.ends, Math.max(source.size, INITIAL_CAPACITY));
+            size = source.size;
+        }
+
+        int start(int row) {
+            return row == 0 ? 0 : ends[row - 1];
+        }
+
+        int end(int row) {
+            return ends[row];
+        }
+
+        /**
+         * Replaces the values of the given number of rows from the given row on with the given values,
+         * moving the values after them.
+         */
+        void splice(int row, int removedRows, byte[]... values) {
+            final int start = start(row);
+            final int oldEnd = start(row + removedRows);
+            int newEnd = start;
+            for (byte[] value : values) {
+                newEnd += value.length;
+            }
+            final int used = start(size);
+            final int shift = newEnd - oldEnd;
+            if (used + shift > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, used + shift));
+            }
+            System.arraycopy(bytes, oldEnd, bytes, newEnd, used - oldEnd);
+
+            final int rowShift = values.length - removedRows;
+            if (size + rowShift > ends.length) {
+                ends = Arrays.copyOf(ends, Math.max(ends.length * 2, size + rowShift));
+            }
+            System.arraycopy(ends, row + removedRows, ends, row + values.length, size - row - removedRows);
+            for (int i = row + values.length; i < size + rowShift; i++) {
+                ends[i] += shift;
+            }
+            int end = start;
+            for (int i = 0; i < values.length; i++) {
+                System.arraycopy(values[i], 0, bytes, end, values[i].length);
+                end += values[i].length;
+                ends[row + i] = end;
+            }
+            size += rowShift;
+        }
+
+        /**
+         * Removes the rows whose flags are set, moving the kept values down to close the gaps.
+         */
+        void removeAt(boolean[] isRemoved) {
+            int readStart = 0;
+            int writeEnd = 0;
+            int kept = 0;
+            for (int row = 0; row < size; row++) {
+                final int readEnd = ends[row];
+                if (!isRemoved[row]) {
+                    System.arraycopy(bytes, readStart, bytes, writeEnd, readEnd - readStart);
+                    writeEnd += readEnd - readStart;
+                    ends[kept++] = writeEnd;
+                }
+                readStart = readEnd;
+            }
+            size = kept;
+        }
+
+        void clear() {
+            bytes = new byte[INITIAL_CAPACITY * 16];
+            ends = new int[INITIAL_CAPACITY];
+            size = 0;
+        }
+
+        String get(int row) {
+            final int start = start(row);
+            return new String(bytes, start, ends[row] - start, StandardCharsets.UTF_8);
+        }
+
+        boolean valueEquals(int row, byte[] value) {
+            final int start = start(row);
+            return ends[row] - start == value.length && regionEquals(bytes, start, value);
+        }
+    }
+
+    /**
+     * The tag ids of all persons, packed like a {@link TextColumn}.
+     */
+    private static final class TagIdColumn {
+        private int[] ids;
+        private int[] ends;
+        private int size;
+
+        TagIdColumn() {
+            clear();
+        }
+
+        TagIdColumn(TagIdColumn source) {
+            ids = Arrays.copyOf(source.ids, source.start(source.size));
+            ends = Arrays.copyOf(source.ends, Math.max(source.size, INITIAL_CAPACITY));
+            size = source.size;
+        }
+
+        int start(int row) {
+            return row == 0 ? 0 : ends[row - 1];
+        }
+
+        /**
+         * Replaces the ids of the given number of rows from the given row on with the given ids,
+         * as {@link TextColumn#splice} does.
+         */
+        void splice(int row, int removedRows, int[]... values) {
+            final int start = start(row);
+            final int oldEnd = start(row + removedRows);
+            int newEnd = start;
+            for (int[] value : values) {
+                newEnd += value.length;
+            }
+            final int used = start(size);
+            final int shift = newEnd - oldEnd;
+            if (used + shift > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(ids.length * 2, used + shift));
+            }
+            System.arraycopy(ids, oldEnd, ids, newEnd, used - oldEnd);
+
+            final int rowShift = values.length - removedRows;
+            if (size + rowShift > ends.length) {
+                ends = Arrays.copyOf(ends, Math.max(ends.length * 2, size + rowShift));
+            }
+            System.arraycopy(ends, row + removedRows, ends, row + values.length, size - row - removedRows);
+            for (int i = row + values.length; i < size + rowShift; i++) {
+                ends[i] += shift;
+            }
+            int end = start;
+            for (int i = 0; i < values.length; i++) {
+                System.arraycopy(values[i], 0, ids, end, values[i].length);
+                end += values[i].length;
+                ends[row + i] = end;
+            }
+            size += rowShift;
+        }
+
+        void removeAt(boolean[] isRemoved) {
+            int readStart = 0;
+            int writeEnd = 0;
+            int kept = 0;
+            for (int row = 0; row < size; row++) {
+                final int readEnd = ends[row];
+                if (!isRemoved[row]) {
+                    System.arraycopy(ids, readStart, ids, writeEnd, readEnd - readStart);
+                    writeEnd += readEnd - readStart;
+                    ends[kept++] = writeEnd;
+                }
+                readStart = readEnd;
+            }
+            size = kept;
+        }
+
+        void clear() {
+            ids = new int[INITIAL_CAPACITY * 2];
+            ends = new int[INITIAL_CAPACITY];
+            size = 0;
+        }
+    }
+
+    private final TextColumn names;
+    private final TextColumn phones;
+    private final TextColumn emails;
+    private final TextColumn addresses;
+    private final BitSet privacyFlags;
+    private final TagIdColumn tagIds;
+    private long[] ids;
+    private int size;
+    private final RowHashTable rowHashes;
+    private final TagDictionary tagDictionary;
+
+    /**
+     * The number of changes so far that moved or replaced rows, which make all views created before them unusable.
+     */
+    private int rowChanges = 0;
+
+    /**
+     * Constructs an empty store.
+     */
+    public ColumnarPersonStore() {
+        names = new TextColumn();
+        phones = new TextColumn();
+        emails = new TextColumn();
+        addresses = new TextColumn();
+        privacyFlags = new BitSet();
+        tagIds = new TagIdColumn();
+        ids = new long[INITIAL_CAPACITY];
+        size = 0;
+        rowHashes = new RowHashTable();
+        tagDictionary = new TagDictionary();
+    }
+
+    private ColumnarPersonStore(ColumnarPersonStore source) {
+        names = new TextColumn(source.names);
+        phones = new TextColumn(source.phones);
+        emails = new TextColumn(source.emails);
+        addresses = new TextColumn(source.addresses);
+        privacyFlags = (BitSet) source.privacyFlags.clone();
+        tagIds = new TagIdColumn(source.tagIds);
+        ids = Arrays.copyOf(source.ids, Math.max(source.size, INITIAL_CAPACITY));
+        size = source.size;
+        rowHashes = new RowHashTable(source.rowHashes);
+        tagDictionary = new TagDictionary(source.tagDictionary);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(ReadOnlyPerson toCheck) {
+        return indexOf(toCheck) != -1;
+    }
+
+    /**
+     * Returns the position of the equivalent person in the store, or -1 if there is none.
+     * Candidate rows are found by hash and compared column by column, without creating any objects for them.
+     */
+    @Override
+    public int indexOf(ReadOnlyPerson toFind) {
+        return indexOf(new EncodedPerson(toFind));
+    }
+
+    private int indexOf(EncodedPerson toFind) {
+        return rowHashes.indexOf(toFind.hash, row -> names.valueEquals(row, toFind.name)
+                && phones.valueEquals(row, toFind.phone)
+                && emails.valueEquals(row, toFind.email)
+                && addresses.valueEquals(row, toFind.address));
+    }
+
+    /**
+     * Finds the position of each person to find through the hash table.
+     */
+    @Override
+    public int[] indexesOf(Collection<? extends ReadOnlyPerson> toFind) throws PersonNotFoundException {
+        final int[] positions = new int[toFind.size()];
+        final BitSet found = new BitSet(size);
+        int i = 0;
+        for (ReadOnlyPerson person : toFind) {
+            final int position = indexOf(person);
+            if (position == -1 || found.get(position)) {
+                throw new PersonNotFoundException();
+            }
+            found.set(position);
+            positions[i++] = position;
+        }
+        return positions;
+    }
+
+    /**
+     * Creates a {@link Person} with the values of the person at the given position.
+     */
+    @Override
+    public Person get(int position) {
+        checkPosition(position);
+        return new Person(new View(position));
+    }
+
+    @Override
+    public void add(int position, Person toAdd) throws DuplicatePersonException {
+        if (position < 0 || position > size) {
+            throw new IndexOutOfBoundsException("position " + position + " in list of size " + size);
+        }
+        final EncodedPerson encoded = new EncodedPerson(toAdd);
+        if (indexOf(encoded) != -1) {
+            throw new DuplicatePersonException();
+        }
+        insert(position, encoded, toAdd);
+    }
+
+    @Override
+    public void addAll(Collection<Person> toAdd) throws DuplicatePersonException {
+        final List<EncodedPerson> encoded = new ArrayList<>(toAdd.size());
+        final Set<Person> batch = new HashSet<>(toAdd.size() * 2);
+        for (Person person : toAdd) {
+            final EncodedPerson encodedPerson = new EncodedPerson(person);
+            if (indexOf(encodedPerson) != -1 || !batch.add(person)) {
+                throw new DuplicatePersonException();
+            }
+            encoded.add(encodedPerson);
+        }
+        int i = 0;
+        for (Person person : toAdd) {
+            insert(size, encoded.get(i++), person);
+        }
+    }
+
+    private void insert(int position, EncodedPerson encoded, ReadOnlyPerson person) {
+        if (position < size) {
+            rowChanges++;
+            shiftFlags(position, FLAGS_PER_PERSON);
+        }
+        names.splice(position, 0, encoded.name);
+        phones.splice(position, 0, encoded.phone);
+        emails.splice(position, 0, encoded.email);
+        addresses.splice(position, 0, encoded.address);
+        tagIds.splice(position, 0, tagDictionary.idsOf(person.getTags()));
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = person.getId();
+        size++;
+        setFlags(position, person);
+        rowHashes.insert(position, encoded.hash);
+    }
+
+    /**
+     * Replaces the values of the person at the given position, leaving the other rows where they are.
+     *
+     * @return a {@link Person} with the replaced values
+     */
+    @Override
+    public Person set(int position, Person replacement) throws DuplicatePersonException {
+        final Person replaced = get(position);
+        final EncodedPerson encoded = new EncodedPerson(replacement);
+        final int existing = indexOf(encoded);
+        if (existing != -1 && existing != position) {
+            throw new DuplicatePersonException();
+        }
+        rowChanges++;
+        names.splice(position, 1, encoded.name);
+        phones.splice(position, 1, encoded.phone);
+        emails.splice(position, 1, encoded.email);
+        addresses.splice(position, 1, encoded.address);
+        tagIds.splice(position, 1, tagDictionary.idsOf(replacement.getTags()));
+        ids[position] = replacement.getId();
+        setFlags(position, replacement);
+        rowHashes.set(position, encoded.hash);
+        return replaced;
+    }
+
+    /**
+     * Removes the person at the given position, closing the gap it leaves in every column.
+     *
+     * @return a {@link Person} with the removed values
+     */
+    @Override
+    public Person removeAt(int position) {
+        final Person removed = get(position);
+        rowChanges++;
+        names.splice(position, 1);
+        phones.splice(position, 1);
+        emails.splice(position, 1);
+        addresses.splice(position, 1);
+        tagIds.splice(position, 1);
+        shiftFlags(position + 1, -FLAGS_PER_PERSON);
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        rowHashes.removeAt(position);
+        return removed;
+    }
+
+    /**
+     * Removes the persons at the given positions, closing the gaps they leave in one pass over each column.
+     */
+    @Override
+    public void removeAt(int[] positions) {
+        final boolean[] isRemoved = new boolean[size];
+        for (int position : positions) {
+            checkPosition(position);
+            isRemoved[position] = true;
+        }
+        rowChanges++;
+        names.removeAt(isRemoved);
+        phones.removeAt(isRemoved);
+        emails.removeAt(isRemoved);
+        addresses.removeAt(isRemoved);
+        tagIds.removeAt(isRemoved);
+        int kept = 0;
+        for (int row = 0; row < size; row++) {
+            if (!isRemoved[row]) {
+                ids[kept] = ids[row];
+                for (int flag = 0; flag < FLAGS_PER_PERSON; flag++) {
+                    privacyFlags.set(kept * FLAGS_PER_PERSON + flag, privacyFlags.get(row * FLAGS_PER_PERSON + flag));
+                }
+                kept++;
+            }
+        }
+        privacyFlags.clear(kept * FLAGS_PER_PERSON, size * FLAGS_PER_PERSON);
+        size = kept;
+        rowHashes.removeAt(isRemoved);
+    }
+
+    /**
+     * Removes all persons, giving back the memory of the columns.
+     */
+    @Override
+    public void clear() {
+        rowChanges++;
+        names.clear();
+        phones.clear();
+        emails.clear();
+        addresses.clear();
+        privacyFlags.clear();
+        tagIds.clear();
+        ids = new long[INITIAL_CAPACITY];
+        size = 0;
+        rowHashes.clear();
+        tagDictionary.clear();
+    }
+
+    @Override
+    public ColumnarPersonStore copy() {
+        return new ColumnarPersonStore(this);
+    }
+
+    @Override
+    public ColumnarPersonStore emptyCopy() {
+        return new ColumnarPersonStore();
+    }
+
+    /**
+     * Moves the privacy flags of all rows from the flag at the given index on by the given number of flags.
+     */
+    private void shiftFlags(int from, int shift) {
+        final int end = size * FLAGS_PER_PERSON;
+        if (shift > 0) {
+            for (int flag = end - 1; flag >= from * FLAGS_PER_PERSON; flag--) {
+                privacyFlags.set(flag + shift, privacyFlags.get(flag));
+            }
+        } else {
+            for (int flag = from * FLAGS_PER_PERSON; flag < end; flag++) {
+                privacyFlags.set(flag + shift, privacyFlags.get(flag));
+            }
+            privacyFlags.clear(end + shift, end);
+        }
+    }
+
+    private void setFlags(int row, ReadOnlyPerson person) {
+        privacyFlags.set(row * FLAGS_PER_PERSON + PHONE_FLAG, person.getPhone().isPrivate());
+        privacyFlags.set(row * FLAGS_PER_PERSON + EMAIL_FLAG, person.getEmail().isPrivate());
+        privacyFlags.set(row * FLAGS_PER_PERSON + ADDRESS_FLAG, person.getAddress().isPrivate());
+    }
+
+    /**
+     * Returns views of the persons in the store, created when each is asked for.
+     */
+    @Override
+    public List<ReadOnlyPerson> listView() {
+        return new Views();
+    }
+
+    /**
+     * Returns views of the matching persons, scanning the packed bytes of the name column instead of
+     * splitting a string per person.
+     */
+    @Override
+    public List<ReadOnlyPerson> findByNameWords(Collection<String> keywords) {
+        final byte[][] encodedKeywords = EncodedPerson.encodeAll(keywords);
+        final List<ReadOnlyPerson> found = new ArrayList<>();
+        final byte[] nameBytes = names.bytes;
+        for (int row = 0; row < size; row++) {
+            final int end = names.end(row);
+            int wordStart = names.start(row);
+            while (wordStart < end) {
+                int wordEnd = wordStart;
+                while (wordEnd < end && nameBytes[wordEnd] != WORD_SEPARATOR) {
+                    wordEnd++;
+                }
+                if (wordEnd > wordStart && isAnyKeyword(nameBytes, wordStart, wordEnd, encodedKeywords)) {
+                    found.add(new View(row));
+                    break;
+                }
+                wordStart = wordEnd + 1;
+            }
+        }
+        return found;
+    }
+
+    private static boolean isAnyKeyword(byte[] bytes, int start, int end, byte[][] keywords) {
+        for (byte[] keyword : keywords) {
+            if (keyword.length == end - start && regionEquals(bytes, start, keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean regionEquals(byte[] bytes, int start, byte[] value) {
+        for (int i = 0; i < value.length; i++) {
+            if (bytes[start + i] != value[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("position " + position + " in list of size " + size);
+        }
+    }
+
+    /**
+     * Creates a {@link Person} for each person in turn.
+     */
+    @Override
+    public Iterator<Person> iterator() {
+        return new Iterator<Person>() {
+            private final int rowChangesAtStart = rowChanges;
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Person next() {
+                if (rowChanges != rowChangesAtStart) {
+                    throw new ConcurrentModificationException();
+                }
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return new Person(new View(next++));
+            }
+        };
+    }
+
+    /**
+     * The persons of the store as views, in which changes to the store are immediately visible.
+     */
+    private final class Views extends AbstractList<ReadOnlyPerson> implements RandomAccess {
+        @Override
+        public ReadOnlyPerson get(int position) {
+            checkPosition(position);
+            return new View(position);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * A person as a position in the columns. Field objects are created each time they are asked for,
+     * from values that were validated when the person was added.
+     */
+    private final class View implements ReadOnlyPerson {
+        private final int row;
+        private final int rowChangesAtCreation;
+
+        View(int row) {
+            this.row = row;
+            this.rowChangesAtCreation = rowChanges;
+        }
+
+        private int row() {
+            if (rowChanges != rowChangesAtCreation) {
+                throw new IllegalStateException("person view used after its store was changed");
+            }
+            return row;
+        }
+
+        private boolean isPrivate(int flag) {
+            return privacyFlags.get(row() * FLAGS_PER_PERSON + flag);
+        }
+
+        @Override
+        public long getId() {
+            return ids[row()];
+        }
+
+        @Override
+        public Name getName() {
+            try {
+                return new Name(names.get(row()));
+            } catch (IllegalValueException ive) {
+                throw new AssertionError("stored name is invalid", ive);
+            }
+        }
+
+        @Override
+        public Phone getPhone() {
+            try {
+                return new Phone(phones.get(row()), isPrivate(PHONE_FLAG));
+            } catch (IllegalValueException ive) {
+                throw new AssertionError("stored phone is invalid", ive);
+            }
+        }
+
+        @Override
+        public Email getEmail() {
+            try {
+                return new Email(emails.get(row()), isPrivate(EMAIL_FLAG));
+            } catch (IllegalValueException ive) {
+                throw new AssertionError("stored email is invalid", ive);
+            }
+        }
+
+        @Override
+        public Address getAddress() {
+            try {
+                return new Address(addresses.get(row()), isPrivate(ADDRESS_FLAG));
+            } catch (IllegalValueException ive) {
+                throw new AssertionError("stored address is invalid", ive);
+            }
+        }
+
+        @Override
+        public UniqueTagList getTags() {
+            final int start = tagIds.start(row());
+            return tagDictionary.tagsOf(tagIds.ends[row] - start, i -> tagIds.ids[start + i]);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other == this // short circuit if same object
+                    || (other instanceof ReadOnlyPerson // instanceof handles nulls
+                    && this.isSameStateAs((ReadOnlyPerson) other));
+        }
+
+        @Override
+        public int hashCode() {
+            return ReadOnlyPerson.hashCodeOf(this);
+        }
+
+        @Override
+        public String toString() {
+            return getAsTextShowAll();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package seedu.addressbook.data.person;
 
+import seedu.addressbook.common.Validators;
 import seedu.addressbook.data.exception.IllegalValueException;
 
 /**
@@ -14,7 +15,7 @@ public class Email {
     public static final String EMAIL_VALIDATION_REGEX = "[\\w\\.]+@[\\w\\.]+";
 
     public final String value;
-    private boolean isPrivate;
+    private final boolean isPrivate;
 
     /**
      * Validates given email.
@@ -31,10 +32,10 @@ public class Email {
     }
 
     /**
-     * Checks if a given string is a valid person email.
+     * Checks if a given string is a valid person email, i.e. it matches {@link #EMAIL_VALIDATION_REGEX}.
      */
     public static boolean isValidEmail(String test) {
-        return test.matches(EMAIL_VALIDATION_REGEX);
+        return Validators.isWordsAtWords(test);
     }
 
     @Override
@@ -0,0 +1,41 @@
+package seedu.addressbook.data.person;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The text values of a person encoded as UTF-8, as compact person stores keep them, with a hash of all of them.
+ */
+final class EncodedPerson {
+    final byte[] name;
+    final byte[] phone;
+    final byte[] email;
+    final byte[] address;
+    final int hash;
+
+    EncodedPerson(ReadOnlyPerson person) {
+        name = person.getName().fullName.getBytes(StandardCharsets.UTF_8);
+        phone = person.getPhone().value.getBytes(StandardCharsets.UTF_8);
+        email = person.getEmail().value.getBytes(StandardCharsets.UTF_8);
+        address = person.getAddress().value.getBytes(StandardCharsets.UTF_8);
+        final int combined = 31 * (31 * (31 * Arrays.hashCode(name) + Arrays.hashCode(phone))
+                + Arrays.hashCode(email)) + Arrays.hashCode(address);
+        hash = combined ^ (combined >>> 16);
+    }
+
+    /**
+     * Encodes the keywords to compare with the words of encoded names.
+     */
+    static byte[][] encodeAll(Iterable<String> keywords) {
+        int count = 0;
+        for (String ignored : keywords) {
+            count++;
+        }
+        final byte[][] encoded = new byte[count][];
+        int i = 0;
+        for (String keyword : keywords) {
+            encoded[i++] = keyword.getBytes(StandardCharsets.UTF_8);
+        }
+        return encoded;
+    }
+}
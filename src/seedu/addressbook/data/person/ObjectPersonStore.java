@@ -0,0 +1,250 @@
+package seedu.addressbook.data.person;
+
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+
+import java.util.*;
+
+/**
+ * Keeps persons as {@link Person} objects in an array list, and also in a hash set, so that checking for
+ * a duplicate takes O(1) time instead of a scan. The default store of a {@link UniquePersonList}.
+ */
+public class ObjectPersonStore implements PersonStore {
+
+    /**
+     * Wraps a person to be compared as {@link Person#equals(Object)} does, with its hash code taken once,
+     * for hash-based lookups of persons of any {@link ReadOnlyPerson} implementation.
+     */
+    private static final class Identity {
+        private final ReadOnlyPerson person;
+        private final int hash;
+
+        Identity(ReadOnlyPerson person) {
+            this.person = person;
+            this.hash = person.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Identity && person.isSameStateAs(((Identity) other).person);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final List<Person> internalList;
+
+    /**
+     * The persons of {@link #internalList}, found by {@link Person#equals}, which like the {@code equals} of every
+     * {@link ReadOnlyPerson} compares their state, with a hash code cached by each person.
+     * Null in copies until first needed, so that copies that are only read, e.g. for listing, never build it.
+     */
+    private Set<Person> members;
+
+    /**
+     * Constructs an empty store.
+     */
+    public ObjectPersonStore() {
+        internalList = new ArrayList<>();
+        members = null;
+    }
+
+    /**
+     * Constructs a store of the given persons, in iteration order, without checking them for duplicates.
+     * See {@link #containsDuplicates()}.
+     */
+    ObjectPersonStore(Collection<Person> persons) {
+        internalList = new ArrayList<>(persons);
+        members = new HashSet<>(persons);
+    }
+
+    private ObjectPersonStore(ObjectPersonStore source) {
+        internalList = new ArrayList<>(source.internalList);
+        members = null;
+    }
+
+    /**
+     * Returns true if the store was constructed with persons that are duplicates of each other.
+     */
+    boolean containsDuplicates() {
+        return members().size() != internalList.size();
+    }
+
+    /**
+     * Returns {@link #members}, building it from the list in O(n) time if it has not been built yet.
+     */
+    private Set<Person> members() {
+        if (members == null) {
+            members = new HashSet<>(internalList);
+        }
+        return members;
+    }
+
+    @Override
+    public int size() {
+        return internalList.size();
+    }
+
+    @Override
+    public boolean contains(ReadOnlyPerson toCheck) {
+        return members().contains(toCheck);
+    }
+
+    /**
+     * Returns the position of the equivalent person in the list, or -1 if there is none.
+     * A person that is not in the list is told apart in O(1) time. Otherwise the given person object itself
+     * is looked for first, which only compares references.
+     */
+    @Override
+    public int indexOf(ReadOnlyPerson toFind) {
+        if (!contains(toFind)) {
+            return -1;
+        }
+        for (int position = 0; position < internalList.size(); position++) {
+            if (internalList.get(position) == toFind) {
+                return position;
+            }
+        }
+        return internalList.indexOf(toFind);
+    }
+
+    /**
+     * Finds the positions of the equivalent persons of all the given persons, in one hash-based pass.
+     */
+    @Override
+    public int[] indexesOf(Collection<? extends ReadOnlyPerson> toFind) throws PersonNotFoundException {
+        final Map<Identity, Integer> batchOrder = new HashMap<>(toFind.size() * 2);
+        for (ReadOnlyPerson person : toFind) {
+            if (batchOrder.put(new Identity(person), batchOrder.size()) != null) {
+                throw new PersonNotFoundException();
+            }
+        }
+        final int[] positions = new int[toFind.size()];
+        int found = 0;
+        for (int position = 0; position < internalList.size() && found < positions.length; position++) {
+            final Integer order = batchOrder.get(new Identity(internalList.get(position)));
+            if (order != null) {
+                positions[order] = position;
+                found++;
+            }
+        }
+        if (found < positions.length) {
+            throw new PersonNotFoundException();
+        }
+        return positions;
+    }
+
+    @Override
+    public Person get(int position) {
+        return internalList.get(position);
+    }
+
+    @Override
+    public void add(int position, Person toAdd) throws DuplicatePersonException {
+        if (position == internalList.size()) {
+            if (!members().add(toAdd)) {
+                throw new DuplicatePersonException();
+            }
+            internalList.add(toAdd);
+            return;
+        }
+        if (contains(toAdd)) {
+            throw new DuplicatePersonException();
+        }
+        internalList.add(position, toAdd);
+        members().add(toAdd);
+    }
+
+    /**
+     * Adds all the given persons, checking them for duplicates of each other and of the persons in the list
+     * in one hash-based pass over the persons to add.
+     */
+    @Override
+    public void addAll(Collection<Person> toAdd) throws DuplicatePersonException {
+        final Set<Person> batch = new HashSet<>(toAdd.size() * 2);
+        for (Person person : toAdd) {
+            if (contains(person) || !batch.add(person)) {
+                throw new DuplicatePersonException();
+            }
+        }
+        internalList.addAll(toAdd);
+        members().addAll(toAdd);
+    }
+
+    @Override
+    public Person set(int position, Person replacement) throws DuplicatePersonException {
+        final Person replaced = internalList.get(position);
+        if (!replaced.isSameStateAs(replacement) && contains(replacement)) {
+            throw new DuplicatePersonException();
+        }
+        members().remove(replaced);
+        members().add(replacement);
+        return internalList.set(position, replacement);
+    }
+
+    @Override
+    public Person removeAt(int position) {
+        final Person removed = internalList.remove(position);
+        if (members != null) {
+            members.remove(removed);
+        }
+        return removed;
+    }
+
+    @Override
+    public void removeAt(int[] positions) {
+        final boolean[] isRemoved = new boolean[internalList.size()];
+        for (int position : positions) {
+            isRemoved[position] = true;
+        }
+        int kept = 0;
+        for (int position = 0; position < internalList.size(); position++) {
+            if (!isRemoved[position]) {
+                internalList.set(kept++, internalList.get(position));
+            } else if (members != null) {
+                members.remove(internalList.get(position));
+            }
+        }
+        internalList.subList(kept, internalList.size()).clear();
+    }
+
+    @Override
+    public void clear() {
+        internalList.clear();
+        members = null;
+    }
+
+    @Override
+    public ObjectPersonStore copy() {
+        return new ObjectPersonStore(this);
+    }
+
+    @Override
+    public ObjectPersonStore emptyCopy() {
+        return new ObjectPersonStore();
+    }
+
+    @Override
+    public List<ReadOnlyPerson> listView() {
+        return Collections.unmodifiableList(internalList);
+    }
+
+    @Override
+    public List<ReadOnlyPerson> findByNameWords(Collection<String> keywords) {
+        final List<ReadOnlyPerson> found = new ArrayList<>();
+        for (Person person : internalList) {
+            if (!Collections.disjoint(new HashSet<>(person.getName().getWordsInName()), keywords)) {
+                found.add(person);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public Iterator<Person> iterator() {
+        return Collections.unmodifiableList(internalList).iterator(); // removing through it would bypass members
+    }
+}
@@ -0,0 +1,601 @@
+package seedu.addressbook.data.person;
+
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Stores persons outside the Java heap, one record per person in a {@link PersonArena}.
+ *
+ * The heap only holds the address of each record, a {@link RowHashTable} for finding duplicates and the
+ * dictionary of distinct tags, so a large store adds almost nothing for the garbage collector to trace or copy.
+ * The space of a removed or replaced person's record is reused by later persons of a similar size, and
+ * {@link #clear()} gives all the memory back at once. A store that is dropped without being cleared has its
+ * memory freed when the garbage collector finds its buffers unreachable.
+ *
+ * Persons are handed out by {@link #listView()} and {@link #findByNameWords} as cursors over their record, which
+ * decode the field objects they are asked for on demand. A cursor stays usable until its own person is removed
+ * from the store or replaced. Asking for a {@link Person} decodes one, which is the only copy of a person's values
+ * that is made on the heap.
+ */
+public class OffHeapPersonStore implements PersonStore {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The layout of a record, as offsets from its start. Text values follow the header, then the tag ids. */
+    private static final int SERIAL = 0;
+    private static final int ID = 8;
+    private static final int FLAGS = 16;
+    private static final int NAME_LENGTH = 17;
+    private static final int PHONE_LENGTH = 21;
+    private static final int EMAIL_LENGTH = 25;
+    private static final int ADDRESS_LENGTH = 29;
+    private static final int TAG_COUNT = 33;
+    private static final int VALUES = 37;
+
+    /** Bits of the flags byte. */
+    private static final int PHONE_PRIVATE = 1;
+    private static final int EMAIL_PRIVATE = 2;
+    private static final int ADDRESS_PRIVATE = 4;
+
+    /** The serial of a removed record, which no cursor has. */
+    private static final long REMOVED = 0;
+
+    private static final byte WORD_SEPARATOR = ' ';
+
+    private final IntFunction<ByteBuffer> newChunk;
+    private final PersonArena arena;
+    private long[] addresses = new long[INITIAL_CAPACITY];
+    private int size = 0;
+    private final RowHashTable rowHashes;
+    private final TagDictionary tagDictionary;
+
+    /**
+     * The serial of the last record written, which tells a cursor if its record has been reused.
+     * Never goes back, not even when the store is cleared.
+     */
+    private long lastSerial = REMOVED;
+
+    /** The number of changes so far that moved persons, which make iterators created before them unusable. */
+    private int moves = 0;
+
+    /** The number of times the store was cleared, which makes all cursors created before unusable. */
+    private int clears = 0;
+
+    /**
+     * Constructs an empty store in direct byte buffers.
+     */
+    public OffHeapPersonStore() {
+        this(ByteBuffer::allocateDirect);
+    }
+
+    /**
+     * Constructs an empty store in chunks from the given source, which must return zeroed buffers of at least
+     * the requested capacity, e.g. regions of a file mapped with {@link java.nio.channels.FileChannel#map}.
+     * Direct and mapped chunks are freed or unmapped when the store is cleared.
+     */
+    public OffHeapPersonStore(IntFunction<ByteBuffer> newChunk) {
+        this.newChunk = newChunk;
+        this.arena = new PersonArena(newChunk, PersonArena.DEFAULT_CHUNK_SIZE);
+        this.rowHashes = new RowHashTable();
+        this.tagDictionary = new TagDictionary();
+    }
+
+    /**
+     * Constructs a copy of the store, with copies of its records in chunks from the same source.
+     */
+    private OffHeapPersonStore(OffHeapPersonStore source) {
+        this.newChunk = source.newChunk;
+        this.arena = new PersonArena(newChunk, PersonArena.DEFAULT_CHUNK_SIZE);
+        this.rowHashes = new RowHashTable(source.rowHashes);
+        this.tagDictionary = new TagDictionary(source.tagDictionary);
+        this.addresses = new long[Math.max(source.size, INITIAL_CAPACITY)];
+        for (int row = 0; row < source.size; row++) {
+            final ByteBuffer sourceChunk = source.arena.chunk(source.addresses[row]);
+            final int sourceRecord = PersonArena.recordOffset(source.addresses[row]);
+            final int length = recordLength(sourceChunk, sourceRecord);
+            final long address = arena.allocate(length);
+            final ByteBuffer chunk = arena.chunk(address);
+            final int record = PersonArena.recordOffset(address);
+            for (int i = 0; i < length; i++) {
+                chunk.put(record + i, sourceChunk.get(sourceRecord + i));
+            }
+            chunk.putLong(record + SERIAL, ++lastSerial);
+            addresses[row] = address;
+        }
+        this.size = source.size;
+    }
+
+    private static int recordLength(ByteBuffer chunk, int record) {
+        return VALUES + chunk.getInt(record + NAME_LENGTH) + chunk.getInt(record + PHONE_LENGTH)
+                + chunk.getInt(record + EMAIL_LENGTH) + chunk.getInt(record + ADDRESS_LENGTH)
+                + chunk.getInt(record + TAG_COUNT) * Integer.BYTES;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(ReadOnlyPerson toCheck) {
+        return indexOf(toCheck) != -1;
+    }
+
+    /**
+     * Returns the position of the equivalent person in the store, or -1 if there is none.
+     * Candidate records are found by hash and compared byte by byte where they lie, without copying them.
+     */
+    @Override
+    public int indexOf(ReadOnlyPerson toFind) {
+        return indexOf(new EncodedPerson(toFind));
+    }
+
+    private int indexOf(EncodedPerson toFind) {
+        return rowHashes.indexOf(toFind.hash, row -> {
+            final ByteBuffer chunk = arena.chunk(addresses[row]);
+            final int record = PersonArena.recordOffset(addresses[row]);
+            int position = record + VALUES;
+            if (!valueEquals(chunk, position, chunk.getInt(record + NAME_LENGTH), toFind.name)) {
+                return false;
+            }
+            position += toFind.name.length;
+            if (!valueEquals(chunk, position, chunk.getInt(record + PHONE_LENGTH), toFind.phone)) {
+                return false;
+            }
+            position += toFind.phone.length;
+            if (!valueEquals(chunk, position, chunk.getInt(record + EMAIL_LENGTH), toFind.email)) {
+                return false;
+            }
+            position += toFind.email.length;
+            return valueEquals(chunk, position, chunk.getInt(record + ADDRESS_LENGTH), toFind.address);
+        });
+    }
+
+    private static boolean valueEquals(ByteBuffer chunk, int start, int length, byte[] value) {
+        return length == value.length && regionEquals(chunk, start, value);
+    }
+
+    private static boolean regionEquals(ByteBuffer chunk, int start, byte[] value) {
+        for (int i = 0; i < value.length; i++) {
+            if (chunk.get(start + i) != value[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the position of each person to find through the hash table.
+     */
+    @Override
+    public int[] indexesOf(Collection<? extends ReadOnlyPerson> toFind) throws PersonNotFoundException {
+        final int[] positions = new int[toFind.size()];
+        final BitSet found = new BitSet(size);
+        int i = 0;
+        for (ReadOnlyPerson person : toFind) {
+            final int position = indexOf(person);
+            if (position == -1 || found.get(position)) {
+                throw new PersonNotFoundException();
+            }
+            found.set(position);
+            positions[i++] = position;
+        }
+        return positions;
+    }
+
+    /**
+     * Decodes a {@link Person} from the record of the person at the given position.
+     */
+    @Override
+    public Person get(int position) {
+        checkPosition(position);
+        return new Person(new Cursor(addresses[position]));
+    }
+
+    @Override
+    public void add(int position, Person toAdd) throws DuplicatePersonException {
+        if (position < 0 || position > size) {
+            throw new IndexOutOfBoundsException("position " + position + " in list of size " + size);
+        }
+        final EncodedPerson encoded = new EncodedPerson(toAdd);
+        if (indexOf(encoded) != -1) {
+            throw new DuplicatePersonException();
+        }
+        insert(position, encoded, toAdd);
+    }
+
+    @Override
+    public void addAll(Collection<Person> toAdd) throws DuplicatePersonException {
+        final List<EncodedPerson> encoded = new ArrayList<>(toAdd.size());
+        final Set<Person> batch = new HashSet<>(toAdd.size() * 2);
+        for (Person person : toAdd) {
+            final EncodedPerson encodedPerson = new EncodedPerson(person);
+            if (indexOf(encodedPerson) != -1 || !batch.add(person)) {
+                throw new DuplicatePersonException();
+            }
+            encoded.add(encodedPerson);
+        }
+        int i = 0;
+        for (Person person : toAdd) {
+            insert(size, encoded.get(i++), person);
+        }
+    }
+
+    private void insert(int position, EncodedPerson encoded, ReadOnlyPerson person) {
+        if (position < size) {
+            moves++;
+        }
+        if (size == addresses.length) {
+            addresses = Arrays.copyOf(addresses, size * 2);
+        }
+        System.arraycopy(addresses, position, addresses, position + 1, size - position);
+        addresses[position] = write(encoded, person);
+        size++;
+        rowHashes.insert(position, encoded.hash);
+    }
+
+    /**
+     * Writes a record of the person in a newly allocated block.
+     *
+     * @return the address of the block
+     */
+    private long write(EncodedPerson encoded, ReadOnlyPerson person) {
+        final int[] tagIds = tagDictionary.idsOf(person.getTags());
+        final long address = arena.allocate(VALUES + encoded.name.length + encoded.phone.length
+                + encoded.email.length + encoded.address.length + tagIds.length * Integer.BYTES);
+        final ByteBuffer chunk = arena.chunk(address);
+        final int record = PersonArena.recordOffset(address);
+
+        chunk.putLong(record + SERIAL, ++lastSerial);
+        chunk.putLong(record + ID, person.getId());
+        chunk.put(record + FLAGS, (byte) ((person.getPhone().isPrivate() ? PHONE_PRIVATE : 0)
+                | (person.getEmail().isPrivate() ? EMAIL_PRIVATE : 0)
+                | (person.getAddress().isPrivate() ? ADDRESS_PRIVATE : 0)));
+        chunk.putInt(record + NAME_LENGTH, encoded.name.length);
+        chunk.putInt(record + PHONE_LENGTH, encoded.phone.length);
+        chunk.putInt(record + EMAIL_LENGTH, encoded.email.length);
+        chunk.putInt(record + ADDRESS_LENGTH, encoded.address.length);
+        chunk.putInt(record + TAG_COUNT, tagIds.length);
+        int position = record + VALUES;
+        for (byte[] value : new byte[][] { encoded.name, encoded.phone, encoded.email, encoded.address }) {
+            for (byte b : value) {
+                chunk.put(position++, b);
+            }
+        }
+        for (int tagId : tagIds) {
+            chunk.putInt(position, tagId);
+            position += Integer.BYTES;
+        }
+        return address;
+    }
+
+    /**
+     * Marks the record at the given address as removed, so that no cursor reads it again, and frees its block.
+     */
+    private void free(long address) {
+        arena.chunk(address).putLong(PersonArena.recordOffset(address) + SERIAL, REMOVED);
+        arena.free(address);
+    }
+
+    /**
+     * Replaces the person at the given position with a new record, freeing the old one.
+     *
+     * @return a {@link Person} decoded from the replaced record
+     */
+    @Override
+    public Person set(int position, Person replacement) throws DuplicatePersonException {
+        final Person replaced = get(position);
+        final EncodedPerson encoded = new EncodedPerson(replacement);
+        final int existing = indexOf(encoded);
+        if (existing != -1 && existing != position) {
+            throw new DuplicatePersonException();
+        }
+        final long address = write(encoded, replacement);
+        free(addresses[position]);
+        addresses[position] = address;
+        rowHashes.set(position, encoded.hash);
+        return replaced;
+    }
+
+    /**
+     * Removes the person at the given position and frees its record for reuse. Only the address array and the
+     * hash table of the later persons change; their records stay where they are.
+     *
+     * @return a {@link Person} decoded from the removed record
+     */
+    @Override
+    public Person removeAt(int position) {
+        final Person removed = get(position);
+        moves++;
+        free(addresses[position]);
+        System.arraycopy(addresses, position + 1, addresses, position, size - position - 1);
+        size--;
+        rowHashes.removeAt(position);
+        return removed;
+    }
+
+    @Override
+    public void removeAt(int[] positions) {
+        final boolean[] isRemoved = new boolean[size];
+        for (int position : positions) {
+            checkPosition(position);
+            isRemoved[position] = true;
+        }
+        moves++;
+        int kept = 0;
+        for (int row = 0; row < size; row++) {
+            if (isRemoved[row]) {
+                free(addresses[row]);
+            } else {
+                addresses[kept++] = addresses[row];
+            }
+        }
+        size = kept;
+        rowHashes.removeAt(isRemoved);
+    }
+
+    /**
+     * Removes all persons and gives back all the memory of their records at once.
+     */
+    @Override
+    public void clear() {
+        moves++;
+        clears++;
+        arena.releaseAll();
+        addresses = new long[INITIAL_CAPACITY];
+        size = 0;
+        rowHashes.clear();
+        tagDictionary.clear();
+    }
+
+    @Override
+    public OffHeapPersonStore copy() {
+        return new OffHeapPersonStore(this);
+    }
+
+    /**
+     * Returns a new empty store with chunks from the same source.
+     */
+    @Override
+    public OffHeapPersonStore emptyCopy() {
+        return new OffHeapPersonStore(newChunk);
+    }
+
+    /**
+     * Returns cursors over the persons in the store, created when each is asked for.
+     */
+    @Override
+    public List<ReadOnlyPerson> listView() {
+        return new Cursors();
+    }
+
+    /**
+     * Returns cursors over the matching persons, scanning the name bytes of each record where they lie instead
+     * of decoding them.
+     */
+    @Override
+    public List<ReadOnlyPerson> findByNameWords(Collection<String> keywords) {
+        final byte[][] encodedKeywords = EncodedPerson.encodeAll(keywords);
+        final List<ReadOnlyPerson> found = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            final ByteBuffer chunk = arena.chunk(addresses[row]);
+            final int record = PersonArena.recordOffset(addresses[row]);
+            final int end = record + VALUES + chunk.getInt(record + NAME_LENGTH);
+            int wordStart = record + VALUES;
+            while (wordStart < end) {
+                int wordEnd = wordStart;
+                while (wordEnd < end && chunk.get(wordEnd) != WORD_SEPARATOR) {
+                    wordEnd++;
+                }
+                if (wordEnd > wordStart && isAnyKeyword(chunk, wordStart, wordEnd, encodedKeywords)) {
+                    found.add(new Cursor(addresses[row]));
+                    break;
+                }
+                wordStart = wordEnd + 1;
+            }
+        }
+        return found;
+    }
+
+    private static boolean isAnyKeyword(ByteBuffer chunk, int start, int end, byte[][] keywords) {
+        for (byte[] keyword : keywords) {
+            if (keyword.length == end - start && regionEquals(chunk, start, keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("position " + position + " in list of size " + size);
+        }
+    }
+
+    /**
+     * Returns the bytes of memory the store has taken for its records, including the space of removed persons.
+     */
+    long getReservedBytes() {
+        return arena.getReservedBytes();
+    }
+
+    /**
+     * Decodes a {@link Person} for each person in turn.
+     */
+    @Override
+    public Iterator<Person> iterator() {
+        return new Iterator<Person>() {
+            private final int movesAtStart = moves;
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Person next() {
+                if (moves != movesAtStart) {
+                    throw new ConcurrentModificationException();
+                }
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return new Person(new Cursor(addresses[next++]));
+            }
+        };
+    }
+
+    /**
+     * The persons of the store as cursors, in which changes to the store are immediately visible.
+     */
+    private final class Cursors extends AbstractList<ReadOnlyPerson> implements RandomAccess {
+        @Override
+        public ReadOnlyPerson get(int position) {
+            checkPosition(position);
+            return new Cursor(addresses[position]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * A person as the address of its record. Field objects are decoded each time they are asked for,
+     * from values that were validated when the person was added.
+     */
+    private final class Cursor implements ReadOnlyPerson {
+        private final long address;
+        private final long serial;
+        private final int clearsAtCreation;
+
+        Cursor(long address) {
+            this.address = address;
+            this.serial = arena.chunk(address).getLong(PersonArena.recordOffset(address) + SERIAL);
+            this.clearsAtCreation = clears;
+        }
+
+        /**
+         * Returns the chunk of the record, after checking that the record still holds this cursor's person.
+         * The chunk is looked up again each time, as the store may have given it back since.
+         */
+        private ByteBuffer chunk() {
+            if (clears != clearsAtCreation
+                    || arena.chunk(address).getLong(PersonArena.recordOffset(address) + SERIAL) != serial) {
+                throw new IllegalStateException("person cursor used after its person was removed from its store");
+            }
+            return arena.chunk(address);
+        }
+
+        private boolean isPrivate(int flag) {
+            return (chunk().get(PersonArena.recordOffset(address) + FLAGS) & flag) != 0;
+        }
+
+        /**
+         * Decodes the text value that starts after the given values and has its length at the given offset.
+         */
+        private String text(int lengthOffset, int... precedingLengthOffsets) {
+            final ByteBuffer chunk = chunk();
+            final int record = PersonArena.recordOffset(address);
+            int start = record + VALUES;
+            for (int preceding : precedingLengthOffsets) {
+                start += chunk.getInt(record + preceding);
+            }
+            final byte[] bytes = new byte[chunk.getInt(record + lengthOffset)];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = chunk.get(start + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public long getId() {
+            return chunk().getLong(PersonArena.recordOffset(address) + ID);
+        }
+
+        @Override
+        public Name getName() {
+            try {
+                return new Name(text(NAME_LENGTH));
+            } catch (IllegalValueException ive) {
+                throw new AssertionError("stored name is invalid", ive);
+            }
+        }
+
+        @Override
+        public Phone getPhone() {
+            try {
+                return new Phone(text(PHONE_LENGTH, NAME_LENGTH), isPrivate(PHONE_PRIVATE));
+            } catch (IllegalValueException ive) {
+                throw new AssertionError("stored phone is invalid", ive);
+            }
+        }
+
+        @Override
+        public Email getEmail() {
+            try {
+                return new Email(text(EMAIL_LENGTH, NAME_LENGTH, PHONE_LENGTH), isPrivate(EMAIL_PRIVATE));
+            } catch (IllegalValueException ive) {
+                throw new AssertionError("stored email is invalid", ive);
+            }
+        }
+
+        @Override
+        public Address getAddress() {
+            try {
+                return new Address(text(ADDRESS_LENGTH, NAME_LENGTH, PHONE_LENGTH, EMAIL_LENGTH),
+                        isPrivate(ADDRESS_PRIVATE));
+            } catch (IllegalValueException ive) {
+                throw new AssertionError("stored address is invalid", ive);
+            }
+        }
+
+        @Override
+        public UniqueTagList getTags() {
+            final ByteBuffer chunk = chunk();
+            final int record = PersonArena.recordOffset(address);
+            final int tagStart = record + VALUES + chunk.getInt(record + NAME_LENGTH)
+                    + chunk.getInt(record + PHONE_LENGTH) + chunk.getInt(record + EMAIL_LENGTH)
+                    + chunk.getInt(record + ADDRESS_LENGTH);
+            return tagDictionary.tagsOf(chunk.getInt(record + TAG_COUNT),
+                    i -> chunk.getInt(tagStart + i * Integer.BYTES));
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other == this // short circuit if same object
+                    || (other instanceof ReadOnlyPerson // instanceof handles nulls
+                    && this.isSameStateAs((ReadOnlyPerson) other));
+        }
+
+        @Override
+        public int hashCode() {
+            return ReadOnlyPerson.hashCodeOf(this);
+        }
+
+        @Override
+        public String toString() {
+            return getAsTextShowAll();
+        }
+    }
+}
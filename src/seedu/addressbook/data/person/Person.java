@@ -2,24 +2,46 @@ package seedu.addressbook.data.person;
 
 import seedu.addressbook.data.tag.UniqueTagList;
 
-import java.util.Objects;
-
 /**
  * Represents a Person in the address book.
- * Guarantees: details are present and not null, field values are validated.
+ * Guarantees: immutable; details are present and not null, field values are validated.
  */
 public class Person implements ReadOnlyPerson {
 
-    private Name name;
-    private Phone phone;
-    private Email email;
-    private Address address;
+    /** The ID of a person that has not been added to an address book yet. */
+    public static final long UNASSIGNED_ID = 0;
+
+    private final long id;
+    private final Name name;
+    private final Phone phone;
+    private final Email email;
+    private final Address address;
 
+    /** Never changed after construction; {@link #withTags} copies the person instead. */
     private final UniqueTagList tags;
+
+    /**
+     * The hash code and text forms of this person, computed when first asked for, as the details never change.
+     * A hash code of 0 is computed again every time. A race only computes the same value twice.
+     */
+    private int hashCode;
+    private String textShowAll;
+    private String textHidePrivate;
+
     /**
+     * Creates a person without an ID, which is given one by the address book it is added to.
      * Assumption: Every field must be present and not null.
      */
     public Person(Name name, Phone phone, Email email, Address address, UniqueTagList tags) {
+        this(UNASSIGNED_ID, name, phone, email, address, tags);
+    }
+
+    /**
+     * Creates a person with the given ID, e.g. when loading an address book.
+     * Assumption: Every field must be present and not null.
+     */
+    public Person(long id, Name name, Phone phone, Email email, Address address, UniqueTagList tags) {
+        this.id = id;
         this.name = name;
         this.phone = phone;
         this.email = email;
@@ -28,10 +50,28 @@ public class Person implements ReadOnlyPerson {
     }
 
     /**
-     * Copy constructor.
+     * Copy constructor. The copy has the same ID as the source.
      */
     public Person(ReadOnlyPerson source) {
-        this(source.getName(), source.getPhone(), source.getEmail(), source.getAddress(), source.getTags());
+        this(source.getId(), source.getName(), source.getPhone(), source.getEmail(), source.getAddress(),
+                source.getTags());
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Returns a copy of this person with the given ID, e.g. the ID given by the address book it is added to,
+     * sharing the details and tags of this person, which is left unchanged.
+     */
+    public Person withId(long newId) {
+        final Person copy = new Person(newId, name, phone, email, address, tags);
+        copy.hashCode = hashCode; // the ID plays no part in it
+        copy.textShowAll = textShowAll;
+        copy.textHidePrivate = textHidePrivate;
+        return copy;
     }
 
     @Override
@@ -60,10 +100,33 @@ public class Person implements ReadOnlyPerson {
     }
 
     /**
-     * Replaces this person's tags with the tags in the argument tag list.
+     * Returns a copy of this person with the tags in the argument tag list instead of this person's tags,
+     * and the same ID. This person is left unchanged.
      */
-    public void setTags(UniqueTagList replacement) {
-        tags.setTags(replacement);
+    public Person withTags(UniqueTagList replacement) {
+        final Person copy = new Person(id, name, phone, email, address, replacement);
+        copy.hashCode = hashCode; // tags play no part in it
+        return copy;
+    }
+
+    @Override
+    public String getAsTextShowAll() {
+        String text = textShowAll;
+        if (text == null) {
+            text = ReadOnlyPerson.super.getAsTextShowAll();
+            textShowAll = text;
+        }
+        return text;
+    }
+
+    @Override
+    public String getAsTextHidePrivate() {
+        String text = textHidePrivate;
+        if (text == null) {
+            text = ReadOnlyPerson.super.getAsTextHidePrivate();
+            textHidePrivate = text;
+        }
+        return text;
     }
 
     @Override
@@ -75,8 +138,12 @@ public class Person implements ReadOnlyPerson {
 
     @Override
     public int hashCode() {
-        // use this method for custom fields hashing instead of implementing your own
-        return Objects.hash(name, phone, email, address, tags);
+        int hash = hashCode;
+        if (hash == 0) {
+            hash = ReadOnlyPerson.hashCodeOf(this);
+            hashCode = hash;
+        }
+        return hash;
     }
 
     @Override
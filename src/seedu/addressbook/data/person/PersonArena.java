@@ -0,0 +1,192 @@
+package seedu.addressbook.data.person;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Allocates blocks of memory for records in large {@link ByteBuffer} chunks that live outside the Java heap,
+ * so that the garbage collector neither sees nor copies the records.
+ *
+ * Blocks are carved from the end of the newest chunk, with sizes rounded up to a multiple of
+ * {@link #ALIGNMENT}. A freed block goes on a free list of blocks of its size, threaded through the blocks
+ * themselves, and the next block of that size is taken from the list before any new memory.
+ *
+ * A block is addressed by a {@code long} holding the number of its chunk in the high half and its offset in
+ * the chunk in the low half. Its first {@link #HEADER_SIZE} bytes belong to the arena; the caller's record
+ * starts after them.
+ *
+ * {@link #releaseAll()} gives the chunks back at once, rather than when the garbage collector finds them
+ * unreachable, which for direct buffers may be long after the heap has stopped referring to them.
+ */
+final class PersonArena {
+
+    static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+    static final int ALIGNMENT = 16;
+
+    /** The capacity of the block, as an int, followed by the address of the next free block of its size. */
+    static final int HEADER_SIZE = 12;
+    private static final int NEXT_FREE_OFFSET = 4;
+    private static final long NO_BLOCK = -1;
+
+    /** Frees the memory of a direct or mapped buffer, which must not be used again. */
+    private static final Consumer<ByteBuffer> CHUNK_RELEASER = loadChunkReleaser();
+
+    private final IntFunction<ByteBuffer> newChunk;
+    private final int chunkSize;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private int bumpOffset = 0;
+
+    /** The first free block of each capacity, indexed by capacity / {@link #ALIGNMENT}. */
+    private long[] freeLists = new long[0];
+    private long reservedBytes = 0;
+    private long usedBytes = 0;
+
+    /**
+     * Constructs an arena that takes its chunks from the given source, which must return zeroed buffers of at
+     * least the requested capacity, e.g. {@link ByteBuffer#allocateDirect} or regions mapped from a file.
+     */
+    PersonArena(IntFunction<ByteBuffer> newChunk, int chunkSize) {
+        this.newChunk = newChunk;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns the address of a block with room for a record of the given size after the header.
+     */
+    long allocate(int recordSize) {
+        final int capacity = roundUp(HEADER_SIZE + recordSize);
+        final int sizeClass = capacity / ALIGNMENT;
+        final long address;
+        if (sizeClass < freeLists.length && freeLists[sizeClass] != NO_BLOCK) {
+            address = freeLists[sizeClass];
+            freeLists[sizeClass] = chunk(address).getLong(offset(address) + NEXT_FREE_OFFSET);
+        } else {
+            address = bump(capacity);
+        }
+        chunk(address).putInt(offset(address), capacity);
+        usedBytes += capacity;
+        return address;
+    }
+
+    private long bump(int capacity) {
+        if (chunks.isEmpty() || bumpOffset + capacity > chunks.get(chunks.size() - 1).capacity()) {
+            final int size = Math.max(chunkSize, capacity);
+            chunks.add(newChunk.apply(size));
+            reservedBytes += size;
+            bumpOffset = 0;
+        }
+        final long address = ((long) (chunks.size() - 1) << 32) | bumpOffset;
+        bumpOffset += capacity;
+        return address;
+    }
+
+    /**
+     * Puts the block at the given address on the free list of its size. Its record must not be used again.
+     */
+    void free(long address) {
+        final ByteBuffer chunk = chunk(address);
+        final int capacity = chunk.getInt(offset(address));
+        final int sizeClass = capacity / ALIGNMENT;
+        if (sizeClass >= freeLists.length) {
+            final int oldLength = freeLists.length;
+            freeLists = Arrays.copyOf(freeLists, Math.max(sizeClass + 1, oldLength * 2));
+            Arrays.fill(freeLists, oldLength, freeLists.length, NO_BLOCK);
+        }
+        chunk.putLong(offset(address) + NEXT_FREE_OFFSET, freeLists[sizeClass]);
+        freeLists[sizeClass] = address;
+        usedBytes -= capacity;
+    }
+
+    /**
+     * Returns the chunk holding the block at the given address.
+     */
+    ByteBuffer chunk(long address) {
+        return chunks.get((int) (address >>> 32));
+    }
+
+    /**
+     * Frees all blocks and gives all chunks back, freeing the memory of direct and mapped chunks at once.
+     * No record may be read from a chunk taken before.
+     */
+    void releaseAll() {
+        for (ByteBuffer chunk : chunks) {
+            if (chunk.isDirect()) {
+                CHUNK_RELEASER.accept(chunk);
+            }
+        }
+        chunks.clear();
+        bumpOffset = 0;
+        freeLists = new long[0];
+        reservedBytes = 0;
+        usedBytes = 0;
+    }
+
+    /**
+     * Returns a function that frees a direct buffer through the JDK's internal cleaner, which is only reachable
+     * by reflection: {@code Unsafe.invokeCleaner} from Java 9 on, or the buffer's own {@code Cleaner} on Java 8.
+     * If neither can be found, chunks are left to the garbage collector.
+     */
+    private static Consumer<ByteBuffer> loadChunkReleaser() {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            final Object unsafe = theUnsafe.get(null);
+            final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            return chunk -> invokeReleaser(invokeCleaner, unsafe, chunk);
+        } catch (NoSuchMethodException java8) {
+            try {
+                final Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+                final Method clean = cleaner.getReturnType().getMethod("clean");
+                return chunk -> invokeReleaser(clean, invokeReleaser(cleaner, chunk, null), null);
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return chunk -> {};
+            }
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return chunk -> {};
+        }
+    }
+
+    private static Object invokeReleaser(Method method, Object target, Object argument) {
+        try {
+            return argument == null ? method.invoke(target) : method.invoke(target, argument);
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError("releasing a chunk failed", e);
+        }
+    }
+
+    /**
+     * Returns the offset in its chunk of the first byte of the record in the block at the given address.
+     */
+    static int recordOffset(long address) {
+        return offset(address) + HEADER_SIZE;
+    }
+
+    private static int offset(long address) {
+        return (int) address;
+    }
+
+    private static int roundUp(int size) {
+        return (size + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    /**
+     * Returns the bytes taken from the chunk source so far. Freed blocks are reused, never given back.
+     */
+    long getReservedBytes() {
+        return reservedBytes;
+    }
+
+    /**
+     * Returns the bytes in blocks that have been allocated and not freed.
+     */
+    long getUsedBytes() {
+        return usedBytes;
+    }
+}
@@ -0,0 +1,92 @@
+package seedu.addressbook.data.person;
+
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The storage behind a {@link UniquePersonList}, which keeps its persons in order and without duplicates,
+ * in whatever form suits it. See {@link UniquePersonList} for what each operation does.
+ *
+ * A store that does not keep {@link Person} objects creates one each time a person is asked for as a
+ * {@code Person}, and hands out lighter {@link ReadOnlyPerson} views of its persons through {@link #listView()}.
+ *
+ * @see ObjectPersonStore
+ * @see ColumnarPersonStore
+ */
+public interface PersonStore extends Iterable<Person> {
+
+    int size();
+
+    boolean contains(ReadOnlyPerson toCheck);
+
+    /**
+     * Returns the position of the equivalent person in the store, or -1 if there is none.
+     */
+    int indexOf(ReadOnlyPerson toFind);
+
+    /**
+     * Finds the positions of the equivalent persons of all the given persons.
+     *
+     * @return the positions in the iteration order of {@code toFind}
+     * @throws PersonNotFoundException if the store has no equivalent of some person to find, or if two persons
+     *         to find are equivalent to each other.
+     */
+    int[] indexesOf(Collection<? extends ReadOnlyPerson> toFind) throws PersonNotFoundException;
+
+    Person get(int position);
+
+    void add(int position, Person toAdd) throws DuplicatePersonException;
+
+    /**
+     * Adds all the given persons to the end of the store, in iteration order. Nothing is added if any of them
+     * is a duplicate of another or of a person in the store.
+     */
+    void addAll(Collection<Person> toAdd) throws DuplicatePersonException;
+
+    /**
+     * Replaces the person at the given position.
+     *
+     * @return the replaced person
+     */
+    Person set(int position, Person replacement) throws DuplicatePersonException;
+
+    /**
+     * Removes the person at the given position.
+     *
+     * @return the removed person
+     */
+    Person removeAt(int position);
+
+    /**
+     * Removes the persons at all the given distinct positions, closing the gaps they leave in one pass.
+     */
+    void removeAt(int[] positions);
+
+    void clear();
+
+    /**
+     * Returns a copy of the store of the same kind, which can be changed separately.
+     */
+    PersonStore copy();
+
+    /**
+     * Returns a new empty store of the same kind.
+     */
+    PersonStore emptyCopy();
+
+    /**
+     * Unmodifiable view of the persons in the store, in which changes to the store are immediately visible.
+     * The persons in it are only views themselves if the store does not keep person objects;
+     * such a view may not be usable after a later change to the store.
+     */
+    List<ReadOnlyPerson> listView();
+
+    /**
+     * Returns all persons with a word in their name that is one of the keywords, in order, as they are in
+     * {@link #listView()}. Matches the same persons as comparing {@link Name#getWordsInName()} with the keywords.
+     */
+    List<ReadOnlyPerson> findByNameWords(Collection<String> keywords);
+}
@@ -1,5 +1,6 @@
 package seedu.addressbook.data.person;
 
+import seedu.addressbook.common.Validators;
 import seedu.addressbook.data.exception.IllegalValueException;
 
 /**
@@ -13,7 +14,7 @@ public class Phone {
     public static final String PHONE_VALIDATION_REGEX = "\\d+";
 
     public final String value;
-    private boolean isPrivate;
+    private final boolean isPrivate;
 
     /**
      * Validates given phone number.
@@ -30,10 +31,10 @@ public class Phone {
     }
 
     /**
-     * Checks if a given string is a valid person phone number.
+     * Checks if a given string is a valid person phone number, i.e. it matches {@link #PHONE_VALIDATION_REGEX}.
      */
     public static boolean isValidPhone(String test) {
-        return test.matches(PHONE_VALIDATION_REGEX);
+        return Validators.isDigits(test);
     }
 
     @Override
@@ -9,6 +9,11 @@ import seedu.addressbook.data.tag.UniqueTagList;
  */
 public interface ReadOnlyPerson {
 
+    /**
+     * The number identifying this person in its address book, or {@link Person#UNASSIGNED_ID} if the person
+     * has not been added to one yet. Unlike the other details, it plays no part in {@link #isSameStateAs}.
+     */
+    long getId();
     Name getName();
     Phone getPhone();
     Email getEmail();
@@ -32,6 +37,18 @@ public interface ReadOnlyPerson {
                 && other.getAddress().equals(this.getAddress()));
     }
 
+    /**
+     * Returns a hash code of the person consistent with {@link #isSameStateAs}, i.e. of the details it compares,
+     * for the {@code hashCode} of every implementation, so that equal persons have equal hash codes whatever
+     * their implementation and tags.
+     */
+    static int hashCodeOf(ReadOnlyPerson person) {
+        int hash = person.getName().hashCode();
+        hash = 31 * hash + person.getPhone().hashCode();
+        hash = 31 * hash + person.getEmail().hashCode();
+        return 31 * hash + person.getAddress().hashCode();
+    }
+
     /**
      * Formats the person as text, showing all contact details.
      */
@@ -0,0 +1,141 @@
+package seedu.addressbook.data.person;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * A linear-probing hash table of the positions of rows in a store that keeps its rows in arrays rather than
+ * objects, for finding duplicates in O(1). Costs a few bytes per row, and no object per row.
+ *
+ * Appending and replacing a row take O(1) time. Inserting or removing rows renumbers the rows after them,
+ * so the table is rebuilt from the kept hashes in O(n).
+ */
+final class RowHashTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The hash of each row, kept so that the table can be rebuilt without hashing the rows again. */
+    private int[] rowHashes;
+
+    /** Row positions plus one, where 0 marks an empty slot. At most half full. */
+    private int[] slots;
+    private int size;
+
+    RowHashTable() {
+        clear();
+    }
+
+    RowHashTable(RowHashTable source) {
+        rowHashes = source.rowHashes.clone();
+        slots = source.slots.clone();
+        size = source.size;
+    }
+
+    /**
+     * Returns the position of a row with the given hash that the predicate accepts, or -1 if there is none.
+     */
+    int indexOf(int hash, IntPredicate isMatch) {
+        final int mask = slots.length - 1;
+        for (int slot = hash & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            final int row = slots[slot] - 1;
+            if (rowHashes[row] == hash && isMatch.test(row)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a row with the given hash at the given position, moving all later rows one position up.
+     */
+    void insert(int row, int hash) {
+        if (size == rowHashes.length) {
+            rowHashes = Arrays.copyOf(rowHashes, size * 2);
+        }
+        System.arraycopy(rowHashes, row, rowHashes, row + 1, size - row);
+        rowHashes[row] = hash;
+        size++;
+        if (size * 2 > slots.length) {
+            rebuild(slots.length * 2);
+        } else if (row == size - 1) {
+            link(row);
+        } else {
+            rebuild(slots.length);
+        }
+    }
+
+    /**
+     * Gives the row at the given position a new hash.
+     */
+    void set(int row, int hash) {
+        unlink(row);
+        rowHashes[row] = hash;
+        link(row);
+    }
+
+    /**
+     * Removes the row at the given position, moving all later rows one position down.
+     */
+    void removeAt(int row) {
+        System.arraycopy(rowHashes, row + 1, rowHashes, row, size - row - 1);
+        size--;
+        rebuild(slots.length);
+    }
+
+    /**
+     * Removes the rows whose flags are set, moving the kept rows down to close the gaps.
+     */
+    void removeAt(boolean[] isRemoved) {
+        int kept = 0;
+        for (int row = 0; row < size; row++) {
+            if (!isRemoved[row]) {
+                rowHashes[kept++] = rowHashes[row];
+            }
+        }
+        size = kept;
+        rebuild(slots.length);
+    }
+
+    void clear() {
+        rowHashes = new int[INITIAL_CAPACITY];
+        slots = new int[INITIAL_CAPACITY * 2];
+        size = 0;
+    }
+
+    private void link(int row) {
+        final int mask = slots.length - 1;
+        int slot = rowHashes[row] & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = row + 1;
+    }
+
+    /**
+     * Empties the slot of the row, moving later rows of the same probe sequence back into the gap it leaves
+     * so that they can still be found.
+     */
+    private void unlink(int row) {
+        final int mask = slots.length - 1;
+        int gap = rowHashes[row] & mask;
+        while (slots[gap] != row + 1) {
+            gap = (gap + 1) & mask;
+        }
+        for (int slot = (gap + 1) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            final int home = rowHashes[slots[slot] - 1] & mask;
+            final boolean homeIsAfterGap = gap <= slot ? gap < home && home <= slot : gap < home || home <= slot;
+            if (!homeIsAfterGap) {
+                slots[gap] = slots[slot];
+                gap = slot;
+            }
+        }
+        slots[gap] = 0;
+    }
+
+    private void rebuild(int capacity) {
+        slots = new int[capacity];
+        for (int row = 0; row < size; row++) {
+            link(row);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package seedu.addressbook.data.person;
+
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Numbers the distinct tags of the persons in a compact person store, so that each person's tags can be stored
+ * as an array of ints. Tags keep their number until the dictionary is cleared.
+ */
+final class TagDictionary {
+
+    private final List<Tag> tagsById;
+    private final Map<Tag, Integer> idsByTag;
+
+    TagDictionary() {
+        tagsById = new ArrayList<>();
+        idsByTag = new HashMap<>();
+    }
+
+    /**
+     * Constructs a copy of the dictionary, which numbers tags separately from then on.
+     */
+    TagDictionary(TagDictionary source) {
+        tagsById = new ArrayList<>(source.tagsById);
+        idsByTag = new HashMap<>(source.idsByTag);
+    }
+
+    /**
+     * Returns the ids of the given tags in order, numbering any tags that are new to the dictionary.
+     */
+    int[] idsOf(UniqueTagList tags) {
+        final List<Integer> ids = new ArrayList<>();
+        for (Tag tag : tags) {
+            Integer id = idsByTag.get(tag);
+            if (id == null) {
+                id = tagsById.size();
+                tagsById.add(tag);
+                idsByTag.put(tag, id);
+            }
+            ids.add(id);
+        }
+        final int[] idArray = new int[ids.size()];
+        for (int i = 0; i < idArray.length; i++) {
+            idArray[i] = ids.get(i);
+        }
+        return idArray;
+    }
+
+    /**
+     * Returns a tag list of the tags with the given ids, in order.
+     *
+     * @param idAt gives the id of the tag at each position from 0 to {@code count - 1}
+     */
+    UniqueTagList tagsOf(int count, IntUnaryOperator idAt) {
+        final Set<Tag> tags = new LinkedHashSet<>();
+        for (int i = 0; i < count; i++) {
+            tags.add(tagsById.get(idAt.applyAsInt(i)));
+        }
+        return new UniqueTagList(tags);
+    }
+
+    /**
+     * Forgets all tags, e.g. once no person has them any more.
+     */
+    void clear() {
+        tagsById.clear();
+        idsByTag.clear();
+    }
+}
@@ -7,6 +7,7 @@ import java.util.*;
 
 /**
  * A list of persons. Does not allow null elements or duplicates.
+ * The persons are kept in a {@link PersonStore}, by default as person objects in an {@link ObjectPersonStore}.
  *
  * @see Person#equals(Object)
  * @see Utils#elementsAreUnique(Collection)
@@ -17,9 +18,29 @@ public class UniquePersonList implements Iterable<Person> {
      * Signals that an operation would have violated the 'no duplicates' property of the list.
      */
     public static class DuplicatePersonException extends DuplicateDataException {
-        protected DuplicatePersonException() {
+        public DuplicatePersonException() {
             super("Operation would result in duplicate persons");
         }
+
+        protected DuplicatePersonException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Signals that an operation would have given two different persons the same value of a contact detail
+     * that the address book requires to be unique.
+     */
+    public static class DuplicateContactDetailException extends DuplicatePersonException {
+        /** The name of the contact detail, e.g. "phone". */
+        public final String detailName;
+        public final String value;
+
+        public DuplicateContactDetailException(String detailName, String value) {
+            super("Operation would result in two persons with " + detailName + " " + value);
+            this.detailName = detailName;
+            this.value = value;
+        }
     }
 
     /**
@@ -28,22 +49,33 @@ public class UniquePersonList implements Iterable<Person> {
      */
     public static class PersonNotFoundException extends Exception {}
 
-    private final List<Person> internalList = new ArrayList<>();
+    private PersonStore store;
 
     /**
      * Constructs empty person list.
      */
-    public UniquePersonList() {}
+    public UniquePersonList() {
+        store = new ObjectPersonStore();
+    }
+
+    /**
+     * Constructs an empty person list that keeps its persons in the given store, e.g. a {@link ColumnarPersonStore}
+     * for a large list that is mostly read. The list is the only user of the store from then on.
+     *
+     * @throws IllegalArgumentException if the store is not empty.
+     */
+    public UniquePersonList(PersonStore emptyStore) {
+        if (emptyStore.size() != 0) {
+            throw new IllegalArgumentException("a person list can only be given an empty store");
+        }
+        store = emptyStore;
+    }
 
     /**
      * Constructs a person list with the given persons.
      */
     public UniquePersonList(Person... persons) throws DuplicatePersonException {
-        final List<Person> initialTags = Arrays.asList(persons);
-        if (!Utils.elementsAreUnique(initialTags)) {
-            throw new DuplicatePersonException();
-        }
-        internalList.addAll(initialTags);
+        this(Arrays.asList(persons));
     }
 
     /**
@@ -52,34 +84,54 @@ public class UniquePersonList implements Iterable<Person> {
      * @throws DuplicatePersonException if the {@code persons} contains duplicate persons
      */
     public UniquePersonList(Collection<Person> persons) throws DuplicatePersonException {
-        if (!Utils.elementsAreUnique(persons)) {
+        final ObjectPersonStore objects = new ObjectPersonStore(persons);
+        if (objects.containsDuplicates()) {
             throw new DuplicatePersonException();
         }
-        internalList.addAll(persons);
+        store = objects;
     }
 
     /**
-     * Constructs a shallow copy of the list.
+     * Constructs a list from persons already known to be unique, e.g. because they were taken from a structure
+     * that enforces uniqueness itself, without checking them again.
+     */
+    public static UniquePersonList ofUnique(Collection<Person> uniquePersons) {
+        final UniquePersonList list = new UniquePersonList();
+        list.store = new ObjectPersonStore(uniquePersons);
+        return list;
+    }
+
+    /**
+     * Constructs a shallow copy of the list, in a store of the same kind.
      */
     public UniquePersonList(UniquePersonList source) {
-        internalList.addAll(source.internalList);
+        store = source.store.copy();
     }
 
     /**
      * Unmodifiable java List view with elements cast as immutable {@link ReadOnlyPerson}s.
      * For use with other methods/libraries.
      * Any changes to the internal list/elements are immediately visible in the returned list.
+     * If the store does not keep person objects, the elements are views that may not be usable after a change
+     * to the list; see {@link PersonStore#listView()}.
      */
     public List<ReadOnlyPerson> immutableListView() {
-        return Collections.unmodifiableList(internalList);
+        return store.listView();
     }
 
 
     /**
-     * Checks if the list contains an equivalent person as the given argument.
+     * Returns the number of persons in the list.
+     */
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * Checks if the list contains an equivalent person as the given argument, in O(1) time.
      */
     public boolean contains(ReadOnlyPerson toCheck) {
-        return internalList.contains(toCheck);
+        return store.contains(toCheck);
     }
 
     /**
@@ -88,47 +140,174 @@ public class UniquePersonList implements Iterable<Person> {
      * @throws DuplicatePersonException if the person to add is a duplicate of an existing person in the list.
      */
     public void add(Person toAdd) throws DuplicatePersonException {
-        if (contains(toAdd)) {
-            throw new DuplicatePersonException();
-        }
-        internalList.add(toAdd);
+        store.add(store.size(), toAdd);
+    }
+
+    /**
+     * Adds a person to the list at the given position.
+     *
+     * @throws DuplicatePersonException if the person to add is a duplicate of an existing person in the list.
+     * @throws IndexOutOfBoundsException if the position is not within the list or just after its end.
+     */
+    public void add(int position, Person toAdd) throws DuplicatePersonException {
+        store.add(position, toAdd);
+    }
+
+    /**
+     * Adds all the given persons to the end of the list, in iteration order, checking them for duplicates of
+     * each other and of the persons in the list in one hash-based pass over the persons to add.
+     * Nothing is added if any of them is a duplicate.
+     *
+     * @throws DuplicatePersonException if any person to add is a duplicate of another person to add,
+     *         or of an existing person in the list.
+     */
+    public void addAll(Collection<Person> toAdd) throws DuplicatePersonException {
+        store.addAll(toAdd);
+    }
+
+    /**
+     * Removes the equivalent persons of all the given persons from the list, finding them in one hash-based pass
+     * and then closing the gaps they leave in another. Nothing is removed if any of them is not found.
+     *
+     * @return the positions the removed persons had in the list, in the iteration order of {@code toRemove}
+     * @throws PersonNotFoundException if the list has no equivalent of some person to remove, or if two persons
+     *         to remove are equivalent to each other.
+     */
+    public int[] removeAll(Collection<? extends ReadOnlyPerson> toRemove) throws PersonNotFoundException {
+        final int[] positions = indexesOf(toRemove);
+        removeAt(positions);
+        return positions;
+    }
+
+    /**
+     * Finds the positions of the equivalent persons of all the given persons, in one hash-based pass.
+     *
+     * @return the positions in the iteration order of {@code toFind}
+     * @throws PersonNotFoundException if the list has no equivalent of some person to find, or if two persons
+     *         to find are equivalent to each other.
+     */
+    public int[] indexesOf(Collection<? extends ReadOnlyPerson> toFind) throws PersonNotFoundException {
+        return store.indexesOf(toFind);
+    }
+
+    /**
+     * Removes the persons at all the given distinct positions, closing the gaps they leave in one pass.
+     *
+     * @throws IndexOutOfBoundsException if any position is not within the list.
+     */
+    public void removeAt(int[] positions) {
+        store.removeAt(positions);
+    }
+
+    /**
+     * Removes the person at the given position.
+     *
+     * @return the removed person
+     * @throws IndexOutOfBoundsException if the position is not within the list.
+     */
+    public Person removeAt(int position) {
+        return store.removeAt(position);
+    }
+
+    /**
+     * Returns the position of the equivalent person in the list, or -1 if there is none.
+     * A person that is not in the list is told apart in O(1) time.
+     */
+    public int indexOf(ReadOnlyPerson toFind) {
+        return store.indexOf(toFind);
+    }
+
+    /**
+     * Replaces the person at the given position, keeping the positions of all other persons.
+     *
+     * @return the replaced person
+     * @throws DuplicatePersonException if the replacement is a duplicate of another person in the list.
+     * @throws IndexOutOfBoundsException if the position is not within the list.
+     */
+    public Person set(int position, Person replacement) throws DuplicatePersonException {
+        return store.set(position, replacement);
+    }
+
+    /**
+     * Returns the person at the given position.
+     *
+     * @throws IndexOutOfBoundsException if the position is not within the list.
+     */
+    public Person get(int position) {
+        return store.get(position);
     }
 
     /**
      * Removes the equivalent person from the list.
      *
+     * @return the position the removed person had in the list
      * @throws PersonNotFoundException if no such person could be found in the list.
      */
-    public void remove(ReadOnlyPerson toRemove) throws PersonNotFoundException {
-        final boolean personFoundAndDeleted = internalList.remove(toRemove);
-        if (!personFoundAndDeleted) {
+    public int remove(ReadOnlyPerson toRemove) throws PersonNotFoundException {
+        final int position = indexOf(toRemove);
+        if (position == -1) {
             throw new PersonNotFoundException();
         }
+        removeAt(position);
+        return position;
+    }
+
+    /**
+     * Returns all persons with a word in their name that is one of the keywords, in list order, as they are in
+     * {@link #immutableListView()}. Matches the same persons as the find command.
+     */
+    public List<ReadOnlyPerson> findByNameWords(Collection<String> keywords) {
+        return store.findByNameWords(keywords);
     }
 
     /**
      * Clears all persons in list.
      */
     public void clear() {
-        internalList.clear();
+        store.clear();
+    }
+
+    /**
+     * Moves all persons in this list into a new list, without copying them. This list is left empty,
+     * with a new store of the same kind.
+     */
+    public UniquePersonList detachAll() {
+        final UniquePersonList detached = new UniquePersonList();
+        detached.store = store;
+        store = store.emptyCopy();
+        return detached;
+    }
+
+    /**
+     * Moves all persons in the given list into this empty list, without copying them, together with the store
+     * they are kept in. The given list is left empty.
+     *
+     * @throws IllegalStateException if this list is not empty.
+     */
+    public void reattach(UniquePersonList detached) {
+        if (store.size() != 0) {
+            throw new IllegalStateException("persons can only be reattached to an empty list");
+        }
+        store.clear();
+        store = detached.detachAll().store;
     }
 
     @Override
     public Iterator<Person> iterator() {
-        return internalList.iterator();
+        return store.iterator();
     }
 
     @Override
     public boolean equals(Object other) {
         return other == this // short circuit if same object
                 || (other instanceof UniquePersonList // instanceof handles nulls
-                && this.internalList.equals(
-                        ((UniquePersonList) other).internalList));
+                && this.store.listView().equals(
+                        ((UniquePersonList) other).store.listView()));
     }
 
     @Override
     public int hashCode() {
-        return internalList.hashCode();
+        return store.listView().hashCode();
     }
 
 }
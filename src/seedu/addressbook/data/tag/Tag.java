@@ -1,5 +1,6 @@
 package seedu.addressbook.data.tag;
 
+import seedu.addressbook.common.Validators;
 import seedu.addressbook.data.exception.IllegalValueException;
 
 /**
@@ -27,10 +28,10 @@ public class Tag {
     }
 
     /**
-     * Returns true if a given string is a valid tag name.
+     * Returns true if a given string is a valid tag name, i.e. it matches {@link #TAG_VALIDATION_REGEX}.
      */
     public static boolean isValidTagName(String test) {
-        return test.matches(TAG_VALIDATION_REGEX);
+        return Validators.isAlphanumeric(test);
     }
 
     @Override
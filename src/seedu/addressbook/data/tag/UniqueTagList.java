@@ -17,7 +17,7 @@ public class UniqueTagList implements Iterable<Tag> {
      * Signals that an operation would have violated the 'no duplicates' property of the list.
      */
     public static class DuplicateTagException extends DuplicateDataException {
-        protected DuplicateTagException() {
+        public DuplicateTagException() {
             super("Operation would result in duplicate tags");
         }
     }
@@ -28,7 +28,7 @@ public class UniqueTagList implements Iterable<Tag> {
      */
     public static class TagNotFoundException extends Exception {}
 
-    private final List<Tag> internalList = new ArrayList<>();
+    private List<Tag> internalList = new ArrayList<>();
 
     /**
      * Constructs an empty TagList.
@@ -139,6 +139,29 @@ public class UniqueTagList implements Iterable<Tag> {
         internalList.clear();
     }
 
+    /**
+     * Moves all tags in this list into a new list, without copying them. This list is left empty.
+     */
+    public UniqueTagList detachAll() {
+        final UniqueTagList detached = new UniqueTagList();
+        detached.internalList = internalList;
+        internalList = new ArrayList<>();
+        return detached;
+    }
+
+    /**
+     * Moves all tags in the given list into this empty list, without copying them.
+     * The given list is left empty.
+     *
+     * @throws IllegalStateException if this list is not empty.
+     */
+    public void reattach(UniqueTagList detached) {
+        if (!internalList.isEmpty()) {
+            throw new IllegalStateException("tags can only be reattached to an empty list");
+        }
+        internalList = detached.detachAll().internalList;
+    }
+
     /**
      * Replaces the Tags in this list with those in the argument tag list.
      */
@@ -147,6 +170,22 @@ public class UniqueTagList implements Iterable<Tag> {
         this.internalList.addAll(replacement.internalList);
     }
 
+    /**
+     * Returns true if the other list has the same tag objects as this list, not only equal ones,
+     * in the same order.
+     */
+    public boolean hasSameTagObjects(UniqueTagList other) {
+        if (other.internalList.size() != internalList.size()) {
+            return false;
+        }
+        for (int i = 0; i < internalList.size(); i++) {
+            if (other.internalList.get(i) != internalList.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public Iterator<Tag> iterator() {
         return internalList.iterator();
@@ -0,0 +1,175 @@
+package seedu.addressbook.diagnostics;
+
+import java.io.IOException;
+
+/**
+ * Emits events describing what the address book spends its time on, for Java Flight Recorder (JFR) recordings.
+ *
+ * The events themselves are defined in {@code seedu.addressbook.diagnostics.jfr}, which is the only code that
+ * refers to the JFR API. It is loaded when this class is first used, and only if the JVM has JFR; otherwise every
+ * span does nothing, so the program still runs on JVMs without JFR.
+ *
+ * A span is started before an operation and finished with its details after it, e.g.
+ * <pre>
+ *     final Diagnostics.StorageSpan span = Diagnostics.beginSave();
+ *     ... save ...
+ *     span.finish(path, bytes, personCount);
+ * </pre>
+ * A span that is never finished is simply not recorded.
+ */
+public final class Diagnostics {
+
+    /**
+     * The system property that starts a continuous recording when the program starts, with its value as the
+     * maximum size of the recording in megabytes, e.g. {@code -Daddressbook.flightRecorder=64}.
+     */
+    public static final String RECORDING_PROPERTY = "addressbook.flightRecorder";
+
+    /** The name of the continuous recording, by which e.g. {@code jcmd PID JFR.dump} can dump it. */
+    public static final String RECORDING_NAME = "addressbook";
+
+    /** The file the continuous recording is dumped to when the program exits. */
+    public static final String RECORDING_DUMP_FILEPATH = "addressbook-recording.jfr";
+
+    private static final String FLIGHT_RECORDER_BACKEND = "seedu.addressbook.diagnostics.jfr.FlightRecorderBackend";
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    /**
+     * The timing of one executed command.
+     */
+    public interface CommandSpan {
+        /**
+         * @param resultSize the number of persons in the result, or 0 if it has no list of persons
+         */
+        void finish(String commandWord, int resultSize);
+    }
+
+    /**
+     * The timing of one save or load of a storage file.
+     */
+    public interface StorageSpan {
+        void finish(String path, long bytes, int personCount);
+    }
+
+    /**
+     * The timing of building one index of the persons of an address book from scratch.
+     */
+    public interface IndexSpan {
+        void finish(String indexName, int personCount);
+    }
+
+    /**
+     * Creates the spans, and controls recordings.
+     */
+    public interface Backend {
+        CommandSpan beginCommand();
+
+        StorageSpan beginSave();
+
+        StorageSpan beginLoad();
+
+        IndexSpan beginIndexRebuild();
+
+        /**
+         * Starts a recording that keeps the most recent events up to the given size, and is dumped to
+         * {@link #RECORDING_DUMP_FILEPATH} when the program exits.
+         */
+        void startContinuousRecording(long maxBytes) throws IOException;
+    }
+
+    /**
+     * Does nothing, for JVMs without JFR.
+     */
+    private static class NoOpBackend implements Backend, CommandSpan, StorageSpan, IndexSpan {
+        @Override
+        public CommandSpan beginCommand() {
+            return this;
+        }
+
+        @Override
+        public StorageSpan beginSave() {
+            return this;
+        }
+
+        @Override
+        public StorageSpan beginLoad() {
+            return this;
+        }
+
+        @Override
+        public IndexSpan beginIndexRebuild() {
+            return this;
+        }
+
+        @Override
+        public void startContinuousRecording(long maxBytes) {
+            throw new UnsupportedOperationException("this JVM has no flight recorder");
+        }
+
+        @Override
+        public void finish(String commandWordOrIndexName, int size) {}
+
+        @Override
+        public void finish(String path, long bytes, int personCount) {}
+    }
+
+    private static final Backend BACKEND = loadBackend();
+
+    private Diagnostics() {}
+
+    private static Backend loadBackend() {
+        try {
+            return (Backend) Class.forName(FLIGHT_RECORDER_BACKEND).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new NoOpBackend();
+        }
+    }
+
+    /**
+     * Returns true if events are emitted to JFR, i.e. if the JVM has JFR.
+     */
+    public static boolean isFlightRecorderAvailable() {
+        return !(BACKEND instanceof NoOpBackend);
+    }
+
+    public static CommandSpan beginCommand() {
+        return BACKEND.beginCommand();
+    }
+
+    public static StorageSpan beginSave() {
+        return BACKEND.beginSave();
+    }
+
+    public static StorageSpan beginLoad() {
+        return BACKEND.beginLoad();
+    }
+
+    public static IndexSpan beginIndexRebuild() {
+        return BACKEND.beginIndexRebuild();
+    }
+
+    /**
+     * Starts a continuous recording if {@link #RECORDING_PROPERTY} is set, and returns whether one was started.
+     *
+     * @throws IOException if the recording could not be started.
+     * @throws IllegalArgumentException if the property is not a positive number of megabytes.
+     * @throws UnsupportedOperationException if the property is set but the JVM has no JFR.
+     */
+    public static boolean startContinuousRecordingIfRequested() throws IOException {
+        final String maxMegabytes = System.getProperty(RECORDING_PROPERTY);
+        if (maxMegabytes == null) {
+            return false;
+        }
+        final long maxBytes;
+        try {
+            maxBytes = Long.parseLong(maxMegabytes.trim()) * BYTES_PER_MEGABYTE;
+        } catch (NumberFormatException nfe) {
+            throw new IllegalArgumentException(RECORDING_PROPERTY + " must be a number of megabytes");
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException(RECORDING_PROPERTY + " must be a positive number of megabytes");
+        }
+        BACKEND.startContinuousRecording(maxBytes);
+        return true;
+    }
+}
@@ -0,0 +1,33 @@
+package seedu.addressbook.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import seedu.addressbook.diagnostics.Diagnostics;
+
+/**
+ * A command executed by the address book, from parsing it to recording its result.
+ */
+@Name("seedu.addressbook.CommandExecuted")
+@Label("Command Executed")
+@Category("Address Book")
+class CommandExecutedEvent extends jdk.jfr.Event implements Diagnostics.CommandSpan {
+
+    @Label("Command Word")
+    String commandWord;
+
+    @Label("Result Size")
+    @Description("The number of persons in the result, or 0 if it has no list of persons")
+    int resultSize;
+
+    @Override
+    public void finish(String commandWord, int resultSize) {
+        end();
+        if (shouldCommit()) {
+            this.commandWord = commandWord;
+            this.resultSize = resultSize;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package seedu.addressbook.diagnostics.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import seedu.addressbook.diagnostics.Diagnostics;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.text.ParseException;
+
+/**
+ * Emits the events of {@link Diagnostics} to JFR. Loaded by {@link Diagnostics} only if the JVM has JFR.
+ */
+public class FlightRecorderBackend implements Diagnostics.Backend {
+
+    /** The JDK's low-overhead settings, which also record e.g. garbage collections and thread stalls. */
+    private static final String RECORDING_SETTINGS = "default";
+
+    @Override
+    public Diagnostics.CommandSpan beginCommand() {
+        final CommandExecutedEvent event = new CommandExecutedEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public Diagnostics.StorageSpan beginSave() {
+        final StorageSavedEvent event = new StorageSavedEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public Diagnostics.StorageSpan beginLoad() {
+        final StorageLoadedEvent event = new StorageLoadedEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public Diagnostics.IndexSpan beginIndexRebuild() {
+        final IndexRebuiltEvent event = new IndexRebuiltEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void startContinuousRecording(long maxBytes) throws IOException {
+        final Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration(RECORDING_SETTINGS));
+        } catch (ParseException pe) {
+            throw new IOException("cannot read the JDK's recording settings", pe);
+        }
+        recording.setName(Diagnostics.RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxSize(maxBytes);
+        recording.setDumpOnExit(true);
+        recording.setDestination(Paths.get(Diagnostics.RECORDING_DUMP_FILEPATH));
+        recording.start();
+    }
+}
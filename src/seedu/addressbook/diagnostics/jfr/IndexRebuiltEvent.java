@@ -0,0 +1,31 @@
+package seedu.addressbook.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import seedu.addressbook.diagnostics.Diagnostics;
+
+/**
+ * An index of the persons of an address book built from scratch, e.g. when the address book is loaded.
+ */
+@Name("seedu.addressbook.IndexRebuilt")
+@Label("Index Rebuilt")
+@Category("Address Book")
+class IndexRebuiltEvent extends jdk.jfr.Event implements Diagnostics.IndexSpan {
+
+    @Label("Index")
+    String indexName;
+
+    @Label("Person Count")
+    int personCount;
+
+    @Override
+    public void finish(String indexName, int personCount) {
+        end();
+        if (shouldCommit()) {
+            this.indexName = indexName;
+            this.personCount = personCount;
+            commit();
+        }
+    }
+}
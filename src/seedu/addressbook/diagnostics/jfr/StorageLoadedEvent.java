@@ -0,0 +1,37 @@
+package seedu.addressbook.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import seedu.addressbook.diagnostics.Diagnostics;
+
+/**
+ * A load of the address book from a storage file.
+ */
+@Name("seedu.addressbook.StorageLoaded")
+@Label("Storage Loaded")
+@Category("Address Book")
+class StorageLoadedEvent extends jdk.jfr.Event implements Diagnostics.StorageSpan {
+
+    @Label("Path")
+    String path;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Person Count")
+    int personCount;
+
+    @Override
+    public void finish(String path, long bytes, int personCount) {
+        end();
+        if (shouldCommit()) {
+            this.path = path;
+            this.bytes = bytes;
+            this.personCount = personCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package seedu.addressbook.logic;
+
+import seedu.addressbook.commands.ClearCommand;
+import seedu.addressbook.data.AddressBook;
+
+/**
+ * All persons and tags cleared from an address book.
+ * The cleared data is kept by taking over the lists detached from the address book, not by copying them.
+ */
+public class ClearedChange implements ReversibleChange {
+
+    /** The cleared data while the change is done; empty after it has been undone. */
+    private AddressBook cleared;
+    private final int clearedPersonCount;
+
+    /**
+     * @param cleared the data detached from the address book by {@link AddressBook#detachAll()}
+     */
+    public ClearedChange(AddressBook cleared) {
+        this.cleared = cleared;
+        this.clearedPersonCount = cleared.getPersonCount();
+    }
+
+    @Override
+    public void undo(AddressBook addressBook) {
+        addressBook.reattach(cleared);
+    }
+
+    @Override
+    public void redo(AddressBook addressBook) {
+        cleared = addressBook.detachAll();
+    }
+
+    @Override
+    public long getEstimatedBytes() {
+        return clearedPersonCount * ESTIMATED_BYTES_PER_PERSON;
+    }
+
+    @Override
+    public String getDescription() {
+        return ClearCommand.COMMAND_WORD;
+    }
+}
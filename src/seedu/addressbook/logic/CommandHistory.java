@@ -0,0 +1,105 @@
+package seedu.addressbook.logic;
+
+import seedu.addressbook.data.AddressBook;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+
+/**
+ * The changes made to the address book by past commands, which can be undone and redone in order.
+ *
+ * The history is bounded both in the number of changes and in the estimated memory they keep alive.
+ * When a new change would exceed either limit, the oldest changes are forgotten.
+ */
+public class CommandHistory {
+
+    public static final int DEFAULT_MAX_DEPTH = 100;
+    public static final long DEFAULT_MEMORY_BUDGET_BYTES = 64L * 1024 * 1024;
+
+    private final int maxDepth;
+    private final long memoryBudgetBytes;
+
+    /** Changes that can be undone, the most recent first. */
+    private final Deque<ReversibleChange> undoable = new ArrayDeque<>();
+    /** Changes that have been undone and can be redone, the most recently undone first. */
+    private final Deque<ReversibleChange> redoable = new ArrayDeque<>();
+    private long estimatedBytes = 0;
+
+    public CommandHistory() {
+        this(DEFAULT_MAX_DEPTH, DEFAULT_MEMORY_BUDGET_BYTES);
+    }
+
+    /**
+     * @param maxDepth maximum number of changes kept for undo and redo together
+     * @param memoryBudgetBytes maximum estimated memory kept alive by those changes
+     */
+    public CommandHistory(int maxDepth, long memoryBudgetBytes) {
+        this.maxDepth = maxDepth;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+    }
+
+    /**
+     * Records a change that has just been made. Changes that were undone can no longer be redone afterwards.
+     *
+     * A change that alone exceeds the memory budget is not kept, and since the changes before it can only be
+     * undone after it, they are forgotten as well.
+     *
+     * @return false if the change is too large to be undone
+     */
+    public boolean record(ReversibleChange change) {
+        if (change.getEstimatedBytes() > memoryBudgetBytes) {
+            clear();
+            return false;
+        }
+        for (ReversibleChange discarded : redoable) {
+            estimatedBytes -= discarded.getEstimatedBytes();
+        }
+        redoable.clear();
+        undoable.push(change);
+        estimatedBytes += change.getEstimatedBytes();
+        while (!undoable.isEmpty() && (undoable.size() > maxDepth || estimatedBytes > memoryBudgetBytes)) {
+            estimatedBytes -= undoable.removeLast().getEstimatedBytes();
+        }
+        return true;
+    }
+
+    /**
+     * Undoes the most recent change that has not been undone yet.
+     *
+     * @return the undone change, or an empty Optional if there is nothing to undo
+     */
+    public Optional<ReversibleChange> undo(AddressBook addressBook) {
+        if (undoable.isEmpty()) {
+            return Optional.empty();
+        }
+        final ReversibleChange change = undoable.peek();
+        change.undo(addressBook);
+        redoable.push(undoable.pop());
+        return Optional.of(change);
+    }
+
+    /**
+     * Redoes the most recently undone change.
+     *
+     * @return the redone change, or an empty Optional if there is nothing to redo
+     */
+    public Optional<ReversibleChange> redo(AddressBook addressBook) {
+        if (redoable.isEmpty()) {
+            return Optional.empty();
+        }
+        final ReversibleChange change = redoable.peek();
+        change.redo(addressBook);
+        undoable.push(redoable.pop());
+        return Optional.of(change);
+    }
+
+    /**
+     * Forgets all recorded changes.
+     */
+    public void clear() {
+        undoable.clear();
+        redoable.clear();
+        estimatedBytes = 0;
+    }
+}
@@ -0,0 +1,135 @@
+package seedu.addressbook.logic;
+
+import seedu.addressbook.commands.Command;
+import seedu.addressbook.common.Histogram;
+
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The latencies of the commands executed by a {@link Logic} or an address book server, per command word and
+ * per phase of execution, and the sizes of the saves to storage.
+ *
+ * The histograms of a kind of command are created the first time it is executed. After that, recording
+ * a command is a lookup by its class and a few array updates, with no allocation.
+ *
+ * Not thread-safe; a Logic records and reports its stats on the thread that executes its commands, while the
+ * server, which executes commands on several threads, synchronizes on the stats.
+ */
+public class CommandStats {
+
+    /**
+     * The phases of executing a command, in order.
+     */
+    public enum Phase {
+        PARSE("parse"),
+        EXECUTE("execute"),
+        PERSIST("persist"),
+        RECORD_RESULT("recordResult");
+
+        private final String displayName;
+
+        Phase(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private static final double[] REPORTED_PERCENTILES = { 50, 90, 99 };
+    private static final long NANOS_PER_MICRO = 1000;
+
+    /** The command word of each kind of command, derived once per class. */
+    private static final ClassValue<String> COMMAND_WORDS = new ClassValue<String>() {
+        @Override
+        protected String computeValue(Class<?> commandClass) {
+            final String name = commandClass.getSimpleName();
+            final String suffix = "Command";
+            final String word = name.endsWith(suffix) ? name.substring(0, name.length() - suffix.length()) : name;
+            return word.toLowerCase(Locale.ROOT);
+        }
+    };
+
+    /** The histograms of each phase of a kind of command, indexed by phase ordinal. */
+    private final Map<Class<? extends Command>, Histogram[]> byCommand = new IdentityHashMap<>();
+    private final Histogram savedBytes = new Histogram();
+
+    /**
+     * Records how long the given phase of executing the command took.
+     */
+    public void record(Command command, Phase phase, long nanos) {
+        Histogram[] phases = byCommand.get(command.getClass());
+        if (phases == null) {
+            phases = new Histogram[Phase.values().length];
+            for (int i = 0; i < phases.length; i++) {
+                phases[i] = new Histogram();
+            }
+            byCommand.put(command.getClass(), phases);
+        }
+        phases[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Records the size of a save to storage.
+     */
+    public void recordSave(long bytes) {
+        savedBytes.record(bytes);
+    }
+
+    /**
+     * Returns the histogram of how long the given phase of commands of the given kind took,
+     * which is empty if no such command has been recorded.
+     */
+    public Histogram getLatencies(Class<? extends Command> commandClass, Phase phase) {
+        final Histogram[] phases = byCommand.get(commandClass);
+        return phases == null ? new Histogram() : phases[phase.ordinal()];
+    }
+
+    public Histogram getSavedBytes() {
+        return savedBytes;
+    }
+
+    /**
+     * Returns the command word of a kind of command: its class name without the {@code Command} suffix,
+     * in lower case, e.g. {@code viewall} for {@code ViewAllCommand}. Allocates nothing after the first call
+     * for a class.
+     */
+    static String getCommandWord(Class<? extends Command> commandClass) {
+        return COMMAND_WORDS.get(commandClass);
+    }
+
+    /**
+     * Returns a report of all recorded commands, by command word, with the count and latency percentiles in
+     * microseconds of each phase, followed by the sizes of the saves.
+     */
+    public String format() {
+        final Map<String, Histogram[]> byCommandWord = new TreeMap<>();
+        for (Map.Entry<Class<? extends Command>, Histogram[]> entry : byCommand.entrySet()) {
+            byCommandWord.put(getCommandWord(entry.getKey()), entry.getValue());
+        }
+
+        final StringBuilder report = new StringBuilder("Latencies in microseconds:");
+        for (Map.Entry<String, Histogram[]> entry : byCommandWord.entrySet()) {
+            for (Phase phase : Phase.values()) {
+                final Histogram latencies = entry.getValue()[phase.ordinal()];
+                if (latencies.getTotalCount() == 0) {
+                    continue;
+                }
+                report.append(String.format("%n%-10s %-12s n=%-7d", entry.getKey(), phase.displayName,
+                        latencies.getTotalCount()));
+                for (double percentile : REPORTED_PERCENTILES) {
+                    report.append(String.format(" p%.0f=%d", percentile,
+                            latencies.getValueAtPercentile(percentile) / NANOS_PER_MICRO));
+                }
+                report.append(String.format(" max=%d", latencies.getMax() / NANOS_PER_MICRO));
+            }
+        }
+        report.append(String.format("%nSaves: n=%d bytes p50=%d max=%d total=%d", savedBytes.getTotalCount(),
+                savedBytes.getValueAtPercentile(50), savedBytes.getMax(), savedBytes.getSum()));
+        return report.toString();
+    }
+}
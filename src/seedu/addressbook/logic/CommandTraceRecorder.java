@@ -0,0 +1,58 @@
+package seedu.addressbook.logic;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Records the commands given to {@link Logic#execute(String)} with the time they were given, so that the same
+ * usage can be replayed later with {@link TraceReplay}.
+ *
+ * A trace has one command per line, after the number of milliseconds since the recording started and a tab.
+ * Lines starting with {@link #COMMENT_PREFIX} are comments. Commands are recorded exactly as given, including
+ * private details, so traces should be kept as private as the storage file.
+ *
+ * Each command is flushed to the file before it is executed, so the trace is complete even if the program
+ * is killed. The trace is only for testing, so a failure to write it is ignored.
+ */
+public class CommandTraceRecorder implements AutoCloseable {
+
+    public static final String COMMENT_PREFIX = "#";
+    public static final char TIME_SEPARATOR = '\t';
+
+    private static final long NANOS_PER_MILLI = 1000000;
+
+    private final Writer writer;
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Starts a new trace in the given file, replacing any trace already in it.
+     */
+    public CommandTraceRecorder(Path path) throws IOException {
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        writer.write(COMMENT_PREFIX + " address book command trace started at " + Instant.now()
+                + System.lineSeparator());
+        writer.flush();
+    }
+
+    /**
+     * Appends the command to the trace with the time since the recording started.
+     */
+    public synchronized void record(String commandText) {
+        final long offsetMillis = (System.nanoTime() - startNanos) / NANOS_PER_MILLI;
+        try {
+            writer.write(offsetMillis + String.valueOf(TIME_SEPARATOR) + commandText + System.lineSeparator());
+            writer.flush();
+        } catch (IOException ioe) {
+            // keep executing commands without a complete trace
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -2,11 +2,31 @@ package seedu.addressbook.logic;
 
 import seedu.addressbook.commands.Command;
 import seedu.addressbook.commands.CommandResult;
+import seedu.addressbook.commands.HistoryCommand;
+import seedu.addressbook.commands.SourceCommand;
+import seedu.addressbook.commands.StatsCommand;
+import seedu.addressbook.commands.UndoCommand;
 import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.AddressBook.UniqueDetail;
 import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList.DuplicateContactDetailException;
+import seedu.addressbook.diagnostics.Diagnostics;
+import seedu.addressbook.logic.CommandStats.Phase;
+import seedu.addressbook.logic.ParallelCommandParser.ParsedLine;
 import seedu.addressbook.parser.Parser;
+import seedu.addressbook.storage.Storage;
+import seedu.addressbook.storage.Storage.StorageOperationException;
 import seedu.addressbook.storage.StorageFile;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -16,29 +36,114 @@ import java.util.Optional;
  */
 public class Logic {
 
+    /** The system property naming a file to write the stats of the commands to periodically, if it is set. */
+    public static final String STATS_DUMP_FILE_PROPERTY = "addressbook.statsFile";
+    public static final long DEFAULT_STATS_DUMP_INTERVAL_MILLIS = 60 * 1000;
 
-    private StorageFile storage;
+    /** The system property naming a file to log the slow commands to, if it is set. */
+    public static final String SLOW_COMMAND_LOG_FILE_PROPERTY = "addressbook.slowLogFile";
+    public static final long DEFAULT_SLOW_COMMAND_THRESHOLD_MILLIS = 100;
+
+    /** The system property naming a file to record the trace of the executed commands to, if it is set. */
+    public static final String TRACE_FILE_PROPERTY = "addressbook.traceFile";
+
+    /** The system property listing the contact details that must be unique among the persons, e.g. "phone,email". */
+    public static final String UNIQUE_DETAILS_PROPERTY = "addressbook.uniqueDetails";
+
+    private static final long NANOS_PER_MILLI = 1000000;
+
+    private Storage storage;
     private AddressBook addressBook;
 
     /** The list of person shown to the user most recently.  */
     private List<? extends ReadOnlyPerson> lastShownList = Collections.emptyList();
 
+    /** The changes made by past commands, for undo and redo. */
+    private final CommandHistory history = new CommandHistory();
+
+    /**
+     * Number of commands executed in a batch between intermediate saves.
+     * A batch is always saved once at the end; 0 means no intermediate saves.
+     */
+    private int batchCheckpointInterval = 0;
+
+    /** Number of threads that parse the commands of a batch ahead of the thread executing them. */
+    private int batchParserThreads = Math.max(0, Runtime.getRuntime().availableProcessors() - 1);
+
+    /** The latencies of the commands executed so far, and the sizes of the saves. */
+    private final CommandStats stats = new CommandStats();
+
+    /** The file {@link #stats} are written to, or null if they are not written anywhere. */
+    private Path statsDumpPath = null;
+    private long statsDumpIntervalNanos;
+    private long nextStatsDumpNanos;
+
+    /** The log of slow commands, or null if they are not logged. */
+    private SlowCommandLog slowCommandLog = null;
+
+    /** The recorder of the commands given to {@link #execute(String)}, or null if they are not recorded. */
+    private CommandTraceRecorder traceRecorder = null;
+
     public Logic() throws Exception{
         setStorage(initializeStorage());
         setAddressBook(storage.load());
+        final String uniqueDetails = System.getProperty(UNIQUE_DETAILS_PROPERTY);
+        if (uniqueDetails != null) {
+            for (String detailName : uniqueDetails.split(",")) {
+                addUniqueIndex(UniqueDetail.ofDetailName(detailName.trim()));
+            }
+        }
+        final String statsFile = System.getProperty(STATS_DUMP_FILE_PROPERTY);
+        if (statsFile != null) {
+            setStatsDump(Paths.get(statsFile), DEFAULT_STATS_DUMP_INTERVAL_MILLIS);
+        }
+        final String slowLogFile = System.getProperty(SLOW_COMMAND_LOG_FILE_PROPERTY);
+        if (slowLogFile != null) {
+            setSlowCommandLog(new SlowCommandLog(Paths.get(slowLogFile), DEFAULT_SLOW_COMMAND_THRESHOLD_MILLIS));
+        }
+        final String traceFile = System.getProperty(TRACE_FILE_PROPERTY);
+        if (traceFile != null) {
+            setTraceRecorder(new CommandTraceRecorder(Paths.get(traceFile)));
+        }
+    }
+
+    /**
+     * Creates a logic working on the address book loaded from the given storage, which can be any kind of storage,
+     * e.g. an {@link seedu.addressbook.storage.InMemoryStorage} for tests.
+     *
+     * @throws StorageOperationException if the address book could not be loaded.
+     */
+    public Logic(Storage storage) throws StorageOperationException {
+        this(storage, storage.load());
     }
 
-    Logic(StorageFile storageFile, AddressBook addressBook){
-        setStorage(storageFile);
+    Logic(Storage storage, AddressBook addressBook){
+        setStorage(storage);
         setAddressBook(addressBook);
     }
 
-    void setStorage(StorageFile storage){
+    void setStorage(Storage storage){
         this.storage = storage;
     }
 
     void setAddressBook(AddressBook addressBook){
         this.addressBook = addressBook;
+        history.clear();
+    }
+
+    AddressBook getAddressBook() {
+        return addressBook;
+    }
+
+    /**
+     * Requires the values of the given contact detail to be unique among the persons of the address book from now on,
+     * so that adding a person, or editing one, to share a value with another person fails.
+     * The requirement is saved with the address book.
+     *
+     * @throws DuplicateContactDetailException if two persons already share a value of the detail.
+     */
+    public void addUniqueIndex(UniqueDetail detail) throws DuplicateContactDetailException {
+        addressBook.addUniqueIndex(detail);
     }
 
     /**
@@ -64,31 +169,241 @@ public class Logic {
         lastShownList = newList;
     }
 
+    /**
+     * Sets the number of commands a batch executes between intermediate saves to storage.
+     *
+     * @param batchCheckpointInterval 0 to save only once, at the end of each batch
+     */
+    public void setBatchCheckpointInterval(int batchCheckpointInterval) {
+        if (batchCheckpointInterval < 0) {
+            throw new IllegalArgumentException("checkpoint interval cannot be negative");
+        }
+        this.batchCheckpointInterval = batchCheckpointInterval;
+    }
+
+    /**
+     * Sets the number of threads that parse the commands of a batch while earlier commands are being executed.
+     *
+     * @param batchParserThreads 0 to parse each command of a batch just before executing it
+     */
+    public void setBatchParserThreads(int batchParserThreads) {
+        if (batchParserThreads < 0) {
+            throw new IllegalArgumentException("number of parser threads cannot be negative");
+        }
+        this.batchParserThreads = batchParserThreads;
+    }
+
+    /**
+     * Makes the stats of the commands be written to the given file after the first command that finishes at
+     * least the given interval after the last time they were written.
+     *
+     * @param statsDumpPath null to stop writing the stats
+     */
+    public void setStatsDump(Path statsDumpPath, long intervalMillis) {
+        this.statsDumpPath = statsDumpPath;
+        this.statsDumpIntervalNanos = intervalMillis * NANOS_PER_MILLI;
+        this.nextStatsDumpNanos = System.nanoTime() + statsDumpIntervalNanos;
+    }
+
+    public CommandStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Closes the storage, making sure all saves are kept, and stops logging and recording commands.
+     *
+     * @throws Exception if the storage or the logs could not be closed.
+     */
+    public void close() throws Exception {
+        storage.close();
+        if (slowCommandLog != null) {
+            slowCommandLog.close();
+        }
+        if (traceRecorder != null) {
+            traceRecorder.close();
+        }
+    }
+
+    /**
+     * Makes the commands executed by {@link #execute(String)} that are slow according to the given log
+     * be written to it.
+     *
+     * @param slowCommandLog null to stop logging slow commands
+     */
+    public void setSlowCommandLog(SlowCommandLog slowCommandLog) {
+        this.slowCommandLog = slowCommandLog;
+    }
+
+    /**
+     * Makes the commands given to {@link #execute(String)} be recorded, e.g. to replay them with {@link TraceReplay}.
+     *
+     * @param traceRecorder null to stop recording commands
+     */
+    public void setTraceRecorder(CommandTraceRecorder traceRecorder) {
+        this.traceRecorder = traceRecorder;
+    }
+
     /**
      * Parses the user command, executes it, and returns the result.
+     * Records how long each phase took in {@link #stats}, and the whole command as a {@link Diagnostics} event.
+     * Logs the command to the {@link #slowCommandLog} if it was slow, and records it to the {@link #traceRecorder}.
      * @throws Exception if there was any problem during command execution.
      */
     public CommandResult execute(String userCommandText) throws Exception {
+        if (traceRecorder != null) {
+            traceRecorder.record(userCommandText);
+        }
+        final Diagnostics.CommandSpan span = Diagnostics.beginCommand();
+        final long start = System.nanoTime();
         Command command = new Parser().parseCommand(userCommandText);
-        CommandResult result = execute(command);
+        final long parsed = System.nanoTime();
+        if (command instanceof SourceCommand) {
+            final CommandResult result = executeScript(((SourceCommand) command).getScriptFilePath());
+            span.finish(SourceCommand.COMMAND_WORD, 0);
+            dumpStatsIfDue();
+            return result;
+        }
+        CommandResult result = apply(command);
+        final long executed = System.nanoTime();
+        final long persistNanos = save();
+        final long persisted = System.nanoTime();
         recordResult(result);
+        final long finished = System.nanoTime();
+
+        stats.record(command, Phase.PARSE, parsed - start);
+        stats.record(command, Phase.EXECUTE, executed - parsed);
+        stats.record(command, Phase.PERSIST, persistNanos);
+        stats.record(command, Phase.RECORD_RESULT, finished - persisted);
+        final int resultSize = result.getRelevantPersons().map(List::size).orElse(0);
+        span.finish(CommandStats.getCommandWord(command.getClass()), resultSize);
+        if (slowCommandLog != null && slowCommandLog.isSlow(finished - start)) {
+            final long[] phaseNanos = new long[Phase.values().length];
+            phaseNanos[Phase.PARSE.ordinal()] = parsed - start;
+            phaseNanos[Phase.EXECUTE.ordinal()] = executed - parsed;
+            phaseNanos[Phase.PERSIST.ordinal()] = persistNanos;
+            phaseNanos[Phase.RECORD_RESULT.ordinal()] = finished - persisted;
+            slowCommandLog.log(userCommandText, phaseNanos, addressBook.getAllPersons().size(), resultSize);
+        }
+        dumpStatsIfDue();
         return result;
     }
 
     /**
-     * Executes the command, updates storage, and returns the result.
+     * Parses and executes each of the given command texts in order, saving to storage only at
+     * checkpoints and once after the last command. A command that cannot be parsed or fails does not stop
+     * the batch; it is reported in the returned summary together with its line number.
+     * Blank lines and lines starting with {@link ParallelCommandParser#COMMENT_PREFIX} are skipped.
      *
-     * @param command user command
-     * @return result of the command
+     * Commands are parsed on {@link #batchParserThreads} threads ahead of execution,
+     * but are always executed one at a time in the given order.
+     *
+     * @param commandTexts one command per element, read lazily
+     * @return summary of the batch, including the error of every failed line
      * @throws Exception if there was any problem during command execution.
      */
-    private CommandResult execute(Command command) throws Exception {
-        command.setData(addressBook, lastShownList);
-        CommandResult result = command.execute();
+    public CommandResult executeBatch(Iterable<String> commandTexts) throws Exception {
+        final List<String> lineErrors = new ArrayList<>();
+        int executedCount = 0;
+        int sinceCheckpoint = 0;
+        try (final ParallelCommandParser parsedLines = new ParallelCommandParser(commandTexts, batchParserThreads)) {
+            for (ParsedLine line = parsedLines.next(); line != null; line = parsedLines.next()) {
+                if (line.isSkipped()) {
+                    continue;
+                }
+
+                final Command command = line.command;
+                executedCount++;
+                final long start = System.nanoTime();
+                final CommandResult result = apply(command);
+                final long applied = System.nanoTime();
+                recordResult(result);
+                stats.record(command, Phase.EXECUTE, applied - start);
+                stats.record(command, Phase.RECORD_RESULT, System.nanoTime() - applied);
+                if (!result.isSuccessful()) {
+                    lineErrors.add(String.format(SourceCommand.MESSAGE_LINE_ERROR, line.lineNumber,
+                            result.feedbackToUser));
+                }
+
+                sinceCheckpoint++;
+                if (sinceCheckpoint == batchCheckpointInterval) {
+                    save();
+                    sinceCheckpoint = 0;
+                }
+            }
+        }
+        save();
+
+        final StringBuilder feedback = new StringBuilder(
+                String.format(SourceCommand.MESSAGE_BATCH_SUMMARY, executedCount, lineErrors.size()));
+        for (String lineError : lineErrors) {
+            feedback.append('\n').append(lineError);
+        }
+        return new CommandResult(feedback.toString());
+    }
+
+    /**
+     * Streams the commands in the given script file through {@link #executeBatch(Iterable)}.
+     */
+    private CommandResult executeScript(String scriptFilePath) throws Exception {
+        try (final BufferedReader scriptReader =
+                     Files.newBufferedReader(Paths.get(scriptFilePath), StandardCharsets.UTF_8)) {
+            return executeBatch(() -> scriptReader.lines().iterator());
+        } catch (IOException | UncheckedIOException | InvalidPathException e) {
+            save(); // keeps any lines executed before a read error
+            return CommandResult.failure(String.format(SourceCommand.MESSAGE_CANNOT_READ_SCRIPT, scriptFilePath));
+        }
+    }
+
+    /**
+     * Saves the address book to storage and records the size of the save.
+     *
+     * @return how long the save took, in nanoseconds
+     */
+    private long save() throws Exception {
+        final long start = System.nanoTime();
         storage.save(addressBook);
+        final long elapsed = System.nanoTime() - start;
+        stats.recordSave(storage.getLastSavedBytes());
+        return elapsed;
+    }
+
+    /**
+     * Executes the command on the address book and records the change it made, if any, in the history.
+     * The user is told if the change is too large to be kept for undo.
+     */
+    private CommandResult apply(Command command) {
+        command.setData(addressBook, lastShownList);
+        if (command instanceof HistoryCommand) {
+            ((HistoryCommand) command).setHistory(history);
+        }
+        if (command instanceof StatsCommand) {
+            ((StatsCommand) command).setStats(stats);
+        }
+        final CommandResult result = command.execute();
+        final Optional<ReversibleChange> change = command.getChange();
+        if (change.isPresent() && !history.record(change.get())) {
+            return result.withNote(UndoCommand.MESSAGE_TOO_LARGE_TO_UNDO);
+        }
         return result;
     }
 
+    /**
+     * Writes the stats to {@link #statsDumpPath} if the dump interval has passed since they were last written.
+     * The stats are only for monitoring, so a failure to write them is ignored and retried next interval.
+     */
+    private void dumpStatsIfDue() {
+        final long now = System.nanoTime();
+        if (statsDumpPath == null || now - nextStatsDumpNanos < 0) {
+            return;
+        }
+        nextStatsDumpNanos = now + statsDumpIntervalNanos;
+        try {
+            Files.write(statsDumpPath, (stats.format() + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ioe) {
+            // keep executing commands without stats
+        }
+    }
+
     /** Updates the {@link #lastShownList} if the result contains a list of Persons. */
     private void recordResult(CommandResult result) {
         final Optional<List<? extends ReadOnlyPerson>> personList = result.getRelevantPersons();
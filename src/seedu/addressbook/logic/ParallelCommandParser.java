@@ -0,0 +1,192 @@
+package seedu.addressbook.logic;
+
+import seedu.addressbook.commands.Command;
+import seedu.addressbook.parser.Parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Parses a stream of command texts on a pool of worker threads and hands the parsed commands back
+ * in input order, so that a single thread can apply them one by one.
+ *
+ * Parsing a command (including the validation of any person data in it) does not depend on the address book,
+ * so lines can be parsed ahead of the thread applying them. A feeder thread reads the lines and submits them
+ * to the workers in chunks, while a bounded queue of pending chunks keeps it from reading too far ahead.
+ */
+public class ParallelCommandParser implements AutoCloseable {
+
+    /** Number of lines parsed by a worker in one task, to amortise the cost of handing work between threads. */
+    public static final int CHUNK_SIZE = 128;
+
+    /** Number of pending chunks allowed per worker before the feeder waits for the applier. */
+    public static final int QUEUE_CAPACITY_PER_WORKER = 4;
+
+    /** Prefix of command text lines that are comments and are skipped. */
+    public static final String COMMENT_PREFIX = "#";
+
+    /**
+     * A command parsed from one line of the input.
+     */
+    public static class ParsedLine {
+        public final int lineNumber;
+
+        /** The parsed command, or null if the line is blank or a comment. */
+        public final Command command;
+
+        ParsedLine(int lineNumber, Command command) {
+            this.lineNumber = lineNumber;
+            this.command = command;
+        }
+
+        public boolean isSkipped() {
+            return command == null;
+        }
+    }
+
+    /** Marks the end of the input in the queue of pending chunks. */
+    private static final Future<List<ParsedLine>> END_OF_INPUT =
+            CompletableFuture.completedFuture(Collections.emptyList());
+
+    private final Parser parser = new Parser();
+    private final Iterator<String> commandTexts;
+    private final ExecutorService workers;
+    private final BlockingQueue<Future<List<ParsedLine>>> pending;
+    private final Thread feeder;
+    private int nextLineNumber = 1;
+
+    /** The chunk being handed out by {@link #next()}, and the position of the next line in it. */
+    private List<ParsedLine> currentChunk = Collections.emptyList();
+    private int currentChunkPosition = 0;
+    private boolean isEndOfInputReached = false;
+
+    /**
+     * @param commandTexts one command per element; read on a separate thread if {@code workerCount} is positive
+     * @param workerCount number of parsing threads, or 0 to parse each line on the thread calling {@link #next()}
+     */
+    public ParallelCommandParser(Iterable<String> commandTexts, int workerCount) {
+        if (workerCount < 0) {
+            throw new IllegalArgumentException("worker count cannot be negative");
+        }
+        this.commandTexts = commandTexts.iterator();
+        if (workerCount == 0) {
+            workers = null;
+            pending = null;
+            feeder = null;
+            return;
+        }
+
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            final Thread worker = new Thread(runnable, "command-parser");
+            worker.setDaemon(true);
+            return worker;
+        });
+        pending = new ArrayBlockingQueue<>(workerCount * QUEUE_CAPACITY_PER_WORKER);
+        feeder = new Thread(this::feedWorkers, "command-parser-feeder");
+        feeder.setDaemon(true);
+        feeder.start();
+    }
+
+    /**
+     * Returns the next parsed line in input order, or null if there are no more lines.
+     *
+     * @throws Exception if the input could not be read
+     */
+    public ParsedLine next() throws Exception {
+        if (feeder == null) {
+            return commandTexts.hasNext() ? parse(nextLineNumber++, commandTexts.next()) : null;
+        }
+        while (currentChunkPosition == currentChunk.size()) {
+            if (isEndOfInputReached) {
+                return null;
+            }
+            takeNextChunk();
+        }
+        return currentChunk.get(currentChunkPosition++);
+    }
+
+    private void takeNextChunk() throws Exception {
+        final Future<List<ParsedLine>> nextChunk = pending.take();
+        isEndOfInputReached = nextChunk == END_OF_INPUT;
+        try {
+            currentChunk = nextChunk.get();
+            currentChunkPosition = 0;
+        } catch (ExecutionException ee) {
+            isEndOfInputReached = true;
+            throw ee.getCause() instanceof Exception ? (Exception) ee.getCause() : ee;
+        }
+    }
+
+    /**
+     * Reads every line and submits it to the workers, in order.
+     * Blocks whenever the queue of pending results is full.
+     */
+    private void feedWorkers() {
+        try {
+            pending.put(submitAllLines());
+        } catch (InterruptedException ie) {
+            // closed before all lines were read
+        }
+    }
+
+    /**
+     * Submits the remaining lines to the workers, one chunk at a time.
+     *
+     * @return the entry marking the end of the input, which fails if the input could not be read
+     */
+    private Future<List<ParsedLine>> submitAllLines() throws InterruptedException {
+        try {
+            while (commandTexts.hasNext()) {
+                final int firstLineNumber = nextLineNumber;
+                final List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+                while (chunk.size() < CHUNK_SIZE && commandTexts.hasNext()) {
+                    chunk.add(commandTexts.next());
+                }
+                nextLineNumber += chunk.size();
+                pending.put(workers.submit(() -> parseChunk(firstLineNumber, chunk)));
+            }
+            return END_OF_INPUT;
+        } catch (RuntimeException re) {
+            final CompletableFuture<List<ParsedLine>> readFailure = new CompletableFuture<>();
+            readFailure.completeExceptionally(re);
+            return readFailure;
+        }
+    }
+
+    private List<ParsedLine> parseChunk(int firstLineNumber, List<String> chunk) {
+        final List<ParsedLine> parsedLines = new ArrayList<>(chunk.size());
+        int lineNumber = firstLineNumber;
+        for (String commandText : chunk) {
+            parsedLines.add(parse(lineNumber++, commandText));
+        }
+        return parsedLines;
+    }
+
+    private ParsedLine parse(int lineNumber, String commandText) {
+        final String trimmed = commandText.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith(COMMENT_PREFIX)) {
+            return new ParsedLine(lineNumber, null);
+        }
+        return new ParsedLine(lineNumber, parser.parseCommand(trimmed));
+    }
+
+    /**
+     * Stops reading and parsing lines that have not been returned by {@link #next()} yet.
+     */
+    @Override
+    public void close() {
+        if (feeder != null) {
+            feeder.interrupt();
+            workers.shutdownNow();
+        }
+    }
+}
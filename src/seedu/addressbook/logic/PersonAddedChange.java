@@ -0,0 +1,59 @@
+package seedu.addressbook.logic;
+
+import seedu.addressbook.commands.AddCommand;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList.TagNotFoundException;
+
+import java.util.List;
+
+/**
+ * A person added to the end of an address book, together with the tags that the person introduced to it.
+ */
+public class PersonAddedChange implements ReversibleChange {
+
+    private final Person added;
+    private final List<Tag> newTags;
+
+    /**
+     * @param newTags tags of the added person that were not in the address book before
+     */
+    public PersonAddedChange(Person added, List<Tag> newTags) {
+        this.added = added;
+        this.newTags = newTags;
+    }
+
+    @Override
+    public void undo(AddressBook addressBook) {
+        try {
+            addressBook.removePerson(added);
+            for (Tag tag : newTags) {
+                addressBook.removeTag(tag);
+            }
+        } catch (PersonNotFoundException | TagNotFoundException e) {
+            throw new IllegalStateException("added person or tags no longer in address book", e);
+        }
+    }
+
+    @Override
+    public void redo(AddressBook addressBook) {
+        try {
+            addressBook.addPerson(added);
+        } catch (IllegalValueException ive) {
+            throw new IllegalStateException("added person already in address book", ive);
+        }
+    }
+
+    @Override
+    public long getEstimatedBytes() {
+        return ESTIMATED_BYTES_PER_PERSON;
+    }
+
+    @Override
+    public String getDescription() {
+        return AddCommand.COMMAND_WORD + " " + added.getName();
+    }
+}
@@ -0,0 +1,63 @@
+package seedu.addressbook.logic;
+
+import seedu.addressbook.commands.EditCommand;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList.TagNotFoundException;
+
+import java.util.List;
+
+/**
+ * A person replaced in place by an edited person, together with the tags that the edited person introduced
+ * to the address book. The edited person is the one stored in the address book, with the ID of the person
+ * it replaced and tags shared with the address book.
+ */
+public class PersonEditedChange implements ReversibleChange {
+
+    private final Person previous;
+    private final Person edited;
+    private final List<Tag> newTags;
+
+    /**
+     * @param newTags tags of the edited person that were not in the address book before
+     */
+    public PersonEditedChange(Person previous, Person edited, List<Tag> newTags) {
+        this.previous = previous;
+        this.edited = edited;
+        this.newTags = newTags;
+    }
+
+    @Override
+    public void undo(AddressBook addressBook) {
+        try {
+            addressBook.editPerson(edited, previous);
+            for (Tag tag : newTags) {
+                addressBook.removeTag(tag);
+            }
+        } catch (PersonNotFoundException | DuplicatePersonException | TagNotFoundException e) {
+            throw new IllegalStateException("edited person cannot be changed back", e);
+        }
+    }
+
+    @Override
+    public void redo(AddressBook addressBook) {
+        try {
+            addressBook.editPerson(previous, edited);
+        } catch (PersonNotFoundException | DuplicatePersonException e) {
+            throw new IllegalStateException("person cannot be edited again", e);
+        }
+    }
+
+    @Override
+    public long getEstimatedBytes() {
+        return 2 * ESTIMATED_BYTES_PER_PERSON;
+    }
+
+    @Override
+    public String getDescription() {
+        return EditCommand.COMMAND_WORD + " " + edited.getName();
+    }
+}
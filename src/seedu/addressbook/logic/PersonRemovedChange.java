@@ -0,0 +1,52 @@
+package seedu.addressbook.logic;
+
+import seedu.addressbook.commands.DeleteCommand;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+
+/**
+ * A person removed from an address book, together with the position the person had in it.
+ */
+public class PersonRemovedChange implements ReversibleChange {
+
+    private final Person removed;
+    private final int position;
+
+    /**
+     * @param position the position the removed person had in the list of all persons
+     */
+    public PersonRemovedChange(Person removed, int position) {
+        this.removed = removed;
+        this.position = position;
+    }
+
+    @Override
+    public void undo(AddressBook addressBook) {
+        try {
+            addressBook.addPerson(position, removed);
+        } catch (IllegalValueException | IndexOutOfBoundsException e) {
+            throw new IllegalStateException("removed person cannot be put back", e);
+        }
+    }
+
+    @Override
+    public void redo(AddressBook addressBook) {
+        try {
+            addressBook.removePerson(removed);
+        } catch (PersonNotFoundException pnfe) {
+            throw new IllegalStateException("removed person no longer in address book", pnfe);
+        }
+    }
+
+    @Override
+    public long getEstimatedBytes() {
+        return ESTIMATED_BYTES_PER_PERSON;
+    }
+
+    @Override
+    public String getDescription() {
+        return DeleteCommand.COMMAND_WORD + " " + removed.getName();
+    }
+}
@@ -0,0 +1,40 @@
+package seedu.addressbook.logic;
+
+import seedu.addressbook.data.AddressBook;
+
+/**
+ * A change made to an address book by a command, recorded compactly enough to be undone and redone
+ * without a snapshot of the whole address book.
+ *
+ * A change can only be undone when the address book is in the state the change left it in,
+ * and redone when it is in the state the change was made from.
+ */
+public interface ReversibleChange {
+
+    /** Rough number of bytes of data kept alive by a recorded person. */
+    long ESTIMATED_BYTES_PER_PERSON = 250;
+
+    /**
+     * Reverts this change in the given address book.
+     *
+     * @throws IllegalStateException if the address book is not in the state this change left it in.
+     */
+    void undo(AddressBook addressBook);
+
+    /**
+     * Makes this change again in the given address book, after it has been undone.
+     *
+     * @throws IllegalStateException if the address book is not in the state this change was made from.
+     */
+    void redo(AddressBook addressBook);
+
+    /**
+     * Rough number of bytes of data this change keeps alive while it is in the history.
+     */
+    long getEstimatedBytes();
+
+    /**
+     * A short description of the change for the user, e.g. the command that made it.
+     */
+    String getDescription();
+}
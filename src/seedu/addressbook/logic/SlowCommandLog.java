@@ -0,0 +1,264 @@
+package seedu.addressbook.logic;
+
+import seedu.addressbook.logic.CommandStats.Phase;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * A log of the commands that took longer than a threshold, with their input text, how long each phase took,
+ * the size of the address book and the size of the result, e.g.
+ * <pre>
+ *     2017-01-01T12:00:00.000Z total=153210us parse=12us execute=150003us persist=3150us recordResult=45us
+ *         persons=100000 results=3 | find John Jane
+ * </pre>
+ * (on one line). The values of private contact details in the input are replaced with {@link #REDACTED}.
+ *
+ * Logging a command only queues it; the log file is written by a background thread, so that logging never
+ * delays the command. If the queue is full, the command is counted and left out, and the number of commands
+ * left out is logged with the next one that is written.
+ * When the log file reaches its size limit, it is renamed with the suffix {@code .1}, the file with suffix
+ * {@code .1} is renamed to {@code .2}, and so on, discarding the oldest file.
+ * The log is only for monitoring, so a failure to write it is ignored.
+ */
+public class SlowCommandLog implements AutoCloseable {
+
+    public static final String REDACTED = "***";
+
+    public static final long DEFAULT_MAX_FILE_BYTES = 1024 * 1024;
+    public static final int DEFAULT_MAX_ROTATED_FILES = 3;
+
+    static final int QUEUE_CAPACITY = 256;
+
+    private static final long NANOS_PER_MILLI = 1000000;
+    private static final long NANOS_PER_MICRO = 1000;
+
+    /** The value of a private contact detail in the arguments of e.g. {@code add} and {@code edit}. */
+    private static final Pattern PRIVATE_DETAIL_VALUE = Pattern.compile("( p[pea]/)[^/]*?(?= p?[pea]/| t/|$)");
+
+    /**
+     * A command to be written to the log.
+     */
+    private static class Entry {
+        final long timestampMillis = System.currentTimeMillis();
+        final String commandText;
+        final long[] phaseNanos;
+        final int addressBookSize;
+        final int resultSize;
+
+        Entry(String commandText, long[] phaseNanos, int addressBookSize, int resultSize) {
+            this.commandText = commandText;
+            this.phaseNanos = phaseNanos;
+            this.addressBookSize = addressBookSize;
+            this.resultSize = resultSize;
+        }
+    }
+
+    /** Stops the writer thread once the entries queued before it have been written. */
+    private static final Entry CLOSE = new Entry("", new long[0], 0, 0);
+
+    private final Path path;
+    private final long thresholdNanos;
+    private final long maxFileBytes;
+    private final int maxRotatedFiles;
+
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final Thread writerThread;
+
+    /** The log file being appended to, or null if it is not open. Used only by {@link #writerThread}. */
+    private Writer writer;
+    private long fileBytes;
+
+    /**
+     * Logs the commands that took at least {@code thresholdMillis} to the given file, rotating it at
+     * {@link #DEFAULT_MAX_FILE_BYTES} and keeping {@link #DEFAULT_MAX_ROTATED_FILES} old files.
+     */
+    public SlowCommandLog(Path path, long thresholdMillis) {
+        this(path, thresholdMillis, DEFAULT_MAX_FILE_BYTES, DEFAULT_MAX_ROTATED_FILES);
+    }
+
+    public SlowCommandLog(Path path, long thresholdMillis, long maxFileBytes, int maxRotatedFiles) {
+        if (thresholdMillis < 0) {
+            throw new IllegalArgumentException("threshold cannot be negative");
+        }
+        if (maxFileBytes <= 0 || maxRotatedFiles < 0) {
+            throw new IllegalArgumentException("log files must have a positive size and cannot be fewer than 0");
+        }
+        this.path = path;
+        this.thresholdNanos = thresholdMillis * NANOS_PER_MILLI;
+        this.maxFileBytes = maxFileBytes;
+        this.maxRotatedFiles = maxRotatedFiles;
+        writerThread = new Thread(this::writeEntries, "slow-command-log");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Returns true if a command that took the given time should be logged.
+     */
+    public boolean isSlow(long totalNanos) {
+        return totalNanos >= thresholdNanos;
+    }
+
+    /**
+     * Queues the command to be written to the log, without waiting for it to be written.
+     *
+     * @param phaseNanos how long each phase of the command took, indexed by {@link Phase#ordinal()}
+     * @param resultSize the number of persons in the result, or 0 if it has no list of persons
+     */
+    public void log(String commandText, long[] phaseNanos, int addressBookSize, int resultSize) {
+        if (!queue.offer(new Entry(commandText, phaseNanos, addressBookSize, resultSize))) {
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Writes the commands already queued and stops the background thread. Commands logged afterwards are ignored.
+     * Waits for the thread to stop even if interrupted, and then restores the interrupt status.
+     */
+    @Override
+    public void close() {
+        boolean isInterrupted = false;
+        while (true) {
+            try {
+                queue.put(CLOSE);
+                break;
+            } catch (InterruptedException ie) {
+                isInterrupted = true;
+            }
+        }
+        while (true) {
+            try {
+                writerThread.join();
+                break;
+            } catch (InterruptedException ie) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the input text of a command with the values of its private contact details redacted.
+     */
+    static String redact(String commandText) {
+        return PRIVATE_DETAIL_VALUE.matcher(commandText).replaceAll("$1" + REDACTED);
+    }
+
+    private static String format(Entry entry) {
+        long totalNanos = 0;
+        for (long nanos : entry.phaseNanos) {
+            totalNanos += nanos;
+        }
+        final StringBuilder line = new StringBuilder()
+                .append(Instant.ofEpochMilli(entry.timestampMillis))
+                .append(" total=").append(totalNanos / NANOS_PER_MICRO).append("us");
+        for (Phase phase : Phase.values()) {
+            line.append(' ').append(phase.getDisplayName()).append('=')
+                    .append(entry.phaseNanos[phase.ordinal()] / NANOS_PER_MICRO).append("us");
+        }
+        return line.append(" persons=").append(entry.addressBookSize)
+                .append(" results=").append(entry.resultSize)
+                .append(" | ").append(redact(entry.commandText))
+                .append(System.lineSeparator())
+                .toString();
+    }
+
+    /**
+     * Writes queued entries until {@link #CLOSE} is taken, flushing whenever the queue is empty.
+     */
+    private void writeEntries() {
+        try {
+            for (Entry entry = queue.take(); entry != CLOSE; entry = queue.take()) {
+                final long dropped = droppedCount.getAndSet(0);
+                if (dropped > 0) {
+                    write(Instant.now() + " " + dropped + " slow commands were not logged" + System.lineSeparator());
+                }
+                write(format(entry));
+                if (queue.isEmpty()) {
+                    flush();
+                }
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeFile();
+        }
+    }
+
+    private void write(String line) {
+        final byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        try {
+            if (writer != null && fileBytes + bytes.length > maxFileBytes) {
+                closeFile();
+                rotate();
+            }
+            if (writer == null) {
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                fileBytes = Files.size(path);
+            }
+            writer.write(line);
+            fileBytes += bytes.length;
+        } catch (IOException ioe) {
+            closeFile(); // reopened for the next entry
+        }
+    }
+
+    /**
+     * Renames the log file and the rotated files to the next suffix, discarding the oldest.
+     */
+    private void rotate() throws IOException {
+        if (maxRotatedFiles == 0) {
+            Files.deleteIfExists(path);
+            return;
+        }
+        Files.deleteIfExists(rotatedPath(maxRotatedFiles));
+        for (int suffix = maxRotatedFiles - 1; suffix >= 1; suffix--) {
+            if (Files.exists(rotatedPath(suffix))) {
+                Files.move(rotatedPath(suffix), rotatedPath(suffix + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(path, rotatedPath(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    Path rotatedPath(int suffix) {
+        return Paths.get(path + "." + suffix);
+    }
+
+    private void flush() {
+        try {
+            if (writer != null) {
+                writer.flush();
+            }
+        } catch (IOException ioe) {
+            closeFile();
+        }
+    }
+
+    private void closeFile() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException ioe) {
+            // reopened for the next entry
+        }
+        writer = null;
+    }
+}
@@ -0,0 +1,209 @@
+package seedu.addressbook.logic;
+
+import seedu.addressbook.common.Histogram;
+import seedu.addressbook.data.ReadOnlyAddressBook;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.storage.StorageFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+/**
+ * Replays a trace recorded by {@link CommandTraceRecorder} against a copy of a storage file, and reports the
+ * throughput, the latency percentiles of the commands, the number of saves and whether the final state of the
+ * address book is the expected one.
+ *
+ * The commands are replayed either at the recorded speed (or a multiple of it), waiting for the recorded time
+ * of each command, or as fast as possible. The expected final state is usually the storage file as it was
+ * when the recording stopped; it is compared by {@link #checksum(ReadOnlyAddressBook)}, so that changes to the
+ * storage format do not matter.
+ *
+ * Usage: {@code TraceReplay --trace FILE --storage FILE [--speed max|FACTOR] [--expected FILE]},
+ * exiting with status 1 if the final state differs from the expected one.
+ */
+public class TraceReplay {
+
+    public static final String SPEED_MAX = "max";
+
+    private static final double[] REPORTED_PERCENTILES = { 50, 90, 99, 99.9 };
+    private static final long NANOS_PER_MICRO = 1000;
+    private static final long NANOS_PER_MILLI = 1000000;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private Path tracePath;
+    private Path storagePath;
+    private Path expectedPath;
+
+    /** The multiple of the recorded speed to replay at, or 0 to replay as fast as possible. */
+    private double speed = 1;
+
+    /**
+     * The outcome of a replay.
+     */
+    public static class Result {
+        public final int commandCount;
+        public final int failedCount;
+        public final long elapsedNanos;
+        public final Histogram latencies;
+        public final long saveCount;
+        public final long finalChecksum;
+
+        Result(int commandCount, int failedCount, long elapsedNanos, Histogram latencies, long saveCount,
+               long finalChecksum) {
+            this.commandCount = commandCount;
+            this.failedCount = failedCount;
+            this.elapsedNanos = elapsedNanos;
+            this.latencies = latencies;
+            this.saveCount = saveCount;
+            this.finalChecksum = finalChecksum;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        final TraceReplay replay = new TraceReplay();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            replay.setOption(args[i], args[i + 1]);
+        }
+        if (args.length % 2 != 0) {
+            throw new IllegalArgumentException("missing value for option " + args[args.length - 1]);
+        }
+        if (replay.tracePath == null || replay.storagePath == null) {
+            throw new IllegalArgumentException("--trace and --storage are required");
+        }
+
+        final Result result = replay.run();
+        System.out.print(replay.format(result));
+        if (replay.expectedPath != null) {
+            final long expectedChecksum = checksum(new StorageFile(replay.expectedPath.toString()).load());
+            System.out.println(String.format("expected final state checksum %08x: %s", expectedChecksum,
+                    expectedChecksum == result.finalChecksum ? "same" : "DIFFERENT"));
+            if (expectedChecksum != result.finalChecksum) {
+                System.exit(1);
+            }
+        }
+    }
+
+    private void setOption(String name, String value) {
+        switch (name) {
+            case "--trace":
+                tracePath = Paths.get(value);
+                break;
+            case "--storage":
+                storagePath = Paths.get(value);
+                break;
+            case "--expected":
+                expectedPath = Paths.get(value);
+                break;
+            case "--speed":
+                speed = SPEED_MAX.equals(value) ? 0 : Double.parseDouble(value);
+                if (speed < 0) {
+                    throw new IllegalArgumentException("speed cannot be negative");
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("unknown option " + name);
+        }
+    }
+
+    TraceReplay() {}
+
+    /**
+     * @param speed the multiple of the recorded speed to replay at, or 0 to replay as fast as possible
+     */
+    TraceReplay(Path tracePath, Path storagePath, double speed) {
+        this.tracePath = tracePath;
+        this.storagePath = storagePath;
+        this.speed = speed;
+    }
+
+    /**
+     * Replays the trace against a temporary copy of the storage file, which is left unchanged.
+     */
+    Result run() throws Exception {
+        final Path copy = Files.createTempFile("replay", ".txt");
+        try {
+            Files.copy(storagePath, copy, StandardCopyOption.REPLACE_EXISTING);
+            final StorageFile storage = new StorageFile(copy.toString());
+            final Logic logic = new Logic(storage, storage.load());
+            return replay(logic);
+        } finally {
+            Files.deleteIfExists(copy);
+        }
+    }
+
+    private Result replay(Logic logic) throws IOException, InterruptedException {
+        final Histogram latencies = new Histogram();
+        int commandCount = 0;
+        int failedCount = 0;
+        final long start = System.nanoTime();
+        try (BufferedReader trace = Files.newBufferedReader(tracePath, StandardCharsets.UTF_8)) {
+            for (String line = trace.readLine(); line != null; line = trace.readLine()) {
+                if (line.isEmpty() || line.startsWith(CommandTraceRecorder.COMMENT_PREFIX)) {
+                    continue;
+                }
+                final int separator = line.indexOf(CommandTraceRecorder.TIME_SEPARATOR);
+                if (separator < 0) {
+                    throw new IOException("trace line without a time: " + line);
+                }
+                if (speed > 0) {
+                    final long offsetNanos = (long) (Long.parseLong(line.substring(0, separator))
+                            * NANOS_PER_MILLI / speed);
+                    final long waitNanos = start + offsetNanos - System.nanoTime();
+                    if (waitNanos > 0) {
+                        Thread.sleep(waitNanos / NANOS_PER_MILLI, (int) (waitNanos % NANOS_PER_MILLI));
+                    }
+                }
+
+                final long commandStart = System.nanoTime();
+                try {
+                    logic.execute(line.substring(separator + 1));
+                } catch (Exception e) {
+                    failedCount++;
+                }
+                latencies.record(System.nanoTime() - commandStart);
+                commandCount++;
+            }
+        }
+        return new Result(commandCount, failedCount, System.nanoTime() - start, latencies,
+                logic.getStats().getSavedBytes().getTotalCount(), checksum(logic.getAddressBook()));
+    }
+
+    private String format(Result result) {
+        final double seconds = result.elapsedNanos / NANOS_PER_SECOND;
+        final StringBuilder report = new StringBuilder(String.format(
+                "%d commands in %.2f s at %s: %.1f commands/s, %d saves, %d failed%n",
+                result.commandCount, seconds, speed == 0 ? "maximum speed" : speed + "x recorded speed",
+                result.commandCount / seconds, result.saveCount, result.failedCount));
+        report.append("latency");
+        for (double percentile : REPORTED_PERCENTILES) {
+            report.append(String.format("  p%s=%dus", formatPercentile(percentile),
+                    result.latencies.getValueAtPercentile(percentile) / NANOS_PER_MICRO));
+        }
+        report.append(String.format("  max=%dus%n", result.latencies.getMax() / NANOS_PER_MICRO));
+        report.append(String.format("final state checksum %08x%n", result.finalChecksum));
+        return report.toString();
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    /**
+     * Returns a checksum of the persons of the address book, with their IDs, all their details and their tags,
+     * in order.
+     */
+    static long checksum(ReadOnlyAddressBook addressBook) {
+        final CRC32 checksum = new CRC32();
+        for (ReadOnlyPerson person : addressBook.getAllPersons().immutableListView()) {
+            final String state = person.getId() + " " + person.getAsTextShowAll() + "\n";
+            checksum.update(state.getBytes(StandardCharsets.UTF_8));
+        }
+        return checksum.getValue();
+    }
+}
@@ -1,9 +1,16 @@
 package seedu.addressbook.parser;
 
 import seedu.addressbook.commands.*;
+import seedu.addressbook.data.AddressBook;
 import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
 
 import java.util.*;
+import java.util.function.IntFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -16,9 +23,19 @@ public class Parser {
 
     public static final Pattern PERSON_INDEX_ARGS_FORMAT = Pattern.compile("(?<targetIndex>.+)");
 
+    /** Marks a command argument as a person ID rather than an index in the last shown listing, e.g. "#12". */
+    public static final String PERSON_ID_PREFIX = "#";
+
+    /** The index given to commands that target a person by ID. */
+    private static final int NO_TARGET_INDEX = -1;
+
     public static final Pattern KEYWORDS_ARGS_FORMAT =
             Pattern.compile("(?<keywords>\\S+(?:\\s+\\S+)*)"); // one or more keywords separated by whitespace
 
+    /**
+     * Grammar of the add person command arguments.
+     * The arguments are split by {@link PersonDataArgs#scan(String)}, which accepts exactly the strings matched here.
+     */
     public static final Pattern PERSON_DATA_ARGS_FORMAT = // '/' forward slashes are reserved for delimiter prefixes
             Pattern.compile("(?<name>[^/]+)"
                     + " (?<isPhonePrivate>p?)p/(?<phone>[^/]+)"
@@ -26,6 +43,19 @@ public class Parser {
                     + " (?<isAddressPrivate>p?)a/(?<address>[^/]+)"
                     + "(?<tagArguments>(?: t/[^/]+)*)"); // variable number of tags
 
+    /**
+     * Grammar of the edit person command arguments: the target, then the details to change, in the order of
+     * {@link #PERSON_DATA_ARGS_FORMAT}. At least one detail must be given.
+     * The arguments are split by {@link PersonDataArgs#scanEdit(String)}, which accepts exactly the strings with
+     * a detail matched here.
+     */
+    public static final Pattern EDIT_PERSON_ARGS_FORMAT =
+            Pattern.compile("(?<target>[^ /]+)"
+                    + "(?: (?<isPhonePrivate>p?)p/(?<phone>[^/]+))?"
+                    + "(?: (?<isEmailPrivate>p?)e/(?<email>[^/]+))?"
+                    + "(?: (?<isAddressPrivate>p?)a/(?<address>[^/]+))?"
+                    + "(?<tagArguments>(?: t/[^/]+)*)");
+
 
     /**
      * Signals that the user input could not be parsed.
@@ -62,6 +92,9 @@ public class Parser {
             case AddCommand.COMMAND_WORD:
                 return prepareAdd(arguments);
 
+            case EditCommand.COMMAND_WORD:
+                return prepareEdit(arguments);
+
             case DeleteCommand.COMMAND_WORD:
                 return prepareDelete(arguments);
 
@@ -80,6 +113,18 @@ public class Parser {
             case ViewAllCommand.COMMAND_WORD:
                 return prepareViewAll(arguments);
 
+            case SourceCommand.COMMAND_WORD:
+                return prepareSource(arguments);
+
+            case UndoCommand.COMMAND_WORD:
+                return new UndoCommand();
+
+            case RedoCommand.COMMAND_WORD:
+                return new RedoCommand();
+
+            case StatsCommand.COMMAND_WORD:
+                return new StatsCommand();
+
             case ExitCommand.COMMAND_WORD:
                 return new ExitCommand();
 
@@ -96,25 +141,26 @@ public class Parser {
      * @return the prepared command
      */
     private Command prepareAdd(String args){
-        final Matcher matcher = PERSON_DATA_ARGS_FORMAT.matcher(args.trim());
-        // Validate arg string format
-        if (!matcher.matches()) {
+        final PersonDataArgs personData;
+        try {
+            personData = PersonDataArgs.scan(args.trim());
+        } catch (ParseException pe) {
             return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, AddCommand.MESSAGE_USAGE));
         }
         try {
             return new AddCommand(
-                    matcher.group("name"),
+                    personData.name,
 
-                    matcher.group("phone"),
-                    isPrivatePrefixPresent(matcher.group("isPhonePrivate")),
+                    personData.phone,
+                    personData.isPhonePrivate,
 
-                    matcher.group("email"),
-                    isPrivatePrefixPresent(matcher.group("isEmailPrivate")),
+                    personData.email,
+                    personData.isEmailPrivate,
 
-                    matcher.group("address"),
-                    isPrivatePrefixPresent(matcher.group("isAddressPrivate")),
+                    personData.address,
+                    personData.isAddressPrivate,
 
-                    getTagsFromArgs(matcher.group("tagArguments"))
+                    personData.tags
             );
         } catch (IllegalValueException ive) {
             return new IncorrectCommand(ive.getMessage());
@@ -122,27 +168,40 @@ public class Parser {
     }
 
     /**
-     * Checks whether the private prefix of a contact detail in the add command's arguments string is present.
+     * Parses arguments in the context of the edit person command.
+     *
+     * @param args full command args string
+     * @return the prepared command
      */
-    private static boolean isPrivatePrefixPresent(String matchedPrefix) {
-        return matchedPrefix.equals("p");
+    private Command prepareEdit(String args) {
+        try {
+            final PersonDataArgs editData = PersonDataArgs.scanEdit(args.trim());
+            final Phone phone = editData.phone == null ? null : new Phone(editData.phone, editData.isPhonePrivate);
+            final Email email = editData.email == null ? null : new Email(editData.email, editData.isEmailPrivate);
+            final Address address = editData.address == null ? null
+                    : new Address(editData.address, editData.isAddressPrivate);
+            final UniqueTagList tags = editData.tags == null ? null : getTags(editData.tags);
+            return prepareTargeted(editData.target, index -> new EditCommand(index, phone, email, address, tags));
+        } catch (IllegalValueException ive) {
+            return new IncorrectCommand(ive.getMessage());
+        } catch (ParseException | NumberFormatException e) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, EditCommand.MESSAGE_USAGE));
+        }
     }
 
     /**
-     * Extracts the new person's tags from the add command's tag arguments string.
-     * Merges duplicate tag strings.
+     * Creates the tags with the given names.
+     *
+     * @throws IllegalValueException if any tag name is invalid
      */
-    private static Set<String> getTagsFromArgs(String tagArguments) throws IllegalValueException {
-        // no tags
-        if (tagArguments.isEmpty()) {
-            return Collections.emptySet();
+    private static UniqueTagList getTags(Set<String> tagNames) throws IllegalValueException {
+        final Set<Tag> tags = new HashSet<>();
+        for (String tagName : tagNames) {
+            tags.add(new Tag(tagName));
         }
-        // replace first delimiter prefix, then split
-        final Collection<String> tagStrings = Arrays.asList(tagArguments.replaceFirst(" t/", "").split(" t/"));
-        return new HashSet<>(tagStrings);
+        return new UniqueTagList(tags);
     }
 
-
     /**
      * Parses arguments in the context of the delete person command.
      *
@@ -151,8 +210,7 @@ public class Parser {
      */
     private Command prepareDelete(String args) {
         try {
-            final int targetIndex = parseArgsAsDisplayedIndex(args);
-            return new DeleteCommand(targetIndex);
+            return prepareTargeted(args, DeleteCommand::new);
         } catch (ParseException | NumberFormatException e) {
             return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, DeleteCommand.MESSAGE_USAGE));
         }
@@ -167,8 +225,7 @@ public class Parser {
     private Command prepareView(String args) {
 
         try {
-            final int targetIndex = parseArgsAsDisplayedIndex(args);
-            return new ViewCommand(targetIndex);
+            return prepareTargeted(args, ViewCommand::new);
         } catch (ParseException | NumberFormatException e) {
             return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT,
                     ViewCommand.MESSAGE_USAGE));
@@ -184,14 +241,36 @@ public class Parser {
     private Command prepareViewAll(String args) {
 
         try {
-            final int targetIndex = parseArgsAsDisplayedIndex(args);
-            return new ViewAllCommand(targetIndex);
+            return prepareTargeted(args, ViewAllCommand::new);
         } catch (ParseException | NumberFormatException e) {
             return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT,
                     ViewAllCommand.MESSAGE_USAGE));
         }
     }
 
+    /**
+     * Parses arguments that identify a target person, either by an index number in the last shown listing,
+     * or by the person's ID after {@link #PERSON_ID_PREFIX}.
+     *
+     * @param constructor creates the command for a given target index
+     * @throws ParseException if no region of the args string could be found for the index or ID
+     * @throws NumberFormatException the args string region is not a valid number
+     */
+    private Command prepareTargeted(String args, IntFunction<Command> constructor)
+            throws ParseException, NumberFormatException {
+        final String target = args.trim();
+        if (!target.startsWith(PERSON_ID_PREFIX)) {
+            return constructor.apply(parseArgsAsDisplayedIndex(args));
+        }
+        final long targetId = Long.parseLong(target.substring(PERSON_ID_PREFIX.length()));
+        if (targetId < AddressBook.FIRST_PERSON_ID) {
+            throw new ParseException("Person IDs are positive");
+        }
+        final Command command = constructor.apply(NO_TARGET_INDEX);
+        command.setTargetId(targetId);
+        return command;
+    }
+
     /**
      * Parses the given arguments string as a single index number.
      *
@@ -228,5 +307,20 @@ public class Parser {
         return new FindCommand(keywordSet);
     }
 
+    /**
+     * Parses arguments in the context of the source script command.
+     *
+     * @param args full command args string
+     * @return the prepared command
+     */
+    private Command prepareSource(String args) {
+        final String scriptFilePath = args.trim();
+        if (scriptFilePath.isEmpty()) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT,
+                    SourceCommand.MESSAGE_USAGE));
+        }
+        return new SourceCommand(scriptFilePath);
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,226 @@
+package seedu.addressbook.parser;
+
+import seedu.addressbook.parser.Parser.ParseException;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The raw field values in the arguments of the add or edit person command.
+ *
+ * The arguments are split into fields by {@link #scan(String)} or {@link #scanEdit(String)} in a single pass over
+ * the '/' delimiters, accepting exactly the same strings as {@link Parser#PERSON_DATA_ARGS_FORMAT} or
+ * {@link Parser#EDIT_PERSON_ARGS_FORMAT} without the cost of regex backtracking and of splitting the tag arguments
+ * again.
+ */
+public class PersonDataArgs {
+
+    private static final char DELIMITER = '/';
+    private static final char SEPARATOR = ' ';
+    private static final char PRIVATE_PREFIX = 'p';
+    private static final char PHONE_PREFIX = 'p';
+    private static final char EMAIL_PREFIX = 'e';
+    private static final char ADDRESS_PREFIX = 'a';
+    private static final char TAG_PREFIX = 't';
+
+    /** The prefixes of the edit command in the order they must be given. */
+    private static final String EDIT_PREFIX_ORDER = "" + PHONE_PREFIX + EMAIL_PREFIX + ADDRESS_PREFIX + TAG_PREFIX;
+
+    /** The target of the edit command, or null for the add command. */
+    public final String target;
+
+    /** The fields below are null for the edit command if their details are not changed. */
+    public final String name;
+    public final String phone;
+    public final boolean isPhonePrivate;
+    public final String email;
+    public final boolean isEmailPrivate;
+    public final String address;
+    public final boolean isAddressPrivate;
+
+    /** Tag strings with duplicates merged. */
+    public final Set<String> tags;
+
+    private PersonDataArgs(String target, String name, String phone, boolean isPhonePrivate,
+                           String email, boolean isEmailPrivate, String address, boolean isAddressPrivate,
+                           Set<String> tags) {
+        this.target = target;
+        this.name = name;
+        this.phone = phone;
+        this.isPhonePrivate = isPhonePrivate;
+        this.email = email;
+        this.isEmailPrivate = isEmailPrivate;
+        this.address = address;
+        this.isAddressPrivate = isAddressPrivate;
+        this.tags = tags;
+    }
+
+    /**
+     * Splits the given (trimmed) add command arguments into their fields.
+     *
+     * The arguments have the form {@code NAME [p]p/PHONE [p]e/EMAIL [p]a/ADDRESS [ t/TAG]...}, where no field is
+     * empty or contains a '/'. Hence every '/' ends a prefix, and the field before it ends at the space
+     * in front of that prefix.
+     *
+     * @throws ParseException if the arguments do not have the form above
+     */
+    public static PersonDataArgs scan(String args) throws ParseException {
+        final int phoneSlash = args.indexOf(DELIMITER);
+        final int nameEnd = findPrefixStart(args, 0, phoneSlash, PHONE_PREFIX, true);
+
+        final int emailSlash = args.indexOf(DELIMITER, phoneSlash + 1);
+        final int phoneEnd = findPrefixStart(args, phoneSlash + 1, emailSlash, EMAIL_PREFIX, true);
+
+        final int addressSlash = args.indexOf(DELIMITER, emailSlash + 1);
+        final int emailEnd = findPrefixStart(args, emailSlash + 1, addressSlash, ADDRESS_PREFIX, true);
+
+        int fieldStart = addressSlash + 1;
+        int slash = args.indexOf(DELIMITER, fieldStart);
+        final int addressEnd = slash == -1 ? args.length() : findPrefixStart(args, fieldStart, slash, TAG_PREFIX, false);
+        if (addressEnd == fieldStart) {
+            throw new ParseException("Empty address");
+        }
+
+        Set<String> tags = Collections.emptySet();
+        while (slash != -1) {
+            fieldStart = slash + 1;
+            slash = args.indexOf(DELIMITER, fieldStart);
+            final int tagEnd = slash == -1 ? args.length() : findPrefixStart(args, fieldStart, slash, TAG_PREFIX, false);
+            if (tagEnd == fieldStart) {
+                throw new ParseException("Empty tag");
+            }
+            if (tags.isEmpty()) {
+                tags = new HashSet<>();
+            }
+            tags.add(args.substring(fieldStart, tagEnd));
+        }
+
+        return new PersonDataArgs(null,
+                args.substring(0, nameEnd),
+                args.substring(phoneSlash + 1, phoneEnd), isPrivate(args, nameEnd),
+                args.substring(emailSlash + 1, emailEnd), isPrivate(args, phoneEnd),
+                args.substring(addressSlash + 1, addressEnd), isPrivate(args, emailEnd),
+                tags);
+    }
+
+    /**
+     * Splits the given (trimmed) edit command arguments into the target and the fields of the details to change.
+     *
+     * The arguments have the form {@code TARGET [[p]p/PHONE] [[p]e/EMAIL] [[p]a/ADDRESS] [ t/TAG]...} with at least
+     * one detail, where the target has no space and no field is empty or contains a '/'. As in {@link #scan},
+     * every '/' ends a prefix, and the letter in front of it tells which field follows.
+     *
+     * @return the fields, with a null {@link #name}, and with null for the details that are not given
+     *         and for {@link #tags} if no tags are given
+     * @throws ParseException if the arguments do not have the form above
+     */
+    public static PersonDataArgs scanEdit(String args) throws ParseException {
+        String target = null;
+        String phone = null;
+        boolean isPhonePrivate = false;
+        String email = null;
+        boolean isEmailPrivate = false;
+        String address = null;
+        boolean isAddressPrivate = false;
+        Set<String> tags = null;
+
+        int slash = args.indexOf(DELIMITER);
+        if (slash < 1) {
+            throw new ParseException("No details to change");
+        }
+        char fieldPrefix = 0; // of the field being scanned; 0 for the target
+        boolean isFieldPrivate = false;
+        int fieldStart = 0;
+        while (true) {
+            final int fieldEnd;
+            final char nextPrefix;
+            if (slash == -1) {
+                fieldEnd = args.length();
+                nextPrefix = 0;
+            } else {
+                nextPrefix = args.charAt(slash - 1);
+                final int nextRank = EDIT_PREFIX_ORDER.indexOf(nextPrefix);
+                final int rank = EDIT_PREFIX_ORDER.indexOf(fieldPrefix);
+                if (nextRank == -1 || nextRank < rank || nextRank == rank && nextPrefix != TAG_PREFIX) {
+                    throw new ParseException("Unknown or misplaced prefix " + nextPrefix + DELIMITER);
+                }
+                fieldEnd = findPrefixStart(args, fieldStart, slash, nextPrefix, nextPrefix != TAG_PREFIX);
+            }
+            if (fieldEnd == fieldStart) {
+                throw new ParseException("Empty field");
+            }
+            final String field = args.substring(fieldStart, fieldEnd);
+            switch (fieldPrefix) {
+                case PHONE_PREFIX:
+                    phone = field;
+                    isPhonePrivate = isFieldPrivate;
+                    break;
+                case EMAIL_PREFIX:
+                    email = field;
+                    isEmailPrivate = isFieldPrivate;
+                    break;
+                case ADDRESS_PREFIX:
+                    address = field;
+                    isAddressPrivate = isFieldPrivate;
+                    break;
+                case TAG_PREFIX:
+                    if (tags == null) {
+                        tags = new HashSet<>();
+                    }
+                    tags.add(field);
+                    break;
+                default:
+                    if (field.indexOf(SEPARATOR) != -1) {
+                        throw new ParseException("Target with a space");
+                    }
+                    target = field;
+            }
+            if (slash == -1) {
+                break;
+            }
+            isFieldPrivate = isPrivate(args, fieldEnd);
+            fieldPrefix = nextPrefix;
+            fieldStart = slash + 1;
+            slash = args.indexOf(DELIMITER, fieldStart);
+        }
+        return new PersonDataArgs(target, null, phone, isPhonePrivate, email, isEmailPrivate,
+                address, isAddressPrivate, tags);
+    }
+
+    /**
+     * Finds the separating space in front of the prefix that ends with the '/' at {@code slash},
+     * e.g. the space in {@code "John pp/"}.
+     * A private prefix is only recognised if the field would not be valid without it, which is how
+     * the greedy fields of {@link Parser#PERSON_DATA_ARGS_FORMAT} match.
+     *
+     * @param fieldStart start of the field in front of the prefix, which must not be empty
+     * @param slash position of the '/' ending the prefix, or -1 if there is none
+     * @param isPrivatePrefixAllowed whether the prefix may be marked private with a leading 'p'
+     * @return position of the space in front of the prefix
+     * @throws ParseException if there is no such prefix, or the field in front of it is empty
+     */
+    private static int findPrefixStart(String args, int fieldStart, int slash, char prefix,
+                                       boolean isPrivatePrefixAllowed) throws ParseException {
+        final int prefixPosition = slash - 1;
+        if (slash == -1 || prefixPosition - 1 <= fieldStart || args.charAt(prefixPosition) != prefix) {
+            throw new ParseException("Missing prefix " + prefix + DELIMITER);
+        }
+        final char beforePrefix = args.charAt(prefixPosition - 1);
+        if (beforePrefix == SEPARATOR) {
+            return prefixPosition - 1;
+        }
+        if (isPrivatePrefixAllowed && beforePrefix == PRIVATE_PREFIX && prefixPosition - 2 > fieldStart
+                && args.charAt(prefixPosition - 2) == SEPARATOR) {
+            return prefixPosition - 2;
+        }
+        throw new ParseException("Missing separator before prefix " + prefix + DELIMITER);
+    }
+
+    /**
+     * Returns true if the prefix after the separating space at {@code prefixStart} is marked private.
+     */
+    private static boolean isPrivate(String args, int prefixStart) {
+        return args.charAt(prefixStart + 1) == PRIVATE_PREFIX && args.charAt(prefixStart + 2) != DELIMITER;
+    }
+}
@@ -0,0 +1,299 @@
+package seedu.addressbook.server;
+
+import seedu.addressbook.commands.Command;
+import seedu.addressbook.commands.CommandResult;
+import seedu.addressbook.commands.HistoryCommand;
+import seedu.addressbook.commands.StatsCommand;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.logic.CommandHistory;
+import seedu.addressbook.logic.CommandStats;
+import seedu.addressbook.logic.CommandStats.Phase;
+import seedu.addressbook.storage.Storage;
+import seedu.addressbook.storage.Storage.StorageOperationException;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hosts one address book for many clients, which send it text commands over local socket connections.
+ *
+ * Each connection is served by its own thread and has its own {@link ClientSession}, including the list of
+ * persons last shown to that client. Commands that only read the address book are executed on the connection
+ * threads, concurrently with each other. Commands that change it are queued for a single writer thread, which
+ * applies them one at a time in arrival order. The writer saves once for all the changes that were queued
+ * together, before any of their clients is answered.
+ */
+public class AddressBookServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 2103;
+
+    /**
+     * A command waiting in the queue of the writer thread.
+     */
+    private static class PendingMutation {
+        final Command command;
+        final ClientSession session;
+        final CompletableFuture<String> response = new CompletableFuture<>();
+        String executedResponse;
+
+        PendingMutation(Command command, ClientSession session) {
+            this.command = command;
+            this.session = session;
+        }
+    }
+
+    private final Storage storage;
+    private final AddressBook addressBook;
+
+    /** The changes made by all clients, for undo and redo. Only used by the writer thread. */
+    private final CommandHistory history = new CommandHistory();
+
+    /** The latencies of the commands of all clients. Guarded by its own monitor, as reads run concurrently. */
+    private final CommandStats stats = new CommandStats();
+
+    /** Keeps the address book from changing while commands read it. */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BlockingQueue<PendingMutation> mutations = new LinkedBlockingQueue<>();
+
+    private final ServerSocket serverSocket;
+    private final Set<Socket> openConnections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ExecutorService connectionThreads;
+    private final Thread acceptor;
+    private final Thread writer;
+
+    /**
+     * Binds the server to the given port on the loopback interface. The server does not accept connections
+     * until it is {@link #start() started}.
+     *
+     * @param port the port to listen on, or 0 for any free port
+     */
+    public AddressBookServer(Storage storage, AddressBook addressBook, int port) throws IOException {
+        this.storage = storage;
+        this.addressBook = addressBook;
+        serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        connectionThreads = Executors.newCachedThreadPool(runnable -> {
+            final Thread connectionThread = new Thread(runnable, "client-" + connectionCount.incrementAndGet());
+            connectionThread.setDaemon(true);
+            return connectionThread;
+        });
+        acceptor = new Thread(this::acceptConnections, "server-acceptor");
+        writer = new Thread(this::applyMutations, "server-writer");
+    }
+
+    /**
+     * Starts accepting connections and executing their commands.
+     */
+    public void start() {
+        writer.start();
+        acceptor.start();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptConnections() {
+        try {
+            while (true) {
+                final Socket connection = serverSocket.accept();
+                connection.setTcpNoDelay(true);
+                openConnections.add(connection);
+                connectionThreads.execute(() -> {
+                    try {
+                        new ClientSession(this, connection).run();
+                    } finally {
+                        openConnections.remove(connection);
+                    }
+                });
+            }
+        } catch (IOException ioe) {
+            // the server socket was closed
+        }
+    }
+
+    /**
+     * Executes a command for the given client and returns the response to send it.
+     * Blocks until the command has been executed and, if it changed the address book, saved.
+     *
+     * @throws StorageOperationException if the change made by the command could not be saved
+     */
+    String execute(Command command, ClientSession session) throws StorageOperationException, InterruptedException {
+        if (!command.isMutating()) {
+            return applyRead(command, session);
+        }
+
+        final PendingMutation mutation = new PendingMutation(command, session);
+        mutations.put(mutation);
+        try {
+            return mutation.response.get();
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof StorageOperationException) {
+                throw (StorageOperationException) ee.getCause();
+            }
+            if (ee.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ee.getCause();
+            }
+            throw new IllegalStateException(ee.getCause());
+        }
+    }
+
+    private String applyRead(Command command, ClientSession session) {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return apply(command, session);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Executes the command for the client and returns the response, recording how long it took in
+     * {@link #stats}. Must be called while holding the read or the write lock.
+     */
+    private String apply(Command command, ClientSession session) {
+        final long start = System.nanoTime();
+        command.setData(addressBook, session.getLastShownList());
+        final CommandResult result;
+        if (command instanceof StatsCommand) {
+            synchronized (stats) {
+                ((StatsCommand) command).setStats(stats);
+                result = command.execute();
+            }
+        } else {
+            result = command.execute();
+        }
+        final long executed = System.nanoTime();
+        final String response = session.respondTo(result);
+        synchronized (stats) {
+            stats.record(command, Phase.EXECUTE, executed - start);
+            stats.record(command, Phase.RECORD_RESULT, System.nanoTime() - executed);
+        }
+        return response;
+    }
+
+    /**
+     * Runs on the writer thread: applies the queued commands in order, and saves after each group of commands
+     * that were queued while the previous group was being applied and saved.
+     */
+    private void applyMutations() {
+        final List<PendingMutation> group = new ArrayList<>();
+        try {
+            while (true) {
+                group.add(mutations.take());
+                mutations.drainTo(group);
+                for (PendingMutation mutation : group) {
+                    applyMutation(mutation);
+                }
+                saveAndRespond(group);
+                group.clear();
+            }
+        } catch (InterruptedException ie) {
+            // the server was closed
+        }
+        group.addAll(mutations);
+        for (PendingMutation mutation : group) {
+            mutation.response.completeExceptionally(new IllegalStateException("server closed"));
+        }
+    }
+
+    private void applyMutation(PendingMutation mutation) {
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            if (mutation.command instanceof HistoryCommand) {
+                ((HistoryCommand) mutation.command).setHistory(history);
+            }
+            mutation.executedResponse = apply(mutation.command, mutation.session);
+            mutation.command.getChange().ifPresent(history::record);
+        } catch (RuntimeException re) {
+            mutation.response.completeExceptionally(re);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Saves the address book once for the given group of applied commands, then answers their clients.
+     */
+    private void saveAndRespond(List<PendingMutation> group) {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            final long start = System.nanoTime();
+            storage.save(addressBook);
+            final long persistNanos = System.nanoTime() - start;
+            synchronized (stats) {
+                stats.recordSave(storage.getLastSavedBytes());
+                for (PendingMutation mutation : group) {
+                    stats.record(mutation.command, Phase.PERSIST, persistNanos);
+                }
+            }
+            for (PendingMutation mutation : group) {
+                mutation.response.complete(mutation.executedResponse);
+            }
+        } catch (StorageOperationException | RuntimeException e) {
+            for (PendingMutation mutation : group) {
+                mutation.response.completeExceptionally(e);
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting connections, closes the open ones, stops the writer thread
+     * after it has finished applying and saving the current group of commands, and closes the storage.
+     * Waits for the threads to stop even if the calling thread is interrupted, and then interrupts it again.
+     */
+    @Override
+    public void close() throws IOException, StorageOperationException {
+        serverSocket.close();
+        boolean isInterrupted = joinUninterruptibly(acceptor);
+        for (Socket connection : openConnections) {
+            connection.close();
+        }
+        connectionThreads.shutdown();
+        writer.interrupt();
+        isInterrupted |= joinUninterruptibly(writer);
+        storage.close();
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for the thread to stop, and returns true if the calling thread was interrupted while waiting.
+     */
+    private static boolean joinUninterruptibly(Thread thread) {
+        boolean isInterrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                return isInterrupted;
+            } catch (InterruptedException ie) {
+                isInterrupted = true;
+            }
+        }
+    }
+}
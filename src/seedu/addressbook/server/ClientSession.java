@@ -0,0 +1,96 @@
+package seedu.addressbook.server;
+
+import seedu.addressbook.commands.Command;
+import seedu.addressbook.commands.CommandResult;
+import seedu.addressbook.commands.ExitCommand;
+import seedu.addressbook.commands.SourceCommand;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.parser.Parser;
+import seedu.addressbook.storage.Storage.StorageOperationException;
+import seedu.addressbook.ui.Formatter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The state of one client connected to an {@link AddressBookServer}, and the loop that serves its commands.
+ */
+class ClientSession implements Runnable {
+
+    public static final String MESSAGE_NOT_AVAILABLE = "The %1$s command is not available over a server connection";
+    public static final String MESSAGE_COMMAND_FAILED = "The command failed: %1$s";
+
+    private final AddressBookServer server;
+    private final Socket connection;
+    private final Parser parser = new Parser();
+
+    /** The list of persons shown to this client most recently. */
+    private List<? extends ReadOnlyPerson> lastShownList = Collections.emptyList();
+
+    ClientSession(AddressBookServer server, Socket connection) {
+        this.server = server;
+        this.connection = connection;
+    }
+
+    /**
+     * Reads and answers commands until the client exits or disconnects.
+     */
+    @Override
+    public void run() {
+        try (Socket socket = connection;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), Protocol.CHARSET));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), Protocol.CHARSET))) {
+            for (String commandText = in.readLine(); commandText != null; commandText = in.readLine()) {
+                final Command command = parser.parseCommand(commandText);
+                Protocol.writeResponse(out, execute(command));
+                if (command instanceof ExitCommand) {
+                    return;
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            // the client disconnected or the server was closed
+        }
+    }
+
+    /**
+     * Executes the command and returns the response for the client. A command that fails unexpectedly is
+     * answered with {@link #MESSAGE_COMMAND_FAILED}, so that the client can keep using the connection.
+     */
+    private String execute(Command command) throws InterruptedException {
+        if (command instanceof SourceCommand) {
+            return String.format(MESSAGE_NOT_AVAILABLE, SourceCommand.COMMAND_WORD);
+        }
+        try {
+            return server.execute(command, this);
+        } catch (StorageOperationException soe) {
+            return soe.getMessage();
+        } catch (RuntimeException re) {
+            return String.format(MESSAGE_COMMAND_FAILED, re);
+        }
+    }
+
+    List<? extends ReadOnlyPerson> getLastShownList() {
+        return lastShownList;
+    }
+
+    /**
+     * Updates the session with the result of a command, and returns the text of the response for the client.
+     * Must be called while the persons in the result cannot be changed by other threads.
+     */
+    String respondTo(CommandResult result) {
+        final Optional<List<? extends ReadOnlyPerson>> resultPersons = result.getRelevantPersons();
+        if (!resultPersons.isPresent()) {
+            return result.feedbackToUser;
+        }
+        lastShownList = resultPersons.get();
+        return new Formatter().format(resultPersons.get()) + result.feedbackToUser;
+    }
+}
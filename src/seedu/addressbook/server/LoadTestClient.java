@@ -0,0 +1,244 @@
+package seedu.addressbook.server;
+
+import seedu.addressbook.commands.AddCommand;
+import seedu.addressbook.commands.DeleteCommand;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures the throughput and latency of an {@link AddressBookServer} under a mix of concurrent reads and writes.
+ *
+ * Every simulated client has its own connection and sends its next command as soon as the previous one is
+ * answered. A write either adds a person that only this client uses, or deletes the person it added before
+ * (after finding it, which counts as a read). Other reads run a configurable read command.
+ *
+ * Usage: {@code LoadTestClient [--host HOST] [--port PORT] [--clients N] [--seconds S] [--warmup-seconds S]
+ * [--write-percent P] [--read-command COMMAND]}
+ */
+public class LoadTestClient {
+
+    private static final String DEFAULT_HOST = "localhost";
+    private static final int DEFAULT_CLIENTS = 8;
+    private static final int DEFAULT_SECONDS = 10;
+    private static final int DEFAULT_WARMUP_SECONDS = 2;
+    private static final int DEFAULT_WRITE_PERCENT = 10;
+    private static final String DEFAULT_READ_COMMAND = "find Load";
+
+    private static final double[] REPORTED_PERCENTILES = { 50, 90, 99, 99.9 };
+    private static final long NANOS_PER_MICRO = 1000;
+    private static final long NANOS_PER_SECOND = 1000000000;
+
+    private String host = DEFAULT_HOST;
+    private int port = AddressBookServer.DEFAULT_PORT;
+    private int clients = DEFAULT_CLIENTS;
+    private int seconds = DEFAULT_SECONDS;
+    private int warmupSeconds = DEFAULT_WARMUP_SECONDS;
+    private int writePercent = DEFAULT_WRITE_PERCENT;
+    private String readCommand = DEFAULT_READ_COMMAND;
+
+    public static void main(String[] args) throws Exception {
+        final LoadTestClient loadTest = new LoadTestClient();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            loadTest.setOption(args[i], args[i + 1]);
+        }
+        if (args.length % 2 != 0) {
+            throw new IllegalArgumentException("missing value for option " + args[args.length - 1]);
+        }
+        System.out.print(loadTest.run());
+    }
+
+    private void setOption(String name, String value) {
+        switch (name) {
+            case "--host":
+                host = value;
+                break;
+            case "--port":
+                port = Integer.parseInt(value);
+                break;
+            case "--clients":
+                clients = Integer.parseInt(value);
+                break;
+            case "--seconds":
+                seconds = Integer.parseInt(value);
+                break;
+            case "--warmup-seconds":
+                warmupSeconds = Integer.parseInt(value);
+                break;
+            case "--write-percent":
+                writePercent = Integer.parseInt(value);
+                break;
+            case "--read-command":
+                readCommand = value;
+                break;
+            default:
+                throw new IllegalArgumentException("unknown option " + name);
+        }
+    }
+
+    /**
+     * Runs all the clients to the end of the measurement and returns the report.
+     */
+    private String run() throws Exception {
+        final long measureStart = System.nanoTime() + warmupSeconds * NANOS_PER_SECOND;
+        final long measureEnd = measureStart + seconds * NANOS_PER_SECOND;
+
+        final ExecutorService clientThreads = Executors.newFixedThreadPool(clients);
+        final List<Future<ClientResults>> runs = new ArrayList<>();
+        for (int client = 0; client < clients; client++) {
+            runs.add(clientThreads.submit(new SimulatedClient(client, measureStart, measureEnd)));
+        }
+        final ClientResults total = new ClientResults();
+        for (Future<ClientResults> run : runs) {
+            total.addAll(run.get());
+        }
+        clientThreads.shutdown();
+
+        final StringBuilder report = new StringBuilder();
+        report.append(String.format("%d clients, %d%% writes, %d s measured after %d s warm-up%n",
+                clients, writePercent, seconds, warmupSeconds));
+        report.append(summarise("reads", total.reads));
+        report.append(summarise("writes", total.writes));
+        final LatencySamples all = new LatencySamples();
+        all.addAll(total.reads);
+        all.addAll(total.writes);
+        report.append(summarise("all", all));
+        report.append(String.format("unexpected responses: %d%n", total.unexpectedResponses));
+        return report.toString();
+    }
+
+    private String summarise(String label, LatencySamples samples) {
+        final StringBuilder summary = new StringBuilder(String.format("%-6s %9d ops %10.1f ops/s",
+                label, samples.size(), (double) samples.size() / seconds));
+        if (samples.size() > 0) {
+            samples.sort();
+            for (double percentile : REPORTED_PERCENTILES) {
+                summary.append(String.format("  p%s=%dus", formatPercentile(percentile),
+                        samples.getPercentile(percentile) / NANOS_PER_MICRO));
+            }
+            summary.append(String.format("  max=%dus", samples.getPercentile(100) / NANOS_PER_MICRO));
+        }
+        return summary.append(String.format("%n")).toString();
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    /**
+     * One client connection sending commands in a loop until the end of the measurement.
+     */
+    private class SimulatedClient implements Callable<ClientResults> {
+        private final int clientNumber;
+        private final long measureStart;
+        private final long measureEnd;
+        private final Random random;
+        private final ClientResults results = new ClientResults();
+        private int addedCount = 0;
+
+        /** The unique word in the name of the person this client added last and has not deleted yet. */
+        private String pendingPerson = null;
+
+        SimulatedClient(int clientNumber, long measureStart, long measureEnd) {
+            this.clientNumber = clientNumber;
+            this.measureStart = measureStart;
+            this.measureEnd = measureEnd;
+            this.random = new Random(clientNumber);
+        }
+
+        @Override
+        public ClientResults call() throws IOException {
+            try (final ServerConnection connection = new ServerConnection(host, port)) {
+                while (System.nanoTime() < measureEnd) {
+                    if (random.nextInt(100) >= writePercent) {
+                        execute(connection, readCommand, results.reads, "");
+                    } else if (pendingPerson == null) {
+                        pendingPerson = "C" + clientNumber + "N" + addedCount++;
+                        execute(connection, "add Load " + pendingPerson + " p/" + addedCount + " e/"
+                                + pendingPerson + "@load a/" + clientNumber + " Load Street",
+                                results.writes, String.format(AddCommand.MESSAGE_SUCCESS, ""));
+                    } else {
+                        execute(connection, "find " + pendingPerson, results.reads, "");
+                        execute(connection, "delete 1", results.writes,
+                                String.format(DeleteCommand.MESSAGE_DELETE_PERSON_SUCCESS, ""));
+                        pendingPerson = null;
+                    }
+                }
+            }
+            return results;
+        }
+
+        private void execute(ServerConnection connection, String commandText, LatencySamples samples,
+                             String expectedResponsePrefix) throws IOException {
+            final long start = System.nanoTime();
+            final String response = connection.execute(commandText);
+            final long end = System.nanoTime();
+            if (start >= measureStart && end <= measureEnd) {
+                samples.add(end - start);
+            }
+            if (!response.startsWith(expectedResponsePrefix)) {
+                results.unexpectedResponses++;
+            }
+        }
+    }
+
+    /**
+     * The latencies measured by one or more clients.
+     */
+    private static class ClientResults {
+        final LatencySamples reads = new LatencySamples();
+        final LatencySamples writes = new LatencySamples();
+        int unexpectedResponses = 0;
+
+        void addAll(ClientResults other) {
+            reads.addAll(other.reads);
+            writes.addAll(other.writes);
+            unexpectedResponses += other.unexpectedResponses;
+        }
+    }
+
+    /**
+     * A growable array of latencies in nanoseconds, kept unboxed so that recording them does not disturb
+     * the measurement.
+     */
+    private static class LatencySamples {
+        private long[] samples = new long[1024];
+        private int size = 0;
+
+        void add(long latency) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = latency;
+        }
+
+        void addAll(LatencySamples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.samples[i]);
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        void sort() {
+            Arrays.sort(samples, 0, size);
+        }
+
+        /**
+         * Returns the given percentile of the sorted samples, by the nearest-rank method.
+         */
+        long getPercentile(double percentile) {
+            final int rank = (int) Math.ceil(percentile / 100 * size);
+            return samples[Math.max(0, rank - 1)];
+        }
+    }
+}
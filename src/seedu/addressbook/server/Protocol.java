@@ -0,0 +1,54 @@
+package seedu.addressbook.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The line based text protocol spoken between the address book server and its clients.
+ *
+ * A client sends one command per line. The server answers every command with the lines of its response,
+ * followed by a line holding only {@link #END_OF_RESPONSE}. A response line that starts with that marker is
+ * sent with the marker doubled, so that it cannot be mistaken for the end of the response.
+ */
+public class Protocol {
+
+    public static final Charset CHARSET = StandardCharsets.UTF_8;
+    public static final String END_OF_RESPONSE = ".";
+
+    private static final String LINE_END = "\n";
+
+    /**
+     * Writes the response to one command and flushes it.
+     */
+    public static void writeResponse(Writer out, String response) throws IOException {
+        for (String line : response.split("\r?\n", -1)) {
+            if (line.startsWith(END_OF_RESPONSE)) {
+                out.write(END_OF_RESPONSE);
+            }
+            out.write(line);
+            out.write(LINE_END);
+        }
+        out.write(END_OF_RESPONSE);
+        out.write(LINE_END);
+        out.flush();
+    }
+
+    /**
+     * Reads the response to one command, with its lines separated by '\n'.
+     *
+     * @return the response, or null if the connection was closed before a complete response was read
+     */
+    public static String readResponse(BufferedReader in) throws IOException {
+        final StringBuilder response = new StringBuilder();
+        for (String line = in.readLine(); line != null; line = in.readLine()) {
+            if (line.equals(END_OF_RESPONSE)) {
+                return response.length() == 0 ? "" : response.substring(0, response.length() - 1);
+            }
+            response.append(line.startsWith(END_OF_RESPONSE) ? line.substring(1) : line).append(LINE_END);
+        }
+        return null;
+    }
+}
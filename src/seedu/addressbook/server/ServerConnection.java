@@ -0,0 +1,52 @@
+package seedu.addressbook.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+
+/**
+ * A client's connection to an {@link AddressBookServer}.
+ */
+public class ServerConnection implements AutoCloseable {
+
+    private final Socket socket;
+    private final BufferedReader in;
+    private final Writer out;
+
+    public ServerConnection(String host, int port) throws IOException {
+        socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        in = new BufferedReader(new InputStreamReader(socket.getInputStream(), Protocol.CHARSET));
+        out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), Protocol.CHARSET));
+    }
+
+    /**
+     * Sends a command to the server and waits for its response.
+     *
+     * @param commandText a single line of command text
+     * @throws EOFException if the server closed the connection instead of responding
+     */
+    public String execute(String commandText) throws IOException {
+        if (commandText.indexOf('\n') != -1 || commandText.indexOf('\r') != -1) {
+            throw new IllegalArgumentException("command text must be a single line");
+        }
+        out.write(commandText);
+        out.write('\n');
+        out.flush();
+        final String response = Protocol.readResponse(in);
+        if (response == null) {
+            throw new EOFException("connection closed by server");
+        }
+        return response;
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
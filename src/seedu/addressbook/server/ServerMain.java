@@ -0,0 +1,36 @@
+package seedu.addressbook.server;
+
+import seedu.addressbook.diagnostics.Diagnostics;
+import seedu.addressbook.storage.StorageFile;
+
+/**
+ * Entry point for running the address book as a server shared by several clients on this machine.
+ *
+ * Usage: {@code ServerMain [PORT [STORAGE_FILE]]}
+ */
+public class ServerMain {
+
+    public static final String MESSAGE_LISTENING = "Serving %1$s on port %2$d";
+    public static final String MESSAGE_USAGE = "Usage: ServerMain [PORT [STORAGE_FILE]]";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 2) {
+            System.err.println(MESSAGE_USAGE);
+            System.exit(1);
+        }
+        final int port = args.length > 0 ? Integer.parseInt(args[0]) : AddressBookServer.DEFAULT_PORT;
+        final StorageFile storage = args.length > 1 ? new StorageFile(args[1]) : new StorageFile();
+        Diagnostics.startContinuousRecordingIfRequested();
+
+        final AddressBookServer server = new AddressBookServer(storage, storage.load(), port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (Exception e) {
+                // exiting anyway
+            }
+        }));
+        server.start();
+        System.out.println(String.format(MESSAGE_LISTENING, storage.getPath(), server.getPort()));
+    }
+}
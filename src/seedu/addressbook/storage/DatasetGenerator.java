@@ -0,0 +1,381 @@
+package seedu.addressbook.storage;
+
+import seedu.addressbook.commands.AddCommand;
+import seedu.addressbook.commands.SourceCommand;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generates synthetic address books of realistic-looking persons, as a storage file or as a script of add
+ * commands for the {@link SourceCommand source} command.
+ *
+ * Given and family names, email domains, streets and tags are drawn from Zipf distributions, so that a few are
+ * common and most are rare, as in real address books. Persons have zero to four tags, a mix of private
+ * details, and addresses from a short street address to a full one with a unit number and postal code.
+ * Phone numbers are unique, so the generated persons are too.
+ *
+ * The same options always generate the same output. Persons are written as they are generated, so memory use
+ * does not grow with the number of persons; only the tag names are kept.
+ *
+ * Usage: {@code DatasetGenerator --persons N [--tags T] [--seed S] [--format xml|commands] [--output FILE]},
+ * writing to standard output if no file is given.
+ */
+public class DatasetGenerator {
+
+    private static final int DEFAULT_TAGS = 100;
+    private static final long DEFAULT_SEED = 42;
+
+    /** Phone numbers are the 8-digit numbers starting with 8 or 9. */
+    private static final long FIRST_PHONE = 80000000;
+    private static final long PHONE_NUMBERS = 20000000;
+    /** Coprime with {@link #PHONE_NUMBERS}, so that multiplying by it modulo the count permutes the numbers. */
+    private static final long PHONE_STRIDE = 7654321;
+
+    public static final int MAX_PERSONS = (int) PHONE_NUMBERS;
+
+    private static final String[] GIVEN_NAMES = {
+        "Wei", "Jun", "Hui", "Ming", "John", "Mary", "Sarah", "David", "Michael", "Siti", "Nur", "Muhammad",
+        "Ahmad", "Priya", "Rajesh", "Kumar", "Aisha", "Daniel", "Grace", "Rachel", "Jia", "Xin", "Li", "Ravi",
+        "Anita", "James", "Emily", "Farah", "Hafiz", "Kavitha", "Benjamin", "Chloe", "Ethan", "Isabelle"
+    };
+    private static final String[] FAMILY_NAMES = {
+        "Tan", "Lim", "Lee", "Ng", "Ong", "Wong", "Goh", "Chua", "Chan", "Koh", "Teo", "Ang", "Yeo", "Tay",
+        "Ho", "Low", "Toh", "Sim", "Chong", "Chia", "Abdullah", "Rahman", "Ismail", "Singh", "Kaur", "Pillai",
+        "Nair", "Smith", "Brown", "Fernandez", "Gomez", "Kim", "Nguyen", "Sato"
+    };
+    private static final String[] EMAIL_DOMAINS = {
+        "gmail.com", "yahoo.com", "hotmail.com", "outlook.com", "u.nus.edu", "icloud.com", "example.com",
+        "singnet.com.sg", "live.com", "protonmail.com"
+    };
+    private static final String[] STREETS = {
+        "Clementi Ave 2", "Ang Mo Kio Ave 3", "Jurong West St 42", "Tampines St 11", "Bedok North Rd",
+        "Yishun Ring Rd", "Woodlands Dr 14", "Toa Payoh Lor 1", "Orchard Rd", "Holland Village Way",
+        "Serangoon Ave 2", "Pasir Ris Dr 6", "Bukit Timah Rd", "Hougang Ave 8", "Punggol Field", "Sengkang East Way"
+    };
+    private static final String[] TAG_WORDS = {
+        "friends", "colleagues", "family", "neighbours", "classmates", "gym", "church", "book", "club",
+        "school", "work", "project", "volunteers", "alumni", "clients", "suppliers", "doctors", "tennis"
+    };
+
+    /** The probability of a person having 0, 1, 2, 3 or 4 tags. */
+    private static final double[] TAG_COUNT_PROBABILITIES = { 0.30, 0.35, 0.20, 0.10, 0.05 };
+
+    private static final double PHONE_PRIVATE_PROBABILITY = 0.3;
+    private static final double EMAIL_PRIVATE_PROBABILITY = 0.2;
+    private static final double ADDRESS_PRIVATE_PROBABILITY = 0.5;
+    private static final double MIDDLE_NAME_PROBABILITY = 0.25;
+
+    private static final String INDENT = "    ";
+
+    private int personCount = -1;
+    private int tagCount = DEFAULT_TAGS;
+    private long seed = DEFAULT_SEED;
+    private String format = "xml";
+    private String outputPath = null;
+
+    /**
+     * A generated person, as the text of its details.
+     */
+    private static class GeneratedPerson {
+        String name;
+        String phone;
+        boolean isPhonePrivate;
+        String email;
+        boolean isEmailPrivate;
+        String address;
+        boolean isAddressPrivate;
+        final List<String> tags = new ArrayList<>();
+    }
+
+    /**
+     * Samples ranks from 0 to {@code n - 1}, with the probability of rank {@code k} proportional to
+     * {@code 1 / (k + 1)}.
+     */
+    private static class ZipfDistribution {
+        private final double[] cumulative;
+
+        ZipfDistribution(int n) {
+            cumulative = new double[n];
+            double total = 0;
+            for (int k = 0; k < n; k++) {
+                total += 1.0 / (k + 1);
+                cumulative[k] = total;
+            }
+            for (int k = 0; k < n; k++) {
+                cumulative[k] /= total;
+            }
+        }
+
+        int sample(Random random) {
+            final double target = random.nextDouble();
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (cumulative[middle] < target) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        final DatasetGenerator generator = new DatasetGenerator();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            generator.setOption(args[i], args[i + 1]);
+        }
+        if (args.length % 2 != 0) {
+            throw new IllegalArgumentException("missing value for option " + args[args.length - 1]);
+        }
+        if (generator.personCount < 0) {
+            throw new IllegalArgumentException("the number of persons must be given with --persons");
+        }
+        try (OutputStream out = generator.outputPath == null
+                ? new BufferedOutputStream(System.out)
+                : new BufferedOutputStream(new FileOutputStream(generator.outputPath))) {
+            generator.write(out);
+        }
+    }
+
+    private DatasetGenerator() {}
+
+    /**
+     * Constructs a generator of the given number of persons with up to the given number of distinct tags.
+     *
+     * @throws IllegalArgumentException if there are more persons than unique phone numbers, or no tags
+     */
+    public DatasetGenerator(int personCount, int tagCount, long seed) {
+        this.personCount = personCount;
+        this.tagCount = tagCount;
+        this.seed = seed;
+        checkCounts();
+    }
+
+    private void setOption(String name, String value) {
+        switch (name) {
+            case "--persons":
+                personCount = Integer.parseInt(value);
+                break;
+            case "--tags":
+                tagCount = Integer.parseInt(value);
+                break;
+            case "--seed":
+                seed = Long.parseLong(value);
+                break;
+            case "--format":
+                if (!value.equals("xml") && !value.equals("commands")) {
+                    throw new IllegalArgumentException("format must be xml or commands");
+                }
+                format = value;
+                break;
+            case "--output":
+                outputPath = value;
+                break;
+            default:
+                throw new IllegalArgumentException("unknown option " + name);
+        }
+        checkCounts();
+    }
+
+    private void checkCounts() {
+        if (personCount > MAX_PERSONS) {
+            throw new IllegalArgumentException("at most " + MAX_PERSONS + " persons can have unique phones");
+        }
+        if (tagCount < 1) {
+            throw new IllegalArgumentException("there must be at least one tag");
+        }
+    }
+
+    private void write(OutputStream out) throws IOException, XMLStreamException {
+        if (format.equals("xml")) {
+            writeStorageFile(out);
+        } else {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writeAddCommands(writer);
+            writer.flush();
+        }
+    }
+
+    /**
+     * Writes the persons as a storage file that {@link StorageFile#load()} accepts, with persons numbered
+     * from 1 and all tags in the tag list, whether any person has them or not.
+     */
+    public void writeStorageFile(OutputStream out) throws XMLStreamException {
+        final XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+        final String[] tagNames = generateTagNames();
+        final Generation generation = new Generation(tagNames);
+
+        xml.writeStartDocument("UTF-8", "1.0");
+        xml.writeCharacters("\n");
+        xml.writeStartElement("AddressBook");
+        xml.writeAttribute("nextPersonId", Long.toString(personCount + 1L));
+        for (int index = 0; index < personCount; index++) {
+            final GeneratedPerson person = generation.next(index);
+            xml.writeCharacters("\n" + INDENT);
+            xml.writeStartElement("persons");
+            xml.writeAttribute("id", Long.toString(index + 1L));
+            writeElement(xml, "name", person.name);
+            writeContactDetail(xml, "phone", person.phone, person.isPhonePrivate);
+            writeContactDetail(xml, "email", person.email, person.isEmailPrivate);
+            writeContactDetail(xml, "address", person.address, person.isAddressPrivate);
+            for (String tag : person.tags) {
+                writeElement(xml, "tagged", tag);
+            }
+            xml.writeEndElement();
+        }
+        for (String tag : tagNames) {
+            xml.writeCharacters("\n" + INDENT);
+            writeElement(xml, "tags", tag);
+        }
+        xml.writeCharacters("\n");
+        xml.writeEndElement();
+        xml.writeEndDocument();
+        xml.writeCharacters("\n");
+        xml.flush();
+    }
+
+    private static void writeElement(XMLStreamWriter xml, String name, String value) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(value);
+        xml.writeEndElement();
+    }
+
+    private static void writeContactDetail(XMLStreamWriter xml, String name, String value, boolean isPrivate)
+            throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeAttribute("isPrivate", Boolean.toString(isPrivate));
+        xml.writeCharacters(value);
+        xml.writeEndElement();
+    }
+
+    /**
+     * Writes the persons as a script of add commands, one per line, after a comment recording the options.
+     */
+    public void writeAddCommands(Writer out) throws IOException {
+        final Generation generation = new Generation(generateTagNames());
+        out.write(String.format("# %d persons, %d tags, seed %d%n", personCount, tagCount, seed));
+        final StringBuilder line = new StringBuilder();
+        for (int index = 0; index < personCount; index++) {
+            final GeneratedPerson person = generation.next(index);
+            line.setLength(0);
+            line.append(AddCommand.COMMAND_WORD).append(' ').append(person.name)
+                    .append(person.isPhonePrivate ? " pp/" : " p/").append(person.phone)
+                    .append(person.isEmailPrivate ? " pe/" : " e/").append(person.email)
+                    .append(person.isAddressPrivate ? " pa/" : " a/").append(person.address);
+            for (String tag : person.tags) {
+                line.append(" t/").append(tag);
+            }
+            out.write(line.append(System.lineSeparator()).toString());
+        }
+    }
+
+    /**
+     * Names the tags: common words first, then the same words numbered.
+     */
+    private String[] generateTagNames() {
+        final String[] names = new String[tagCount];
+        for (int k = 0; k < tagCount; k++) {
+            final int round = k / TAG_WORDS.length;
+            names[k] = TAG_WORDS[k % TAG_WORDS.length] + (round == 0 ? "" : Integer.toString(round + 1));
+        }
+        return names;
+    }
+
+    /**
+     * One pass of generating the persons in order, which starts from the seed each time.
+     */
+    private class Generation {
+        private final Random random = new Random(seed);
+        private final long phoneOffset = Math.floorMod(seed, PHONE_NUMBERS);
+        private final String[] tagNames;
+        private final ZipfDistribution givenNames = new ZipfDistribution(GIVEN_NAMES.length);
+        private final ZipfDistribution familyNames = new ZipfDistribution(FAMILY_NAMES.length);
+        private final ZipfDistribution emailDomains = new ZipfDistribution(EMAIL_DOMAINS.length);
+        private final ZipfDistribution streets = new ZipfDistribution(STREETS.length);
+        private final ZipfDistribution tags;
+        private final GeneratedPerson person = new GeneratedPerson();
+
+        Generation(String[] tagNames) {
+            this.tagNames = tagNames;
+            this.tags = new ZipfDistribution(tagNames.length);
+        }
+
+        /**
+         * Generates the person at the given index, reusing the object returned for the previous person.
+         */
+        GeneratedPerson next(int index) {
+            final String given = GIVEN_NAMES[givenNames.sample(random)];
+            final String family = FAMILY_NAMES[familyNames.sample(random)];
+            person.name = random.nextDouble() < MIDDLE_NAME_PROBABILITY
+                    ? given + " " + GIVEN_NAMES[givenNames.sample(random)] + " " + family
+                    : given + " " + family;
+
+            person.phone = Long.toString(FIRST_PHONE + (index * PHONE_STRIDE + phoneOffset) % PHONE_NUMBERS);
+            person.isPhonePrivate = random.nextDouble() < PHONE_PRIVATE_PROBABILITY;
+
+            person.email = (given + "." + family).toLowerCase(Locale.ROOT) + index
+                    + "@" + EMAIL_DOMAINS[emailDomains.sample(random)];
+            person.isEmailPrivate = random.nextDouble() < EMAIL_PRIVATE_PROBABILITY;
+
+            person.address = generateAddress();
+            person.isAddressPrivate = random.nextDouble() < ADDRESS_PRIVATE_PROBABILITY;
+
+            person.tags.clear();
+            final int wantedTags = Math.min(sampleTagCount(), tagNames.length);
+            while (person.tags.size() < wantedTags) {
+                final String tag = tagNames[tags.sample(random)];
+                if (!person.tags.contains(tag)) {
+                    person.tags.add(tag);
+                }
+            }
+            return person;
+        }
+
+        /**
+         * Generates an address from a bare street address up to one with a unit and a postal code.
+         */
+        private String generateAddress() {
+            final StringBuilder address = new StringBuilder();
+            if (random.nextBoolean()) {
+                address.append("Blk ");
+            }
+            address.append(1 + random.nextInt(999)).append(' ').append(STREETS[streets.sample(random)]);
+            if (random.nextDouble() < 0.6) {
+                address.append(String.format(", #%02d-%02d", 1 + random.nextInt(30), 1 + random.nextInt(150)));
+            }
+            if (random.nextDouble() < 0.4) {
+                address.append(String.format(", Singapore %06d", random.nextInt(1000000)));
+            }
+            return address.toString();
+        }
+
+        private int sampleTagCount() {
+            final double target = random.nextDouble();
+            double cumulative = 0;
+            for (int count = 0; count < TAG_COUNT_PROBABILITIES.length; count++) {
+                cumulative += TAG_COUNT_PROBABILITIES[count];
+                if (target < cumulative) {
+                    return count;
+                }
+            }
+            return TAG_COUNT_PROBABILITIES.length - 1;
+        }
+    }
+}
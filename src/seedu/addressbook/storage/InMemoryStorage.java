@@ -0,0 +1,71 @@
+package seedu.addressbook.storage;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ReadOnlyAddressBook;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.person.UniquePersonList;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the address book in memory only, e.g. for tests and benchmarks that should not depend on the disk.
+ *
+ * Each save keeps a copy of the address book with copies of its persons, so that changes made after a save
+ * do not change what is loaded, as with a file.
+ */
+public class InMemoryStorage implements Storage {
+
+    public static final String PATH = "(in memory)";
+
+    /** The copy of the address book last saved, or null if none has been saved. */
+    private AddressBook saved = null;
+
+    @Override
+    public AddressBook load() {
+        return saved == null ? new AddressBook() : copy(saved);
+    }
+
+    @Override
+    public void save(ReadOnlyAddressBook addressBook) {
+        saved = copy(addressBook.snapshot());
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void close() {}
+
+    @Override
+    public String getPath() {
+        return PATH;
+    }
+
+    @Override
+    public long getLastSavedBytes() {
+        return 0;
+    }
+
+    /**
+     * Returns a copy of the address book that shares no mutable objects with it.
+     */
+    private static AddressBook copy(ReadOnlyAddressBook source) {
+        final List<Person> persons = new ArrayList<>();
+        for (ReadOnlyPerson person : source.getAllPersons().immutableListView()) {
+            persons.add(new Person(person));
+        }
+        try {
+            final AddressBook copy = new AddressBook(new UniquePersonList(persons), source.getAllTags(),
+                    source.getNextPersonId());
+            for (AddressBook.UniqueDetail detail : source.getUniqueDetails()) {
+                copy.addUniqueIndex(detail);
+            }
+            return copy;
+        } catch (DuplicatePersonException dpe) {
+            throw new AssertionError("the persons of an address book are unique", dpe);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package seedu.addressbook.storage;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ReadOnlyAddressBook;
+
+/**
+ * Keeps nothing: loads an empty address book and discards saves, e.g. for benchmarks that measure commands
+ * without the cost of saving.
+ */
+public class NoOpStorage implements Storage {
+
+    public static final String PATH = "(not saved)";
+
+    @Override
+    public AddressBook load() {
+        return new AddressBook();
+    }
+
+    @Override
+    public void save(ReadOnlyAddressBook addressBook) {}
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void close() {}
+
+    @Override
+    public String getPath() {
+        return PATH;
+    }
+
+    @Override
+    public long getLastSavedBytes() {
+        return 0;
+    }
+}
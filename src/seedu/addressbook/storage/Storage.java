@@ -0,0 +1,60 @@
+package seedu.addressbook.storage;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ReadOnlyAddressBook;
+
+/**
+ * Keeps the data of an address book between runs of the program.
+ */
+public interface Storage extends AutoCloseable {
+
+    /**
+     * Signals that some error has occured while trying to convert and read/write data between the application
+     * and the storage.
+     */
+    class StorageOperationException extends Exception {
+        public StorageOperationException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Loads the address book last saved, or an empty address book if none has been saved.
+     *
+     * @throws StorageOperationException if there were errors reading and/or converting the data.
+     */
+    AddressBook load() throws StorageOperationException;
+
+    /**
+     * Saves all data of the address book, replacing the data saved before.
+     *
+     * @throws StorageOperationException if there were errors converting and/or storing the data.
+     */
+    void save(ReadOnlyAddressBook addressBook) throws StorageOperationException;
+
+    /**
+     * Makes sure that all saves so far are kept even if the program or the machine stops right after.
+     *
+     * @throws StorageOperationException if the data could not be made durable.
+     */
+    void flush() throws StorageOperationException;
+
+    /**
+     * Flushes the saves so far and releases the resources of this storage, which is not used afterwards.
+     *
+     * @throws StorageOperationException if the data could not be made durable.
+     */
+    @Override
+    void close() throws StorageOperationException;
+
+    /**
+     * Returns where the data is kept, for display to the user.
+     */
+    String getPath();
+
+    /**
+     * Returns the number of bytes written by the last successful save, or 0 if there has been none or the
+     * storage does not write bytes.
+     */
+    long getLastSavedBytes();
+}
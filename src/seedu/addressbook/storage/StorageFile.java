@@ -1,7 +1,9 @@
 package seedu.addressbook.storage;
 
 import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ReadOnlyAddressBook;
 import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.diagnostics.Diagnostics;
 import seedu.addressbook.storage.jaxb.AdaptedAddressBook;
 
 import javax.xml.bind.JAXBContext;
@@ -9,13 +11,15 @@ import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import java.io.*;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Represents the file used to store address book data.
  */
-public class StorageFile {
+public class StorageFile implements Storage {
 
     /** Default file path used if the user doesn't provide the file name. */
     public static final String DEFAULT_STORAGE_FILEPATH = "addressbook.txt";
@@ -34,12 +38,25 @@ public class StorageFile {
     }
 
     /**
-     * Signals that some error has occured while trying to convert and read/write data between the application
-     * and the storage file.
+     * Counts the bytes written through it.
      */
-    public static class StorageOperationException extends Exception {
-        public StorageOperationException(String message) {
-            super(message);
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count = 0;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
         }
     }
 
@@ -47,6 +64,9 @@ public class StorageFile {
 
     public final Path path;
 
+    /** The size of the file written by the last successful save, or 0 if there has been none. */
+    private long lastSavedBytes = 0;
+
     /**
      * @throws InvalidStorageFilePathException if the default path is invalid
      */
@@ -83,15 +103,18 @@ public class StorageFile {
      *
      * @throws StorageOperationException if there were errors converting and/or storing data to file.
      */
-    public void save(AddressBook addressBook) throws StorageOperationException {
+    @Override
+    public void save(ReadOnlyAddressBook addressBook) throws StorageOperationException {
 
         /* Note: Note the 'try with resource' statement below.
          * More info: https://docs.oracle.com/javase/tutorial/essential/exceptions/tryResourceClose.html
          */
-        try (final Writer fileWriter =
-                     new BufferedWriter(new FileWriter(path.toFile()))) {
+        final Diagnostics.StorageSpan span = Diagnostics.beginSave();
+        final CountingOutputStream counter;
+        try (final Writer fileWriter = new BufferedWriter(new OutputStreamWriter(
+                     counter = new CountingOutputStream(new FileOutputStream(path.toFile()))))) {
 
-            final AdaptedAddressBook toSave = new AdaptedAddressBook(addressBook);
+            final AdaptedAddressBook toSave = new AdaptedAddressBook(addressBook.snapshot());
             final Marshaller marshaller = jaxbContext.createMarshaller();
             marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
             marshaller.marshal(toSave, fileWriter);
@@ -101,6 +124,16 @@ public class StorageFile {
         } catch (JAXBException jaxbe) {
             throw new StorageOperationException("Error converting address book into storage format");
         }
+        lastSavedBytes = counter.count;
+        span.finish(getPath(), lastSavedBytes, addressBook.getAllPersons().size());
+    }
+
+    /**
+     * Returns the number of bytes written to the file by the last successful save, or 0 if there has been none.
+     */
+    @Override
+    public long getLastSavedBytes() {
+        return lastSavedBytes;
     }
 
     /**
@@ -108,7 +141,9 @@ public class StorageFile {
      *
      * @throws StorageOperationException if there were errors reading and/or converting data from file.
      */
+    @Override
     public AddressBook load() throws StorageOperationException {
+        final Diagnostics.StorageSpan span = Diagnostics.beginLoad();
         try (final Reader fileReader =
                      new BufferedReader(new FileReader(path.toFile()))) {
 
@@ -118,7 +153,9 @@ public class StorageFile {
             if (loaded.isAnyRequiredFieldMissing()) {
                 throw new StorageOperationException("File data missing some elements");
             }
-            return loaded.toModelType();
+            final AddressBook addressBook = loaded.toModelType();
+            span.finish(getPath(), path.toFile().length(), addressBook.getAllPersons().size());
+            return addressBook;
 
         /* Note: Here, we are using an exception to create the file if it is missing. However, we should minimize
          * using exceptions to facilitate normal paths of execution. If we consider the missing file as a 'normal'
@@ -141,6 +178,32 @@ public class StorageFile {
         }
     }
 
+    /**
+     * Forces the file written by the last save to the disk, which a save alone leaves to the operating system.
+     *
+     * @throws StorageOperationException if the file could not be forced to the disk.
+     */
+    @Override
+    public void flush() throws StorageOperationException {
+        if (!path.toFile().exists()) {
+            return;
+        }
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            file.force(true);
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error flushing file: " + path + " error: " + ioe.getMessage());
+        }
+    }
+
+    /**
+     * Flushes the file. The file is not kept open between saves, so there is nothing else to release.
+     */
+    @Override
+    public void close() throws StorageOperationException {
+        flush();
+    }
+
+    @Override
     public String getPath() {
         return path.toString();
     }
@@ -1,6 +1,7 @@
 package seedu.addressbook.storage.jaxb;
 
 import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ReadOnlyAddressBook;
 import seedu.addressbook.data.exception.IllegalValueException;
 import seedu.addressbook.data.person.Person;
 import seedu.addressbook.data.person.ReadOnlyPerson;
@@ -8,6 +9,7 @@ import seedu.addressbook.data.person.UniquePersonList;
 import seedu.addressbook.data.tag.Tag;
 import seedu.addressbook.data.tag.UniqueTagList;
 
+import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import java.util.ArrayList;
@@ -19,10 +21,15 @@ import java.util.List;
 @XmlRootElement(name = "AddressBook")
 public class AdaptedAddressBook {
 
+    /** Absent in data saved before persons had IDs. */
+    @XmlAttribute
+    private Long nextPersonId;
     @XmlElement
     private List<AdaptedPerson> persons = new ArrayList<>();
     @XmlElement
     private List<AdaptedTag> tags = new ArrayList<>();
+    @XmlElement(name = "uniqueDetail")
+    private List<AddressBook.UniqueDetail> uniqueDetails = new ArrayList<>();
 
     /**
      * No-arg constructor for JAXB use.
@@ -34,9 +41,11 @@ public class AdaptedAddressBook {
      *
      * @param source future changes to this will not affect the created AdaptedAddressBook
      */
-    public AdaptedAddressBook(AddressBook source) {
+    public AdaptedAddressBook(ReadOnlyAddressBook source) {
         persons = new ArrayList<>();
         tags = new ArrayList<>();
+        uniqueDetails = new ArrayList<>(source.getUniqueDetails());
+        nextPersonId = source.getNextPersonId();
         for (ReadOnlyPerson person : source.getAllPersons()) {
             persons.add(new AdaptedPerson(person));
         }
@@ -71,7 +80,9 @@ public class AdaptedAddressBook {
 
     /**
      * Converts this jaxb-friendly {@code AdaptedAddressBook} object into the corresponding(@code AddressBook} object.
-     * @throws IllegalValueException if there were any data constraints violated in the adapted person
+     * Rebuilds the unique indexes of the saved address book from the loaded persons.
+     * @throws IllegalValueException if there were any data constraints violated in the adapted person,
+     *         or if two persons share the value of a contact detail that must be unique
      */
     public AddressBook toModelType() throws IllegalValueException {
         final List<Tag> tagList = new ArrayList<>();
@@ -82,6 +93,11 @@ public class AdaptedAddressBook {
         for (AdaptedPerson person : persons) {
             personList.add(person.toModelType());
         }
-        return new AddressBook(new UniquePersonList(personList), new UniqueTagList(tagList));
+        final AddressBook addressBook = new AddressBook(new UniquePersonList(personList),
+                new UniqueTagList(tagList), nextPersonId == null ? AddressBook.FIRST_PERSON_ID : nextPersonId);
+        for (AddressBook.UniqueDetail detail : uniqueDetails) {
+            addressBook.addUniqueIndex(detail);
+        }
+        return addressBook;
     }
 }
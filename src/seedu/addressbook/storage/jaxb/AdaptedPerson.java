@@ -24,6 +24,9 @@ public class AdaptedPerson {
         public boolean isPrivate;
     }
 
+    /** Absent in data saved before persons had IDs, in which case the person is given a new ID. */
+    @XmlAttribute
+    private Long id;
     @XmlElement(required = true)
     private String name;
     @XmlElement(required = true)
@@ -48,6 +51,7 @@ public class AdaptedPerson {
      * @param source future changes to this will not affect the created AdaptedPerson
      */
     public AdaptedPerson(ReadOnlyPerson source) {
+        id = source.getId() == Person.UNASSIGNED_ID ? null : source.getId();
         name = source.getName().fullName;
 
         phone = new AdaptedContactDetail();
@@ -102,6 +106,6 @@ public class AdaptedPerson {
         final Email email = new Email(this.email.value, this.email.isPrivate);
         final Address address = new Address(this.address.value, this.address.isPrivate);
         final UniqueTagList tags = new UniqueTagList(personTags);
-        return new Person(name, phone, email, address, tags);
+        return new Person(id == null ? Person.UNASSIGNED_ID : id, name, phone, email, address, tags);
     }
 }
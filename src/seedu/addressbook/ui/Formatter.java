@@ -2,7 +2,7 @@ package seedu.addressbook.ui;
 
 import seedu.addressbook.data.person.ReadOnlyPerson;
 
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -17,13 +17,12 @@ public class Formatter {
     private static final String LS = System.lineSeparator();
 
 
-    /** Format of indexed list item */
-    private static final String MESSAGE_INDEXED_LIST_ITEM = "\t%1$d. %2$s";
-
-
     /** Offset required to convert between 1-indexing and 0-indexing.  */
     private static final int DISPLAYED_INDEX_OFFSET = 1;
 
+    /** The usual length of a formatted person in a list, used to size the buffer a list is formatted into. */
+    private static final int ESTIMATED_LIST_ITEM_LENGTH = 100;
+
 
     /** Formats the given strings for displaying to the user. */
     public String format(String... messages) {
@@ -36,31 +35,54 @@ public class Formatter {
 
     /** Formats the given list of persons for displaying to the user. */
     public String format(List<? extends ReadOnlyPerson> persons) {
-        final List<String> formattedPersons = new ArrayList<>();
-        for (ReadOnlyPerson person : persons) {
-            formattedPersons.add(person.getAsTextHidePrivate());
+        final StringBuilder formatted = new StringBuilder(
+                LINE_PREFIX.length() + (persons.size() + 1) * ESTIMATED_LIST_ITEM_LENGTH);
+        try {
+            format(persons, formatted);
+        } catch (IOException ioe) {
+            throw new AssertionError("appending to a StringBuilder does not throw", ioe);
         }
-        return format(asIndexedList(formattedPersons));
+        return formatted.toString();
     }
 
-    /** Formats a list of strings as an indexed list. */
-    private static String asIndexedList(List<String> listItems) {
-        final StringBuilder formatted = new StringBuilder();
+    /**
+     * Appends the given list of persons formatted for displaying to the user, exactly as {@link #format(List)}
+     * returns them, without creating a string for each person. Each person is on its own line as
+     * {@code INDEX. #ID DETAILS}, showing the ID that commands can also identify the person by.
+     */
+    public void format(List<? extends ReadOnlyPerson> persons, Appendable out) throws IOException {
+        out.append(LINE_PREFIX);
         int displayIndex = 0 + DISPLAYED_INDEX_OFFSET;
-        for (String listItem : listItems) {
-            formatted.append(getIndexedListItem(displayIndex, listItem)).append("\n");
+        for (ReadOnlyPerson person : persons) {
+            out.append('\t');
+            appendNumber(out, displayIndex);
+            out.append(". #");
+            appendNumber(out, person.getId());
+            out.append(' ').append(person.getAsTextHidePrivate())
+                    .append(LS).append(LINE_PREFIX);
             displayIndex++;
         }
-        return formatted.toString();
+        out.append(LS);
     }
 
     /**
-     * Formats a string as an indexed list item.
-     *
-     * @param visibleIndex index for this listing
+     * Appends the decimal digits of the given number, without creating a string for it.
      */
-    private static String getIndexedListItem(int visibleIndex, String listItem) {
-        return String.format(MESSAGE_INDEXED_LIST_ITEM, visibleIndex, listItem);
+    private static void appendNumber(Appendable out, long number) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(number);
+            return;
+        }
+        if (number < 0) {
+            out.append('-');
+        }
+        long divisor = 1;
+        while (number / divisor >= 10 || number / divisor <= -10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + Math.abs(number / divisor % 10)));
+        }
     }
 
 }
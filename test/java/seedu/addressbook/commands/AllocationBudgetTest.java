@@ -0,0 +1,225 @@
+package seedu.addressbook.commands;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.logic.CommandHistory;
+import seedu.addressbook.logic.CommandStats;
+import seedu.addressbook.parser.Parser;
+import seedu.addressbook.storage.DatasetGenerator;
+import seedu.addressbook.storage.StorageFile;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that parsing and executing each kind of command on a fixed address book allocates no more bytes than
+ * its budget in {@link #BUDGETS_FILE}, to catch allocations added to hot paths by accident.
+ *
+ * Saving to storage is not measured, as it allocates in proportion to the whole address book.
+ * After a change that is meant to alter the allocations, run the tests with the system property
+ * {@link #UPDATE_PROPERTY} set (e.g. {@code gradlew test -PupdateAllocationBudgets}) to rewrite the budgets
+ * from the measured allocations, and commit the file.
+ *
+ * The file records the Java version the budgets were measured on as {@link #RECORDED_VERSION_KEY}. On any other
+ * version the budgets are multiplied by {@link #OTHER_VERSION_FACTOR}, as the same code can allocate quite
+ * differently there, e.g. Java 8 stores strings as two bytes per character where later versions store one.
+ */
+public class AllocationBudgetTest {
+
+    public static final Path BUDGETS_FILE = Paths.get("test", "data", "allocation-budgets.properties");
+    public static final String UPDATE_PROPERTY = "addressbook.updateAllocationBudgets";
+    public static final String RECORDED_VERSION_KEY = "recordedJavaVersion";
+
+    private static final int PERSONS = 1000;
+    private static final int TAGS = 40;
+    private static final long SEED = 46;
+
+    /** Runs before the measured ones, so that they are measured in compiled code as far as possible. */
+    private static final int WARMUP_RUNS = 200;
+    private static final int MEASURED_RUNS = 20;
+
+    /** Added to the measured allocations when budgets are rewritten, to absorb differences between JVMs. */
+    private static final double HEADROOM = 0.25;
+    private static final long MIN_HEADROOM_BYTES = 1024;
+    /** Multiplies the budgets when they are checked on another Java version than they were measured on. */
+    private static final double OTHER_VERSION_FACTOR = 2.0;
+
+    private static com.sun.management.ThreadMXBean threads;
+    private static AddressBook dataset;
+
+    /**
+     * A command to measure, after running its setup commands on the same address book without measuring them.
+     */
+    private static class Case {
+        final String commandWord;
+        final List<String> setupTexts;
+        final String commandText;
+
+        Case(String commandWord, String commandText, String... setupTexts) {
+            this.commandWord = commandWord;
+            this.commandText = commandText;
+            this.setupTexts = new ArrayList<>();
+            Collections.addAll(this.setupTexts, setupTexts);
+        }
+    }
+
+    @BeforeClass
+    public static void loadDataset() throws Exception {
+        final java.lang.management.ThreadMXBean platformThreads = ManagementFactory.getThreadMXBean();
+        assumeTrue(platformThreads instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) platformThreads;
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        final File file = File.createTempFile("allocation", ".txt");
+        file.deleteOnExit();
+        try (OutputStream out = new FileOutputStream(file)) {
+            new DatasetGenerator(PERSONS, TAGS, SEED).writeStorageFile(out);
+        }
+        dataset = new StorageFile(file.getPath()).load();
+    }
+
+    private static List<Case> cases() {
+        final ReadOnlyPerson first = dataset.getAllPersons().immutableListView().get(0);
+        final String familyName = first.getName().getWordsInName().get(first.getName().getWordsInName().size() - 1);
+        final String add = "add Allocation Test p/12345 pe/allocation@example.com a/1 Test Street t/colleague";
+        final List<Case> cases = new ArrayList<>();
+        cases.add(new Case(AddCommand.COMMAND_WORD, add));
+        cases.add(new Case(EditCommand.COMMAND_WORD, "edit 1 p/12345 t/colleague t/friend", "list"));
+        cases.add(new Case(DeleteCommand.COMMAND_WORD, "delete 1", "list"));
+        cases.add(new Case(ClearCommand.COMMAND_WORD, "clear"));
+        cases.add(new Case(FindCommand.COMMAND_WORD, "find " + familyName + " Nobody"));
+        cases.add(new Case(ListCommand.COMMAND_WORD, "list"));
+        cases.add(new Case(ViewCommand.COMMAND_WORD, "view 1", "list"));
+        cases.add(new Case(ViewAllCommand.COMMAND_WORD, "viewall #" + first.getId()));
+        cases.add(new Case(UndoCommand.COMMAND_WORD, "undo", "list", "delete 1"));
+        cases.add(new Case(RedoCommand.COMMAND_WORD, "redo", "list", "delete 1", "undo"));
+        cases.add(new Case(StatsCommand.COMMAND_WORD, "stats"));
+        cases.add(new Case(HelpCommand.COMMAND_WORD, "help"));
+        cases.add(new Case(ExitCommand.COMMAND_WORD, "exit"));
+        return cases;
+    }
+
+    /**
+     * Returns the fewest bytes allocated by parsing and executing the command of the case, on a fresh copy of the
+     * dataset each time.
+     */
+    private static long measure(Case measured) {
+        long fewestBytes = Long.MAX_VALUE;
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            final AddressBook addressBook =
+                    new AddressBook(dataset.getAllPersons(), dataset.getAllTags(), dataset.getNextPersonId());
+            final CommandHistory history = new CommandHistory();
+            final CommandStats stats = new CommandStats();
+            List<? extends ReadOnlyPerson> lastShownList = Collections.emptyList();
+            for (String setupText : measured.setupTexts) {
+                lastShownList = execute(setupText, addressBook, lastShownList, history, stats);
+            }
+
+            final long threadId = Thread.currentThread().getId();
+            final long before = threads.getThreadAllocatedBytes(threadId);
+            execute(measured.commandText, addressBook, lastShownList, history, stats);
+            final long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+            if (run >= WARMUP_RUNS) {
+                fewestBytes = Math.min(fewestBytes, allocated);
+            }
+        }
+        return fewestBytes;
+    }
+
+    /**
+     * Executes the command as {@code Logic} does, without saving, and returns the persons it shows.
+     */
+    private static List<? extends ReadOnlyPerson> execute(String commandText, AddressBook addressBook,
+            List<? extends ReadOnlyPerson> lastShownList, CommandHistory history, CommandStats stats) {
+        final Command command = new Parser().parseCommand(commandText);
+        command.setData(addressBook, lastShownList);
+        if (command instanceof HistoryCommand) {
+            ((HistoryCommand) command).setHistory(history);
+        }
+        if (command instanceof StatsCommand) {
+            ((StatsCommand) command).setStats(stats);
+        }
+        final CommandResult result = command.execute();
+        command.getChange().ifPresent(history::record);
+        return result.getRelevantPersons().isPresent() ? result.getRelevantPersons().get() : lastShownList;
+    }
+
+    @Test
+    public void execute_eachCommand_withinAllocationBudget() throws Exception {
+        final Map<String, Long> measured = new LinkedHashMap<>();
+        for (Case measuredCase : cases()) {
+            measured.put(measuredCase.commandWord, measure(measuredCase));
+        }
+
+        if (Boolean.getBoolean(UPDATE_PROPERTY)) {
+            writeBudgets(measured);
+            return;
+        }
+        assertTrue("missing " + BUDGETS_FILE + "; create it by running the tests with -D" + UPDATE_PROPERTY,
+                Files.exists(BUDGETS_FILE));
+        final Properties budgets = new Properties();
+        try (Reader reader = Files.newBufferedReader(BUDGETS_FILE, StandardCharsets.UTF_8)) {
+            budgets.load(reader);
+        }
+        final String recordedVersion = budgets.getProperty(RECORDED_VERSION_KEY, "").trim();
+        final String currentVersion = System.getProperty("java.specification.version");
+        final double factor = recordedVersion.equals(currentVersion) ? 1 : OTHER_VERSION_FACTOR;
+        final List<String> overBudget = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : measured.entrySet()) {
+            final String budget = budgets.getProperty(entry.getKey());
+            if (budget == null) {
+                overBudget.add(entry.getKey() + " has no budget");
+                continue;
+            }
+            final long scaledBudget = (long) (Long.parseLong(budget.trim()) * factor);
+            if (entry.getValue() > scaledBudget) {
+                overBudget.add(entry.getKey() + " allocated " + entry.getValue() + " bytes, over its budget of "
+                        + scaledBudget);
+            }
+        }
+        if (!overBudget.isEmpty()) {
+            fail(String.join("\n", overBudget) + "\n(budgets recorded on Java " + recordedVersion + ", run on Java "
+                    + currentVersion + ")\nIf this is intended, rewrite " + BUDGETS_FILE
+                    + " by running the tests with -D" + UPDATE_PROPERTY + " and commit it.");
+        }
+    }
+
+    private static void writeBudgets(Map<String, Long> measured) throws IOException {
+        Files.createDirectories(BUDGETS_FILE.getParent());
+        try (Writer writer = Files.newBufferedWriter(BUDGETS_FILE, StandardCharsets.UTF_8)) {
+            writer.write("# Bytes each command may allocate while being parsed and executed, checked by\n"
+                    + "# seedu.addressbook.commands.AllocationBudgetTest. Rewritten from the measured allocations\n"
+                    + "# plus headroom by running the tests with -D" + UPDATE_PROPERTY + "\n"
+                    + "# Measured on " + System.getProperty("java.vm.name") + " "
+                    + System.getProperty("java.version") + "; on other Java versions the budgets are doubled.\n"
+                    + RECORDED_VERSION_KEY + "=" + System.getProperty("java.specification.version") + "\n");
+            for (Map.Entry<String, Long> entry : new TreeMap<>(measured).entrySet()) {
+                final long headroom = Math.max(MIN_HEADROOM_BYTES, (long) (entry.getValue() * HEADROOM));
+                writer.write(entry.getKey() + "=" + (entry.getValue() + headroom) + "\n");
+            }
+        }
+    }
+}
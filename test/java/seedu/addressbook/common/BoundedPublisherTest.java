@@ -0,0 +1,94 @@
+package seedu.addressbook.common;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class BoundedPublisherTest {
+
+    /**
+     * Requests the given number of items when subscribed, and throws from the terminal callbacks, which
+     * subscribers must not do.
+     */
+    private static class ThrowingSubscriber implements Flow.Subscriber<String> {
+        final List<String> received = new ArrayList<>();
+        private final long requested;
+
+        ThrowingSubscriber(long requested) {
+            this.requested = requested;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(requested);
+        }
+
+        @Override
+        public void onNext(String item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            throw new IllegalStateException("thrown from onError");
+        }
+
+        @Override
+        public void onComplete() {
+            throw new IllegalStateException("thrown from onComplete");
+        }
+    }
+
+    /**
+     * Runs deliveries on the calling thread, keeping whatever they throw instead of throwing it to the caller.
+     */
+    private static class RecordingExecutor implements Executor {
+        final List<RuntimeException> thrown = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable task) {
+            try {
+                task.run();
+            } catch (RuntimeException re) {
+                thrown.add(re);
+            }
+        }
+    }
+
+    @Test
+    public void close_subscriberThrowsFromOnComplete_deliveryEndsNormally() {
+        final BoundedPublisher<String> publisher = new BoundedPublisher<>();
+        final ThrowingSubscriber subscriber = new ThrowingSubscriber(Long.MAX_VALUE);
+        final RecordingExecutor executor = new RecordingExecutor();
+        publisher.subscribe(subscriber, executor, BoundedPublisher.DEFAULT_BUFFER_CAPACITY);
+        publisher.publish("a");
+
+        publisher.close();
+
+        assertEquals(Collections.singletonList("a"), subscriber.received);
+        assertEquals(Collections.emptyList(), executor.thrown);
+        assertFalse(publisher.hasSubscribers());
+    }
+
+    @Test
+    public void publish_subscriberThrowsFromOnError_deliveryEndsNormally() {
+        final BoundedPublisher<String> publisher = new BoundedPublisher<>();
+        final ThrowingSubscriber subscriber = new ThrowingSubscriber(1);
+        final RecordingExecutor executor = new RecordingExecutor();
+        publisher.subscribe(subscriber, executor, 1);
+
+        publisher.publish("a");
+        publisher.publish("b");
+        publisher.publish("c"); // overflows the buffer, failing the subscriber
+
+        assertEquals(Collections.singletonList("a"), subscriber.received);
+        assertEquals(Collections.emptyList(), executor.thrown);
+        assertFalse(publisher.hasSubscribers());
+    }
+}
@@ -0,0 +1,75 @@
+package seedu.addressbook.common;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HistogramTest {
+
+    @Test
+    public void getValueAtPercentile_smallValues_exact() {
+        final Histogram histogram = new Histogram();
+        for (int value = 1; value <= 50; value++) {
+            histogram.record(value);
+        }
+        assertEquals(25, histogram.getValueAtPercentile(50));
+        assertEquals(50, histogram.getValueAtPercentile(100));
+        assertEquals(1, histogram.getValueAtPercentile(0));
+        assertEquals(50, histogram.getTotalCount());
+        assertEquals(25.5, histogram.getMean(), 0);
+    }
+
+    @Test
+    public void getValueAtPercentile_withinThreePercentOfExact() {
+        final Histogram histogram = new Histogram();
+        final long[] values = new long[10000];
+        final Random random = new Random(43);
+        for (int i = 0; i < values.length; i++) {
+            // spread over nanoseconds to seconds
+            values[i] = (long) Math.pow(10, 9 * random.nextDouble());
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double percentile : new double[] { 1, 10, 50, 90, 99, 99.9 }) {
+            final long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            final long reported = histogram.getValueAtPercentile(percentile);
+            assertTrue(percentile + ": " + reported + " vs " + exact,
+                    reported >= exact && reported <= exact + exact / 32 + 1);
+        }
+        assertEquals(values[values.length - 1], histogram.getMax());
+    }
+
+    @Test
+    public void record_hugeValue_countedAsMax() {
+        final Histogram histogram = new Histogram();
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Histogram.MAX_VALUE, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    public void add_combinesCounts() {
+        final Histogram first = new Histogram();
+        final Histogram second = new Histogram();
+        first.record(10);
+        second.record(1000);
+        second.record(2000);
+        first.add(second);
+        assertEquals(3, first.getTotalCount());
+        assertEquals(3010, first.getSum());
+        assertEquals(10, first.getValueAtPercentile(33));
+    }
+
+    @Test
+    public void getValueAtPercentile_empty_zero() {
+        assertEquals(0, new Histogram().getValueAtPercentile(99));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void record_negative_throws() {
+        new Histogram().record(-1);
+    }
+}
@@ -0,0 +1,66 @@
+package seedu.addressbook.common;
+
+import org.junit.Test;
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.tag.Tag;
+
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that every field validator accepts exactly the strings matched by the validation regex of its field.
+ */
+public class ValidatorsTest {
+
+    /** Characters on both sides of the boundaries of the field grammars, including non-ASCII look-alikes. */
+    private static final char[] ALPHABET = {
+        'a', 'z', 'A', 'Z', '0', '9', ' ', '_', '.', '@', '/', '-', '\t',
+        '\n', '\r', '\u0085', '\u2028', '\u2029', '\u00e9', '\u0663', '\u00a0'
+    };
+
+    @Test
+    public void isDigits_sameAsPhoneRegex() {
+        assertSameAsRegex(Phone.PHONE_VALIDATION_REGEX, Validators::isDigits);
+    }
+
+    @Test
+    public void isAlphanumeric_sameAsTagRegex() {
+        assertSameAsRegex(Tag.TAG_VALIDATION_REGEX, Validators::isAlphanumeric);
+    }
+
+    @Test
+    public void isAlphanumericOrSpace_sameAsNameRegex() {
+        assertSameAsRegex(Name.NAME_VALIDATION_REGEX, Validators::isAlphanumericOrSpace);
+    }
+
+    @Test
+    public void isWordsAtWords_sameAsEmailRegex() {
+        assertSameAsRegex(Email.EMAIL_VALIDATION_REGEX, Validators::isWordsAtWords);
+    }
+
+    @Test
+    public void isSingleLine_sameAsAddressRegex() {
+        assertSameAsRegex(Address.ADDRESS_VALIDATION_REGEX, Validators::isSingleLine);
+    }
+
+    /**
+     * Asserts that the validator agrees with the regex on the empty string and on many random short strings.
+     */
+    private static void assertSameAsRegex(String regex, Predicate<String> validator) {
+        Random random = new Random(2103);
+        assertEquals("".matches(regex), validator.test(""));
+        for (int i = 0; i < 50000; i++) {
+            StringBuilder test = new StringBuilder();
+            int length = 1 + random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                test.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+            }
+            assertEquals(test.toString(), test.toString().matches(regex), validator.test(test.toString()));
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package seedu.addressbook.data;
+
+import org.junit.Test;
+import seedu.addressbook.common.BoundedPublisher;
+import seedu.addressbook.common.BoundedPublisher.BufferFullException;
+import seedu.addressbook.common.Flow;
+import seedu.addressbook.data.event.AddressBookChange;
+import seedu.addressbook.data.event.AddressBookChange.Cleared;
+import seedu.addressbook.data.event.AddressBookChange.PersonAdded;
+import seedu.addressbook.data.event.AddressBookChange.PersonEdited;
+import seedu.addressbook.data.event.AddressBookChange.PersonRemoved;
+import seedu.addressbook.data.event.AddressBookChange.TagRemoved;
+import seedu.addressbook.data.event.AddressBookChange.TagsMerged;
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AddressBookChangesTest {
+
+    private static Person generatePerson(int seed) throws Exception {
+        return new Person(
+                new Name("Person " + seed),
+                new Phone("" + seed, false),
+                new Email(seed + "@email", false),
+                new Address("House of " + seed, false),
+                new UniqueTagList(new Tag("tag" + (seed % 7)), new Tag("shared")));
+    }
+
+    /**
+     * Keeps a copy of the persons and tags of an address book up to date by applying the changes it receives.
+     */
+    private static class Mirror implements Flow.Subscriber<AddressBookChange> {
+        final List<ReadOnlyPerson> persons = new ArrayList<>();
+        final List<Tag> tags = new ArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(AddressBookChange change) {
+            if (change instanceof PersonAdded) {
+                final PersonAdded added = (PersonAdded) change;
+                persons.add(added.position, added.person);
+            } else if (change instanceof PersonRemoved) {
+                final PersonRemoved removed = (PersonRemoved) change;
+                assertTrue(persons.remove(removed.position).isSameStateAs(removed.person));
+            } else if (change instanceof PersonEdited) {
+                final PersonEdited edited = (PersonEdited) change;
+                assertTrue(persons.set(edited.position, edited.person).isSameStateAs(edited.previous));
+            } else if (change instanceof TagsMerged) {
+                tags.addAll(((TagsMerged) change).tags);
+            } else if (change instanceof TagRemoved) {
+                assertTrue(tags.remove(((TagRemoved) change).tag));
+            } else if (change instanceof Cleared) {
+                persons.clear();
+                tags.clear();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+
+        void assertMirrors(ReadOnlyAddressBook addressBook) {
+            assertNull(error);
+            final List<ReadOnlyPerson> expectedPersons = new ArrayList<>();
+            for (ReadOnlyPerson person : addressBook.getAllPersons()) {
+                expectedPersons.add(person);
+            }
+            assertEquals(expectedPersons, persons);
+            final List<Tag> expectedTags = new ArrayList<>();
+            for (Tag tag : addressBook.getAllTags()) {
+                expectedTags.add(tag);
+            }
+            assertEquals(expectedTags, tags);
+        }
+    }
+
+    @Test
+    public void addressBook_changesKeepMirrorEqual() throws Exception {
+        assertChangesKeepMirrorEqual(new AddressBook());
+    }
+
+    @Test
+    public void concurrentAddressBook_changesKeepMirrorEqual() throws Exception {
+        assertChangesKeepMirrorEqual(new ConcurrentAddressBook());
+    }
+
+    @Test
+    public void lockFreeAddressBook_changesKeepMirrorEqual() throws Exception {
+        assertChangesKeepMirrorEqual(new LockFreeAddressBook());
+    }
+
+    private static void assertChangesKeepMirrorEqual(MutableAddressBook addressBook) throws Exception {
+        final Random random = new Random(2103);
+        addressBook.addPerson(generatePerson(100));
+        final Mirror mirror = new Mirror();
+        mirror.persons.add(generatePerson(100));
+        for (Tag tag : addressBook.getAllTags()) {
+            mirror.tags.add(tag);
+        }
+        addressBook.getChanges().subscribe(mirror);
+
+        for (int step = 0; step < 1000; step++) {
+            final int seed = random.nextInt(60);
+            final int operation = random.nextInt(20);
+            try {
+                if (operation < 8) {
+                    addressBook.addPerson(random.nextInt(addressBook.getPersonCount() + 1), generatePerson(seed));
+                } else if (operation < 14) {
+                    addressBook.removePerson(generatePerson(seed));
+                } else if (operation < 15) {
+                    addressBook.editPerson(generatePerson(seed), generatePerson(random.nextInt(60)));
+                } else if (operation < 17) {
+                    addressBook.addTag(new Tag("extra" + seed));
+                } else if (operation < 18) {
+                    addressBook.removeTag(new Tag("extra" + seed));
+                } else if (operation < 19) {
+                    final List<Person> batch = new ArrayList<>();
+                    for (int i = 0; i < 3; i++) {
+                        batch.add(generatePerson(random.nextInt(60)));
+                    }
+                    if (random.nextBoolean()) {
+                        addressBook.addPersons(batch);
+                    } else {
+                        addressBook.removePersons(batch);
+                    }
+                } else if (random.nextBoolean()) {
+                    addressBook.reattach(addressBook.detachAll());
+                } else {
+                    addressBook.clear();
+                }
+            } catch (Exception e) {
+                // duplicates and missing entries leave the address book unchanged
+            }
+            mirror.assertMirrors(addressBook);
+        }
+    }
+
+    @Test
+    public void lockFreeAddressBook_concurrentChanges_publishedInOrder() throws Exception {
+        final LockFreeAddressBook addressBook = new LockFreeAddressBook();
+        final Mirror mirror = new Mirror();
+        addressBook.getChanges().subscribe(mirror);
+
+        final int threads = 4;
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int offset = t * 1000;
+            final Thread writer = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < 500; i++) {
+                        addressBook.addPerson(generatePerson(offset + i));
+                        if (i % 3 == 0) {
+                            addressBook.removePerson(generatePerson(offset + i / 2));
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertNull(failure.get());
+        mirror.assertMirrors(addressBook);
+    }
+
+    @Test
+    public void asyncSubscriber_receivesChangesInOrderThroughExecutor() throws Exception {
+        final AddressBook addressBook = new AddressBook();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final Mirror mirror = new Mirror();
+        addressBook.getChanges().subscribe(mirror, executor, BoundedPublisher.DEFAULT_BUFFER_CAPACITY);
+
+        for (int i = 0; i < 200; i++) {
+            addressBook.addPerson(generatePerson(i));
+        }
+        addressBook.removePerson(generatePerson(50));
+        addressBook.getChanges().close();
+
+        assertTrue(mirror.completed.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        mirror.assertMirrors(addressBook);
+    }
+
+    @Test
+    public void subscriber_receivesOnlyRequestedChanges() throws Exception {
+        final AddressBook addressBook = new AddressBook();
+        final List<AddressBookChange> received = new ArrayList<>();
+        final AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+        addressBook.getChanges().subscribe(new Flow.Subscriber<AddressBookChange>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.set(s);
+            }
+
+            @Override
+            public void onNext(AddressBookChange change) {
+                received.add(change);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {}
+
+            @Override
+            public void onComplete() {}
+        });
+
+        addressBook.addTag(new Tag("first"));
+        addressBook.addTag(new Tag("second"));
+        addressBook.clear();
+        assertEquals(0, received.size());
+
+        subscription.get().request(2);
+        assertEquals(2, received.size());
+        assertEquals(new Tag("first"), ((TagsMerged) received.get(0)).tags.get(0));
+
+        subscription.get().cancel();
+        addressBook.addTag(new Tag("third"));
+        subscription.get().request(10);
+        assertEquals(2, received.size());
+    }
+
+    @Test
+    public void subscriber_fallingBehindBufferCapacity_failedAndUnsubscribed() throws Exception {
+        final AddressBook addressBook = new AddressBook();
+        final Mirror slow = new Mirror() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                // never requests anything
+            }
+        };
+        addressBook.getChanges().subscribe(slow, Runnable::run, 3);
+
+        for (int i = 0; i < 3; i++) {
+            addressBook.addTag(new Tag("tag" + i));
+        }
+        assertNull(slow.error);
+        addressBook.addTag(new Tag("overflow"));
+
+        assertTrue(slow.error instanceof BufferFullException);
+        assertTrue(!addressBook.getChanges().hasSubscribers());
+    }
+}
@@ -0,0 +1,455 @@
+package seedu.addressbook.data;
+
+import org.junit.Test;
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.AddressBook.UniqueDetail;
+import seedu.addressbook.data.person.UniquePersonList;
+import seedu.addressbook.data.person.UniquePersonList.DuplicateContactDetailException;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the batch changes, person IDs, unique indexes and edits of {@link AddressBook} and its thread-safe subclasses.
+ */
+public class AddressBookTest {
+
+    private static final List<Supplier<MutableAddressBook>> ADDRESS_BOOK_TYPES =
+            Arrays.asList(AddressBook::new, ConcurrentAddressBook::new, LockFreeAddressBook::new);
+
+    private static Person generatePerson(int seed, String... tagNames) throws Exception {
+        final Tag[] tags = new Tag[tagNames.length];
+        for (int i = 0; i < tags.length; i++) {
+            tags[i] = new Tag(tagNames[i]);
+        }
+        return new Person(
+                new Name("Person " + seed),
+                new Phone("" + seed, false),
+                new Email(seed + "@email", false),
+                new Address("House of " + seed, false),
+                new UniqueTagList(tags));
+    }
+
+    private static List<Person> generatePersons(int... seeds) throws Exception {
+        final List<Person> persons = new ArrayList<>();
+        for (int seed : seeds) {
+            persons.add(generatePerson(seed, "tag" + (seed % 3), "shared"));
+        }
+        return persons;
+    }
+
+    @Test
+    public void addPersons_sameAsAddingOneByOne() throws Exception {
+        for (Supplier<MutableAddressBook> type : ADDRESS_BOOK_TYPES) {
+            final AddressBook expected = new AddressBook();
+            for (Person person : generatePersons(1, 2, 3, 4, 5)) {
+                expected.addPerson(person);
+            }
+            final MutableAddressBook actual = type.get();
+            actual.addPerson(generatePersons(1).get(0));
+            actual.addPersons(generatePersons(2, 3, 4, 5));
+
+            assertEquals(expected, actual);
+            assertEquals(expected.getAllTags(), actual.getAllTags());
+        }
+    }
+
+    @Test
+    public void addPersons_tagsPointToMasterList() throws Exception {
+        for (Supplier<MutableAddressBook> type : ADDRESS_BOOK_TYPES) {
+            final MutableAddressBook addressBook = type.get();
+            addressBook.addTag(new Tag("shared"));
+            addressBook.addPersons(generatePersons(1, 2));
+
+            final Tag masterTag = findTag(addressBook.getAllTags(), "shared");
+            for (Person person : addressBook.getAllPersons()) {
+                assertSame(masterTag, findTag(person.getTags(), "shared"));
+            }
+        }
+    }
+
+    @Test
+    public void constructor_tagsAlreadyInMasterList_samePersonsKept() throws Exception {
+        final List<BiFunction<UniquePersonList, UniqueTagList, MutableAddressBook>> constructors =
+                Arrays.asList(AddressBook::new, ConcurrentAddressBook::new, LockFreeAddressBook::new);
+        for (BiFunction<UniquePersonList, UniqueTagList, MutableAddressBook> constructor : constructors) {
+            final Person person = generatePerson(1, "b", "a").withId(7);
+            final UniqueTagList masterTags = new UniqueTagList(person.getTags());
+
+            final MutableAddressBook addressBook = constructor.apply(new UniquePersonList(person), masterTags);
+
+            assertSame(person, addressBook.getPersonById(7));
+        }
+    }
+
+    @Test
+    public void addPersons_anyDuplicate_nothingAdded() throws Exception {
+        for (Supplier<MutableAddressBook> type : ADDRESS_BOOK_TYPES) {
+            final MutableAddressBook addressBook = type.get();
+            addressBook.addPersons(generatePersons(1, 2));
+            final AddressBook before = copyOf(addressBook);
+
+            assertAddFails(addressBook, generatePersons(3, 4, 3));
+            assertAddFails(addressBook, generatePersons(3, 2));
+            assertEquals(before, addressBook);
+            assertEquals(before.getAllTags(), addressBook.getAllTags());
+        }
+    }
+
+    @Test
+    public void removePersons_removesAllAndReturnsPositions() throws Exception {
+        for (Supplier<MutableAddressBook> type : ADDRESS_BOOK_TYPES) {
+            final MutableAddressBook addressBook = type.get();
+            addressBook.addPersons(generatePersons(0, 1, 2, 3, 4, 5));
+
+            final int[] positions = addressBook.removePersons(generatePersons(4, 1, 5));
+
+            assertArrayEquals(new int[] { 4, 1, 5 }, positions);
+            final AddressBook expected = new AddressBook();
+            expected.addPersons(generatePersons(0, 2, 3));
+            assertEquals(expected.getAllPersons(), addressBook.getAllPersons());
+        }
+    }
+
+    @Test
+    public void removePersons_anyMissingOrRepeated_nothingRemoved() throws Exception {
+        for (Supplier<MutableAddressBook> type : ADDRESS_BOOK_TYPES) {
+            final MutableAddressBook addressBook = type.get();
+            addressBook.addPersons(generatePersons(0, 1, 2));
+            final AddressBook before = copyOf(addressBook);
+
+            assertRemoveFails(addressBook, generatePersons(1, 7));
+            assertRemoveFails(addressBook, generatePersons(1, 2, 1));
+            assertEquals(before, addressBook);
+        }
+    }
+
+    @Test
+    public void personIds_uniqueAndNeverReused() throws Exception {
+        for (Supplier<MutableAddressBook> type : ADDRESS_BOOK_TYPES) {
+            final MutableAddressBook addressBook = type.get();
+            final List<Person> persons = generatePersons(0, 1, 2);
+            addressBook.addPerson(persons.get(0));
+            addressBook.addPersons(persons.subList(1, 3));
+            assertEquals(Arrays.asList(1L, 2L, 3L), idsOf(addressBook));
+
+            addressBook.removePerson(generatePersons(2).get(0));
+            addressBook.clear();
+            addressBook.addPerson(generatePersons(5).get(0));
+            assertEquals(Arrays.asList(4L), idsOf(addressBook));
+            assertEquals(5, addressBook.getNextPersonId());
+        }
+    }
+
+    @Test
+    public void getPersonById_findsPersonsUntilRemoved() throws Exception {
+        for (Supplier<MutableAddressBook> type : ADDRESS_BOOK_TYPES) {
+            final MutableAddressBook addressBook = type.get();
+            final List<Person> persons = addressBook.addPersons(generatePersons(0, 1, 2));
+
+            assertSame(persons.get(1), addressBook.getPersonById(persons.get(1).getId()));
+            addressBook.removePersons(persons.subList(0, 2));
+            assertSame(persons.get(2), addressBook.getPersonById(persons.get(2).getId()));
+            try {
+                addressBook.getPersonById(persons.get(1).getId());
+                fail("expected PersonNotFoundException");
+            } catch (PersonNotFoundException expected) {
+                // expected
+            }
+
+            final MutableAddressBook detached = addressBook.detachAll();
+            addressBook.reattach(detached);
+            assertSame(persons.get(2), addressBook.getPersonById(persons.get(2).getId()));
+        }
+    }
+
+    @Test
+    public void addPerson_givenPersonUnchanged_addedCopyHasId() throws Exception {
+        for (Supplier<MutableAddressBook> type : ADDRESS_BOOK_TYPES) {
+            final MutableAddressBook addressBook = type.get();
+            final Person toAdd = generatePerson(1);
+
+            final Person added = addressBook.addPerson(toAdd);
+
+            assertEquals(Person.UNASSIGNED_ID, toAdd.getId());
+            assertEquals(AddressBook.FIRST_PERSON_ID, added.getId());
+            assertEquals(toAdd, added);
+            assertSame(added, addressBook.getPersonById(added.getId()));
+        }
+    }
+
+    @Test
+    public void removeAndEditPerson_afterShiftingChanges_foundAtCurrentPositions() throws Exception {
+        for (Supplier<MutableAddressBook> type : ADDRESS_BOOK_TYPES) {
+            final MutableAddressBook addressBook = type.get();
+            final List<ReadOnlyPerson> expected = new ArrayList<>(addressBook.addPersons(generatePersons(0, 1, 2)));
+            final Random random = new Random(36);
+            for (int seed = 3; seed < 200; seed++) {
+                final int operation = random.nextInt(3);
+                if (operation == 0 || expected.isEmpty()) {
+                    final int position = random.nextInt(expected.size() + 1);
+                    expected.add(position, addressBook.addPerson(position, generatePerson(seed)));
+                } else if (operation == 1) {
+                    final int position = random.nextInt(expected.size());
+                    assertEquals(position, addressBook.removePerson(expected.remove(position)));
+                } else {
+                    final int position = random.nextInt(expected.size());
+                    addressBook.editPerson(expected.get(position), withPhone(generatePerson(seed), "" + seed));
+                    expected.set(position, addressBook.getPersonById(expected.get(position).getId()));
+                }
+                assertEquals(expected, new ArrayList<>(addressBook.getAllPersons().immutableListView()));
+            }
+        }
+    }
+
+    @Test
+    public void constructor_duplicateOrMissingIds_reassigned() throws Exception {
+        final List<Person> persons = generatePersons(0, 1, 2);
+        persons.set(0, persons.get(0).withId(7));
+        persons.set(1, persons.get(1).withId(7));
+        final AddressBook addressBook = new AddressBook(new UniquePersonList(persons), new UniqueTagList(), 10);
+
+        assertEquals(Arrays.asList(7L, 10L, 11L), idsOf(addressBook));
+    }
+
+    @Test
+    public void addUniqueIndex_duplicateInExistingData_throws() throws Exception {
+        for (Supplier<MutableAddressBook> type : ADDRESS_BOOK_TYPES) {
+            final MutableAddressBook addressBook = type.get();
+            addressBook.addPersons(generatePersons(1, 2));
+            addressBook.addPerson(withPhone(generatePerson(3), "1"));
+
+            addressBook.addUniqueIndex(UniqueDetail.EMAIL);
+            try {
+                addressBook.addUniqueIndex(UniqueDetail.PHONE);
+                fail("expected DuplicateContactDetailException");
+            } catch (DuplicateContactDetailException expected) {
+                assertEquals("phone", expected.detailName);
+                assertEquals("1", expected.value);
+            }
+            assertEquals(EnumSet.of(UniqueDetail.EMAIL), addressBook.getUniqueDetails());
+        }
+    }
+
+    @Test
+    public void addPerson_uniqueIndex_rejectsSharedValueUntilRemoved() throws Exception {
+        for (Supplier<MutableAddressBook> type : ADDRESS_BOOK_TYPES) {
+            final MutableAddressBook addressBook = type.get();
+            addressBook.addUniqueIndex(UniqueDetail.PHONE);
+            final List<Person> persons = generatePersons(1, 2);
+            addressBook.addPersons(persons);
+
+            assertAddFails(addressBook, Collections.singletonList(withPhone(generatePerson(3), "2")));
+            assertEquals(2, addressBook.getPersonCount());
+            try {
+                addressBook.addPerson(generatePerson(1));
+                fail("expected DuplicatePersonException");
+            } catch (DuplicateContactDetailException dcde) {
+                fail("the same person should not be reported as a shared contact detail");
+            } catch (DuplicatePersonException expected) {
+                // expected
+            }
+
+            addressBook.removePerson(persons.get(1));
+            addressBook.addPerson(withPhone(generatePerson(3), "2"));
+            addressBook.clear();
+            addressBook.addPerson(generatePerson(1));
+            assertEquals(1, addressBook.getPersonCount());
+        }
+    }
+
+    @Test
+    public void addPersons_uniqueIndex_rejectsSharedValueWithinBatch() throws Exception {
+        for (Supplier<MutableAddressBook> type : ADDRESS_BOOK_TYPES) {
+            final MutableAddressBook addressBook = type.get();
+            addressBook.addUniqueIndex(UniqueDetail.PHONE);
+            addressBook.addPersons(generatePersons(1));
+
+            assertAddFails(addressBook, Arrays.asList(generatePerson(2), withPhone(generatePerson(3), "2")));
+            assertEquals(1, addressBook.getPersonCount());
+            addressBook.addPersons(generatePersons(2, 3));
+            assertEquals(3, addressBook.getPersonCount());
+        }
+    }
+
+    @Test
+    public void uniqueIndex_keptBySnapshotAndDetachReattach() throws Exception {
+        for (Supplier<MutableAddressBook> type : ADDRESS_BOOK_TYPES) {
+            final MutableAddressBook addressBook = type.get();
+            addressBook.addUniqueIndex(UniqueDetail.PHONE);
+            addressBook.addPersons(generatePersons(1, 2));
+
+            final MutableAddressBook snapshot = addressBook.snapshot();
+            assertAddFails(snapshot, Collections.singletonList(withPhone(generatePerson(3), "1")));
+
+            final MutableAddressBook detached = addressBook.detachAll();
+            addressBook.addPerson(withPhone(generatePerson(3), "1"));
+            assertAddFails(detached, Collections.singletonList(withPhone(generatePerson(4), "2")));
+            addressBook.clear();
+            addressBook.reattach(detached);
+            assertAddFails(addressBook, Collections.singletonList(withPhone(generatePerson(4), "2")));
+        }
+    }
+
+    @Test
+    public void uniqueIndex_keptAcrossInsertsAtOnePosition() throws Exception {
+        for (Supplier<MutableAddressBook> type : ADDRESS_BOOK_TYPES) {
+            final MutableAddressBook addressBook = type.get();
+            addressBook.addUniqueIndex(UniqueDetail.PHONE);
+            final List<Person> persons = addressBook.addPersons(generatePersons(1, 2));
+            for (int seed = 3; seed < 43; seed++) {
+                addressBook.addPerson(1, generatePerson(seed));
+            }
+
+            assertAddFails(addressBook, Collections.singletonList(withPhone(generatePerson(100), "30")));
+            assertAddFails(addressBook, Collections.singletonList(withPhone(generatePerson(100), "2")));
+            addressBook.removePerson(persons.get(1));
+            addressBook.addPerson(withPhone(generatePerson(100), "2"));
+            assertEquals(42, addressBook.getPersonCount());
+        }
+    }
+
+    @Test
+    public void editPerson_keepsPositionAndId() throws Exception {
+        for (Supplier<MutableAddressBook> type : ADDRESS_BOOK_TYPES) {
+            final MutableAddressBook addressBook = type.get();
+            final List<Person> persons = addressBook.addPersons(generatePersons(1, 2, 3));
+            final long id = persons.get(1).getId();
+
+            final Person edited = withPhone(generatePerson(2, "tag2", "new"), "222");
+            assertSame(persons.get(1), addressBook.editPerson(persons.get(1), edited));
+
+            assertEquals(Arrays.asList(persons.get(0), edited, persons.get(2)),
+                    new ArrayList<>(addressBook.getAllPersons().immutableListView()));
+            final ReadOnlyPerson stored = addressBook.getPersonById(id);
+            assertSame(storedPerson(addressBook, edited), stored);
+            assertEquals(id, stored.getId());
+            assertEquals(Person.UNASSIGNED_ID, edited.getId());
+            assertSame(findTag(addressBook.getAllTags(), "new"), findTag(stored.getTags(), "new"));
+            assertSame(findTag(addressBook.getAllTags(), "tag2"), findTag(stored.getTags(), "tag2"));
+            assertEquals(4, addressBook.getNextPersonId());
+        }
+    }
+
+    @Test
+    public void editPerson_duplicateOrMissing_unchanged() throws Exception {
+        for (Supplier<MutableAddressBook> type : ADDRESS_BOOK_TYPES) {
+            final MutableAddressBook addressBook = type.get();
+            final List<Person> persons = addressBook.addPersons(generatePersons(1, 2));
+            final AddressBook expected = copyOf(addressBook);
+
+            try {
+                addressBook.editPerson(persons.get(0), generatePerson(2));
+                fail("expected DuplicatePersonException");
+            } catch (DuplicatePersonException expectedException) {
+                // expected
+            }
+            try {
+                addressBook.editPerson(generatePerson(3), generatePerson(4));
+                fail("expected PersonNotFoundException");
+            } catch (PersonNotFoundException expectedException) {
+                // expected
+            }
+            assertEquals(expected, addressBook);
+            assertSame(persons.get(0), addressBook.getPersonById(persons.get(0).getId()));
+        }
+    }
+
+    @Test
+    public void editPerson_uniqueIndex_updatesOnlyChangedValue() throws Exception {
+        for (Supplier<MutableAddressBook> type : ADDRESS_BOOK_TYPES) {
+            final MutableAddressBook addressBook = type.get();
+            addressBook.addUniqueIndex(UniqueDetail.PHONE);
+            addressBook.addUniqueIndex(UniqueDetail.EMAIL);
+            final List<Person> persons = generatePersons(1, 2);
+            addressBook.addPersons(persons);
+
+            try {
+                addressBook.editPerson(persons.get(0), withPhone(persons.get(0), "2"));
+                fail("expected DuplicateContactDetailException");
+            } catch (DuplicateContactDetailException expected) {
+                assertEquals("phone", expected.detailName);
+            }
+
+            final Person edited = withPhone(persons.get(0), "11");
+            addressBook.editPerson(persons.get(0), edited);
+            addressBook.addPerson(withPhone(generatePerson(3), "1"));
+            assertAddFails(addressBook, Collections.singletonList(withPhone(generatePerson(4), "11")));
+            assertAddFails(addressBook, Collections.singletonList(
+                    new Person(new Name("Other"), new Phone("5", false), edited.getEmail(),
+                            edited.getAddress(), new UniqueTagList())));
+        }
+    }
+
+    private static Person withPhone(Person person, String phone) throws Exception {
+        return new Person(person.getName(), new Phone(phone, false), person.getEmail(), person.getAddress(),
+                person.getTags());
+    }
+
+    private static List<Long> idsOf(ReadOnlyAddressBook addressBook) {
+        final List<Long> ids = new ArrayList<>();
+        for (Person person : addressBook.getAllPersons()) {
+            ids.add(person.getId());
+        }
+        return ids;
+    }
+
+    private static AddressBook copyOf(ReadOnlyAddressBook addressBook) {
+        return new AddressBook(addressBook.getAllPersons(), addressBook.getAllTags());
+    }
+
+    /**
+     * Returns the person the address book holds for the given equivalent person, which may be a copy of it.
+     */
+    private static ReadOnlyPerson storedPerson(ReadOnlyAddressBook addressBook, ReadOnlyPerson person) {
+        final List<ReadOnlyPerson> allPersons = addressBook.getAllPersons().immutableListView();
+        return allPersons.get(allPersons.indexOf(person));
+    }
+
+    private static Tag findTag(UniqueTagList tags, String tagName) {
+        for (Tag tag : tags) {
+            if (tag.tagName.equals(tagName)) {
+                return tag;
+            }
+        }
+        throw new AssertionError("no tag " + tagName);
+    }
+
+    private static void assertAddFails(MutableAddressBook addressBook, List<Person> toAdd) {
+        try {
+            addressBook.addPersons(toAdd);
+            fail("expected DuplicatePersonException");
+        } catch (DuplicatePersonException expected) {
+            // expected
+        }
+    }
+
+    private static void assertRemoveFails(MutableAddressBook addressBook, List<? extends ReadOnlyPerson> toRemove) {
+        try {
+            addressBook.removePersons(toRemove);
+            fail("expected PersonNotFoundException");
+        } catch (PersonNotFoundException expected) {
+            // expected
+        }
+    }
+}
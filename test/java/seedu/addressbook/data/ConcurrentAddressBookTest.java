@@ -0,0 +1,189 @@
+package seedu.addressbook.data;
+
+import org.junit.Test;
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentAddressBookTest {
+
+    private static final int STABLE_PERSONS = 50;
+    private static final int WRITERS = 2;
+    private static final int READERS = 3;
+    private static final int WRITES_PER_WRITER = 2000;
+
+    private static Person generatePerson(String name, int seed, String tagName) throws Exception {
+        return new Person(
+                new Name(name),
+                new Phone("" + seed, false),
+                new Email(seed + "@email", false),
+                new Address("House of " + seed, false),
+                new UniqueTagList(new Tag(tagName), new Tag("shared")));
+    }
+
+    /**
+     * Writers keep adding persons with new tags and removing them again, while readers check that
+     * every read sees a consistent address book.
+     */
+    @Test
+    public void concurrentReadsAndWrites_readsAlwaysConsistent() throws Exception {
+        final ConcurrentAddressBook addressBook = new ConcurrentAddressBook();
+        final List<Person> stablePersons = new ArrayList<>();
+        for (int i = 0; i < STABLE_PERSONS; i++) {
+            final Person stable = generatePerson("Stable Person " + i, i, "stable" + i);
+            stablePersons.add(stable);
+            addressBook.addPerson(stable);
+        }
+
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger runningWriters = new AtomicInteger(WRITERS);
+        final AtomicInteger readCount = new AtomicInteger();
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int w = 0; w < WRITERS; w++) {
+            final int writer = w;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < WRITES_PER_WRITER; i++) {
+                        final Person temporary = generatePerson("Writer " + writer + " Person " + i,
+                                1000000 + writer * WRITES_PER_WRITER + i, "w" + writer + "i" + i);
+                        addressBook.addPerson(temporary);
+                        addressBook.removePerson(temporary);
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    runningWriters.decrementAndGet();
+                }
+            }));
+        }
+
+        for (int r = 0; r < READERS; r++) {
+            final Random random = new Random(r);
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    while (runningWriters.get() > 0 && failure.get() == null) {
+                        final Person stable = stablePersons.get(random.nextInt(STABLE_PERSONS));
+                        assertTrue(addressBook.containsPerson(stable));
+
+                        final int count = addressBook.getAllPersons().immutableListView().size();
+                        assertTrue(count >= STABLE_PERSONS && count <= STABLE_PERSONS + WRITERS);
+
+                        final AddressBook snapshot = addressBook.snapshot();
+                        final UniqueTagList snapshotTags = snapshot.getAllTags();
+                        for (Person person : snapshot.getAllPersons()) {
+                            for (Tag tag : person.getTags()) {
+                                assertTrue("tag of person missing from tag list", snapshotTags.contains(tag));
+                            }
+                        }
+                        readCount.incrementAndGet();
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        assertTrue(readCount.get() > 0);
+        assertEquals(STABLE_PERSONS, addressBook.getPersonCount());
+        assertEquals(STABLE_PERSONS + 1 + WRITERS * WRITES_PER_WRITER,
+                addressBook.getAllTags().toSet().size());
+    }
+
+    /**
+     * Makes the same random changes to a plain address book and checks after each that the lookups without
+     * locking find what the plain address book finds.
+     */
+    @Test
+    public void lookups_afterEachKindOfChange_matchPlainAddressBook() throws Exception {
+        final AddressBook expected = new AddressBook();
+        final ConcurrentAddressBook actual = new ConcurrentAddressBook();
+        final Random random = new Random(32);
+        for (int step = 0; step < 500; step++) {
+            final int seed = random.nextInt(30);
+            final Person person = generatePerson("Person " + seed, seed, "tag" + seed % 7);
+            final int operation = random.nextInt(10);
+            for (MutableAddressBook addressBook : new MutableAddressBook[] { expected, actual }) {
+                try {
+                    if (operation < 4) {
+                        addressBook.addPerson(person);
+                    } else if (operation < 6) {
+                        addressBook.removePerson(person);
+                    } else if (operation < 7) {
+                        addressBook.editPerson(person, generatePerson("Edited " + seed, seed, "edited"));
+                    } else if (operation < 8) {
+                        addressBook.removeTag(new Tag("tag" + seed % 7));
+                    } else if (operation < 9) {
+                        addressBook.reattach(addressBook.detachAll());
+                    } else if (seed == 0) {
+                        addressBook.clear();
+                    }
+                } catch (Exception e) {
+                    // duplicates and missing entries leave the address book unchanged
+                }
+            }
+
+            for (int i = 0; i < 30; i++) {
+                final Person candidate = generatePerson("Person " + i, i, "any");
+                assertEquals(expected.containsPerson(candidate), actual.containsPerson(candidate));
+                assertEquals(expected.containsTag(new Tag("tag" + i % 7)), actual.containsTag(new Tag("tag" + i % 7)));
+            }
+            for (long id = AddressBook.FIRST_PERSON_ID; id < expected.getNextPersonId(); id++) {
+                assertEquals(findById(expected, id), findById(actual, id));
+            }
+            assertEquals(expected.getAllPersons(), actual.getAllPersons());
+            assertEquals(expected.getAllTags(), actual.getAllTags());
+        }
+    }
+
+    private static Person findById(ReadOnlyAddressBook addressBook, long id) {
+        try {
+            return addressBook.getPersonById(id);
+        } catch (PersonNotFoundException pnfe) {
+            return null;
+        }
+    }
+
+    @Test
+    public void snapshot_isIndependentCopy() throws Exception {
+        final ConcurrentAddressBook addressBook = new ConcurrentAddressBook();
+        final Person person = generatePerson("Adam Brown", 1, "friend");
+        addressBook.addPerson(person);
+
+        final AddressBook snapshot = addressBook.snapshot();
+        addressBook.removePerson(person);
+
+        assertTrue(snapshot.containsPerson(person));
+        assertEquals(0, addressBook.getPersonCount());
+        assertEquals(1, snapshot.getPersonCount());
+    }
+}
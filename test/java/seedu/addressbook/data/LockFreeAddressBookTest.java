@@ -0,0 +1,212 @@
+package seedu.addressbook.data;
+
+import org.junit.Test;
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LockFreeAddressBookTest {
+
+    private static Person generatePerson(int seed) throws Exception {
+        return new Person(
+                new Name("Person " + seed),
+                new Phone("" + seed, false),
+                new Email(seed + "@email", false),
+                new Address("House of " + seed, false),
+                new UniqueTagList(new Tag("tag" + (seed % 7)), new Tag("shared")));
+    }
+
+    /**
+     * Applies the same random changes to a plain and a lock-free address book, which must stay equal,
+     * including the order of persons and tags and the positions reported for removed persons.
+     */
+    @Test
+    public void randomChanges_behaveLikeAddressBook() throws Exception {
+        final Random random = new Random(2103);
+        final AddressBook expected = new AddressBook();
+        final LockFreeAddressBook actual = new LockFreeAddressBook();
+
+        for (int step = 0; step < 2000; step++) {
+            final int seed = random.nextInt(100);
+            final int operation = random.nextInt(10);
+            if (operation < 5) {
+                final int position = random.nextInt(expected.getPersonCount() + 1);
+                assertEquals(tryAdd(expected, generatePerson(seed), position),
+                        tryAdd(actual, generatePerson(seed), position));
+            } else if (operation < 9) {
+                assertEquals(tryRemove(expected, generatePerson(seed)), tryRemove(actual, generatePerson(seed)));
+            } else {
+                final AddressBook detachedExpected = expected.detachAll();
+                final LockFreeAddressBook detachedActual = actual.detachAll();
+                assertEquals(expected, actual);
+                expected.reattach(detachedExpected);
+                actual.reattach(detachedActual);
+            }
+            assertEquals(expected.getPersonCount(), actual.getPersonCount());
+            assertEquals(expected.containsPerson(generatePerson(seed)), actual.containsPerson(generatePerson(seed)));
+        }
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+        assertEquals(expected.hashCode(), actual.hashCode());
+    }
+
+    /** Adds at the given position, or at the end if the position is odd, and returns whether it was added. */
+    private static boolean tryAdd(MutableAddressBook addressBook, Person person, int position) throws Exception {
+        try {
+            if (position % 2 == 0) {
+                addressBook.addPerson(position, person);
+            } else {
+                addressBook.addPerson(person);
+            }
+            return true;
+        } catch (DuplicatePersonException dpe) {
+            return false;
+        }
+    }
+
+    /** Returns the position of the removed person, or -1 if there was no such person. */
+    private static int tryRemove(MutableAddressBook addressBook, Person person) {
+        try {
+            return addressBook.removePerson(person);
+        } catch (PersonNotFoundException pnfe) {
+            return -1;
+        }
+    }
+
+    @Test
+    public void addPerson_atPositionWithoutRoomForOrderKey_renumbers() throws Exception {
+        final LockFreeAddressBook addressBook = new LockFreeAddressBook();
+        addressBook.addPerson(generatePerson(0));
+        addressBook.addPerson(generatePerson(1));
+        for (int i = 2; i < 40; i++) {
+            addressBook.addPerson(1, generatePerson(i));
+        }
+        final List<Person> persons = new ArrayList<>();
+        addressBook.getAllPersons().forEach(persons::add);
+        assertEquals(generatePerson(0), persons.get(0));
+        assertEquals(generatePerson(39), persons.get(1));
+        assertEquals(generatePerson(2), persons.get(38));
+        assertEquals(generatePerson(1), persons.get(39));
+    }
+
+    @Test
+    public void snapshot_unaffectedByLaterChanges() throws Exception {
+        final LockFreeAddressBook addressBook = new LockFreeAddressBook();
+        final Person person = generatePerson(1);
+        addressBook.addPerson(person);
+
+        final LockFreeAddressBook snapshot = addressBook.snapshot();
+        addressBook.removePerson(person);
+        addressBook.addPerson(generatePerson(2));
+
+        assertTrue(snapshot.containsPerson(person));
+        assertFalse(snapshot.containsPerson(generatePerson(2)));
+        assertEquals(1, snapshot.getPersonCount());
+    }
+
+    @Test
+    public void reattach_nonEmpty_keepsDetachedData() throws Exception {
+        final LockFreeAddressBook addressBook = new LockFreeAddressBook();
+        addressBook.addPerson(generatePerson(1));
+        final LockFreeAddressBook detached = addressBook.detachAll();
+        addressBook.addPerson(generatePerson(2));
+        try {
+            addressBook.reattach(detached);
+            fail();
+        } catch (IllegalStateException ise) {
+            assertTrue(detached.containsPerson(generatePerson(1)));
+        }
+    }
+
+    /**
+     * Writers add and remove persons with new tags while readers check that every read is consistent.
+     */
+    @Test
+    public void concurrentReadsAndWrites_readsAlwaysConsistent() throws Exception {
+        final int stablePersons = 50;
+        final int writers = 2;
+        final int writesPerWriter = 2000;
+        final LockFreeAddressBook addressBook = new LockFreeAddressBook();
+        for (int i = 0; i < stablePersons; i++) {
+            addressBook.addPerson(generatePerson(i));
+        }
+
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger runningWriters = new AtomicInteger(writers);
+        final List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            final int writer = w;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < writesPerWriter; i++) {
+                        final Person temporary = new Person(new Name("Writer " + writer + " Person " + i),
+                                new Phone("" + i, false), new Email(i + "@writer", false),
+                                new Address("Writer " + writer, false),
+                                new UniqueTagList(new Tag("w" + writer + "i" + i)));
+                        addressBook.addPerson(temporary);
+                        addressBook.removePerson(temporary);
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    runningWriters.decrementAndGet();
+                }
+            }));
+        }
+        threads.add(new Thread(() -> {
+            try {
+                start.await();
+                final Random random = new Random(0);
+                while (runningWriters.get() > 0 && failure.get() == null) {
+                    assertTrue(addressBook.containsPerson(generatePerson(random.nextInt(stablePersons))));
+                    final LockFreeAddressBook snapshot = addressBook.snapshot();
+                    final UniqueTagList snapshotTags = snapshot.getAllTags();
+                    int count = 0;
+                    for (Person person : snapshot.getAllPersons()) {
+                        count++;
+                        for (Tag tag : person.getTags()) {
+                            assertTrue("tag of person missing from tag list", snapshotTags.contains(tag));
+                        }
+                    }
+                    assertEquals(count, snapshot.getPersonCount());
+                    assertTrue(count >= stablePersons && count <= stablePersons + writers);
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+        }));
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        assertEquals(stablePersons, addressBook.getPersonCount());
+        assertEquals(7 + 1 + writers * writesPerWriter, addressBook.getAllTags().toSet().size());
+    }
+}
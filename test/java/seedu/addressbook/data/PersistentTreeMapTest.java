@@ -0,0 +1,95 @@
+package seedu.addressbook.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class PersistentTreeMapTest {
+
+    /**
+     * Applies the same random puts and removes to a TreeMap and to a persistent map, checking that they agree
+     * after every change and that earlier versions of the persistent map are unaffected by later changes.
+     */
+    @Test
+    public void randomChanges_matchTreeMap() {
+        final Random random = new Random(2103);
+        final TreeMap<Integer, Integer> expected = new TreeMap<>();
+        PersistentTreeMap<Integer, Integer> actual = PersistentTreeMap.empty(Comparator.naturalOrder());
+        final PersistentTreeMap<Integer, Integer> emptyVersion = actual;
+        PersistentTreeMap<Integer, Integer> earlierVersion = actual;
+        TreeMap<Integer, Integer> earlierExpected = new TreeMap<>();
+
+        for (int step = 0; step < 5000; step++) {
+            final int key = random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                actual = actual.remove(key);
+            } else {
+                expected.put(key, step);
+                actual = actual.put(key, step);
+            }
+            if (step % 500 == 0) {
+                assertSameContents(earlierExpected, earlierVersion);
+                earlierVersion = actual;
+                earlierExpected = new TreeMap<>(expected);
+            }
+            assertEquals(expected.size(), actual.size());
+            assertEquals(expected.get(key), actual.get(key));
+        }
+        assertSameContents(expected, actual);
+        assertEquals(0, emptyVersion.size());
+    }
+
+    private static void assertSameContents(TreeMap<Integer, Integer> expected,
+                                           PersistentTreeMap<Integer, Integer> actual) {
+        final List<Integer> actualKeys = new ArrayList<>();
+        actual.keys().forEach(actualKeys::add);
+        final List<Integer> actualValues = new ArrayList<>();
+        actual.values().forEach(actualValues::add);
+        assertEquals(new ArrayList<>(expected.keySet()), actualKeys);
+        assertEquals(new ArrayList<>(expected.values()), actualValues);
+
+        int index = 0;
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getKey(), actual.keyAt(index));
+            assertEquals(entry.getValue(), actual.valueAt(index));
+            assertEquals(index, actual.indexOf(entry.getKey()));
+            index++;
+        }
+        assertEquals(expected.isEmpty() ? null : expected.lastKey(), actual.lastKey());
+    }
+
+    @Test
+    public void remove_missingKey_returnsSameMap() {
+        final PersistentTreeMap<Integer, String> map = PersistentTreeMap.<Integer, String>empty(Comparator.naturalOrder())
+                .put(1, "one").put(2, "two");
+        assertSame(map, map.remove(3));
+        assertEquals(-1, map.indexOf(3));
+    }
+
+    @Test
+    public void ofSorted_buildsSearchableMap() {
+        final List<Integer> keys = Arrays.asList(1, 3, 5, 7, 9, 11, 13);
+        final List<String> values = Arrays.asList("a", "b", "c", "d", "e", "f", "g");
+        final PersistentTreeMap<Integer, String> map = PersistentTreeMap.ofSorted(Comparator.naturalOrder(), keys, values);
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(values.get(i), map.get(keys.get(i)));
+            assertEquals(i, map.indexOf(keys.get(i)));
+        }
+        assertEquals("d", map.remove(5).valueAt(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ofSorted_unsortedKeys_throwsIllegalArgumentException() {
+        PersistentTreeMap.ofSorted(Comparator.<Integer>naturalOrder(), Arrays.asList(2, 1), Arrays.asList("b", "a"));
+    }
+}
@@ -0,0 +1,162 @@
+package seedu.addressbook.data.person;
+
+import org.junit.Test;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ColumnarPersonStoreTest {
+
+    private static Person generatePerson(int seed) throws Exception {
+        return new Person(1000 + seed,
+                new Name("Person " + seed + " Tan"),
+                new Phone("" + seed, seed % 2 == 0),
+                new Email(seed + "@email", seed % 3 == 0),
+                new Address("House of " + seed + ", Café street", seed % 5 == 0),
+                new UniqueTagList(new Tag("tag" + (seed % 7)), new Tag("shared")));
+    }
+
+    private static UniquePersonList columnarList(int count) throws Exception {
+        final UniquePersonList list = new UniquePersonList(new ColumnarPersonStore());
+        for (int seed = 0; seed < count; seed++) {
+            list.add(generatePerson(seed));
+        }
+        return list;
+    }
+
+    private static void assertSameValues(ReadOnlyPerson expected, ReadOnlyPerson actual) {
+        assertTrue(expected.isSameStateAs(actual));
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getPhone().isPrivate(), actual.getPhone().isPrivate());
+        assertEquals(expected.getEmail().isPrivate(), actual.getEmail().isPrivate());
+        assertEquals(expected.getAddress().isPrivate(), actual.getAddress().isPrivate());
+        assertEquals(expected.getTags(), actual.getTags());
+        assertEquals(expected.getAsTextShowAll(), actual.getAsTextShowAll());
+    }
+
+    @Test
+    public void add_viewsAndPersonsHaveAllValues() throws Exception {
+        final UniquePersonList list = columnarList(100);
+
+        assertEquals(100, list.size());
+        int seed = 0;
+        for (ReadOnlyPerson view : list.immutableListView()) {
+            assertSameValues(generatePerson(seed), view);
+            assertEquals(generatePerson(seed), view);
+            assertEquals(generatePerson(seed).hashCode(), view.hashCode());
+            seed++;
+        }
+        assertSameValues(generatePerson(42), list.get(42));
+        assertNotSame(list.get(42), list.get(42));
+    }
+
+    @Test
+    public void add_duplicate_throws() throws Exception {
+        final UniquePersonList list = columnarList(3);
+        try {
+            list.add(0, generatePerson(2));
+            fail("expected DuplicatePersonException");
+        } catch (DuplicatePersonException expected) {
+            // expected
+        }
+        try {
+            list.set(0, generatePerson(1));
+            fail("expected DuplicatePersonException");
+        } catch (DuplicatePersonException expected) {
+            // expected
+        }
+        assertEquals(3, list.size());
+        assertEquals(1, list.indexOf(generatePerson(1)));
+        assertFalse(list.contains(generatePerson(3)));
+    }
+
+    @Test
+    public void changes_keepEveryColumnInStep() throws Exception {
+        final List<Person> expected = new ArrayList<>();
+        final UniquePersonList list = columnarList(0);
+        for (int seed = 0; seed < 30; seed++) {
+            expected.add(generatePerson(seed));
+            list.add(generatePerson(seed));
+        }
+        expected.add(5, generatePerson(100));
+        list.add(5, generatePerson(100));
+        expected.set(9, generatePerson(101));
+        assertSameValues(generatePerson(8), list.set(9, generatePerson(101)));
+        expected.remove(0);
+        assertSameValues(generatePerson(0), list.removeAt(0));
+        expected.removeAll(Arrays.asList(generatePerson(3), generatePerson(20), generatePerson(29)));
+        list.removeAll(Arrays.asList(generatePerson(20), generatePerson(3), generatePerson(29)));
+
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSameValues(expected.get(i), list.immutableListView().get(i));
+            assertEquals(i, list.indexOf(expected.get(i)));
+        }
+        assertEquals(new UniquePersonList(expected), list);
+    }
+
+    @Test
+    public void copy_changedSeparately_keepsItsOwnValues() throws Exception {
+        final UniquePersonList list = columnarList(5);
+        final UniquePersonList copy = new UniquePersonList(list);
+
+        copy.set(0, generatePerson(10));
+        copy.add(generatePerson(11));
+
+        assertEquals(columnarList(5), list);
+        assertSameValues(generatePerson(10), copy.get(0));
+        assertTrue(copy.contains(generatePerson(11)));
+        assertFalse(list.contains(generatePerson(11)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void view_usedAfterRemoval_throws() throws Exception {
+        final UniquePersonList list = columnarList(2);
+        final ReadOnlyPerson second = list.immutableListView().get(1);
+        list.removeAt(0);
+        second.getName();
+    }
+
+    @Test
+    public void view_addedAfterAtEnd_stillUsable() throws Exception {
+        final UniquePersonList list = columnarList(2);
+        final ReadOnlyPerson second = list.immutableListView().get(1);
+        list.add(generatePerson(2));
+        assertSameValues(generatePerson(1), second);
+    }
+
+    @Test
+    public void findByNameWords_sameAsObjectStore() throws Exception {
+        final List<Person> persons = new ArrayList<>();
+        final String[] words = { "Al", "Bo", "Cy", "Al2", "bo" };
+        for (int i = 0; i < 200; i++) {
+            final StringBuilder name = new StringBuilder(words[i % words.length]);
+            for (int w = i % 3; w > 0; w--) {
+                name.append(i % 2 == 0 ? " " : "  ").append(words[(i * 7 + w) % words.length]);
+            }
+            persons.add(new Person(new Name(name + " " + i), new Phone("" + i, false),
+                    new Email(i + "@email", false), new Address("a", false), new UniqueTagList()));
+        }
+        final UniquePersonList columns = new UniquePersonList(new ColumnarPersonStore());
+        columns.addAll(persons);
+
+        final Set<String> keywords = new HashSet<>(Arrays.asList("Bo", "Al2", "A"));
+        final List<ReadOnlyPerson> expected = new UniquePersonList(persons).findByNameWords(keywords);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, columns.findByNameWords(keywords));
+        assertEquals(Collections.emptyList(), columns.findByNameWords(Collections.singleton("Dee")));
+    }
+}
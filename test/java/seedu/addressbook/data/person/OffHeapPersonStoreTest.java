@@ -0,0 +1,229 @@
+package seedu.addressbook.data.person;
+
+import org.junit.Test;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OffHeapPersonStoreTest {
+
+    private static Person generatePerson(int seed) throws Exception {
+        return new Person(1000 + seed,
+                new Name("Person " + seed + " Tan"),
+                new Phone("" + seed, seed % 2 == 0),
+                new Email(seed + "@email", seed % 3 == 0),
+                new Address("House of " + seed + ", Café street", seed % 5 == 0),
+                new UniqueTagList(new Tag("tag" + (seed % 7)), new Tag("shared")));
+    }
+
+    private static UniquePersonList offHeapList(OffHeapPersonStore store, int count) throws Exception {
+        final UniquePersonList list = new UniquePersonList(store);
+        for (int seed = 0; seed < count; seed++) {
+            list.add(generatePerson(seed));
+        }
+        return list;
+    }
+
+    private static void assertSameValues(ReadOnlyPerson expected, ReadOnlyPerson actual) {
+        assertTrue(expected.isSameStateAs(actual));
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getPhone().isPrivate(), actual.getPhone().isPrivate());
+        assertEquals(expected.getEmail().isPrivate(), actual.getEmail().isPrivate());
+        assertEquals(expected.getAddress().isPrivate(), actual.getAddress().isPrivate());
+        assertEquals(expected.getTags(), actual.getTags());
+        assertEquals(expected.getAsTextShowAll(), actual.getAsTextShowAll());
+    }
+
+    @Test
+    public void add_cursorsAndPersonsHaveAllValues() throws Exception {
+        final UniquePersonList list = offHeapList(new OffHeapPersonStore(), 100);
+
+        assertEquals(100, list.size());
+        int seed = 0;
+        for (ReadOnlyPerson cursor : list.immutableListView()) {
+            assertSameValues(generatePerson(seed), cursor);
+            assertEquals(generatePerson(seed), cursor);
+            assertEquals(generatePerson(seed).hashCode(), cursor.hashCode());
+            seed++;
+        }
+        assertSameValues(generatePerson(42), list.get(42));
+    }
+
+    @Test
+    public void add_duplicate_throws() throws Exception {
+        final UniquePersonList list = offHeapList(new OffHeapPersonStore(), 3);
+        try {
+            list.add(0, generatePerson(2));
+            fail("expected DuplicatePersonException");
+        } catch (DuplicatePersonException expected) {
+            // expected
+        }
+        try {
+            list.set(0, generatePerson(1));
+            fail("expected DuplicatePersonException");
+        } catch (DuplicatePersonException expected) {
+            // expected
+        }
+        assertEquals(3, list.size());
+        assertEquals(1, list.indexOf(generatePerson(1)));
+        assertFalse(list.contains(generatePerson(3)));
+    }
+
+    @Test
+    public void remove_closesGapInAddresses() throws Exception {
+        final List<Person> expected = new ArrayList<>();
+        final UniquePersonList list = offHeapList(new OffHeapPersonStore(), 0);
+        for (int seed = 0; seed < 50; seed++) {
+            expected.add(generatePerson(seed));
+            list.add(generatePerson(seed));
+        }
+        final Random random = new Random(40);
+        while (!expected.isEmpty()) {
+            final Person toRemove = expected.get(random.nextInt(expected.size()));
+            assertEquals(expected.indexOf(toRemove), list.remove(toRemove));
+            expected.remove(toRemove);
+            assertEquals(expected.size(), list.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertSameValues(expected.get(i), list.get(i));
+                assertEquals(i, list.indexOf(expected.get(i)));
+            }
+        }
+        list.add(generatePerson(7));
+        assertSameValues(generatePerson(7), list.get(0));
+    }
+
+    @Test
+    public void remove_spaceReusedByLaterPersons() throws Exception {
+        final OffHeapPersonStore store = new OffHeapPersonStore();
+        final UniquePersonList list = offHeapList(store, 1000);
+        final long reserved = store.getReservedBytes();
+        for (int seed = 1000; seed < 5000; seed++) {
+            list.removeAt(0);
+            list.add(generatePerson(seed));
+        }
+        list.set(0, generatePerson(0));
+        assertEquals(reserved, store.getReservedBytes());
+        assertSameValues(generatePerson(0), list.get(0));
+        assertSameValues(generatePerson(4001), list.get(1));
+    }
+
+    @Test
+    public void clear_freesDirectMemory() throws Exception {
+        final BufferPoolMXBean directPool = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct")).findFirst().get();
+        final long usedBefore = directPool.getMemoryUsed();
+        final OffHeapPersonStore store = new OffHeapPersonStore();
+        final UniquePersonList list = offHeapList(store, 100);
+        assertTrue(directPool.getMemoryUsed() >= usedBefore + store.getReservedBytes());
+
+        list.clear();
+
+        assertEquals(0, store.getReservedBytes());
+        assertTrue(directPool.getMemoryUsed() <= usedBefore);
+        list.add(generatePerson(1));
+        assertSameValues(generatePerson(1), list.get(0));
+    }
+
+    @Test
+    public void cursor_survivesRemovalOfOtherPersons() throws Exception {
+        final UniquePersonList list = offHeapList(new OffHeapPersonStore(), 2);
+        final ReadOnlyPerson second = list.immutableListView().get(1);
+        list.removeAt(0);
+        assertSameValues(generatePerson(1), second);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void cursor_usedAfterItsRemoval_throws() throws Exception {
+        final UniquePersonList list = offHeapList(new OffHeapPersonStore(), 2);
+        final ReadOnlyPerson first = list.immutableListView().get(0);
+        list.removeAt(0);
+        list.add(generatePerson(0));
+        first.getName();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void cursor_usedAfterClear_throws() throws Exception {
+        final UniquePersonList list = offHeapList(new OffHeapPersonStore(), 2);
+        final ReadOnlyPerson first = list.immutableListView().get(0);
+        list.clear();
+        list.add(generatePerson(0));
+        first.getName();
+    }
+
+    @Test
+    public void copy_changedSeparately_keepsItsOwnRecords() throws Exception {
+        final UniquePersonList list = offHeapList(new OffHeapPersonStore(), 5);
+        final UniquePersonList copy = new UniquePersonList(list);
+
+        copy.set(0, generatePerson(10));
+        copy.add(generatePerson(11));
+        list.clear();
+
+        assertSameValues(generatePerson(10), copy.get(0));
+        assertSameValues(generatePerson(4), copy.get(4));
+        assertTrue(copy.contains(generatePerson(11)));
+        assertEquals(0, list.size());
+    }
+
+    @Test
+    public void mappedChunks_holdPersons() throws Exception {
+        final File file = File.createTempFile("persons", ".bin");
+        file.deleteOnExit();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+            final long[] mapped = { 0 };
+            final UniquePersonList list = offHeapList(new OffHeapPersonStore(size -> {
+                try {
+                    final ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_WRITE, mapped[0], size);
+                    mapped[0] += size;
+                    return chunk;
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException(ioe);
+                }
+            }), 100);
+            assertSameValues(generatePerson(99), list.get(99));
+            assertTrue(file.length() > 0);
+            list.clear();
+        }
+    }
+
+    @Test
+    public void findByNameWords_sameAsObjectStore() throws Exception {
+        final List<Person> persons = new ArrayList<>();
+        final String[] words = { "Al", "Bo", "Cy", "Al2", "bo" };
+        for (int i = 0; i < 200; i++) {
+            final StringBuilder name = new StringBuilder(words[i % words.length]);
+            for (int w = i % 3; w > 0; w--) {
+                name.append(i % 2 == 0 ? " " : "  ").append(words[(i * 7 + w) % words.length]);
+            }
+            persons.add(new Person(new Name(name + " " + i), new Phone("" + i, false),
+                    new Email(i + "@email", false), new Address("a", false), new UniqueTagList()));
+        }
+        final UniquePersonList records = new UniquePersonList(new OffHeapPersonStore());
+        records.addAll(persons);
+
+        final Set<String> keywords = new HashSet<>(Arrays.asList("Bo", "Al2", "A"));
+        final List<ReadOnlyPerson> expected = new UniquePersonList(persons).findByNameWords(keywords);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, records.findByNameWords(keywords));
+    }
+}
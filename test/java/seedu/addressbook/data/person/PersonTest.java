@@ -0,0 +1,62 @@
+package seedu.addressbook.data.person;
+
+import org.junit.Test;
+import seedu.addressbook.common.Utils;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class PersonTest {
+
+    private static Person person() throws Exception {
+        return new Person(new Name("Amy Bee"), new Phone("111", true), new Email("amy@example.com", false),
+                new Address("1 Street", false), new UniqueTagList(new Tag("friend")));
+    }
+
+    @Test
+    public void getAsText_calledTwice_sameCachedText() throws Exception {
+        final Person person = person();
+        assertEquals("Amy Bee Phone: (private) 111 Email: amy@example.com Address: 1 Street Tags: [friend]",
+                person.getAsTextShowAll());
+        assertSame(person.getAsTextShowAll(), person.getAsTextShowAll());
+        assertEquals("Amy Bee Email: amy@example.com Address: 1 Street Tags: [friend]",
+                person.getAsTextHidePrivate());
+        assertSame(person.getAsTextHidePrivate(), person.getAsTextHidePrivate());
+    }
+
+    @Test
+    public void withTags_copiesPersonWithNewTags_originalUnchanged() throws Exception {
+        final Person person = person().withId(7);
+        final String originalText = person.getAsTextShowAll();
+
+        final Person copy = person.withTags(new UniqueTagList(new Tag("colleague")));
+
+        assertNotSame(person, copy);
+        assertEquals(7, copy.getId());
+        assertEquals("Amy Bee Phone: (private) 111 Email: amy@example.com Address: 1 Street Tags: [colleague]",
+                copy.getAsTextShowAll());
+        assertEquals("Amy Bee Email: amy@example.com Address: 1 Street Tags: [colleague]",
+                copy.getAsTextHidePrivate());
+        assertEquals(originalText, person.getAsTextShowAll());
+        assertEquals(person, copy);
+        assertEquals(person.hashCode(), copy.hashCode());
+    }
+
+    @Test
+    public void hashCode_equalPersonsWithDifferentTagsOrPrivacy_sameHashCode() throws Exception {
+        final Person person = person();
+        final Person other = new Person(new Name("Amy Bee"), new Phone("111", false),
+                new Email("amy@example.com", true), new Address("1 Street", false), new UniqueTagList());
+
+        assertEquals(person, other);
+        assertEquals(person.hashCode(), other.hashCode());
+        assertEquals(person.hashCode(), person.hashCode());
+        assertFalse(Utils.elementsAreUnique(Arrays.asList(person, other)));
+    }
+}
@@ -0,0 +1,98 @@
+package seedu.addressbook.data.person;
+
+import org.junit.Test;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class UniquePersonListTest {
+
+    private static Person person(int seed) throws Exception {
+        return new Person(new Name("Person " + seed), new Phone("" + seed, false), new Email(seed + "@email", false),
+                new Address("House of " + seed, false), new UniqueTagList());
+    }
+
+    private static void assertAddFails(UniquePersonList list, Person toAdd) {
+        try {
+            list.add(toAdd);
+            fail("expected DuplicatePersonException");
+        } catch (DuplicatePersonException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void contains_afterEachChange_matchesListContents() throws Exception {
+        assertContainsMatchesContentsAfterEachChange(new UniquePersonList(person(1), person(2)));
+    }
+
+    @Test
+    public void contains_afterEachChangeInColumnarStore_matchesListContents() throws Exception {
+        final UniquePersonList list = new UniquePersonList(new ColumnarPersonStore());
+        list.addAll(Arrays.asList(person(1), person(2)));
+        assertContainsMatchesContentsAfterEachChange(list);
+    }
+
+    @Test
+    public void contains_afterEachChangeInOffHeapStore_matchesListContents() throws Exception {
+        final UniquePersonList list = new UniquePersonList(new OffHeapPersonStore());
+        list.addAll(Arrays.asList(person(1), person(2)));
+        assertContainsMatchesContentsAfterEachChange(list);
+    }
+
+    private static void assertContainsMatchesContentsAfterEachChange(UniquePersonList list) throws Exception {
+        list.add(0, person(3));
+        list.addAll(Arrays.asList(person(4), person(5)));
+        assertAddFails(list, person(3));
+
+        list.set(1, person(6));
+        assertFalse(list.contains(person(1)));
+        assertTrue(list.contains(person(6)));
+        list.add(person(1));
+
+        list.removeAt(0);
+        list.remove(person(2));
+        list.removeAt(new int[] { 0, 2 });
+        assertEquals(Arrays.asList(person(4), person(1)), list.immutableListView());
+        for (int seed : new int[] { 2, 3, 5, 6 }) {
+            assertFalse(list.contains(person(seed)));
+        }
+        assertAddFails(list, person(4));
+
+        final UniquePersonList detached = list.detachAll();
+        assertFalse(list.contains(person(4)));
+        assertTrue(detached.contains(person(4)));
+        list.reattach(detached);
+        assertAddFails(list, person(1));
+        assertFalse(detached.contains(person(1)));
+
+        list.clear();
+        list.add(person(1));
+        assertEquals(1, list.size());
+    }
+
+    @Test
+    public void copy_changedSeparately_containsOnlyItsOwnPersons() throws Exception {
+        final UniquePersonList list = new UniquePersonList(person(1), person(2));
+        final UniquePersonList copy = new UniquePersonList(list);
+
+        copy.remove(person(1));
+        copy.add(person(3));
+
+        assertTrue(list.contains(person(1)));
+        assertFalse(list.contains(person(3)));
+        assertFalse(copy.contains(person(1)));
+        assertAddFails(copy, person(3));
+    }
+
+    @Test(expected = DuplicatePersonException.class)
+    public void constructor_duplicatePersons_throws() throws Exception {
+        new UniquePersonList(person(1), person(2), person(1));
+    }
+}
@@ -0,0 +1,87 @@
+package seedu.addressbook.diagnostics.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.AddressBook.UniqueDetail;
+import seedu.addressbook.diagnostics.Diagnostics;
+import seedu.addressbook.storage.DatasetGenerator;
+import seedu.addressbook.storage.StorageFile;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FlightRecorderBackendTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void loadAndSave_recordsStorageAndIndexEvents() throws Exception {
+        assertTrue(Diagnostics.isFlightRecorderAvailable());
+        final File storageFile = folder.newFile("addressbook.txt");
+        try (OutputStream out = new FileOutputStream(storageFile)) {
+            new DatasetGenerator(100, 5, 1).writeStorageFile(out);
+        }
+        final long generatedBytes = storageFile.length();
+        final StorageFile storage = new StorageFile(storageFile.getPath());
+
+        final List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(StorageLoadedEvent.class);
+            recording.enable(StorageSavedEvent.class);
+            recording.enable(IndexRebuiltEvent.class);
+            recording.start();
+            final AddressBook addressBook = storage.load();
+            addressBook.addUniqueIndex(UniqueDetail.PHONE);
+            storage.save(addressBook);
+            recording.stop();
+            final Path dump = folder.newFile("recording.jfr").toPath();
+            recording.dump(dump);
+            events = RecordingFile.readAllEvents(dump);
+        }
+
+        final List<String> names = new ArrayList<>();
+        for (RecordedEvent event : events) {
+            names.add(event.getEventType().getName());
+        }
+        assertTrue(names.toString(), names.contains("seedu.addressbook.StorageLoaded"));
+        assertTrue(names.toString(), names.contains("seedu.addressbook.StorageSaved"));
+        final List<String> indexNames = new ArrayList<>();
+        for (RecordedEvent event : events) {
+            switch (event.getEventType().getName()) {
+                case "seedu.addressbook.StorageLoaded":
+                    assertEquals(generatedBytes, event.getLong("bytes"));
+                    assertStorageEvent(storage, event);
+                    break;
+                case "seedu.addressbook.StorageSaved":
+                    assertStorageEvent(storage, event);
+                    break;
+                case "seedu.addressbook.IndexRebuilt":
+                    assertEquals(100, event.getInt("personCount"));
+                    indexNames.add(event.getString("indexName"));
+                    break;
+                default:
+                    break;
+            }
+        }
+        assertTrue(indexNames.toString(), indexNames.contains("id"));
+        assertTrue(indexNames.toString(), indexNames.contains("phone"));
+    }
+
+    private static void assertStorageEvent(StorageFile storage, RecordedEvent event) {
+        assertEquals(storage.getPath(), event.getString("path"));
+        assertEquals(100, event.getInt("personCount"));
+    }
+}
@@ -0,0 +1,99 @@
+package seedu.addressbook.logic;
+
+import org.junit.Test;
+import seedu.addressbook.data.AddressBook;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CommandHistoryTest {
+
+    private final AddressBook addressBook = new AddressBook();
+
+    @Test
+    public void record_beyondMaxDepth_forgetsOldest() {
+        final CommandHistory history = new CommandHistory(2, Long.MAX_VALUE);
+        final List<String> undone = new ArrayList<>();
+        history.record(new FakeChange("first", 1, undone));
+        history.record(new FakeChange("second", 1, undone));
+        history.record(new FakeChange("third", 1, undone));
+
+        assertEquals("third", history.undo(addressBook).get().getDescription());
+        assertEquals("second", history.undo(addressBook).get().getDescription());
+        assertFalse(history.undo(addressBook).isPresent());
+    }
+
+    @Test
+    public void record_beyondMemoryBudget_forgetsOldest() {
+        final CommandHistory history = new CommandHistory(100, 10);
+        final List<String> undone = new ArrayList<>();
+        history.record(new FakeChange("small", 4, undone));
+        history.record(new FakeChange("large", 8, undone));
+
+        assertEquals("large", history.undo(addressBook).get().getDescription());
+        assertFalse(history.undo(addressBook).isPresent());
+    }
+
+    @Test
+    public void record_changeBeyondMemoryBudget_cannotBeUndone() {
+        final CommandHistory history = new CommandHistory(100, 10);
+        final List<String> undone = new ArrayList<>();
+        assertTrue(history.record(new FakeChange("small", 4, undone)));
+        assertFalse(history.record(new FakeChange("huge", 11, undone)));
+
+        assertFalse(history.undo(addressBook).isPresent());
+        assertTrue(undone.isEmpty());
+    }
+
+    @Test
+    public void record_afterUndo_discardsRedo() {
+        final CommandHistory history = new CommandHistory();
+        final List<String> undone = new ArrayList<>();
+        history.record(new FakeChange("first", 1, undone));
+        history.undo(addressBook);
+        assertEquals(1, undone.size());
+
+        history.record(new FakeChange("second", 1, undone));
+        assertFalse(history.redo(addressBook).isPresent());
+        assertTrue(history.undo(addressBook).isPresent());
+    }
+
+    /**
+     * A change that only records when it is undone and redone.
+     */
+    private static class FakeChange implements ReversibleChange {
+        private final String description;
+        private final long estimatedBytes;
+        private final List<String> undone;
+
+        FakeChange(String description, long estimatedBytes, List<String> undone) {
+            this.description = description;
+            this.estimatedBytes = estimatedBytes;
+            this.undone = undone;
+        }
+
+        @Override
+        public void undo(AddressBook addressBook) {
+            undone.add(description);
+        }
+
+        @Override
+        public void redo(AddressBook addressBook) {
+            undone.remove(description);
+        }
+
+        @Override
+        public long getEstimatedBytes() {
+            return estimatedBytes;
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+    }
+}
@@ -9,14 +9,21 @@ import seedu.addressbook.commands.CommandResult;
 import seedu.addressbook.commands.*;
 import seedu.addressbook.common.Messages;
 import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ReadOnlyAddressBook;
 import seedu.addressbook.data.person.*;
 import seedu.addressbook.data.tag.Tag;
 import seedu.addressbook.data.tag.UniqueTagList;
+import seedu.addressbook.storage.InMemoryStorage;
+import seedu.addressbook.storage.Storage;
 import seedu.addressbook.storage.StorageFile;
 
+import java.io.File;
+import java.nio.file.Files;
 import java.util.*;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.assertSame;
 import static seedu.addressbook.common.Messages.*;
 
 
@@ -28,18 +35,29 @@ public class LogicTest {
     @Rule
     public TemporaryFolder saveFolder = new TemporaryFolder();
 
-    private StorageFile saveFile;
+    private Storage saveFile;
     private AddressBook addressBook;
     private Logic logic;
 
     @Before
     public void setup() throws Exception {
-        saveFile = new StorageFile(saveFolder.newFile("testSaveFile.txt").getPath());
+        saveFile = new InMemoryStorage();
         addressBook = new AddressBook();
         saveFile.save(addressBook);
         logic = new Logic(saveFile, addressBook);
     }
 
+    /**
+     * Makes the logic save to a real file instead of memory, for tests of what is kept in the file.
+     */
+    private StorageFile useStorageFile() throws Exception {
+        final StorageFile storageFile = new StorageFile(saveFolder.newFile("testSaveFile.txt").getPath());
+        storageFile.save(addressBook);
+        saveFile = storageFile;
+        logic = new Logic(saveFile, addressBook);
+        return storageFile;
+    }
+
     @Test
     public void constructor() {
         //Constructor is called in the setup() method which executes before every test, no need to call it here again.
@@ -110,6 +128,54 @@ public class LogicTest {
         assertCommandBehavior("exit", ExitCommand.MESSAGE_EXIT_ACKNOWEDGEMENT);
     }
 
+    @Test
+    public void execute_stats_reportsPhasesAndSaves() throws Exception {
+        final StorageFile storageFile = useStorageFile();
+        TestDataHelper helper = new TestDataHelper();
+        logic.execute(helper.generateAddCommand(helper.adam()));
+        logic.execute("list");
+        logic.execute("list");
+
+        final CommandStats stats = logic.getStats();
+        for (CommandStats.Phase phase : CommandStats.Phase.values()) {
+            assertEquals(1, stats.getLatencies(AddCommand.class, phase).getTotalCount());
+            assertEquals(2, stats.getLatencies(ListCommand.class, phase).getTotalCount());
+        }
+        assertEquals(3, stats.getSavedBytes().getTotalCount());
+        assertEquals(Files.size(storageFile.path), stats.getSavedBytes().getMax());
+
+        final String report = logic.execute("stats").feedbackToUser;
+        assertTrue(report, report.contains("add        parse        n=1"));
+        assertTrue(report, report.contains("list       persist      n=2"));
+        assertTrue(report, report.contains("Saves: n=3"));
+    }
+
+    @Test
+    public void execute_statsDumpDue_writesStatsFile() throws Exception {
+        final File dumpFile = saveFolder.newFile("stats.txt");
+        logic.setStatsDump(dumpFile.toPath(), 0);
+        logic.execute("list");
+
+        final String dumped = new String(Files.readAllBytes(dumpFile.toPath()), "UTF-8");
+        assertTrue(dumped, dumped.contains("list       execute      n=1"));
+    }
+
+    @Test
+    public void execute_slowCommand_loggedWithPrivateDetailsRedacted() throws Exception {
+        final File logFile = saveFolder.newFile("slow.log");
+        final SlowCommandLog slowCommandLog = new SlowCommandLog(logFile.toPath(), 0);
+        logic.setSlowCommandLog(slowCommandLog);
+        logic.execute("add Adam Brown pp/111111 e/adam@gmail.com a/111, alpha street");
+        logic.execute("list");
+        slowCommandLog.close();
+
+        final List<String> logged = Files.readAllLines(logFile.toPath());
+        assertEquals(2, logged.size());
+        assertTrue(logged.get(0), logged.get(0).contains(
+                " persons=1 results=0 | add Adam Brown pp/*** e/adam@gmail.com a/111, alpha street"));
+        assertTrue(logged.get(1), logged.get(1).endsWith(" persons=1 results=1 | list"));
+    }
+
     @Test
     public void execute_clear() throws Exception {
         TestDataHelper helper = new TestDataHelper();
@@ -184,6 +250,30 @@ public class LogicTest {
 
     }
 
+    @Test
+    public void execute_addSharedUniquePhone_notAllowed() throws Exception {
+        // setup expectations
+        TestDataHelper helper = new TestDataHelper();
+        Person adam = helper.adam();
+        Person toBeAdded = new Person(new Name("Adam Green"), adam.getPhone(), new Email("green@gmail.com", false),
+                adam.getAddress(), new UniqueTagList());
+        AddressBook expectedAB = new AddressBook();
+        expectedAB.addPerson(helper.adam());
+
+        // setup starting state
+        logic.addUniqueIndex(AddressBook.UniqueDetail.PHONE);
+        addressBook.addPerson(adam);
+
+        // execute command and verify result
+        assertCommandBehavior(
+                helper.generateAddCommand(toBeAdded),
+                String.format(AddCommand.MESSAGE_DUPLICATE_CONTACT_DETAIL, "phone"),
+                expectedAB,
+                false,
+                Collections.emptyList());
+        assertEquals(EnumSet.of(AddressBook.UniqueDetail.PHONE), saveFile.load().getUniqueDetails());
+    }
+
     @Test
     public void execute_list_showsAllPersons() throws Exception {
         // prepare expectations
@@ -367,6 +457,82 @@ public class LogicTest {
                                 threePersons);
     }
 
+    @Test
+    public void execute_edit_changesGivenDetailsInPlace() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person p1 = helper.generatePerson(1, false);
+        Person p2 = helper.generatePerson(2, true);
+        Person p3 = helper.generatePerson(3, true);
+        List<Person> threePersons = helper.generatePersonList(p1, p2, p3);
+        Person p2Edited = new Person(p2.getName(), new Phone("999", false), p2.getEmail(), p2.getAddress(),
+                new UniqueTagList(new Tag("newTag")));
+
+        AddressBook expectedAB = helper.generateAddressBook(threePersons);
+        expectedAB.editPerson(p2, new Person(p2Edited));
+        List<Person> expectedList = helper.generatePersonList(p1, p2Edited, p3);
+
+        final long p2Id = helper.addToAddressBook(addressBook, threePersons).get(1).getId();
+        logic.setLastShownList(threePersons);
+
+        assertCommandBehavior("edit 2 p/999 t/newTag",
+                                String.format(EditCommand.MESSAGE_EDIT_PERSON_SUCCESS, p2Edited),
+                                expectedAB,
+                                true,
+                                expectedList);
+        assertSame(addressBook.getPersonById(p2Id), logic.getLastShownList().get(1));
+
+        assertCommandBehavior("undo",
+                                String.format(UndoCommand.MESSAGE_SUCCESS, "edit " + p2.getName()),
+                                helper.generateAddressBook(threePersons),
+                                false,
+                                expectedList);
+    }
+
+    @Test
+    public void execute_editTwiceAfterListing_indexesKeepReferringToSamePersons() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person p1 = helper.generatePerson(1, false);
+        Person p2 = helper.generatePerson(2, false);
+        Person p3 = helper.generatePerson(3, false);
+        List<Person> threePersons = helper.generatePersonList(p1, p2, p3);
+        Person p3Edited = new Person(p3.getName(), new Phone("333", false), p3.getEmail(), p3.getAddress(),
+                p3.getTags());
+        Person p2Edited = new Person(p2.getName(), p2.getPhone(), p2.getEmail(), p2.getAddress(),
+                new UniqueTagList(new Tag("edited")));
+
+        AddressBook expectedAB = helper.generateAddressBook(threePersons);
+        expectedAB.editPerson(p3, new Person(p3Edited));
+        expectedAB.editPerson(p2, new Person(p2Edited));
+        helper.addToAddressBook(addressBook, threePersons);
+        logic.execute("list");
+
+        logic.execute("edit 3 p/333");
+        assertCommandBehavior("edit 2 t/edited",
+                                String.format(EditCommand.MESSAGE_EDIT_PERSON_SUCCESS, p2Edited),
+                                expectedAB,
+                                true,
+                                helper.generatePersonList(p1, p2Edited, p3Edited));
+    }
+
+    @Test
+    public void execute_edit_duplicatePerson_notAllowed() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person p1 = helper.generatePerson(1, false);
+        Person p2 = helper.generatePerson(2, false);
+        Person p1Variant = new Person(p1.getName(), p2.getPhone(), p2.getEmail(), p2.getAddress(), p1.getTags());
+        List<Person> twoPersons = helper.generatePersonList(p1, p1Variant);
+
+        AddressBook expectedAB = helper.generateAddressBook(twoPersons);
+        helper.addToAddressBook(addressBook, twoPersons);
+        logic.setLastShownList(twoPersons);
+
+        assertCommandBehavior("edit 1 p/" + p2.getPhone() + " e/" + p2.getEmail() + " a/" + p2.getAddress(),
+                                AddCommand.MESSAGE_DUPLICATE_PERSON,
+                                expectedAB,
+                                false,
+                                twoPersons);
+    }
+
     @Test
     public void execute_delete_missingInAddressBook() throws Exception {
 
@@ -391,6 +557,148 @@ public class LogicTest {
                                 threePersons);
     }
 
+    @Test
+    public void execute_delete_byId_removesCorrectPersonWithoutListing() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person p1 = helper.generatePerson(1, false);
+        Person p2 = helper.generatePerson(2, true);
+        Person p3 = helper.generatePerson(3, true);
+
+        List<Person> threePersons = helper.generatePersonList(p1, p2, p3);
+
+        AddressBook expectedAB = helper.generateAddressBook(threePersons);
+        expectedAB.removePerson(p2);
+
+        List<Person> added = helper.addToAddressBook(addressBook, threePersons);
+
+        assertCommandBehavior("delete #" + added.get(1).getId(),
+                                String.format(DeleteCommand.MESSAGE_DELETE_PERSON_SUCCESS, p2),
+                                expectedAB,
+                                false,
+                                Collections.emptyList());
+    }
+
+    @Test
+    public void execute_delete_byId_missingInAddressBook() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person p1 = helper.generatePerson(1, false);
+        AddressBook expectedAB = helper.generateAddressBook(Collections.singletonList(p1));
+        List<Person> added = helper.addToAddressBook(addressBook, Collections.singletonList(p1));
+
+        assertCommandBehavior("delete #" + (added.get(0).getId() + 1),
+                                Messages.MESSAGE_PERSON_NOT_IN_ADDRESSBOOK,
+                                expectedAB,
+                                false,
+                                Collections.emptyList());
+    }
+
+    @Test
+    public void execute_viewAll_byId_showsPerson() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person p1 = helper.generatePerson(1, true);
+        Person p2 = helper.generatePerson(2, false);
+        List<Person> twoPersons = helper.generatePersonList(p1, p2);
+        AddressBook expectedAB = helper.generateAddressBook(twoPersons);
+        List<Person> added = helper.addToAddressBook(addressBook, twoPersons);
+
+        assertCommandBehavior("viewall #" + added.get(0).getId(),
+                                String.format(ViewAllCommand.MESSAGE_VIEW_PERSON_DETAILS, p1.getAsTextShowAll()),
+                                expectedAB,
+                                false,
+                                Collections.emptyList());
+    }
+
+    @Test
+    public void execute_add_idsKeptInStorage() throws Exception {
+        useStorageFile();
+        TestDataHelper helper = new TestDataHelper();
+        logic.execute(helper.generateAddCommand(helper.generatePerson(1, false)));
+        logic.execute(helper.generateAddCommand(helper.generatePerson(2, false)));
+        logic.execute("delete #1");
+
+        final AddressBook loaded = saveFile.load();
+        assertEquals(helper.generatePerson(2, false), loaded.getPersonById(2));
+        assertEquals(3, loaded.getNextPersonId());
+    }
+
+    @Test
+    public void execute_undoRedo_nothingToUndoOrRedo() throws Exception {
+        assertCommandBehavior("undo", UndoCommand.MESSAGE_NOTHING_TO_UNDO);
+        assertCommandBehavior("redo", RedoCommand.MESSAGE_NOTHING_TO_REDO);
+    }
+
+    @Test
+    public void execute_undoRedo_add() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person toBeAdded = helper.adam();
+        AddressBook expectedAB = new AddressBook();
+        expectedAB.addPerson(toBeAdded);
+
+        logic.execute(helper.generateAddCommand(toBeAdded));
+
+        assertCommandBehavior("undo",
+                String.format(UndoCommand.MESSAGE_SUCCESS, "add " + toBeAdded.getName()),
+                AddressBook.empty(),
+                false,
+                Collections.emptyList());
+        assertCommandBehavior("redo",
+                String.format(RedoCommand.MESSAGE_SUCCESS, "add " + toBeAdded.getName()),
+                expectedAB,
+                false,
+                Collections.emptyList());
+        assertCommandBehavior("redo", RedoCommand.MESSAGE_NOTHING_TO_REDO, expectedAB, false, Collections.emptyList());
+    }
+
+    @Test
+    public void execute_undoDelete_restoresPosition() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person p1 = helper.generatePerson(1, false);
+        Person p2 = helper.generatePerson(2, true);
+        Person p3 = helper.generatePerson(3, true);
+
+        List<Person> threePersons = helper.generatePersonList(p1, p2, p3);
+        AddressBook expectedAB = helper.generateAddressBook(threePersons);
+
+        helper.addToAddressBook(addressBook, threePersons);
+        logic.setLastShownList(threePersons);
+        logic.execute("delete 2");
+
+        assertCommandBehavior("undo",
+                String.format(UndoCommand.MESSAGE_SUCCESS, "delete " + p2.getName()),
+                expectedAB,
+                false,
+                threePersons);
+    }
+
+    @Test
+    public void execute_undoRedo_clear() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        AddressBook expectedAB = helper.generateAddressBook(false, true, false);
+        helper.addToAddressBook(addressBook, false, true, false);
+
+        logic.execute("clear");
+
+        assertCommandBehavior("undo", String.format(UndoCommand.MESSAGE_SUCCESS, "clear"),
+                expectedAB, false, Collections.emptyList());
+        assertCommandBehavior("redo", String.format(RedoCommand.MESSAGE_SUCCESS, "clear"),
+                AddressBook.empty(), false, Collections.emptyList());
+    }
+
+    @Test
+    public void execute_newChangeAfterUndo_cannotRedo() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person adam = helper.adam();
+        Person other = helper.generatePerson(1, false);
+        AddressBook expectedAB = new AddressBook();
+        expectedAB.addPerson(other);
+
+        logic.execute(helper.generateAddCommand(adam));
+        logic.execute("undo");
+        logic.execute(helper.generateAddCommand(other));
+
+        assertCommandBehavior("redo", RedoCommand.MESSAGE_NOTHING_TO_REDO, expectedAB, false, Collections.emptyList());
+    }
+
     @Test
     public void execute_find_invalidArgsFormat() throws Exception {
         String expectedMessage = String.format(MESSAGE_INVALID_COMMAND_FORMAT, FindCommand.MESSAGE_USAGE);
@@ -457,6 +765,92 @@ public class LogicTest {
                                 expectedList);
     }
 
+    @Test
+    public void execute_source_runsAllLinesAndReportsErrors() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        Person p1 = helper.generatePerson(1, false);
+        Person p2 = helper.generatePerson(2, true);
+        AddressBook expectedAB = helper.generateAddressBook(helper.generatePersonList(p1, p2));
+
+        File script = saveFolder.newFile("script.txt");
+        Files.write(script.toPath(), Arrays.asList(
+                "# contacts to import",
+                helper.generateAddCommand(p1),
+                "",
+                "add Valid Name p/not_numbers e/valid@e.mail a/valid, address",
+                helper.generateAddCommand(p2),
+                helper.generateAddCommand(p1),
+                "delete #999",
+                "source " + script.getPath()));
+
+        String expectedMessage = String.format(SourceCommand.MESSAGE_BATCH_SUMMARY, 6, 4)
+                + "\n" + String.format(SourceCommand.MESSAGE_LINE_ERROR, 4, Phone.MESSAGE_PHONE_CONSTRAINTS)
+                + "\n" + String.format(SourceCommand.MESSAGE_LINE_ERROR, 6, AddCommand.MESSAGE_DUPLICATE_PERSON)
+                + "\n" + String.format(SourceCommand.MESSAGE_LINE_ERROR, 7, Messages.MESSAGE_PERSON_NOT_IN_ADDRESSBOOK)
+                + "\n" + String.format(SourceCommand.MESSAGE_LINE_ERROR, 8, SourceCommand.MESSAGE_NESTED_SOURCE);
+        assertCommandBehavior("source " + script.getPath(), expectedMessage, expectedAB, false,
+                Collections.emptyList());
+    }
+
+    @Test
+    public void execute_source_missingFile() throws Exception {
+        String missingPath = new File(saveFolder.getRoot(), "missing.txt").getPath();
+        assertCommandBehavior("source " + missingPath,
+                String.format(SourceCommand.MESSAGE_CANNOT_READ_SCRIPT, missingPath));
+    }
+
+    @Test
+    public void executeBatch_savesAtCheckpointsAndAtEnd() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        SaveCountingStorage countingStorage = new SaveCountingStorage();
+        logic = new Logic(countingStorage, addressBook);
+        List<String> commands = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            commands.add(helper.generateAddCommand(helper.generatePerson(i, false)));
+        }
+
+        logic.executeBatch(commands);
+        assertEquals(1, countingStorage.saveCount);
+
+        countingStorage.saveCount = 0;
+        logic.setBatchCheckpointInterval(2);
+        logic.executeBatch(Arrays.asList("list", "list", "list", "list", "list"));
+        assertEquals(3, countingStorage.saveCount);
+        assertEquals(5, logic.getLastShownList().size());
+    }
+
+    @Test
+    public void executeBatch_parallelParsing_appliesInInputOrder() throws Exception {
+        TestDataHelper helper = new TestDataHelper();
+        List<Person> persons = new ArrayList<>();
+        List<String> commands = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            Person person = helper.generatePerson(i, i % 2 == 0);
+            persons.add(person);
+            commands.add(helper.generateAddCommand(person));
+        }
+        commands.add("list");
+
+        logic.setBatchParserThreads(4);
+        logic.executeBatch(commands);
+
+        assertEquals(helper.generateAddressBook(persons), addressBook);
+        assertEquals(persons, logic.getLastShownList());
+    }
+
+    /**
+     * A storage that counts how many times it has been saved to.
+     */
+    class SaveCountingStorage extends InMemoryStorage {
+        int saveCount = 0;
+
+        @Override
+        public void save(ReadOnlyAddressBook addressBook) {
+            saveCount++;
+            super.save(addressBook);
+        }
+    }
+
     /**
      * A utility class to generate test data.
      */
@@ -542,11 +936,15 @@ public class LogicTest {
 
         /**
          * Adds the given list of Persons to the given AddressBook
+         *
+         * @return the persons as added, with the IDs they were given
          */
-        void addToAddressBook(AddressBook addressBook, List<Person> personsToAdd) throws Exception{
+        List<Person> addToAddressBook(AddressBook addressBook, List<Person> personsToAdd) throws Exception{
+            List<Person> added = new ArrayList<>();
             for(Person p: personsToAdd){
-                addressBook.addPerson(p);
+                added.add(addressBook.addPerson(p));
             }
+            return added;
         }
 
         /**
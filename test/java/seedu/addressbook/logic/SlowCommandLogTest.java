@@ -0,0 +1,71 @@
+package seedu.addressbook.logic;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import seedu.addressbook.logic.CommandStats.Phase;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SlowCommandLogTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void redact_privateDetails_valuesReplaced() {
+        assertEquals("add John Doe pp/*** e/johnd@gmail.com pa/*** t/friend",
+                SlowCommandLog.redact("add John Doe pp/98765432 e/johnd@gmail.com pa/John street, block 123 t/friend"));
+        assertEquals("edit 2 pe/***", SlowCommandLog.redact("edit 2 pe/john@example.com"));
+        assertEquals("find John Doe", SlowCommandLog.redact("find John Doe"));
+    }
+
+    @Test
+    public void isSlow_comparesWithThreshold() throws Exception {
+        try (SlowCommandLog log = new SlowCommandLog(folder.getRoot().toPath().resolve("slow.log"), 5)) {
+            assertFalse(log.isSlow(4999999));
+            assertTrue(log.isSlow(5000000));
+        }
+    }
+
+    @Test
+    public void log_writesPhasesSizesAndRedactedText() throws Exception {
+        final Path path = folder.getRoot().toPath().resolve("slow.log");
+        final long[] phaseNanos = new long[Phase.values().length];
+        phaseNanos[Phase.PARSE.ordinal()] = 2000;
+        phaseNanos[Phase.EXECUTE.ordinal()] = 150000000;
+        try (SlowCommandLog log = new SlowCommandLog(path, 0)) {
+            log.log("add Jane pp/1234 e/a@b a/Street", phaseNanos, 42, 0);
+        }
+
+        final List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0), lines.get(0).endsWith(" total=150002us parse=2us execute=150000us persist=0us"
+                + " recordResult=0us persons=42 results=0 | add Jane pp/*** e/a@b a/Street"));
+    }
+
+    @Test
+    public void log_fileFull_rotatesAndKeepsNewest() throws Exception {
+        final Path path = folder.getRoot().toPath().resolve("slow.log");
+        final long[] phaseNanos = new long[Phase.values().length];
+        final SlowCommandLog log = new SlowCommandLog(path, 0, 300, 2);
+        for (int i = 0; i < 10; i++) {
+            log.log("find Person" + i, phaseNanos, 0, 0);
+        }
+        log.close();
+
+        assertTrue(Files.size(path) <= 300);
+        assertTrue(Files.exists(log.rotatedPath(1)));
+        assertTrue(Files.exists(log.rotatedPath(2)));
+        assertFalse(Files.exists(log.rotatedPath(3)));
+        final List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        assertTrue(lines.get(lines.size() - 1).endsWith("| find Person9"));
+    }
+}
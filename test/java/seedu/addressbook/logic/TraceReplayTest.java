@@ -0,0 +1,75 @@
+package seedu.addressbook.logic;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.storage.DatasetGenerator;
+import seedu.addressbook.storage.StorageFile;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TraceReplayTest {
+
+    private static final long NANOS_PER_MILLI = 1000000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void run_recordedTrace_reachesRecordedFinalState() throws Exception {
+        final File initial = folder.newFile("initial.txt");
+        try (OutputStream out = new FileOutputStream(initial)) {
+            new DatasetGenerator(50, 5, 3).writeStorageFile(out);
+        }
+        final File live = folder.newFile("live.txt");
+        Files.copy(initial.toPath(), live.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        final Path trace = folder.getRoot().toPath().resolve("trace.txt");
+
+        final StorageFile storage = new StorageFile(live.getPath());
+        final Logic logic = new Logic(storage, storage.load());
+        try (CommandTraceRecorder recorder = new CommandTraceRecorder(trace)) {
+            logic.setTraceRecorder(recorder);
+            logic.execute("add Trace Person p/12345 e/trace@example.com pa/1 Trace Street t/traced");
+            logic.execute("list");
+            logic.execute("delete 3");
+            logic.execute("undo");
+            logic.execute("delete 7");
+        }
+        final long recordedChecksum = TraceReplay.checksum(storage.load());
+        assertNotEquals(recordedChecksum, TraceReplay.checksum(new StorageFile(initial.getPath()).load()));
+
+        final TraceReplay.Result result = new TraceReplay(trace, initial.toPath(), 0).run();
+
+        assertEquals(5, result.commandCount);
+        assertEquals(0, result.failedCount);
+        assertEquals(5, result.saveCount);
+        assertEquals(5, result.latencies.getTotalCount());
+        assertEquals(recordedChecksum, result.finalChecksum);
+    }
+
+    @Test
+    public void run_atMultipleOfRecordedSpeed_waitsForScaledTimes() throws Exception {
+        final File storageFile = folder.newFile("empty.txt");
+        new StorageFile(storageFile.getPath()).save(new AddressBook());
+        final Path trace = folder.getRoot().toPath().resolve("trace.txt");
+        Files.write(trace, Arrays.asList(CommandTraceRecorder.COMMENT_PREFIX + " trace", "0\tlist", "300\tlist"),
+                StandardCharsets.UTF_8);
+
+        final TraceReplay.Result result = new TraceReplay(trace, storageFile.toPath(), 2).run();
+
+        assertEquals(2, result.commandCount);
+        assertTrue(String.valueOf(result.elapsedNanos), result.elapsedNanos >= 150 * NANOS_PER_MILLI);
+    }
+}
@@ -53,6 +53,12 @@ public class ParserTest {
         parseAndAssertCommandType(input, ClearCommand.class);
     }
 
+    @Test
+    public void statsCommand_parsedCorrectly() {
+        final String input = "stats";
+        parseAndAssertCommandType(input, StatsCommand.class);
+    }
+
     @Test
     public void listCommand_parsedCorrectly() {
         final String input = "list";
@@ -65,6 +71,18 @@ public class ParserTest {
         parseAndAssertCommandType(input, ExitCommand.class);
     }
 
+    @Test
+    public void undoCommand_parsedCorrectly() {
+        final String input = "undo";
+        parseAndAssertCommandType(input, UndoCommand.class);
+    }
+
+    @Test
+    public void redoCommand_parsedCorrectly() {
+        final String input = "redo";
+        parseAndAssertCommandType(input, RedoCommand.class);
+    }
+
     /**
      * Test ingle index argument commands
      */
@@ -91,6 +109,43 @@ public class ParserTest {
         assertEquals(result.getTargetIndex(), testIndex);
     }
 
+    @Test
+    public void deleteCommand_idArg_idParsedCorrectly() {
+        final DeleteCommand result = parseAndAssertCommandType("delete #12345", DeleteCommand.class);
+        assertEquals(12345, result.getTargetId());
+    }
+
+    @Test
+    public void deleteCommand_invalidId() {
+        final String[] inputs = { "delete #", "delete #0", "delete #-3", "delete #abc", "delete # 1" };
+        final String resultMessage = String.format(MESSAGE_INVALID_COMMAND_FORMAT, DeleteCommand.MESSAGE_USAGE);
+        parseAndAssertIncorrectWithMessage(resultMessage, inputs);
+    }
+
+    @Test
+    public void editCommand_noDetailsOrInvalidArgs() {
+        final String[] inputs = { "edit", "edit 1", "edit #3 ", "edit notAnumber p/123", "edit 1 2 p/123",
+            "edit 1 x/123", "edit 1 e/a@b p/123", "edit #0 p/123" };
+        final String resultMessage = String.format(MESSAGE_INVALID_COMMAND_FORMAT, EditCommand.MESSAGE_USAGE);
+        parseAndAssertIncorrectWithMessage(resultMessage, inputs);
+    }
+
+    @Test
+    public void editCommand_invalidDetail() {
+        final String[] inputs = { "edit 1 p/not__numbers", "edit 1 e/notAnEmail123", "edit 1 t/invalid_-[.tag" };
+        for (String input : inputs) {
+            parseAndAssertCommandType(input, IncorrectCommand.class);
+        }
+    }
+
+    @Test
+    public void editCommand_indexOrIdParsedCorrectly() {
+        final EditCommand byIndex = parseAndAssertCommandType("edit 2 pp/123 t/a t/b", EditCommand.class);
+        assertEquals(2, byIndex.getTargetIndex());
+        final EditCommand byId = parseAndAssertCommandType("edit #42 e/a@b pa/Some street", EditCommand.class);
+        assertEquals(42, byId.getTargetId());
+    }
+
     @Test
     public void viewCommand_noArgs() {
         final String[] inputs = { "view", "view " };
@@ -175,6 +230,24 @@ public class ParserTest {
         assertEquals(keySet, result.getKeywords());
     }
 
+    /**
+     * Test source script command
+     */
+
+    @Test
+    public void sourceCommand_noArgs() {
+        final String[] inputs = { "source", "source  " };
+        final String resultMessage = String.format(MESSAGE_INVALID_COMMAND_FORMAT, SourceCommand.MESSAGE_USAGE);
+        parseAndAssertIncorrectWithMessage(resultMessage, inputs);
+    }
+
+    @Test
+    public void sourceCommand_filePath_parsedCorrectly() {
+        final String input = "source  scripts/contacts.txt ";
+        final SourceCommand result = parseAndAssertCommandType(input, SourceCommand.class);
+        assertEquals("scripts/contacts.txt", result.getScriptFilePath());
+    }
+
     /**
      * Test add person command
      */
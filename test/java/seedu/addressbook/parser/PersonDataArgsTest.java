@@ -0,0 +1,238 @@
+package seedu.addressbook.parser;
+
+import org.junit.Test;
+import seedu.addressbook.parser.Parser.ParseException;
+
+import java.util.*;
+import java.util.regex.Matcher;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that {@link PersonDataArgs#scan(String)} and {@link PersonDataArgs#scanEdit(String)} accept exactly the
+ * strings matched by {@link Parser#PERSON_DATA_ARGS_FORMAT} and {@link Parser#EDIT_PERSON_ARGS_FORMAT},
+ * and split them into the same fields.
+ */
+public class PersonDataArgsTest {
+
+    /** Characters that are significant to the add command grammar, plus some that are not. */
+    private static final char[] FUZZ_ALPHABET = { ' ', ' ', '/', 'p', 'e', 'a', 't', 'x', '1', '\n' };
+
+    /** Characters for generated field values, which leave the '/' delimiters to the generated prefixes. */
+    private static final char[] FUZZ_FIELD_ALPHABET = { ' ', ' ', 'p', 'e', 'a', 't', 'x', '1', '\n' };
+
+    /** Variants of each prefix, most of them well-formed, used to generate args that are close to the grammar. */
+    private static final String[][] FUZZ_PREFIXES = {
+        { " p/", " p/", " pp/", " pp/", "p/", " ppp/", " e/", "/" },
+        { " e/", " e/", " pe/", " pe/", "e/", " ppe/", " a/", "/" },
+        { " a/", " a/", " pa/", " pa/", "a/", " ppa/", " t/", "/" },
+        { " t/", " t/", " t/", " t/", "t/", " pt/", " a/", "/" }
+    };
+
+    private static final String[] VALID_ARGS = {
+        "John Doe p/98765432 e/johnd@gmail.com a/John street, block 123, #01-01",
+        "Betsy Crowe pp/1234567 e/betsycrowe@gmail.com pa/Newgate Prison t/criminal t/friend",
+        "p p pp/p pe/e pa/a t/t t/t",
+        "a  p/ pe/  e/ pa/a t  t/ t"
+    };
+
+    private static final String[] VALID_EDIT_ARGS = {
+        "1 p/98765432",
+        "#12 pe/johnd@gmail.com a/John street, block 123, #01-01",
+        "2 pp/1234567 e/betsycrowe@gmail.com pa/Newgate Prison t/criminal t/friend",
+        "p pp/p pe/e t/t t/t",
+        "3 t/friend"
+    };
+
+    @Test
+    public void scanEdit_validArgs_fieldsSplitCorrectly() throws Exception {
+        PersonDataArgs args = PersonDataArgs.scanEdit("#7 pp/1234567 a/Newgate Prison t/criminal t/friend t/criminal");
+        assertEquals("#7", args.target);
+        assertNull(args.name);
+        assertEquals("1234567", args.phone);
+        assertTrue(args.isPhonePrivate);
+        assertNull(args.email);
+        assertEquals("Newgate Prison", args.address);
+        assertFalse(args.isAddressPrivate);
+        assertEquals(new HashSet<>(Arrays.asList("criminal", "friend")), args.tags);
+
+        assertNull(PersonDataArgs.scanEdit("1 e/a@b").tags);
+    }
+
+    @Test
+    public void scanEdit_sameAsRegex_forKnownArgs() {
+        for (String args : VALID_EDIT_ARGS) {
+            assertEditSameAsRegex(args);
+        }
+        String[] invalidArgs = { "", "1", "#3", "notAnumber", "1 2 p/123", "1 x/123", "1 e/a@b p/123", "1 p/1 p/2",
+            "1 t/a e/b", "1 pt/a", "1 p/", "1 p/ e/e", "p/1", "/1", "1 p//", "1  p/1", "1 ppp/1", "1 t/a /b" };
+        for (String args : invalidArgs) {
+            assertEditSameAsRegex(args);
+        }
+    }
+
+    @Test
+    public void scanEdit_sameAsRegex_forRandomArgs() {
+        Random random = new Random(2103);
+        for (int i = 0; i < 200000; i++) {
+            StringBuilder args = new StringBuilder(randomField(random));
+            int prefixCount = 1 + random.nextInt(5);
+            for (int prefix = 0; prefix < prefixCount; prefix++) {
+                String[] prefixVariants = FUZZ_PREFIXES[random.nextInt(FUZZ_PREFIXES.length)];
+                args.append(prefixVariants[random.nextInt(prefixVariants.length)]).append(randomField(random));
+            }
+            assertEditSameAsRegex(args.toString().trim());
+        }
+    }
+
+    @Test
+    public void scanEdit_sameAsRegex_forMutatedValidArgs() {
+        Random random = new Random(2103);
+        for (int i = 0; i < 100000; i++) {
+            assertEditSameAsRegex(mutate(VALID_EDIT_ARGS[random.nextInt(VALID_EDIT_ARGS.length)], random));
+        }
+    }
+
+    @Test
+    public void scan_validArgs_fieldsSplitCorrectly() throws Exception {
+        PersonDataArgs args = PersonDataArgs.scan(
+                "Betsy Crowe pp/1234567 e/betsy@gmail.com pa/Newgate Prison t/criminal t/friend t/criminal");
+        assertEquals("Betsy Crowe", args.name);
+        assertEquals("1234567", args.phone);
+        assertTrue(args.isPhonePrivate);
+        assertEquals("betsy@gmail.com", args.email);
+        assertFalse(args.isEmailPrivate);
+        assertEquals("Newgate Prison", args.address);
+        assertTrue(args.isAddressPrivate);
+        assertEquals(new HashSet<>(Arrays.asList("criminal", "friend")), args.tags);
+    }
+
+    @Test
+    public void scan_sameAsRegex_forKnownArgs() {
+        for (String args : VALID_ARGS) {
+            assertSameAsRegex(args);
+        }
+        String[] invalidArgs = { "", "wrong args format", "Name 123 e/e a/a", "Name p/1 e/e a/a t/", "Name p/1 e/e a/",
+            "Name p/1 e/e a/a t/x /y", "Name p/1 e/e a/a /t", "Name pp/1 ppe/e a/a", " p/1 e/e a/a", "Name p/1 e/e a/a t//"};
+        for (String args : invalidArgs) {
+            assertSameAsRegex(args);
+        }
+    }
+
+    @Test
+    public void scan_sameAsRegex_forRandomArgs() {
+        Random random = new Random(2103);
+        for (int i = 0; i < 200000; i++) {
+            StringBuilder args = new StringBuilder(randomField(random));
+            int prefixCount = 2 + random.nextInt(5);
+            for (int prefix = 0; prefix < prefixCount; prefix++) {
+                String[] prefixVariants = FUZZ_PREFIXES[Math.min(prefix, FUZZ_PREFIXES.length - 1)];
+                args.append(prefixVariants[random.nextInt(prefixVariants.length)]).append(randomField(random));
+            }
+            assertSameAsRegex(args.toString().trim());
+        }
+    }
+
+    @Test
+    public void scan_sameAsRegex_forMutatedValidArgs() {
+        Random random = new Random(2103);
+        for (int i = 0; i < 100000; i++) {
+            assertSameAsRegex(mutate(VALID_ARGS[random.nextInt(VALID_ARGS.length)], random));
+        }
+    }
+
+    /**
+     * Inserts, replaces or deletes a few random characters of the given args, and trims the result.
+     */
+    private static String mutate(String validArgs, Random random) {
+        StringBuilder args = new StringBuilder(validArgs);
+        int mutations = 1 + random.nextInt(3);
+        for (int j = 0; j < mutations && args.length() > 0; j++) {
+            int position = random.nextInt(args.length());
+            char replacement = FUZZ_ALPHABET[random.nextInt(FUZZ_ALPHABET.length)];
+            switch (random.nextInt(3)) {
+            case 0:
+                args.insert(position, replacement);
+                break;
+            case 1:
+                args.setCharAt(position, replacement);
+                break;
+            default:
+                args.deleteCharAt(position);
+            }
+        }
+        return args.toString().trim();
+    }
+
+    /**
+     * Generates a short, possibly empty, field value out of characters that are significant to the grammar.
+     */
+    private static String randomField(Random random) {
+        StringBuilder field = new StringBuilder();
+        int length = random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            field.append(FUZZ_FIELD_ALPHABET[random.nextInt(FUZZ_FIELD_ALPHABET.length)]);
+        }
+        return field.toString();
+    }
+
+    /**
+     * Asserts that the scanner accepts the given args if and only if the regex grammar matches them,
+     * and that both produce the same field values.
+     */
+    private static void assertSameAsRegex(String args) {
+        Matcher matcher = Parser.PERSON_DATA_ARGS_FORMAT.matcher(args);
+        PersonDataArgs scanned;
+        try {
+            scanned = PersonDataArgs.scan(args);
+        } catch (ParseException pe) {
+            assertFalse("scanner rejected matching args: " + args, matcher.matches());
+            return;
+        }
+        assertTrue("scanner accepted non-matching args: " + args, matcher.matches());
+        assertEquals(args, matcher.group("name"), scanned.name);
+        assertEquals(args, matcher.group("phone"), scanned.phone);
+        assertEquals(args, matcher.group("isPhonePrivate").equals("p"), scanned.isPhonePrivate);
+        assertEquals(args, matcher.group("email"), scanned.email);
+        assertEquals(args, matcher.group("isEmailPrivate").equals("p"), scanned.isEmailPrivate);
+        assertEquals(args, matcher.group("address"), scanned.address);
+        assertEquals(args, matcher.group("isAddressPrivate").equals("p"), scanned.isAddressPrivate);
+        assertEquals(args, getTagsWithRegex(matcher.group("tagArguments")), scanned.tags);
+    }
+
+    /**
+     * Asserts that the edit scanner accepts the given args if and only if the regex grammar matches them with at
+     * least one detail, and that both produce the same fields.
+     */
+    private static void assertEditSameAsRegex(String args) {
+        Matcher matcher = Parser.EDIT_PERSON_ARGS_FORMAT.matcher(args);
+        boolean isMatched = matcher.matches() && matcher.end("target") != matcher.end();
+        PersonDataArgs scanned;
+        try {
+            scanned = PersonDataArgs.scanEdit(args);
+        } catch (ParseException pe) {
+            assertFalse("edit scanner rejected matching args: " + args, isMatched);
+            return;
+        }
+        assertTrue("edit scanner accepted non-matching args: " + args, isMatched);
+        assertEquals(args, matcher.group("target"), scanned.target);
+        assertEquals(args, matcher.group("phone"), scanned.phone);
+        assertEquals(args, "p".equals(matcher.group("isPhonePrivate")), scanned.isPhonePrivate);
+        assertEquals(args, matcher.group("email"), scanned.email);
+        assertEquals(args, "p".equals(matcher.group("isEmailPrivate")), scanned.isEmailPrivate);
+        assertEquals(args, matcher.group("address"), scanned.address);
+        assertEquals(args, "p".equals(matcher.group("isAddressPrivate")), scanned.isAddressPrivate);
+        Set<String> tags = getTagsWithRegex(matcher.group("tagArguments"));
+        assertEquals(args, tags.isEmpty() ? null : tags, scanned.tags);
+    }
+
+    /**
+     * The way tag arguments were split before the scanner was introduced.
+     */
+    private static Set<String> getTagsWithRegex(String tagArguments) {
+        if (tagArguments.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(Arrays.asList(tagArguments.replaceFirst(" t/", "").split(" t/")));
+    }
+}
@@ -0,0 +1,186 @@
+package seedu.addressbook.server;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import seedu.addressbook.commands.ExitCommand;
+import seedu.addressbook.commands.SourceCommand;
+import seedu.addressbook.commands.UndoCommand;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.ReadOnlyAddressBook;
+import seedu.addressbook.storage.InMemoryStorage;
+import seedu.addressbook.storage.StorageFile;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AddressBookServerTest {
+
+    @Rule
+    public TemporaryFolder saveFolder = new TemporaryFolder();
+
+    private StorageFile saveFile;
+    private AddressBook addressBook;
+    private AddressBookServer server;
+
+    @Before
+    public void setup() throws Exception {
+        saveFile = new StorageFile(saveFolder.newFile("testSaveFile.txt").getPath());
+        addressBook = new AddressBook();
+        saveFile.save(addressBook);
+        server = new AddressBookServer(saveFile, addressBook, 0);
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.close();
+    }
+
+    private ServerConnection connect() throws Exception {
+        return new ServerConnection("localhost", server.getPort());
+    }
+
+    private static String addCommand(String name, int phone) {
+        return "add " + name + " p/" + phone + " e/" + phone + "@email a/House of " + phone;
+    }
+
+    @Test
+    public void execute_add_savedAndVisibleToOtherClients() throws Exception {
+        try (ServerConnection alice = connect(); ServerConnection bob = connect()) {
+            assertTrue(alice.execute(addCommand("Adam Brown", 111)).startsWith("New person added"));
+
+            final String bobsList = bob.execute("list");
+            assertTrue(bobsList.contains("Adam Brown"));
+            assertTrue(bobsList.endsWith("1 persons listed!"));
+            assertEquals(addressBook, saveFile.load());
+        }
+    }
+
+    @Test
+    public void execute_lastShownList_isPerConnection() throws Exception {
+        try (ServerConnection alice = connect(); ServerConnection bob = connect()) {
+            alice.execute(addCommand("Adam Brown", 111));
+            alice.execute(addCommand("Betsy Crowe", 222));
+
+            alice.execute("find Betsy");
+            bob.execute("find Adam");
+            assertTrue(alice.execute("delete 1").contains("Betsy Crowe"));
+            assertTrue(bob.execute("delete 1").contains("Adam Brown"));
+            assertEquals(0, addressBook.getPersonCount());
+        }
+    }
+
+    @Test
+    public void execute_concurrentAdds_allApplied() throws Exception {
+        final int clients = 4;
+        final int addsPerClient = 25;
+        final ExecutorService clientThreads = Executors.newFixedThreadPool(clients);
+        final List<Future<?>> runs = new ArrayList<>();
+        for (int client = 0; client < clients; client++) {
+            final int clientNumber = client;
+            runs.add(clientThreads.submit(() -> {
+                try (ServerConnection connection = connect()) {
+                    for (int i = 0; i < addsPerClient; i++) {
+                        final int phone = clientNumber * addsPerClient + i;
+                        connection.execute(addCommand("Client " + clientNumber + " Person " + i, phone));
+                        connection.execute("list");
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> run : runs) {
+            run.get();
+        }
+        clientThreads.shutdown();
+
+        assertEquals(clients * addsPerClient, addressBook.getPersonCount());
+        assertEquals(addressBook, saveFile.load());
+    }
+
+    @Test
+    public void execute_undo_sharedByAllClients() throws Exception {
+        try (ServerConnection alice = connect(); ServerConnection bob = connect()) {
+            alice.execute(addCommand("Adam Brown", 111));
+            assertEquals(String.format(UndoCommand.MESSAGE_SUCCESS, "add Adam Brown"), bob.execute("undo"));
+            assertEquals(0, addressBook.getPersonCount());
+            assertEquals(addressBook, saveFile.load());
+        }
+    }
+
+    @Test
+    public void execute_stats_reportsCommandsOfAllClients() throws Exception {
+        try (ServerConnection alice = connect(); ServerConnection bob = connect()) {
+            alice.execute(addCommand("Adam Brown", 111));
+            alice.execute("list");
+
+            final String stats = bob.execute("stats");
+            assertTrue(stats, stats.startsWith("Latencies in microseconds:"));
+            assertTrue(stats, stats.contains("\nadd        execute      n=1"));
+            assertTrue(stats, stats.contains("\nadd        persist      n=1"));
+            assertTrue(stats, stats.contains("\nlist       execute      n=1"));
+            assertTrue(stats, stats.contains("\nSaves: n=1 "));
+        }
+    }
+
+    @Test
+    public void execute_source_notAvailable() throws Exception {
+        try (ServerConnection connection = connect()) {
+            assertEquals(String.format(ClientSession.MESSAGE_NOT_AVAILABLE, SourceCommand.COMMAND_WORD),
+                    connection.execute("source contacts.txt"));
+        }
+    }
+
+    @Test
+    public void execute_commandFailsUnexpectedly_errorSentAndConnectionKept() throws Exception {
+        final IllegalStateException failure = new IllegalStateException("disk on fire");
+        final InMemoryStorage failingStorage = new InMemoryStorage() {
+            @Override
+            public void save(ReadOnlyAddressBook addressBook) {
+                throw failure;
+            }
+        };
+        try (AddressBookServer failingServer = new AddressBookServer(failingStorage, new AddressBook(), 0)) {
+            failingServer.start();
+            try (ServerConnection connection = new ServerConnection("localhost", failingServer.getPort())) {
+                assertEquals(String.format(ClientSession.MESSAGE_COMMAND_FAILED, failure),
+                        connection.execute(addCommand("Adam Brown", 111)));
+                assertTrue(connection.execute("list").contains("Adam Brown"));
+            }
+        }
+    }
+
+    @Test
+    public void protocol_responseLinesStartingWithMarker_roundTrip() throws Exception {
+        final String response = ".\n..two\n\nlast.";
+        final StringWriter sent = new StringWriter();
+        Protocol.writeResponse(sent, response);
+        Protocol.writeResponse(sent, "");
+
+        final BufferedReader received = new BufferedReader(new StringReader(sent.toString()));
+        assertEquals(response, Protocol.readResponse(received));
+        assertEquals("", Protocol.readResponse(received));
+        assertEquals(null, Protocol.readResponse(received));
+    }
+
+    @Test(expected = EOFException.class)
+    public void execute_exit_closesConnection() throws Exception {
+        try (ServerConnection connection = connect()) {
+            assertEquals(ExitCommand.MESSAGE_EXIT_ACKNOWEDGEMENT, connection.execute("exit"));
+            connection.execute("list");
+        }
+    }
+}
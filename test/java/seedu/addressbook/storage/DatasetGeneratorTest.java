@@ -0,0 +1,84 @@
+package seedu.addressbook.storage;
+
+import org.junit.Test;
+import seedu.addressbook.commands.AddCommand;
+import seedu.addressbook.commands.Command;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.parser.Parser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DatasetGeneratorTest {
+
+    private static AddressBook loadStorageFile(DatasetGenerator generator) throws Exception {
+        final File file = File.createTempFile("generated", ".txt");
+        file.deleteOnExit();
+        try (OutputStream out = new FileOutputStream(file)) {
+            generator.writeStorageFile(out);
+        }
+        return new StorageFile(file.getPath()).load();
+    }
+
+    private static String generateAddCommands(DatasetGenerator generator) throws Exception {
+        final StringWriter script = new StringWriter();
+        generator.writeAddCommands(script);
+        return script.toString();
+    }
+
+    @Test
+    public void writeStorageFile_loadsAllPersonsAndTags() throws Exception {
+        final AddressBook loaded = loadStorageFile(new DatasetGenerator(500, 30, 1));
+
+        assertEquals(500, loaded.getAllPersons().size());
+        assertEquals(30, loaded.getAllTags().toSet().size());
+        assertEquals(501, loaded.getNextPersonId());
+    }
+
+    @Test
+    public void writeAddCommands_addSamePersonsAsStorageFile() throws Exception {
+        final DatasetGenerator generator = new DatasetGenerator(300, 25, 2);
+        final AddressBook fromScript = new AddressBook();
+        final Parser parser = new Parser();
+        for (String line : generateAddCommands(generator).split(System.lineSeparator())) {
+            if (line.startsWith("#")) {
+                continue;
+            }
+            final Command command = parser.parseCommand(line);
+            assertTrue(line, command instanceof AddCommand);
+            command.setData(fromScript, Collections.emptyList());
+            assertTrue(line, command.execute().feedbackToUser.startsWith(
+                    String.format(AddCommand.MESSAGE_SUCCESS, "")));
+        }
+
+        assertEquals(loadStorageFile(generator).getAllPersons().immutableListView(),
+                fromScript.getAllPersons().immutableListView());
+    }
+
+    @Test
+    public void write_sameSeed_sameOutput() throws Exception {
+        assertEquals(generateAddCommands(new DatasetGenerator(200, 10, 3)),
+                generateAddCommands(new DatasetGenerator(200, 10, 3)));
+        assertFalse(generateAddCommands(new DatasetGenerator(200, 10, 3))
+                .equals(generateAddCommands(new DatasetGenerator(200, 10, 4))));
+
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        new DatasetGenerator(200, 10, 3).writeStorageFile(first);
+        new DatasetGenerator(200, 10, 3).writeStorageFile(second);
+        assertEquals(first.toString("UTF-8"), second.toString("UTF-8"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_morePersonsThanPhones_throws() {
+        new DatasetGenerator(DatasetGenerator.MAX_PERSONS + 1, 10, 0);
+    }
+}
@@ -0,0 +1,49 @@
+package seedu.addressbook.storage;
+
+import org.junit.Test;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.util.EnumSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class InMemoryStorageTest {
+
+    private static Person person(String name, String phone) throws Exception {
+        return new Person(new Name(name), new Phone(phone, false), new Email(phone + "@example.com", true),
+                new Address("1 Street", false), new UniqueTagList(new Tag("friend")));
+    }
+
+    @Test
+    public void load_nothingSaved_empty() {
+        assertEquals(new AddressBook(), new InMemoryStorage().load());
+    }
+
+    @Test
+    public void load_afterSave_unaffectedByLaterChanges() throws Exception {
+        final InMemoryStorage storage = new InMemoryStorage();
+        final AddressBook addressBook = new AddressBook();
+        addressBook.addUniqueIndex(AddressBook.UniqueDetail.PHONE);
+        addressBook.addPerson(person("Amy Bee", "111"));
+        storage.save(addressBook);
+        final AddressBook expected = storage.load();
+
+        addressBook.addPerson(person("Bob Choo", "222"));
+        final AddressBook loaded = storage.load();
+
+        assertEquals(expected, loaded);
+        assertEquals(1, loaded.getAllPersons().size());
+        assertEquals(addressBook.getNextPersonId() - 1, loaded.getNextPersonId());
+        assertEquals(EnumSet.of(AddressBook.UniqueDetail.PHONE), loaded.getUniqueDetails());
+        assertNotSame(addressBook.getAllPersons().immutableListView().get(0),
+                loaded.getAllPersons().immutableListView().get(0));
+    }
+}